@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.connect.shared.preprocessing.utils.Utils;
+import org.apache.streampipes.extensions.api.connect.IAdapterPipelineElement;
+import org.apache.streampipes.extensions.management.connect.adapter.AdapterPipelineGenerator;
+import org.apache.streampipes.extensions.management.connect.adapter.model.pipeline.AdapterPipeline;
+import org.apache.streampipes.model.connect.adapter.AdapterDescription;
+import org.apache.streampipes.model.connect.rules.TransformationRuleDescription;
+import org.apache.streampipes.model.connect.rules.schema.RenameRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.AddTimestampRuleDescription;
+import org.apache.streampipes.model.connect.rules.value.CorrectionValueTransformationRuleDescription;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the adapter preprocessing chain (rename, timestamp enrichment and value correction rules) which is applied
+ * to every event produced by an adapter. The broker sink is replaced by an in-memory sink. Transformation rules
+ * modify the event in place, so each invocation works on a shallow copy of the raw event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdapterPipelineBenchmark {
+
+  @Param({"NARROW", "WIDE", "NESTED"})
+  public EventShape shape;
+
+  private Map<String, Object> rawEvent;
+  private AdapterPipeline pipeline;
+  private InMemoryAdapterSink sink;
+
+  @Setup
+  public void setup() {
+    rawEvent = shape.makeRawEvent();
+    sink = new InMemoryAdapterSink();
+
+    var adapterDescription = new AdapterDescription();
+    adapterDescription.getDataStream().setEventSchema(shape.makeEventSchema());
+    adapterDescription.setRules(makeRules());
+
+    pipeline = new AdapterPipelineGenerator().generatePipeline(adapterDescription);
+    pipeline.changePipelineSink(sink);
+  }
+
+  @Benchmark
+  public Map<String, Object> process() {
+    pipeline.process(new HashMap<>(rawEvent));
+    return sink.lastEvent;
+  }
+
+  private List<TransformationRuleDescription> makeRules() {
+    var numericalKey = shape.getNumericalField().replace("::", Utils.DELIMITER);
+    return List.of(
+        new RenameRuleDescription("sensorId", "deviceId"),
+        new AddTimestampRuleDescription("ingestionTime"),
+        // a factor of 1 keeps nested values stable across invocations
+        new CorrectionValueTransformationRuleDescription(numericalKey, 1.0, "MULTIPLY")
+    );
+  }
+
+  private static class InMemoryAdapterSink implements IAdapterPipelineElement {
+
+    private Map<String, Object> lastEvent;
+
+    @Override
+    public Map<String, Object> process(Map<String, Object> event) {
+      this.lastEvent = event;
+      return event;
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.dataformat.CborDataFormatDefinition;
+import org.apache.streampipes.dataformat.JsonDataFormatDefinition;
+import org.apache.streampipes.dataformat.SmileDataFormatDefinition;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization and deserialization of events for the supported wire formats, including the projected
+ * deserialization used by pipeline elements which only access a subset of the event fields.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataFormatBenchmark {
+
+  @Param({"NARROW", "WIDE", "NESTED"})
+  public EventShape shape;
+
+  @Param({"json", "smile", "cbor"})
+  public String format;
+
+  private SpDataFormatDefinition dataFormat;
+  private Map<String, Object> rawEvent;
+  private byte[] serializedEvent;
+  private Set<String> requiredFields;
+
+  @Setup
+  public void setup() {
+    dataFormat = switch (format) {
+      case "smile" -> new SmileDataFormatDefinition();
+      case "cbor" -> new CborDataFormatDefinition();
+      default -> new JsonDataFormatDefinition();
+    };
+    rawEvent = shape.makeRawEvent();
+    serializedEvent = dataFormat.fromMap(rawEvent);
+    requiredFields = Set.of(EventShape.TIMESTAMP, shape.getNumericalField().split("::")[0]);
+  }
+
+  @Benchmark
+  public byte[] serialize() {
+    return dataFormat.fromMap(rawEvent);
+  }
+
+  @Benchmark
+  public Map<String, Object> deserialize() {
+    return dataFormat.toMap(serializedEvent);
+  }
+
+  @Benchmark
+  public Map<String, Object> deserializeRequiredFields() {
+    return dataFormat.toMap(serializedEvent, requiredFields);
+  }
+}
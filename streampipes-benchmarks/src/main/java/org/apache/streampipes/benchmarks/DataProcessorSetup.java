@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.extensions.api.pe.IStreamPipesDataProcessor;
+import org.apache.streampipes.extensions.api.pe.param.IDataProcessorParameters;
+import org.apache.streampipes.extensions.api.pe.routing.SpOutputCollector;
+import org.apache.streampipes.manager.template.DataProcessorTemplateHandler;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.template.PipelineElementTemplate;
+import org.apache.streampipes.sdk.extractor.ProcessingElementParameterExtractor;
+import org.apache.streampipes.test.generator.EventStreamGenerator;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Starts a data processor outside of a pipeline, the static properties are configured the same way as in
+ * the ProcessingElementTestExecutor used by the processor tests.
+ */
+public class DataProcessorSetup {
+
+  private DataProcessorSetup() {
+  }
+
+  public static void start(IStreamPipesDataProcessor processor,
+                           Map<String, Object> configuration,
+                           Consumer<DataProcessorInvocation> invocationConfig,
+                           SpOutputCollector collector) {
+    var invocation = makeInvocation(processor, configuration);
+    invocationConfig.accept(invocation);
+
+    var params = mock(IDataProcessorParameters.class);
+    when(params.getModel()).thenReturn(invocation);
+    when(params.extractor()).thenReturn(ProcessingElementParameterExtractor.from(invocation));
+
+    processor.onPipelineStarted(params, collector, null);
+  }
+
+  private static DataProcessorInvocation makeInvocation(IStreamPipesDataProcessor processor,
+                                                        Map<String, Object> configuration) {
+    var description = processor.declareConfig().getDescription();
+    var configs = new ArrayList<Map<String, Object>>();
+    description.getStaticProperties().forEach(sp ->
+        configs.add(Map.of(sp.getInternalName(), configuration.get(sp.getInternalName()))));
+
+    var invocation = new DataProcessorInvocation(description);
+    invocation.setOutputStream(EventStreamGenerator.makeEmptyStream());
+
+    return new DataProcessorTemplateHandler(
+        new PipelineElementTemplate("benchmark", "", configs),
+        invocation,
+        true
+    ).applyTemplateOnPipelineElement();
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion between raw maps and {@link Event} objects as well as field access by selector.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventBenchmark {
+
+  @Param({"NARROW", "WIDE", "NESTED"})
+  public EventShape shape;
+
+  private Map<String, Object> rawEvent;
+  private SourceInfo sourceInfo;
+  private SchemaInfo schemaInfo;
+  private EventLayout layout;
+  private Event event;
+  private String selector;
+
+  @Setup
+  public void setup() {
+    rawEvent = shape.makeRawEvent();
+    sourceInfo = shape.makeSourceInfo();
+    schemaInfo = shape.makeSchemaInfo();
+    layout = EventLayout.compile(sourceInfo, schemaInfo);
+    event = shape.makeEvent();
+    selector = shape.getNumericalSelector();
+  }
+
+  @Benchmark
+  public Event fromMap() {
+    return EventFactory.fromMap(rawEvent, sourceInfo, schemaInfo);
+  }
+
+  @Benchmark
+  public Event fromMapWithLayout() {
+    return EventFactory.fromMap(rawEvent, layout);
+  }
+
+  @Benchmark
+  public Map<String, Object> toMap() {
+    return new EventConverter(event).toMap();
+  }
+
+  @Benchmark
+  public double getFieldBySelector() {
+    return event.getFieldBySelector(selector).getAsPrimitive().getAsDouble();
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.test.generator.EventPropertyNestedTestBuilder;
+import org.apache.streampipes.test.generator.EventPropertyPrimitiveTestBuilder;
+import org.apache.streampipes.test.generator.EventSchemaTestBuilder;
+import org.apache.streampipes.vocabulary.XSD;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Representative event shapes used by the benchmarks: a narrow sensor reading, a wide event with many measurements
+ * and a nested event with a two-level object hierarchy.
+ */
+public enum EventShape {
+
+  NARROW,
+  WIDE,
+  NESTED;
+
+  public static final String TOPIC = "benchmark-topic";
+  public static final String SELECTOR_PREFIX = "s0";
+  public static final String TIMESTAMP = "timestamp";
+  public static final long SAMPLE_TIMESTAMP = 1701270890000L;
+
+  private static final int WIDE_NUMBER_FIELDS = 200;
+  private static final int WIDE_STRING_FIELDS = 20;
+
+  /**
+   * Creates a new mutable raw event of this shape.
+   */
+  public Map<String, Object> makeRawEvent() {
+    Map<String, Object> event = new HashMap<>();
+    event.put(TIMESTAMP, SAMPLE_TIMESTAMP);
+    event.put("sensorId", "sensor-01");
+    switch (this) {
+      case NARROW -> {
+        event.put("temperature", 21.5);
+        event.put("pressure", 1013.2);
+        event.put("running", true);
+      }
+      case WIDE -> {
+        for (int i = 0; i < WIDE_NUMBER_FIELDS; i++) {
+          event.put("value" + i, i * 1.5);
+        }
+        for (int i = 0; i < WIDE_STRING_FIELDS; i++) {
+          event.put("label" + i, "label-" + i);
+        }
+      }
+      case NESTED -> {
+        Map<String, Object> location = new HashMap<>();
+        location.put("latitude", 49.01);
+        location.put("longitude", 8.40);
+        Map<String, Object> readings = new HashMap<>();
+        readings.put("temperature", 21.5);
+        readings.put("pressure", 1013.2);
+        Map<String, Object> machine = new HashMap<>();
+        machine.put("id", "machine-7");
+        machine.put("location", location);
+        machine.put("readings", readings);
+        event.put("machine", machine);
+      }
+      default -> throw new IllegalStateException("Unknown shape " + this);
+    }
+    return event;
+  }
+
+  public EventSchema makeEventSchema() {
+    var builder = EventSchemaTestBuilder
+        .create()
+        .withEventProperty(primitive(TIMESTAMP, XSD.LONG))
+        .withEventProperty(primitive("sensorId", XSD.STRING));
+    switch (this) {
+      case NARROW -> builder
+          .withEventProperty(primitive("temperature", XSD.DOUBLE))
+          .withEventProperty(primitive("pressure", XSD.DOUBLE))
+          .withEventProperty(primitive("running", XSD.BOOLEAN));
+      case WIDE -> {
+        for (int i = 0; i < WIDE_NUMBER_FIELDS; i++) {
+          builder.withEventProperty(primitive("value" + i, XSD.DOUBLE));
+        }
+        for (int i = 0; i < WIDE_STRING_FIELDS; i++) {
+          builder.withEventProperty(primitive("label" + i, XSD.STRING));
+        }
+      }
+      case NESTED -> builder.withEventProperty(nested("machine", List.of(
+          primitive("id", XSD.STRING),
+          nested("location", List.of(
+              primitive("latitude", XSD.DOUBLE),
+              primitive("longitude", XSD.DOUBLE))),
+          nested("readings", List.of(
+              primitive("temperature", XSD.DOUBLE),
+              primitive("pressure", XSD.DOUBLE))))));
+      default -> throw new IllegalStateException("Unknown shape " + this);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the runtime name path of a numerical field, nested fields are separated by '::'.
+   */
+  public String getNumericalField() {
+    return switch (this) {
+      case NARROW -> "temperature";
+      case WIDE -> "value" + (WIDE_NUMBER_FIELDS - 1);
+      case NESTED -> "machine::readings::temperature";
+    };
+  }
+
+  public String getNumericalSelector() {
+    return SELECTOR_PREFIX + "::" + getNumericalField();
+  }
+
+  public SourceInfo makeSourceInfo() {
+    return new SourceInfo(TOPIC, SELECTOR_PREFIX);
+  }
+
+  public SchemaInfo makeSchemaInfo() {
+    return new SchemaInfo(makeEventSchema(), new ArrayList<>());
+  }
+
+  public Event makeEvent() {
+    return EventFactory.fromMap(makeRawEvent(), makeSourceInfo(), makeSchemaInfo());
+  }
+
+  private static EventProperty primitive(String runtimeName,
+                                         URI runtimeType) {
+    return EventPropertyPrimitiveTestBuilder
+        .create()
+        .withRuntimeName(runtimeName)
+        .withRuntimeType(runtimeType)
+        .build();
+  }
+
+  private static EventProperty nested(String runtimeName,
+                                      List<EventProperty> eventProperties) {
+    return EventPropertyNestedTestBuilder
+        .create()
+        .withRuntimeName(runtimeName)
+        .withEventProperties(new ArrayList<>(eventProperties))
+        .build();
+  }
+}
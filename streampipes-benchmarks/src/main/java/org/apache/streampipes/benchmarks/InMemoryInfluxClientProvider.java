@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.commons.environment.Environment;
+import org.apache.streampipes.dataexplorer.influx.client.InfluxClientProvider;
+
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.Point;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+
+/**
+ * Provides an InfluxDB client which keeps the last written point in memory instead of sending it to a database.
+ * <p>
+ * All other methods of the client do nothing: methods returning the client itself return the proxy to allow chained
+ * calls, methods with a primitive return type return the default value of the type and all others return null.
+ */
+public class InMemoryInfluxClientProvider extends InfluxClientProvider {
+
+  private Point lastPoint;
+  private long writtenPoints;
+
+  @Override
+  public InfluxDB getSetUpInfluxDBClient(Environment environment) {
+    return (InfluxDB) Proxy.newProxyInstance(
+        InfluxDB.class.getClassLoader(),
+        new Class<?>[]{InfluxDB.class},
+        (proxy, method, args) -> {
+          if ("write".equals(method.getName()) && args != null && args.length == 1 && args[0] instanceof Point point) {
+            this.lastPoint = point;
+            this.writtenPoints++;
+          }
+          if ("equals".equals(method.getName()) && args != null && args.length == 1) {
+            return proxy == args[0];
+          }
+          return method.getReturnType().isInstance(proxy) ? proxy : defaultValue(method.getReturnType());
+        });
+  }
+
+  private static Object defaultValue(Class<?> type) {
+    if (!type.isPrimitive() || type == void.class) {
+      return null;
+    }
+    return Array.get(Array.newInstance(type, 1), 0);
+  }
+
+  public Point getLastPoint() {
+    return lastPoint;
+  }
+
+  public long getWrittenPoints() {
+    return writtenPoints;
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.model.output.CustomOutputStrategy;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.processors.filters.jvm.processor.merge.MergeByTimeProcessor;
+import org.apache.streampipes.processors.filters.jvm.processor.movingaverage.MovingAverageProcessor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures representative stateful processors. Processors modify or buffer their input events, so every invocation
+ * creates its events from the raw map like the standalone runtime does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcessorBenchmark {
+
+  private static final String S0_PREFIX = "s0";
+  private static final String S1_PREFIX = "s1";
+
+  @Param({"NARROW", "WIDE", "NESTED"})
+  public EventShape shape;
+
+  private Map<String, Object> rawEvent;
+  private SchemaInfo schemaInfo;
+  private SourceInfo sourceInfoS0;
+  private SourceInfo sourceInfoS1;
+
+  private MovingAverageProcessor movingAverage;
+  private MergeByTimeProcessor mergeByTime;
+  private InMemoryOutputCollector collector;
+
+  private long timestamp;
+
+  @Setup
+  public void setup() {
+    rawEvent = shape.makeRawEvent();
+    schemaInfo = shape.makeSchemaInfo();
+    sourceInfoS0 = new SourceInfo(EventShape.TOPIC, S0_PREFIX);
+    sourceInfoS1 = new SourceInfo(EventShape.TOPIC + "-2", S1_PREFIX);
+    collector = new InMemoryOutputCollector();
+    timestamp = EventShape.SAMPLE_TIMESTAMP;
+
+    movingAverage = new MovingAverageProcessor();
+    DataProcessorSetup.start(movingAverage, Map.of(
+        "number", shape.getNumericalSelector(),
+        "n", 10,
+        "method", "mean"
+    ), invocation -> { }, collector);
+
+    mergeByTime = new MergeByTimeProcessor();
+    DataProcessorSetup.start(mergeByTime, Map.of(
+        "time-interval", 100,
+        "timestamp_mapping_stream_1", S0_PREFIX + "::" + EventShape.TIMESTAMP,
+        "timestamp_mapping_stream_2", S1_PREFIX + "::" + EventShape.TIMESTAMP
+    ), invocation -> invocation.getOutputStrategies()
+        .stream()
+        .filter(CustomOutputStrategy.class::isInstance)
+        .map(CustomOutputStrategy.class::cast)
+        .findFirst()
+        .ifPresent(strategy -> {
+          strategy.getSelectedPropertyKeys().add(S0_PREFIX + "::" + EventShape.TIMESTAMP);
+          strategy.getSelectedPropertyKeys().add(S1_PREFIX + "::" + EventShape.TIMESTAMP);
+        }), collector);
+  }
+
+  @TearDown
+  public void tearDown() {
+    movingAverage.onPipelineStopped();
+    mergeByTime.onPipelineStopped();
+  }
+
+  @Benchmark
+  public Event movingAverage() {
+    movingAverage.onEvent(makeEvent(sourceInfoS0, timestamp++), collector);
+    return collector.getLastEvent();
+  }
+
+  /**
+   * Sends one event per input stream, each pair is within the merge interval and produces one output event.
+   */
+  @Benchmark
+  public Event mergeByTime() {
+    mergeByTime.onEvent(makeEvent(sourceInfoS0, timestamp), collector);
+    mergeByTime.onEvent(makeEvent(sourceInfoS1, timestamp + 10), collector);
+    timestamp += 1000;
+    return collector.getLastEvent();
+  }
+
+  private Event makeEvent(SourceInfo sourceInfo,
+                          long eventTimestamp) {
+    rawEvent.put(EventShape.TIMESTAMP, eventTimestamp);
+    return EventFactory.fromMap(rawEvent, sourceInfo, schemaInfo);
+  }
+}
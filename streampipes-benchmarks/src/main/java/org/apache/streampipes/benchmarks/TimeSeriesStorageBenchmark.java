@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.benchmarks;
+
+import org.apache.streampipes.dataexplorer.influx.TimeSeriesStorageInflux;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+
+import org.influxdb.dto.Point;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the write path of the InfluxDB time series storage for a single event: the event is built from a raw map,
+ * its fields are resolved through the write plan which is compiled once when the storage is created, and the values
+ * are converted into a point which is handed to an in-memory InfluxDB client.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeSeriesStorageBenchmark {
+
+  @Param({"NARROW", "WIDE", "NESTED"})
+  public EventShape shape;
+
+  private Map<String, Object> rawEvent;
+  private SourceInfo sourceInfo;
+  private SchemaInfo schemaInfo;
+  private InMemoryInfluxClientProvider clientProvider;
+  private TimeSeriesStorageInflux storage;
+
+  @Setup
+  public void setup() {
+    rawEvent = shape.makeRawEvent();
+    sourceInfo = shape.makeSourceInfo();
+    schemaInfo = shape.makeSchemaInfo();
+    clientProvider = new InMemoryInfluxClientProvider();
+
+    var measure = new DataLakeMeasure(
+        "benchmark",
+        EventShape.SELECTOR_PREFIX + "::" + EventShape.TIMESTAMP,
+        shape.makeEventSchema()
+    );
+    storage = new TimeSeriesStorageInflux(measure, null, clientProvider);
+  }
+
+  /**
+   * Each invocation builds the event from the raw map, as a sink receives a new event for every message.
+   */
+  @Benchmark
+  public Point onEvent() {
+    storage.onEvent(EventFactory.fromMap(rawEvent, sourceInfo, schemaInfo));
+    return clientProvider.getLastPoint();
+  }
+}
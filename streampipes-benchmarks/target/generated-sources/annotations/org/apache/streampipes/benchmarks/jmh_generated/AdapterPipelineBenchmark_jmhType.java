@@ -0,0 +1,4 @@
+package org.apache.streampipes.benchmarks.jmh_generated;
+public class AdapterPipelineBenchmark_jmhType extends AdapterPipelineBenchmark_jmhType_B3 {
+}
+
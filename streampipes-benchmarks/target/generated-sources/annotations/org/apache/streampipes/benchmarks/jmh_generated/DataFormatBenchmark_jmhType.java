@@ -0,0 +1,4 @@
+package org.apache.streampipes.benchmarks.jmh_generated;
+public class DataFormatBenchmark_jmhType extends DataFormatBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.apache.streampipes.benchmarks.jmh_generated;
+public class ProcessorBenchmark_jmhType extends ProcessorBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.apache.streampipes.benchmarks.jmh_generated;
+public class TimeSeriesStorageBenchmark_jmhType extends TimeSeriesStorageBenchmark_jmhType_B3 {
+}
+
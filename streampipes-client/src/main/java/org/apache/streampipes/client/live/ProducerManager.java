@@ -38,7 +38,7 @@ public class ProducerManager {
 
     return new ConfiguredEventProducer(
         producer,
-        SpDataFormatManager.getFormatDefinition()
+        SpDataFormatManager.INSTANCE.findDefinition(grounding)
     );
   }
 
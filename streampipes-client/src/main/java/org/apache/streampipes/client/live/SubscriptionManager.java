@@ -60,7 +60,7 @@ public class SubscriptionManager {
 
     try {
       SpProtocolDefinition<TransportProtocol> protocolDefinition = findProtocol(getTransportProtocol());
-      final SpDataFormatDefinition converter = SpDataFormatManager.getFormatDefinition();
+      final SpDataFormatDefinition converter = SpDataFormatManager.INSTANCE.findDefinition(grounding);
 
       var protocol = getTransportProtocol();
       if (overrideSettings) {
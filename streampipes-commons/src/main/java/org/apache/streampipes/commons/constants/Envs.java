@@ -70,6 +70,25 @@ public enum Envs {
   SP_TS_STORAGE_IOT_DB_SESSION_POOL_ENABLE_COMPRESSION("SP_TS_STORAGE_IOT_DB_SESSION_POOL_ENABLE_COMPRESSION", "false"),
   SP_TS_STORAGE_IOT_DB_USER("SP_TS_STORAGE_IOT_DB_USER", "root"),
   SP_TS_STORAGE_IOT_DB_PASSWORD("SP_TS_STORAGE_IOT_DB_PASSWORD", "root"),
+  SP_TS_STORAGE_IOT_DB_TABLET_MAX_ROWS("SP_TS_STORAGE_IOT_DB_TABLET_MAX_ROWS", "1000"),
+  SP_TS_STORAGE_IOT_DB_TABLET_FLUSH_INTERVAL_MS("SP_TS_STORAGE_IOT_DB_TABLET_FLUSH_INTERVAL_MS", "1000"),
+  SP_TS_STORAGE_STATISTICS_RECONCILE_INTERVAL_SECONDS("SP_TS_STORAGE_STATISTICS_RECONCILE_INTERVAL_SECONDS", "60"),
+  SP_TS_STORAGE_QUERY_CACHE_MAX_ENTRIES("SP_TS_STORAGE_QUERY_CACHE_MAX_ENTRIES", "1000"),
+  SP_TS_STORAGE_QUERY_CACHE_MAX_VALUES("SP_TS_STORAGE_QUERY_CACHE_MAX_VALUES", "5000000"),
+  SP_TS_STORAGE_QUERY_CACHE_OPEN_RANGE_TTL_MS("SP_TS_STORAGE_QUERY_CACHE_OPEN_RANGE_TTL_MS", "5000"),
+  SP_TS_STORAGE_QUERY_CACHE_CLOSED_RANGE_TTL_MS("SP_TS_STORAGE_QUERY_CACHE_CLOSED_RANGE_TTL_MS", "300000"),
+  SP_TS_STORAGE_ROLLUP_TIERS("SP_TS_STORAGE_ROLLUP_TIERS", ""),
+  SP_TS_STORAGE_WRITE_BUFFER_SIZE("SP_TS_STORAGE_WRITE_BUFFER_SIZE", "0"),
+  SP_TS_STORAGE_WRITE_BUFFER_SPILL_DIR("SP_TS_STORAGE_WRITE_BUFFER_SPILL_DIR", ""),
+  SP_TS_STORAGE_WRITE_BUFFER_SEGMENT_BYTES("SP_TS_STORAGE_WRITE_BUFFER_SEGMENT_BYTES", "67108864"),
+  SP_TS_STORAGE_WRITE_BUFFER_SPILL_MAX_MB("SP_TS_STORAGE_WRITE_BUFFER_SPILL_MAX_MB", "1024"),
+  SP_TS_STORAGE_EMBEDDED_DIR("SP_TS_STORAGE_EMBEDDED_DIR", "/streampipes-data-lake"),
+  SP_TS_STORAGE_EMBEDDED_SEGMENT_MAX_ROWS("SP_TS_STORAGE_EMBEDDED_SEGMENT_MAX_ROWS", "100000"),
+  SP_TS_STORAGE_EMBEDDED_FLUSH_INTERVAL_MS("SP_TS_STORAGE_EMBEDDED_FLUSH_INTERVAL_MS", "1000"),
+  SP_IMAGE_STORE("SP_IMAGE_STORE", "couchdb"),
+  SP_IMAGE_STORE_DIR("SP_IMAGE_STORE_DIR", "/streampipes-images"),
+  SP_IMAGE_STORE_QUEUE_SIZE("SP_IMAGE_STORE_QUEUE_SIZE", "100"),
+  SP_IMAGE_STORE_BATCH_SIZE("SP_IMAGE_STORE_BATCH_SIZE", "20"),
 
   SP_FLINK_JAR_FILE_LOC(
       "SP_FLINK_JAR_FILE_LOC",
@@ -79,6 +98,20 @@ public enum Envs {
 
   SP_FLINK_JOBMANAGER_PORT("SP_FLINK_JOBMANAGER_PORT", "8081"),
 
+  SP_FLINK_PARALLELISM("SP_FLINK_PARALLELISM", "1"),
+
+  SP_FLINK_CHECKPOINT_INTERVAL_MS("SP_FLINK_CHECKPOINT_INTERVAL_MS", "0"),
+
+  SP_FLINK_STATE_BACKEND("SP_FLINK_STATE_BACKEND", ""),
+
+  SP_KAFKA_STREAMS_NUM_THREADS("SP_KAFKA_STREAMS_NUM_THREADS", "1"),
+
+  SP_KAFKA_STREAMS_STANDBY_REPLICAS("SP_KAFKA_STREAMS_STANDBY_REPLICAS", "0"),
+
+  SP_KAFKA_STREAMS_STATE_DIR("SP_KAFKA_STREAMS_STATE_DIR", ""),
+
+  SP_PULL_ADAPTER_SCHEDULER_THREADS("SP_PULL_ADAPTER_SCHEDULER_THREADS", "8"),
+
   SP_PROMETHEUS_ENDPOINT_INCLUDE("SP_PROMETHEUS_ENDPOINT_INCLUDE", "health,prometheus"),
 
   SP_SETUP_PROMETHEUS_ENDPOINT("SP_SETUP_PROMETHEUS_ENDPOINT", "false"),
@@ -106,6 +139,13 @@ public enum Envs {
 
   SP_PULSAR_URL("SP_PULSAR_URL", "pulsar://localhost:6650"),
 
+  // Output batching of standalone pipeline elements, a batch size of 1 disables batching
+  SP_OUTPUT_BATCH_SIZE("SP_OUTPUT_BATCH_SIZE", "1"),
+  SP_OUTPUT_BATCH_LINGER_MS("SP_OUTPUT_BATCH_LINGER_MS", "5"),
+
+  // Kafka consumers dispatch records to one worker thread per assigned partition
+  SP_KAFKA_CONSUMER_PARTITION_WORKERS("SP_KAFKA_CONSUMER_PARTITION_WORKERS", "false"),
+
   // expects a comma separated string of service names
   SP_SERVICE_TAGS("SP_SERVICE_TAGS", ""),
   SP_ALLOWED_UPLOAD_FILETYPES("SP_ALLOWED_UPLOAD_FILETYPES", "", ""),
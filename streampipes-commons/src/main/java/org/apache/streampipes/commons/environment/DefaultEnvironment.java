@@ -114,6 +114,101 @@ public class DefaultEnvironment implements Environment {
     return new StringEnvironmentVariable(Envs.SP_TS_STORAGE_IOT_DB_PASSWORD);
   }
 
+  @Override
+  public IntEnvironmentVariable getIotDbTabletMaxRows() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_IOT_DB_TABLET_MAX_ROWS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getIotDbTabletFlushIntervalMs() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_IOT_DB_TABLET_FLUSH_INTERVAL_MS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageStatisticsReconcileIntervalSeconds() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_STATISTICS_RECONCILE_INTERVAL_SECONDS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageQueryCacheMaxEntries() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_QUERY_CACHE_MAX_ENTRIES);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageQueryCacheMaxValues() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_QUERY_CACHE_MAX_VALUES);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageQueryCacheOpenRangeTtlMs() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_QUERY_CACHE_OPEN_RANGE_TTL_MS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageQueryCacheClosedRangeTtlMs() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_QUERY_CACHE_CLOSED_RANGE_TTL_MS);
+  }
+
+  @Override
+  public StringEnvironmentVariable getTsStorageRollupTiers() {
+    return new StringEnvironmentVariable(Envs.SP_TS_STORAGE_ROLLUP_TIERS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageWriteBufferSize() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_WRITE_BUFFER_SIZE);
+  }
+
+  @Override
+  public StringEnvironmentVariable getTsStorageWriteBufferSpillDir() {
+    return new StringEnvironmentVariable(Envs.SP_TS_STORAGE_WRITE_BUFFER_SPILL_DIR);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageWriteBufferSegmentBytes() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_WRITE_BUFFER_SEGMENT_BYTES);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageWriteBufferSpillMaxMb() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_WRITE_BUFFER_SPILL_MAX_MB);
+  }
+
+  @Override
+  public StringEnvironmentVariable getTsStorageEmbeddedDir() {
+    return new StringEnvironmentVariable(Envs.SP_TS_STORAGE_EMBEDDED_DIR);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageEmbeddedSegmentMaxRows() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_EMBEDDED_SEGMENT_MAX_ROWS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getTsStorageEmbeddedFlushIntervalMs() {
+    return new IntEnvironmentVariable(Envs.SP_TS_STORAGE_EMBEDDED_FLUSH_INTERVAL_MS);
+  }
+
+  @Override
+  public StringEnvironmentVariable getImageStore() {
+    return new StringEnvironmentVariable(Envs.SP_IMAGE_STORE);
+  }
+
+  @Override
+  public StringEnvironmentVariable getImageStoreDir() {
+    return new StringEnvironmentVariable(Envs.SP_IMAGE_STORE_DIR);
+  }
+
+  @Override
+  public IntEnvironmentVariable getImageStoreQueueSize() {
+    return new IntEnvironmentVariable(Envs.SP_IMAGE_STORE_QUEUE_SIZE);
+  }
+
+  @Override
+  public IntEnvironmentVariable getImageStoreBatchSize() {
+    return new IntEnvironmentVariable(Envs.SP_IMAGE_STORE_BATCH_SIZE);
+  }
+
   @Override
   public StringEnvironmentVariable getCouchDbProtocol() {
     return new StringEnvironmentVariable(Envs.SP_COUCHDB_PROTOCOL);
@@ -248,6 +343,41 @@ public class DefaultEnvironment implements Environment {
     return new IntEnvironmentVariable(Envs.SP_FLINK_JOBMANAGER_PORT);
   }
 
+  @Override
+  public IntEnvironmentVariable getFlinkParallelism() {
+    return new IntEnvironmentVariable(Envs.SP_FLINK_PARALLELISM);
+  }
+
+  @Override
+  public IntEnvironmentVariable getFlinkCheckpointIntervalMs() {
+    return new IntEnvironmentVariable(Envs.SP_FLINK_CHECKPOINT_INTERVAL_MS);
+  }
+
+  @Override
+  public StringEnvironmentVariable getFlinkStateBackend() {
+    return new StringEnvironmentVariable(Envs.SP_FLINK_STATE_BACKEND);
+  }
+
+  @Override
+  public IntEnvironmentVariable getKafkaStreamsNumThreads() {
+    return new IntEnvironmentVariable(Envs.SP_KAFKA_STREAMS_NUM_THREADS);
+  }
+
+  @Override
+  public IntEnvironmentVariable getKafkaStreamsStandbyReplicas() {
+    return new IntEnvironmentVariable(Envs.SP_KAFKA_STREAMS_STANDBY_REPLICAS);
+  }
+
+  @Override
+  public StringEnvironmentVariable getKafkaStreamsStateDir() {
+    return new StringEnvironmentVariable(Envs.SP_KAFKA_STREAMS_STATE_DIR);
+  }
+
+  @Override
+  public IntEnvironmentVariable getPullAdapterSchedulerThreads() {
+    return new IntEnvironmentVariable(Envs.SP_PULL_ADAPTER_SCHEDULER_THREADS);
+  }
+
   @Override
   public StringEnvironmentVariable getPrometheusEndpointInclude() {
     return new StringEnvironmentVariable(Envs.SP_PROMETHEUS_ENDPOINT_INCLUDE);
@@ -318,6 +448,21 @@ public class DefaultEnvironment implements Environment {
     return new StringEnvironmentVariable(Envs.SP_PULSAR_URL);
   }
 
+  @Override
+  public IntEnvironmentVariable getOutputBatchSize() {
+    return new IntEnvironmentVariable(Envs.SP_OUTPUT_BATCH_SIZE);
+  }
+
+  @Override
+  public IntEnvironmentVariable getOutputBatchLingerMs() {
+    return new IntEnvironmentVariable(Envs.SP_OUTPUT_BATCH_LINGER_MS);
+  }
+
+  @Override
+  public BooleanEnvironmentVariable getKafkaConsumerPartitionWorkers() {
+    return new BooleanEnvironmentVariable(Envs.SP_KAFKA_CONSUMER_PARTITION_WORKERS);
+  }
+
   @Override
   public StringEnvironmentVariable getCustomServiceTags() {
     return new StringEnvironmentVariable(Envs.SP_SERVICE_TAGS);
@@ -53,6 +53,42 @@ public interface Environment {
   BooleanEnvironmentVariable getIotDbSessionEnableCompression();
   StringEnvironmentVariable getIotDbUser();
   StringEnvironmentVariable getIotDbPassword();
+  IntEnvironmentVariable getIotDbTabletMaxRows();
+  IntEnvironmentVariable getIotDbTabletFlushIntervalMs();
+
+  IntEnvironmentVariable getTsStorageStatisticsReconcileIntervalSeconds();
+
+  IntEnvironmentVariable getTsStorageQueryCacheMaxEntries();
+
+  IntEnvironmentVariable getTsStorageQueryCacheMaxValues();
+
+  IntEnvironmentVariable getTsStorageQueryCacheOpenRangeTtlMs();
+
+  IntEnvironmentVariable getTsStorageQueryCacheClosedRangeTtlMs();
+
+  StringEnvironmentVariable getTsStorageRollupTiers();
+
+  IntEnvironmentVariable getTsStorageWriteBufferSize();
+
+  StringEnvironmentVariable getTsStorageWriteBufferSpillDir();
+
+  IntEnvironmentVariable getTsStorageWriteBufferSegmentBytes();
+
+  IntEnvironmentVariable getTsStorageWriteBufferSpillMaxMb();
+
+  StringEnvironmentVariable getTsStorageEmbeddedDir();
+
+  IntEnvironmentVariable getTsStorageEmbeddedSegmentMaxRows();
+
+  IntEnvironmentVariable getTsStorageEmbeddedFlushIntervalMs();
+
+  StringEnvironmentVariable getImageStore();
+
+  StringEnvironmentVariable getImageStoreDir();
+
+  IntEnvironmentVariable getImageStoreQueueSize();
+
+  IntEnvironmentVariable getImageStoreBatchSize();
 
   // CouchDB env variables
 
@@ -105,6 +141,22 @@ public interface Environment {
 
   IntEnvironmentVariable getFlinkJobmanagerPort();
 
+  IntEnvironmentVariable getFlinkParallelism();
+
+  IntEnvironmentVariable getFlinkCheckpointIntervalMs();
+
+  StringEnvironmentVariable getFlinkStateBackend();
+
+  // Kafka Streams Wrapper
+  IntEnvironmentVariable getKafkaStreamsNumThreads();
+
+  IntEnvironmentVariable getKafkaStreamsStandbyReplicas();
+
+  StringEnvironmentVariable getKafkaStreamsStateDir();
+
+  // Connect
+  IntEnvironmentVariable getPullAdapterSchedulerThreads();
+
   //prometheus
   StringEnvironmentVariable getPrometheusEndpointInclude();
 
@@ -136,6 +188,12 @@ public interface Environment {
 
   StringEnvironmentVariable getPulsarUrl();
 
+  IntEnvironmentVariable getOutputBatchSize();
+
+  IntEnvironmentVariable getOutputBatchLingerMs();
+
+  BooleanEnvironmentVariable getKafkaConsumerPartitionWorkers();
+
   StringEnvironmentVariable getCustomServiceTags();
 
   StringEnvironmentVariable getAllowedUploadFiletypes();
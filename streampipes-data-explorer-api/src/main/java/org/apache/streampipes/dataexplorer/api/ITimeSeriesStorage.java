@@ -21,9 +21,30 @@ package org.apache.streampipes.dataexplorer.api;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.runtime.Event;
 
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
 public interface ITimeSeriesStorage {
 
   void onEvent(Event event) throws SpRuntimeException;
 
   void close() throws SpRuntimeException;
+
+  /**
+   * Returns the types of errors which are caused by a temporary problem of the storage, e.g. a lost connection, so
+   * that a failed write might succeed when it is retried. An error thrown by {@link #onEvent(Event)} is transient if
+   * it or one of its causes is an instance of one of the types.
+   */
+  default Set<Class<? extends Throwable>> getTransientErrorTypes() {
+    return Set.of(IOException.class);
+  }
+
+  /**
+   * Returns the current values of the metrics of the storage by metric name, e.g. to publish them as metrics of
+   * the data lake sink. May be called concurrently to {@link #onEvent(Event)}.
+   */
+  default Map<String, Long> getMetrics() {
+    return Map.of();
+  }
 }
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.embedded.query.DataLakeEmbeddedQueryBuilder;
+import org.apache.streampipes.dataexplorer.embedded.query.EmbeddedQuery;
+import org.apache.streampipes.dataexplorer.embedded.query.EmbeddedQueryEngine;
+import org.apache.streampipes.dataexplorer.param.DeleteQueryParams;
+import org.apache.streampipes.dataexplorer.param.SelectQueryParams;
+import org.apache.streampipes.dataexplorer.query.DataExplorerQueryExecutor;
+import org.apache.streampipes.dataexplorer.query.QueryRowConsumer;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class DataExplorerEmbeddedQueryExecutor extends DataExplorerQueryExecutor<EmbeddedQuery, List<DataSeries>> {
+
+  private final EmbeddedMeasureStore store;
+  private final EmbeddedQueryEngine queryEngine;
+
+  public DataExplorerEmbeddedQueryExecutor(EmbeddedMeasureStore store) {
+    this.store = store;
+    this.queryEngine = new EmbeddedQueryEngine(store);
+  }
+
+  @Override
+  protected SpQueryResult postQuery(List<DataSeries> queryResult,
+                                    Optional<String> forIdOpt,
+                                    boolean ignoreMissingValues) {
+    var result = new SpQueryResult();
+    long lastTimestamp = 0;
+    for (DataSeries series : queryResult) {
+      if (series.getRows().isEmpty()) {
+        continue;
+      }
+      var lastRow = series.getRows().get(series.getRows().size() - 1);
+      lastTimestamp = Math.max(lastTimestamp, ((Double) lastRow.get(0)).longValue());
+      if (ignoreMissingValues) {
+        series.setRows(series.getRows().stream().filter(row -> !row.contains(null)).toList());
+        series.setTotal(series.getRows().size());
+      }
+      result.setHeaders(series.getHeaders());
+      result.addDataResult(series);
+    }
+    if (!result.getAllDataSeries().isEmpty()) {
+      result.setTotal(result.getAllDataSeries().stream().mapToInt(DataSeries::getTotal).sum());
+      result.setLastTimestamp(lastTimestamp);
+    }
+
+    forIdOpt.ifPresent(result::setForId);
+
+    return result;
+  }
+
+  /**
+   * Executes select queries and returns their series. Delete queries return an empty list or fail with an
+   * {@link SpRuntimeException}.
+   */
+  @Override
+  public List<DataSeries> executeQuery(EmbeddedQuery query) {
+    if (query.isDelete()) {
+      var params = query.getDeleteParams();
+      boolean deleted = params.timeRestricted()
+          ? store.deleteRange(params.measurementName(), params.startTime(), params.endTime())
+          : store.deleteMeasure(params.measurementName());
+      if (!deleted) {
+        throw new SpRuntimeException("Could not delete the data of measurement " + params.measurementName());
+      }
+      return List.of();
+    }
+    try {
+      return queryEngine.query(query);
+    } catch (IOException e) {
+      throw new SpRuntimeException(e);
+    }
+  }
+
+  @Override
+  protected void streamQuery(EmbeddedQuery query,
+                             boolean ignoreMissingValues,
+                             QueryRowConsumer consumer) throws IOException {
+    queryEngine.stream(query, ignoreMissingValues, consumer);
+  }
+
+  @Override
+  protected String asQueryString(EmbeddedQuery query) {
+    return query.toString();
+  }
+
+  @Override
+  protected EmbeddedQuery makeDeleteQuery(DeleteQueryParams params) {
+    return EmbeddedQuery.delete(params);
+  }
+
+  @Override
+  protected EmbeddedQuery makeSelectQuery(SelectQueryParams params) {
+    return params.toQuery(DataLakeEmbeddedQueryBuilder.create(params.getIndex()));
+  }
+
+  @Override
+  public Map<String, Object> getTagValues(String measurementId, String fields) {
+    try {
+      return queryEngine.getTagValues(measurementId, fields);
+    } catch (IOException e) {
+      throw new SpRuntimeException(e);
+    }
+  }
+
+  @Override
+  public boolean deleteData(DataLakeMeasure measure) {
+    return store.deleteMeasure(measure.getMeasureName());
+  }
+}
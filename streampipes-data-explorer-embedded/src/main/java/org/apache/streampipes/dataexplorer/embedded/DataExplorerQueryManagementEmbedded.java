@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.QueryResultProvider;
+import org.apache.streampipes.dataexplorer.StreamedQueryResultProvider;
+import org.apache.streampipes.dataexplorer.api.IDataExplorerQueryManagement;
+import org.apache.streampipes.dataexplorer.api.IDataExplorerSchemaManagement;
+import org.apache.streampipes.dataexplorer.cache.QueryResultCache;
+import org.apache.streampipes.dataexplorer.export.OutputFormat;
+import org.apache.streampipes.dataexplorer.param.DeleteQueryParams;
+import org.apache.streampipes.dataexplorer.param.ProvidedRestQueryParamConverter;
+import org.apache.streampipes.dataexplorer.rollup.RollupTiers;
+import org.apache.streampipes.dataexplorer.statistics.MeasurementStatisticsCatalog;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.apache.streampipes.model.datalake.SpQueryStatus;
+import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+public class DataExplorerQueryManagementEmbedded implements IDataExplorerQueryManagement {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DataExplorerQueryManagementEmbedded.class);
+
+  private final IDataExplorerSchemaManagement dataExplorerSchemaManagement;
+  private final DataExplorerEmbeddedQueryExecutor queryExecutor;
+
+  public DataExplorerQueryManagementEmbedded(IDataExplorerSchemaManagement dataExplorerSchemaManagement,
+                                             DataExplorerEmbeddedQueryExecutor queryExecutor) {
+    this.dataExplorerSchemaManagement = dataExplorerSchemaManagement;
+    this.queryExecutor = queryExecutor;
+  }
+
+  @Override
+  public SpQueryResult getData(ProvidedRestQueryParams queryParams,
+                               boolean ignoreMissingData) throws IllegalArgumentException {
+    return new QueryResultProvider(queryParams, this, queryExecutor, ignoreMissingData).getData();
+  }
+
+  @Override
+  public void getDataAsStream(ProvidedRestQueryParams params,
+                              OutputFormat format,
+                              boolean ignoreMissingValues,
+                              OutputStream outputStream) throws IOException {
+    new StreamedQueryResultProvider(params, format, this, queryExecutor, ignoreMissingValues)
+        .getDataAsStream(outputStream);
+  }
+
+  @Override
+  public boolean deleteAllData() {
+    MeasurementStatisticsCatalog.INSTANCE.invalidateAll();
+    QueryResultCache.getInstance().invalidateAll();
+    return dataExplorerSchemaManagement.getAllMeasurements()
+                                       .stream()
+                                       .allMatch(this::deleteMeasureData);
+  }
+
+  @Override
+  public boolean deleteData(String measurementID) {
+    MeasurementStatisticsCatalog.INSTANCE.invalidate(measurementID);
+    QueryResultCache.getInstance().invalidate(measurementID);
+    var measureToDeleteOpt = dataExplorerSchemaManagement.getAllMeasurements()
+                                                         .stream()
+                                                         .filter(measure -> measure.getMeasureName()
+                                                                                   .equals(measurementID))
+                                                         .findFirst();
+    return measureToDeleteOpt.filter(this::deleteMeasureData).isPresent();
+  }
+
+  @Override
+  public boolean deleteData(String measurementName, Long startDate, Long endDate) {
+    MeasurementStatisticsCatalog.INSTANCE.invalidate(measurementName);
+    QueryResultCache.getInstance().invalidate(measurementName, startDate, endDate);
+    RollupTiers.outdate(dataExplorerSchemaManagement, measurementName, endDate);
+    DeleteQueryParams params =
+        ProvidedRestQueryParamConverter.getDeleteQueryParams(measurementName, startDate, endDate);
+    try {
+      return queryExecutor.executeQuery(params)
+                          .getSpQueryStatus()
+                          .equals(SpQueryStatus.OK);
+    } catch (SpRuntimeException e) {
+      LOG.error("Error while deleting data of measurement {}: {}", measurementName, e.getMessage());
+      return false;
+    }
+  }
+
+  @Override
+  public Map<String, Object> getTagValues(String measurementId,
+                                          String fields) {
+    return queryExecutor.getTagValues(measurementId, fields);
+  }
+
+  /**
+   * Deletes the data of the measure together with its rollup measurements.
+   */
+  private boolean deleteMeasureData(DataLakeMeasure measure) {
+    RollupTiers.getRollupMeasures(measure).forEach(queryExecutor::deleteData);
+    RollupTiers.outdate(dataExplorerSchemaManagement, measure.getMeasureName(), System.currentTimeMillis());
+    return queryExecutor.deleteData(measure);
+  }
+}
@@ -0,0 +1,363 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded;
+
+import org.apache.streampipes.commons.constants.Envs;
+import org.apache.streampipes.commons.environment.Environment;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.embedded.segment.ColumnBuffer;
+import org.apache.streampipes.dataexplorer.embedded.segment.SegmentFile;
+import org.apache.streampipes.dataexplorer.embedded.segment.SegmentFileWriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * File layout of the embedded time series storage.
+ * <p>
+ * Every measurement is stored in its own directory, which is partitioned by day (UTC). A partition contains
+ * immutable segment files, each holding the rows of one flush in time order. The time range of a segment is part of
+ * its file name, so queries select the segments of their time range without opening other files. Segments of the
+ * same partition may overlap in time if rows arrive out of order.
+ * <p>
+ * The directory may be shared by the process writing a measurement and the processes querying it: segments are
+ * only created by atomic moves, and range deletes replace affected segments instead of modifying them. The name of a
+ * replacement segment contains the id of the segment it replaces, which readers skip from the moment the replacement
+ * exists. Replaced segments left behind by an interrupted range delete are removed by the next range delete.
+ */
+public class EmbeddedMeasureStore {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EmbeddedMeasureStore.class);
+
+  private static final long PARTITION_MS = 86400000L;
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final String WRITER_ID = UUID.randomUUID().toString().substring(0, 8);
+  private static final AtomicLong SEQUENCE = new AtomicLong();
+
+  private final Path baseDirectory;
+  private final int blockRows;
+
+  public EmbeddedMeasureStore(Path baseDirectory, int blockRows) {
+    this.baseDirectory = baseDirectory;
+    this.blockRows = blockRows;
+  }
+
+  /**
+   * Creates the store of the configured data directory. The directory is not created on demand, since it must be a
+   * volume which is shared by the core and all extensions services, so each of them sees the same measurements.
+   */
+  public static EmbeddedMeasureStore from(Environment environment) {
+    var directory = Path.of(environment.getTsStorageEmbeddedDir().getValueOrDefault());
+    if (!Files.isDirectory(directory) || !Files.isWritable(directory)) {
+      throw new SpRuntimeException(String.format(
+          "The data directory %s of the embedded time series storage does not exist or is not writable. Mount a "
+              + "volume which is shared by the core and all extensions services at this path or change it with %s.",
+          directory,
+          Envs.SP_TS_STORAGE_EMBEDDED_DIR.getEnvVariableName()));
+    }
+    return new EmbeddedMeasureStore(directory, SegmentFileWriter.DEFAULT_BLOCK_ROWS);
+  }
+
+  public Path getMeasureDirectory(String measureName) {
+    if (measureName == null
+        || measureName.isBlank()
+        || measureName.contains("/")
+        || measureName.contains("\\")
+        || measureName.equals(".")
+        || measureName.equals("..")) {
+      throw new IllegalArgumentException("Invalid measurement name " + measureName);
+    }
+    return baseDirectory.resolve(measureName);
+  }
+
+  /**
+   * Writes the given rows, which may be in any order, to new segments of the partitions they belong to.
+   */
+  public void writeRows(String measureName,
+                        long[] timestamps,
+                        int rows,
+                        Collection<ColumnBuffer> columns) throws IOException {
+    if (rows == 0) {
+      return;
+    }
+    var order = sortByTime(timestamps, rows);
+    int from = 0;
+    while (from < rows) {
+      long partition = Math.floorDiv(timestamps[order[from]], PARTITION_MS);
+      int to = from + 1;
+      while (to < rows && Math.floorDiv(timestamps[order[to]], PARTITION_MS) == partition) {
+        to++;
+      }
+      var segmentTimestamps = new long[to - from];
+      for (int i = from; i < to; i++) {
+        segmentTimestamps[i - from] = timestamps[order[i]];
+      }
+      var segmentColumns = new ArrayList<ColumnBuffer>(columns.size());
+      for (ColumnBuffer column : columns) {
+        segmentColumns.add(column.select(order, from, to));
+      }
+      writeSegment(measureName, partition, segmentTimestamps, segmentColumns, null);
+      from = to;
+    }
+  }
+
+  /**
+   * Returns the segments of the measurement which contain rows in the given time range, ordered by their first
+   * timestamp.
+   */
+  public List<SegmentRef> findSegments(String measureName, long from, long to) throws IOException {
+    var segments = new ArrayList<SegmentRef>();
+    for (Path partition : findPartitions(measureName, from, to)) {
+      var partitionSegments = listSegments(partition);
+      var replacedIds = replacedIds(partitionSegments);
+      partitionSegments.stream()
+                       .filter(segment -> !replacedIds.contains(segment.id()) && segment.overlaps(from, to))
+                       .forEach(segments::add);
+    }
+    segments.sort(Comparator.comparingLong(SegmentRef::minTimestamp));
+    return segments;
+  }
+
+  public long countRows(String measureName) throws IOException {
+    long rows = 0;
+    for (SegmentRef segment : findSegments(measureName, Long.MIN_VALUE, Long.MAX_VALUE)) {
+      rows += SegmentFile.open(segment.path()).getRowCount();
+    }
+    return rows;
+  }
+
+  public boolean deleteMeasure(String measureName) {
+    var measureDirectory = getMeasureDirectory(measureName);
+    if (!Files.exists(measureDirectory)) {
+      return true;
+    }
+    try (Stream<Path> paths = Files.walk(measureDirectory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+      return true;
+    } catch (IOException e) {
+      LOG.error("Could not delete the data of measurement {}", measureName, e);
+      return false;
+    }
+  }
+
+  /**
+   * Deletes all rows with a timestamp after the start and before the end of the time range.
+   */
+  public boolean deleteRange(String measureName, long startExclusive, long endExclusive) {
+    try {
+      deleteReplacedSegments(measureName);
+      for (SegmentRef segment : findSegments(measureName, startExclusive + 1, endExclusive - 1)) {
+        if (segment.minTimestamp() > startExclusive && segment.maxTimestamp() < endExclusive) {
+          Files.deleteIfExists(segment.path());
+        } else {
+          rewriteWithout(measureName, segment, startExclusive, endExclusive);
+        }
+      }
+      return true;
+    } catch (IOException e) {
+      LOG.error("Could not delete the data of measurement {} between {} and {}",
+          measureName, startExclusive, endExclusive, e);
+      return false;
+    }
+  }
+
+  private void rewriteWithout(String measureName,
+                              SegmentRef segment,
+                              long startExclusive,
+                              long endExclusive) throws IOException {
+    var file = SegmentFile.open(segment.path());
+    var timestamps = new long[(int) file.getRowCount()];
+    var columns = new ArrayList<ColumnBuffer>();
+    for (int c = 0; c < file.getColumns().size(); c++) {
+      var column = file.getColumns().get(c);
+      columns.add(new ColumnBuffer(column.name(), column.type(), timestamps.length));
+    }
+    int row = 0;
+    var kept = new int[timestamps.length];
+    int keptRows = 0;
+    for (int block = 0; block < file.getBlocks().size(); block++) {
+      var blockTimestamps = file.readTimestamps(block);
+      var blockColumns = new ArrayList<ColumnBuffer>();
+      for (int c = 0; c < columns.size(); c++) {
+        blockColumns.add(file.readColumn(block, c));
+      }
+      for (int i = 0; i < blockTimestamps.length; i++, row++) {
+        timestamps[row] = blockTimestamps[i];
+        for (int c = 0; c < columns.size(); c++) {
+          columns.get(c).copyRow(blockColumns.get(c), i, row);
+        }
+        if (blockTimestamps[i] <= startExclusive || blockTimestamps[i] >= endExclusive) {
+          kept[keptRows++] = row;
+        }
+      }
+    }
+
+    if (keptRows == timestamps.length) {
+      return;
+    }
+    if (keptRows > 0) {
+      var keptTimestamps = new long[keptRows];
+      for (int i = 0; i < keptRows; i++) {
+        keptTimestamps[i] = timestamps[kept[i]];
+      }
+      var keptColumns = new ArrayList<ColumnBuffer>(columns.size());
+      for (ColumnBuffer column : columns) {
+        keptColumns.add(column.select(kept, 0, keptRows));
+      }
+      writeSegment(
+          measureName,
+          Math.floorDiv(keptTimestamps[0], PARTITION_MS),
+          keptTimestamps,
+          keptColumns,
+          segment.id());
+    }
+    Files.deleteIfExists(segment.path());
+  }
+
+  /**
+   * Deletes segments which are still present although a replacement exists, because a range delete was interrupted.
+   * This must happen before their replacements are replaced themselves, which would make them visible again.
+   */
+  private void deleteReplacedSegments(String measureName) throws IOException {
+    for (Path partition : findPartitions(measureName, Long.MIN_VALUE, Long.MAX_VALUE)) {
+      var partitionSegments = listSegments(partition);
+      var replacedIds = replacedIds(partitionSegments);
+      for (SegmentRef segment : partitionSegments) {
+        if (replacedIds.contains(segment.id())) {
+          Files.deleteIfExists(segment.path());
+        }
+      }
+    }
+  }
+
+  private List<Path> findPartitions(String measureName, long from, long to) throws IOException {
+    var measureDirectory = getMeasureDirectory(measureName);
+    if (!Files.isDirectory(measureDirectory)) {
+      return List.of();
+    }
+    try (Stream<Path> partitions = Files.list(measureDirectory)) {
+      return partitions.filter(partition -> {
+        var partitionStart = parsePartitionStart(partition);
+        return partitionStart != null
+            && partitionStart <= to
+            && partitionStart + PARTITION_MS > from
+            && Files.isDirectory(partition);
+      }).toList();
+    }
+  }
+
+  private static List<SegmentRef> listSegments(Path partition) throws IOException {
+    try (Stream<Path> files = Files.list(partition)) {
+      return files.map(EmbeddedMeasureStore::parseSegment)
+                  .filter(Objects::nonNull)
+                  .toList();
+    }
+  }
+
+  private static Set<String> replacedIds(List<SegmentRef> segments) {
+    return segments.stream()
+                   .map(SegmentRef::replacedId)
+                   .filter(Objects::nonNull)
+                   .collect(Collectors.toSet());
+  }
+
+  private void writeSegment(String measureName,
+                            long partition,
+                            long[] timestamps,
+                            List<ColumnBuffer> columns,
+                            String replacedId) throws IOException {
+    var partitionDirectory = getMeasureDirectory(measureName).resolve(LocalDate.ofEpochDay(partition).toString());
+    Files.createDirectories(partitionDirectory);
+    var name = "%d_%d_%s_%d%s%s".formatted(
+        timestamps[0],
+        timestamps[timestamps.length - 1],
+        WRITER_ID,
+        SEQUENCE.incrementAndGet(),
+        replacedId == null ? "" : "_" + replacedId,
+        SEGMENT_SUFFIX
+    );
+    SegmentFileWriter.write(partitionDirectory.resolve(name), timestamps, columns, blockRows);
+  }
+
+  private static int[] sortByTime(long[] timestamps, int rows) {
+    boolean sorted = true;
+    for (int i = 1; i < rows && sorted; i++) {
+      sorted = timestamps[i - 1] <= timestamps[i];
+    }
+    if (sorted) {
+      return IntStream.range(0, rows).toArray();
+    }
+    return IntStream.range(0, rows)
+                    .boxed()
+                    .sorted(Comparator.comparingLong(i -> timestamps[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+  }
+
+  private static Long parsePartitionStart(Path partition) {
+    try {
+      return LocalDate.parse(partition.getFileName().toString()).toEpochDay() * PARTITION_MS;
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Parses segment names of the form {@code min_max_writer_sequence[_replacedWriter-replacedSequence].seg}.
+   */
+  private static SegmentRef parseSegment(Path path) {
+    var name = path.getFileName().toString();
+    if (!name.endsWith(SEGMENT_SUFFIX)) {
+      return null;
+    }
+    var parts = name.substring(0, name.length() - SEGMENT_SUFFIX.length()).split("_");
+    if (parts.length != 4 && parts.length != 5) {
+      return null;
+    }
+    try {
+      return new SegmentRef(
+          path,
+          Long.parseLong(parts[0]),
+          Long.parseLong(parts[1]),
+          parts[2] + "-" + parts[3],
+          parts.length == 5 ? parts[4] : null);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.embedded.segment.ColumnType;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.vocabulary.SO;
+import org.apache.streampipes.vocabulary.XSD;
+
+/**
+ * Converts StreamPipes {@link EventProperty} into {@link EmbeddedRecord}s.
+ */
+public class EmbeddedPropertyConverter {
+
+  /**
+   * Converts a {@link EventPropertyPrimitive} into an {@link EmbeddedRecord}. Integers are stored as longs and
+   * floats as doubles.
+   *
+   * @param eventPropertyPrimitive The primitive event property to be converted
+   * @param primitiveField         The primitive field containing the property value
+   * @param sanitizedRuntimeName   The sanitized name of the property
+   * @return A record representing the converted property
+   */
+  public EmbeddedRecord convertPrimitiveProperty(EventPropertyPrimitive eventPropertyPrimitive,
+                                                 PrimitiveField primitiveField,
+                                                 String sanitizedRuntimeName) {
+    var runtimeType = eventPropertyPrimitive.getRuntimeType();
+
+    if (XSD.INTEGER.toString().equals(runtimeType) || XSD.LONG.toString().equals(runtimeType)) {
+      return new EmbeddedRecord(sanitizedRuntimeName, ColumnType.LONG, primitiveField.getAsLong());
+    } else if (XSD.FLOAT.toString().equals(runtimeType)
+        || XSD.DOUBLE.toString().equals(runtimeType)
+        || SO.NUMBER.equals(runtimeType)) {
+      return new EmbeddedRecord(sanitizedRuntimeName, ColumnType.DOUBLE, primitiveField.getAsDouble());
+    } else if (XSD.BOOLEAN.toString().equals(runtimeType)) {
+      return new EmbeddedRecord(sanitizedRuntimeName, ColumnType.BOOLEAN, primitiveField.getAsBoolean());
+    } else if (XSD.STRING.toString().equals(runtimeType)) {
+      return new EmbeddedRecord(sanitizedRuntimeName, ColumnType.STRING, primitiveField.getAsString());
+    } else {
+      throw new SpRuntimeException(
+          "Unsupported runtime type '%s' - cannot be mapped to an embedded storage type".formatted(runtimeType));
+    }
+  }
+
+  /**
+   * Converts a non-primitive event property into an {@link EmbeddedRecord}.
+   *
+   * @throws SpRuntimeException Non-primitive properties are not supported by the embedded storage
+   */
+  public EmbeddedRecord convertNonPrimitiveProperty(EventProperty eventProperty,
+                                                    String sanitizedRuntimeName) throws SpRuntimeException {
+    throw new SpRuntimeException("Handling non-primitive event properties is not yet supported "
+        + "when using the embedded time series store.");
+  }
+}
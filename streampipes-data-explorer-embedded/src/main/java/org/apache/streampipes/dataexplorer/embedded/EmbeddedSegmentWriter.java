@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.embedded.segment.ColumnBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers the rows of one measurement in memory and writes them as segment files of the
+ * {@link EmbeddedMeasureStore}.
+ * <p>
+ * A buffer is handed over to a background thread once it reaches the maximum number of rows or once its first row
+ * is older than the flush interval. If the disk cannot keep up and the number of pending buffers reaches its limit,
+ * {@link #write(long, List)} blocks until a buffer has been written, so back-pressure is propagated to the caller.
+ */
+public class EmbeddedSegmentWriter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EmbeddedSegmentWriter.class);
+
+  private static final int MAX_PENDING_BUFFERS = 4;
+  private static final long CLOSE_TIMEOUT_MS = 30000;
+
+  private final EmbeddedMeasureStore store;
+  private final String measureName;
+  private final int maxRows;
+  private final long flushIntervalMs;
+
+  private final BlockingQueue<RowBuffer> pendingBuffers;
+  private final Thread flushThread;
+
+  private RowBuffer buffer;
+  private long firstRowTime;
+
+  private volatile boolean running;
+
+  public EmbeddedSegmentWriter(EmbeddedMeasureStore store,
+                               String measureName,
+                               int maxRows,
+                               long flushIntervalMs) {
+    this.store = store;
+    this.measureName = measureName;
+    this.maxRows = Math.max(1, maxRows);
+    this.flushIntervalMs = Math.max(1, flushIntervalMs);
+    this.pendingBuffers = new ArrayBlockingQueue<>(MAX_PENDING_BUFFERS);
+    this.running = true;
+    this.flushThread = new Thread(this::runFlushLoop, "embedded-writer-" + measureName);
+    this.flushThread.setDaemon(true);
+    this.flushThread.start();
+  }
+
+  /**
+   * Adds one row to the current buffer. A column whose type differs from the type of the buffered column starts a
+   * new buffer.
+   *
+   * @param timestamp The timestamp of the row.
+   * @param records   The column values of the row.
+   */
+  public synchronized void write(long timestamp,
+                                 List<EmbeddedRecord> records) throws SpRuntimeException {
+    if (!running) {
+      throw new SpRuntimeException("Embedded writer for measurement %s has already been closed".formatted(measureName));
+    }
+    if (buffer != null && !buffer.accepts(records)) {
+      handOver();
+    }
+    if (buffer == null) {
+      buffer = new RowBuffer(Math.min(maxRows, 1024));
+      firstRowTime = System.currentTimeMillis();
+    }
+    buffer.add(timestamp, records);
+
+    if (buffer.rows == maxRows) {
+      handOver();
+    }
+  }
+
+  /**
+   * Writes all buffered rows and stops the background thread.
+   */
+  public void close() throws SpRuntimeException {
+    synchronized (this) {
+      if (!running) {
+        return;
+      }
+      if (buffer != null) {
+        handOver();
+      }
+      running = false;
+    }
+    try {
+      flushThread.join(CLOSE_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException(e);
+    }
+    if (!pendingBuffers.isEmpty()) {
+      LOG.warn("Discarding {} buffers of measurement {} which could not be written in time",
+          pendingBuffers.size(), measureName);
+    }
+  }
+
+  private void handOver() {
+    try {
+      pendingBuffers.put(buffer);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException(e);
+    }
+    buffer = null;
+  }
+
+  private synchronized void handOverIfExpired() {
+    if (buffer != null
+        && System.currentTimeMillis() - firstRowTime >= flushIntervalMs
+        && pendingBuffers.remainingCapacity() > 0) {
+      handOver();
+    }
+  }
+
+  private void runFlushLoop() {
+    while (running || !pendingBuffers.isEmpty()) {
+      try {
+        var next = pendingBuffers.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (next != null) {
+          writeSegments(next);
+        }
+        handOverIfExpired();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void writeSegments(RowBuffer rowBuffer) {
+    try {
+      store.writeRows(measureName, rowBuffer.timestamps, rowBuffer.rows, rowBuffer.columns.values());
+    } catch (IOException | RuntimeException e) {
+      LOG.error("Failed to write {} rows of measurement {} - {}", rowBuffer.rows, measureName, e.getMessage());
+    }
+  }
+
+  private static class RowBuffer {
+
+    private final Map<String, ColumnBuffer> columns = new LinkedHashMap<>();
+    private long[] timestamps;
+    private int rows;
+
+    RowBuffer(int capacity) {
+      this.timestamps = new long[capacity];
+    }
+
+    boolean accepts(List<EmbeddedRecord> records) {
+      for (EmbeddedRecord record : records) {
+        var column = columns.get(record.columnName());
+        if (column != null && column.getType() != record.type()) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    void add(long timestamp, List<EmbeddedRecord> records) {
+      if (rows == timestamps.length) {
+        timestamps = Arrays.copyOf(timestamps, rows * 2);
+      }
+      timestamps[rows] = timestamp;
+      for (EmbeddedRecord record : records) {
+        columns.computeIfAbsent(record.columnName(), name -> new ColumnBuffer(name, record.type(), timestamps.length))
+               .set(rows, record.value());
+      }
+      rows++;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded;
+
+import java.nio.file.Path;
+
+/**
+ * A segment file of a measurement together with the time range of its rows, which is part of the file name.
+ * <p>
+ * A segment written by a range delete names the segment it replaces, so the replaced segment is no longer read even
+ * before it is deleted. The replaced id is null for all other segments.
+ */
+public record SegmentRef(Path path, long minTimestamp, long maxTimestamp, String id, String replacedId) {
+
+  public boolean overlaps(long from, long to) {
+    return minTimestamp <= to && maxTimestamp >= from;
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded;
+
+import org.apache.streampipes.commons.environment.Environments;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.TimeSeriesStorage;
+import org.apache.streampipes.dataexplorer.TimeSeriesWritePlan;
+import org.apache.streampipes.dataexplorer.embedded.sanitize.EmbeddedNameSanitizer;
+import org.apache.streampipes.dataexplorer.embedded.segment.ColumnType;
+import org.apache.streampipes.dataexplorer.rollup.RollupBucket;
+import org.apache.streampipes.dataexplorer.rollup.RollupTiers;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class TimeSeriesStorageEmbedded extends TimeSeriesStorage {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TimeSeriesStorageEmbedded.class);
+
+  private final EmbeddedPropertyConverter propertyConverter;
+  private final EmbeddedMeasureStore store;
+  private final EmbeddedSegmentWriter segmentWriter;
+  private final Map<String, EmbeddedSegmentWriter> rollupWriters = new HashMap<>();
+  private final int segmentMaxRows;
+  private final int flushIntervalMs;
+  private final TimeSeriesWritePlan<Function<AbstractField, EmbeddedRecord>> writePlan;
+
+  public TimeSeriesStorageEmbedded(DataLakeMeasure measure,
+                                   EmbeddedPropertyConverter propertyConverter,
+                                   EmbeddedMeasureStore store) {
+    super(measure);
+    var environment = Environments.getEnvironment();
+    this.propertyConverter = propertyConverter;
+    this.store = store;
+    this.segmentMaxRows = environment.getTsStorageEmbeddedSegmentMaxRows().getValueOrDefault();
+    this.flushIntervalMs = environment.getTsStorageEmbeddedFlushIntervalMs().getValueOrDefault();
+    this.segmentWriter = makeSegmentWriter(measure.getMeasureName());
+    this.writePlan = TimeSeriesWritePlan.compile(
+        allEventProperties,
+        new EmbeddedNameSanitizer()::renameReservedKeywords,
+        this::makeRecordConverter
+    );
+  }
+
+  @Override
+  protected void writeToTimeSeriesStorage(Event event) throws SpRuntimeException {
+    var timestampValue = event.getFieldBySelector(measure.getTimestampField())
+        .getAsPrimitive()
+        .getAsLong();
+
+    if (timestampValue == null) {
+      LOG.warn("Timestamp of input event is null - skipping event");
+      return;
+    }
+
+    var records = extractRecords(event);
+
+    if (records.isEmpty()) {
+      return;
+    }
+
+    segmentWriter.write(timestampValue, records);
+  }
+
+  @Override
+  protected void writeRollup(RollupBucket bucket) throws SpRuntimeException {
+    var records = new ArrayList<EmbeddedRecord>(bucket.fields().size() * 4);
+    bucket.fields().forEach((field, aggregate) -> {
+      records.add(rollupRecord(field, RollupTiers.MIN_SUFFIX, ColumnType.DOUBLE, aggregate.getMin()));
+      records.add(rollupRecord(field, RollupTiers.MAX_SUFFIX, ColumnType.DOUBLE, aggregate.getMax()));
+      records.add(rollupRecord(field, RollupTiers.SUM_SUFFIX, ColumnType.DOUBLE, aggregate.getSum()));
+      records.add(rollupRecord(field, RollupTiers.COUNT_SUFFIX, ColumnType.LONG, aggregate.getCount()));
+    });
+    rollupWriters.computeIfAbsent(
+        bucket.tier().getName(),
+        tier -> makeSegmentWriter(RollupTiers.rollupMeasureName(measure.getMeasureName(), bucket.tier()))
+    ).write(bucket.timestamp(), records);
+  }
+
+  private static EmbeddedRecord rollupRecord(String field,
+                                             String suffix,
+                                             ColumnType type,
+                                             Object value) {
+    return new EmbeddedRecord(RollupTiers.rollupColumnName(field, suffix), type, value);
+  }
+
+  @Override
+  public void close() throws SpRuntimeException {
+    flushRollups();
+    this.rollupWriters.values().forEach(EmbeddedSegmentWriter::close);
+    this.segmentWriter.close();
+  }
+
+  private EmbeddedSegmentWriter makeSegmentWriter(String measureName) {
+    return new EmbeddedSegmentWriter(store, measureName, segmentMaxRows, flushIntervalMs);
+  }
+
+  private Function<AbstractField, EmbeddedRecord> makeRecordConverter(EventProperty ep) {
+    var columnName = new EmbeddedNameSanitizer().renameReservedKeywords(ep.getRuntimeName());
+    if (ep instanceof EventPropertyPrimitive primitive) {
+      return field -> propertyConverter.convertPrimitiveProperty(primitive, field.getAsPrimitive(), columnName);
+    } else {
+      return field -> propertyConverter.convertNonPrimitiveProperty(ep, columnName);
+    }
+  }
+
+  private List<EmbeddedRecord> extractRecords(Event event) {
+    var records = new ArrayList<EmbeddedRecord>(writePlan.size());
+    forEachPlannedField(writePlan, event, (planField, field) -> {
+      try {
+        records.add(planField.converter().apply(field));
+      } catch (SpRuntimeException e) {
+        LOG.debug("Value and metadata for event field '{}' could not be extracted - "
+                + "property will not be written to storage",
+            planField.property().getRuntimeName()
+        );
+      }
+    });
+    return records;
+  }
+}
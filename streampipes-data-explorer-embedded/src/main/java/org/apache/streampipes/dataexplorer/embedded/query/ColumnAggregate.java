@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.query;
+
+import org.apache.streampipes.model.datalake.AggregationFunction;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aggregates the values of a column within a time bucket. Values must be added in ascending time order.
+ */
+class ColumnAggregate {
+
+  private final AggregationFunction function;
+  private final Map<Object, Integer> frequencies;
+
+  private long count;
+  private long numericCount;
+  private double sum;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+  private Object first;
+  private Object last;
+  private Object mode;
+  private int modeFrequency;
+
+  ColumnAggregate(AggregationFunction function) {
+    this.function = function;
+    this.frequencies = function == AggregationFunction.MODE ? new HashMap<>() : null;
+  }
+
+  void add(Object value) {
+    if (value == null) {
+      return;
+    }
+    count++;
+    if (first == null) {
+      first = value;
+    }
+    last = value;
+    if (value instanceof Number number) {
+      double doubleValue = number.doubleValue();
+      numericCount++;
+      sum += doubleValue;
+      min = Math.min(min, doubleValue);
+      max = Math.max(max, doubleValue);
+    }
+    if (frequencies != null) {
+      int frequency = frequencies.merge(value, 1, Integer::sum);
+      if (frequency > modeFrequency) {
+        mode = value;
+        modeFrequency = frequency;
+      }
+    }
+  }
+
+  Object result() {
+    return switch (function) {
+      case COUNT -> (double) count;
+      case MEAN -> numericCount > 0 ? sum / numericCount : null;
+      case SUM -> numericCount > 0 ? sum : null;
+      case MIN -> numericCount > 0 ? min : null;
+      case MAX -> numericCount > 0 ? max : null;
+      case FIRST -> first;
+      case LAST -> last;
+      case MODE -> mode;
+    };
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.query;
+
+import org.apache.streampipes.dataexplorer.api.IDataLakeQueryBuilder;
+import org.apache.streampipes.dataexplorer.rollup.RollupTiers;
+import org.apache.streampipes.model.datalake.AggregationFunction;
+import org.apache.streampipes.model.datalake.DataLakeQueryOrdering;
+import org.apache.streampipes.model.datalake.FilterCondition;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class DataLakeEmbeddedQueryBuilder implements IDataLakeQueryBuilder<EmbeddedQuery> {
+
+  private static final long NANOS_PER_MILLI = 1000000L;
+  private static final Pattern GROUP_BY_TIME_PATTERN = Pattern.compile("time\\((.+)\\)");
+
+  private final EmbeddedQuery query;
+
+  private DataLakeEmbeddedQueryBuilder(String measurementId) {
+    this.query = new EmbeddedQuery(measurementId);
+  }
+
+  public static DataLakeEmbeddedQueryBuilder create(String measurementId) {
+    return new DataLakeEmbeddedQueryBuilder(measurementId);
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withAllColumns() {
+    query.setAllColumns(true);
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withSimpleColumn(String columnName) {
+    query.getColumns().add(new QueryColumn(columnName, null, null));
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withSimpleColumns(List<String> columnNames) {
+    columnNames.forEach(this::withSimpleColumn);
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withAggregatedColumn(String columnName,
+                                                           AggregationFunction aggregationFunction,
+                                                           String targetName) {
+    query.getColumns().add(new QueryColumn(columnName, aggregationFunction, targetName));
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withAggregatedColumn(String columnName,
+                                                           AggregationFunction aggregationFunction) {
+    query.getColumns().add(new QueryColumn(columnName, aggregationFunction, null));
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withStartTime(long startTime) {
+    return withFilter(EmbeddedQuery.TIME_FIELD, ">=", startTime * NANOS_PER_MILLI);
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withEndTime(long endTime) {
+    return withEndTime(endTime, true);
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withEndTime(long endTime,
+                                                  boolean includeEndTime) {
+    return withFilter(EmbeddedQuery.TIME_FIELD, includeEndTime ? "<=" : "<", endTime * NANOS_PER_MILLI);
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withTimeBoundary(long startTime,
+                                                       long endTime) {
+    withStartTime(startTime);
+    return withEndTime(endTime);
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withFilter(String field,
+                                                 String operator,
+                                                 Object value) {
+    query.getFilters().add(new FilterGroup(List.of(new FilterCondition(field, operator, value)), true));
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withExclusiveFilter(String field,
+                                                          String operator,
+                                                          List<?> values) {
+    query.getFilters().add(new FilterGroup(toConditions(field, operator, values), false));
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withInclusiveFilter(String field,
+                                                          String operator,
+                                                          List<?> values) {
+    query.getFilters().add(new FilterGroup(toConditions(field, operator, values), true));
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withInclusiveFilter(List<FilterCondition> filterConditions) {
+    query.getFilters().add(new FilterGroup(List.copyOf(filterConditions), true));
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withGroupByTime(String timeInterval) {
+    query.setGroupByTimeMs(parseInterval(timeInterval));
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withGroupByTime(String timeInterval,
+                                                      String offsetInterval) {
+    withGroupByTime(timeInterval);
+    query.setGroupByOffsetMs(parseInterval(offsetInterval));
+    return this;
+  }
+
+  /**
+   * Groups by the given tag. Grouping by time is passed as {@code time(interval)} if it is combined with tags.
+   */
+  @Override
+  public DataLakeEmbeddedQueryBuilder withGroupBy(String column) {
+    var groupByTime = GROUP_BY_TIME_PATTERN.matcher(column.trim());
+    if (groupByTime.matches()) {
+      return withGroupByTime(groupByTime.group(1));
+    }
+    query.getGroupByTags().add(column);
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withOrderBy(DataLakeQueryOrdering ordering) {
+    query.setOrdering(ordering);
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withLimit(int limit) {
+    query.setLimit(limit);
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withOffset(int offset) {
+    query.setOffset(offset);
+    return this;
+  }
+
+  @Override
+  public DataLakeEmbeddedQueryBuilder withFill(Object fill) {
+    query.setFill(fill);
+    return this;
+  }
+
+  @Override
+  public EmbeddedQuery build() {
+    return query;
+  }
+
+  private List<FilterCondition> toConditions(String field,
+                                             String operator,
+                                             List<?> values) {
+    return values.stream()
+                 .map(value -> new FilterCondition(field, operator, value))
+                 .toList();
+  }
+
+  private long parseInterval(String interval) {
+    var intervalMs = RollupTiers.parseIntervalMs(interval);
+    if (intervalMs.isEmpty() || intervalMs.getAsLong() <= 0) {
+      throw new IllegalArgumentException("Unsupported time interval " + interval);
+    }
+    return intervalMs.getAsLong();
+  }
+}
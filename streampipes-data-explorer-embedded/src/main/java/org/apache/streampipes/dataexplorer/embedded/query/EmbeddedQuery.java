@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.query;
+
+import org.apache.streampipes.dataexplorer.param.DeleteQueryParams;
+import org.apache.streampipes.model.datalake.DataLakeQueryOrdering;
+import org.apache.streampipes.model.datalake.FilterCondition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query of the embedded storage as built by {@link DataLakeEmbeddedQueryBuilder}.
+ * <p>
+ * Like InfluxQL, conditions on the {@link #TIME_FIELD} compare nanoseconds, all other timestamps are milliseconds.
+ */
+public class EmbeddedQuery {
+
+  public static final String TIME_FIELD = "time";
+
+  private static final long NANOS_PER_MILLI = 1000000L;
+
+  private final String measureName;
+  private final List<QueryColumn> columns = new ArrayList<>();
+  private final List<FilterGroup> filters = new ArrayList<>();
+  private final List<String> groupByTags = new ArrayList<>();
+  private boolean allColumns;
+  private Long groupByTimeMs;
+  private long groupByOffsetMs;
+  private DataLakeQueryOrdering ordering = DataLakeQueryOrdering.ASC;
+  private int limit = Integer.MIN_VALUE;
+  private int offset = Integer.MIN_VALUE;
+  private Object fill;
+  private DeleteQueryParams deleteParams;
+
+  public EmbeddedQuery(String measureName) {
+    this.measureName = measureName;
+  }
+
+  public static EmbeddedQuery delete(DeleteQueryParams params) {
+    var query = new EmbeddedQuery(params.measurementName());
+    query.deleteParams = params;
+    return query;
+  }
+
+  public String getMeasureName() {
+    return measureName;
+  }
+
+  public List<QueryColumn> getColumns() {
+    return columns;
+  }
+
+  public List<FilterGroup> getFilters() {
+    return filters;
+  }
+
+  public List<String> getGroupByTags() {
+    return groupByTags;
+  }
+
+  public boolean isAllColumns() {
+    return allColumns;
+  }
+
+  void setAllColumns(boolean allColumns) {
+    this.allColumns = allColumns;
+  }
+
+  public Long getGroupByTimeMs() {
+    return groupByTimeMs;
+  }
+
+  void setGroupByTimeMs(Long groupByTimeMs) {
+    this.groupByTimeMs = groupByTimeMs;
+  }
+
+  public long getGroupByOffsetMs() {
+    return groupByOffsetMs;
+  }
+
+  void setGroupByOffsetMs(long groupByOffsetMs) {
+    this.groupByOffsetMs = groupByOffsetMs;
+  }
+
+  public DataLakeQueryOrdering getOrdering() {
+    return ordering;
+  }
+
+  void setOrdering(DataLakeQueryOrdering ordering) {
+    this.ordering = ordering;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  void setLimit(int limit) {
+    this.limit = limit;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  void setOffset(int offset) {
+    this.offset = offset;
+  }
+
+  public Object getFill() {
+    return fill;
+  }
+
+  void setFill(Object fill) {
+    this.fill = fill;
+  }
+
+  public DeleteQueryParams getDeleteParams() {
+    return deleteParams;
+  }
+
+  public boolean isDelete() {
+    return deleteParams != null;
+  }
+
+  public boolean isAggregated() {
+    return columns.stream().anyMatch(QueryColumn::isAggregated);
+  }
+
+  /**
+   * Returns the first timestamp in milliseconds which can match the time conditions of the query.
+   */
+  public long getFromTimestamp() {
+    long from = Long.MIN_VALUE;
+    for (FilterCondition condition : getRequiredTimeConditions()) {
+      long nanos = ((Number) condition.condition()).longValue();
+      switch (condition.operator()) {
+        case ">" -> from = Math.max(from, Math.floorDiv(nanos, NANOS_PER_MILLI) + 1);
+        case ">=", "=", "==" -> from = Math.max(from, ceilDiv(nanos));
+        default -> {
+        }
+      }
+    }
+    return from;
+  }
+
+  /**
+   * Returns the last timestamp in milliseconds which can match the time conditions of the query.
+   */
+  public long getToTimestamp() {
+    long to = Long.MAX_VALUE;
+    for (FilterCondition condition : getRequiredTimeConditions()) {
+      long nanos = ((Number) condition.condition()).longValue();
+      switch (condition.operator()) {
+        case "<" -> to = Math.min(to, ceilDiv(nanos) - 1);
+        case "<=", "=", "==" -> to = Math.min(to, Math.floorDiv(nanos, NANOS_PER_MILLI));
+        default -> {
+        }
+      }
+    }
+    return to;
+  }
+
+  private List<FilterCondition> getRequiredTimeConditions() {
+    return filters.stream()
+                  .filter(group -> group.matchAll() || group.conditions().size() == 1)
+                  .flatMap(group -> group.conditions().stream())
+                  .filter(condition -> TIME_FIELD.equals(condition.field())
+                      && condition.condition() instanceof Number)
+                  .toList();
+  }
+
+  private static long ceilDiv(long nanos) {
+    return -Math.floorDiv(-nanos, NANOS_PER_MILLI);
+  }
+
+  @Override
+  public String toString() {
+    if (isDelete()) {
+      return "DELETE FROM " + measureName + " " + deleteParams;
+    }
+    return "SELECT " + (allColumns ? "*" : columns)
+        + " FROM " + measureName
+        + " WHERE " + filters
+        + " GROUP BY " + groupByTags + (groupByTimeMs != null ? " time(" + groupByTimeMs + "ms)" : "")
+        + " ORDER BY time " + ordering
+        + " LIMIT " + limit
+        + " OFFSET " + offset
+        + " FILL " + fill;
+  }
+}
@@ -0,0 +1,529 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.query;
+
+import org.apache.streampipes.dataexplorer.embedded.EmbeddedMeasureStore;
+import org.apache.streampipes.dataexplorer.embedded.SegmentRef;
+import org.apache.streampipes.dataexplorer.embedded.segment.SegmentColumn;
+import org.apache.streampipes.dataexplorer.embedded.segment.SegmentFile;
+import org.apache.streampipes.dataexplorer.query.QueryRowConsumer;
+import org.apache.streampipes.model.datalake.AggregationFunction;
+import org.apache.streampipes.model.datalake.DataLakeQueryOrdering;
+import org.apache.streampipes.model.datalake.DataSeries;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Executes {@link EmbeddedQuery embedded queries} on the segments of an {@link EmbeddedMeasureStore}.
+ * <p>
+ * The segments within the time range of the query are merged in time order. Raw queries are evaluated while the
+ * segments are read, aggregated queries are evaluated per time bucket and series and filled afterwards. Like
+ * InfluxDB, limit and offset apply to each series and timestamps as well as numbers are returned as doubles.
+ */
+public class EmbeddedQueryEngine {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EmbeddedQueryEngine.class);
+
+  private static final int MAX_FILLED_BUCKETS = 1000000;
+  private static final Comparator<List<String>> SERIES_KEY_COMPARATOR = (first, second) -> {
+    for (int i = 0; i < Math.min(first.size(), second.size()); i++) {
+      int comparison = first.get(i).compareTo(second.get(i));
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return Integer.compare(first.size(), second.size());
+  };
+
+  private final EmbeddedMeasureStore store;
+
+  public EmbeddedQueryEngine(EmbeddedMeasureStore store) {
+    this.store = store;
+  }
+
+  /**
+   * Executes the query and returns one data series per combination of the group-by tags.
+   */
+  public List<DataSeries> query(EmbeddedQuery query) throws IOException {
+    var plan = plan(query);
+    var series = new TreeMap<List<String>, List<List<Object>>>(SERIES_KEY_COMPARATOR);
+    execute(plan, (key, row) -> series.computeIfAbsent(key, k -> new ArrayList<>()).add(row));
+
+    var result = new ArrayList<DataSeries>(series.size());
+    series.forEach((key, rows) -> result.add(new DataSeries(rows.size(), rows, plan.headers, plan.toTags(key))));
+    return result;
+  }
+
+  /**
+   * Executes the query and passes the rows to the consumer. Rows of raw queries are passed while the segments are
+   * read, so rows of different series may be interleaved.
+   */
+  public void stream(EmbeddedQuery query,
+                     boolean ignoreMissingValues,
+                     QueryRowConsumer consumer) throws IOException {
+    var plan = plan(query);
+    execute(plan, (key, row) -> {
+      if (!ignoreMissingValues || !row.contains(null)) {
+        consumer.accept(plan.headers, row);
+      }
+    });
+  }
+
+  /**
+   * Returns the distinct values of the given comma-separated columns.
+   */
+  public Map<String, Object> getTagValues(String measureName,
+                                          String fields) throws IOException {
+    Map<String, Object> tags = new HashMap<>();
+    if (fields == null || fields.isEmpty()) {
+      return tags;
+    }
+    var columnNames = Arrays.stream(fields.split(",")).map(String::trim).toList();
+    var values = new ArrayList<TreeSet<String>>();
+    columnNames.forEach(name -> values.add(new TreeSet<>()));
+
+    var files = openSegments(measureName, Long.MIN_VALUE, Long.MAX_VALUE);
+    scan(files, columnNames, Long.MIN_VALUE, Long.MAX_VALUE, false, (timestamp, row) -> {
+      for (int i = 0; i < row.length; i++) {
+        if (row[i] != null) {
+          values.get(i).add(row[i].toString());
+        }
+      }
+      return true;
+    });
+
+    for (int i = 0; i < columnNames.size(); i++) {
+      if (!values.get(i).isEmpty()) {
+        tags.put(columnNames.get(i), new ArrayList<>(values.get(i)));
+      }
+    }
+    return tags;
+  }
+
+  private QueryPlan plan(EmbeddedQuery query) throws IOException {
+    long from = query.getFromTimestamp();
+    long to = query.getToTimestamp();
+    var files = from <= to ? openSegments(query.getMeasureName(), from, to) : List.<SegmentFile>of();
+
+    List<QueryColumn> columns;
+    if (query.isAllColumns()) {
+      var availableColumns = new TreeSet<String>();
+      files.forEach(file -> file.getColumns().stream().map(SegmentColumn::name).forEach(availableColumns::add));
+      query.getGroupByTags().forEach(availableColumns::remove);
+      columns = availableColumns.stream().map(name -> new QueryColumn(name, null, null)).toList();
+    } else {
+      columns = List.copyOf(query.getColumns());
+    }
+    if (query.isAggregated() && !columns.stream().allMatch(QueryColumn::isAggregated)) {
+      throw new IllegalArgumentException("Aggregated queries must not contain columns without aggregation");
+    }
+
+    var columnNames = new ArrayList<String>();
+    columns.forEach(column -> columnNames.add(column.field()));
+    var additionalColumns = new LinkedHashSet<>(query.getGroupByTags());
+    query.getFilters().forEach(group -> group.conditions().forEach(condition -> {
+      if (!EmbeddedQuery.TIME_FIELD.equals(condition.field())) {
+        additionalColumns.add(condition.field());
+      }
+    }));
+    additionalColumns.stream().filter(name -> !columnNames.contains(name)).forEach(columnNames::add);
+    return new QueryPlan(query, files, columns, columnNames, from, to);
+  }
+
+  private List<SegmentFile> openSegments(String measureName,
+                                         long from,
+                                         long to) throws IOException {
+    var files = new ArrayList<SegmentFile>();
+    for (SegmentRef segment : store.findSegments(measureName, from, to)) {
+      try {
+        files.add(SegmentFile.open(segment.path()));
+      } catch (NoSuchFileException e) {
+        LOG.debug("Segment {} was removed while the query was planned", segment.path());
+      }
+    }
+    return files;
+  }
+
+  private void execute(QueryPlan plan,
+                       SeriesRowConsumer consumer) throws IOException {
+    if (plan.query.isAggregated()) {
+      executeAggregated(plan, consumer);
+    } else {
+      executeRaw(plan, consumer);
+    }
+  }
+
+  private void executeRaw(QueryPlan plan,
+                          SeriesRowConsumer consumer) throws IOException {
+    var query = plan.query;
+    var skipped = new HashMap<List<String>, Integer>();
+    var emitted = new HashMap<List<String>, Integer>();
+    int offset = Math.max(query.getOffset(), 0);
+    int limit = query.getLimit() == Integer.MIN_VALUE ? Integer.MAX_VALUE : query.getLimit();
+    boolean descending = query.getOrdering() == DataLakeQueryOrdering.DESC;
+
+    scan(plan.files, plan.columnNames, plan.from, plan.to, descending, (timestamp, values) -> {
+      if (!plan.filter.matches(timestamp, values)) {
+        return true;
+      }
+      var row = new ArrayList<>(plan.columns.size() + 1);
+      row.add((double) timestamp);
+      boolean empty = true;
+      for (int i = 0; i < plan.columns.size(); i++) {
+        var value = values[i];
+        empty &= value == null;
+        row.add(value);
+      }
+      if (empty && !plan.columns.isEmpty()) {
+        return true;
+      }
+
+      var key = plan.seriesKey(values);
+      if (skipped.getOrDefault(key, 0) < offset) {
+        skipped.merge(key, 1, Integer::sum);
+        return true;
+      }
+      int count = emitted.getOrDefault(key, 0);
+      if (count >= limit) {
+        return plan.groupByTagIndexes.length > 0;
+      }
+      emitted.put(key, count + 1);
+      consumer.accept(key, row);
+      return true;
+    });
+  }
+
+  private void executeAggregated(QueryPlan plan,
+                                 SeriesRowConsumer consumer) throws IOException {
+    var query = plan.query;
+    var series = new TreeMap<List<String>, List<Bucket>>(SERIES_KEY_COMPARATOR);
+    Long interval = query.getGroupByTimeMs();
+
+    scan(plan.files, plan.columnNames, plan.from, plan.to, false, (timestamp, values) -> {
+      if (!plan.filter.matches(timestamp, values)) {
+        return true;
+      }
+      var buckets = series.computeIfAbsent(plan.seriesKey(values), k -> new ArrayList<>());
+      long start = interval != null ? bucketStart(timestamp, interval, query.getGroupByOffsetMs()) : 0;
+      var bucket = buckets.isEmpty() ? null : buckets.get(buckets.size() - 1);
+      if (bucket == null || bucket.start != start) {
+        bucket = new Bucket(start, plan.columns);
+        buckets.add(bucket);
+      }
+      for (int i = 0; i < plan.columns.size(); i++) {
+        bucket.aggregates[i].add(values[i]);
+      }
+      return true;
+    });
+
+    int offset = Math.max(query.getOffset(), 0);
+    int limit = query.getLimit() == Integer.MIN_VALUE ? Integer.MAX_VALUE : query.getLimit();
+    for (Map.Entry<List<String>, List<Bucket>> entry : series.entrySet()) {
+      var rows = interval != null
+          ? toFilledRows(plan, entry.getValue(), interval)
+          : List.of(toRow(plan.from != Long.MIN_VALUE ? plan.from : 0, entry.getValue().get(0)));
+      if (query.getOrdering() == DataLakeQueryOrdering.DESC) {
+        rows = new ArrayList<>(rows);
+        Collections.reverse(rows);
+      }
+      int end = (int) Math.min(rows.size(), (long) offset + limit);
+      for (int i = offset; i < end; i++) {
+        consumer.accept(entry.getKey(), rows.get(i));
+      }
+    }
+  }
+
+  private List<List<Object>> toFilledRows(QueryPlan plan,
+                                          List<Bucket> buckets,
+                                          long interval) {
+    var fill = Fill.of(plan.query.getFill());
+    if (fill.mode == FillMode.NONE) {
+      return buckets.stream().map(bucket -> toRow(bucket.start, bucket)).toList();
+    }
+
+    long offset = plan.query.getGroupByOffsetMs();
+    long first = plan.from != Long.MIN_VALUE ? bucketStart(plan.from, interval, offset) : buckets.get(0).start;
+    long last = plan.to != Long.MAX_VALUE
+        ? bucketStart(plan.to, interval, offset)
+        : buckets.get(buckets.size() - 1).start;
+    long bucketCount = (last - first) / interval + 1;
+    if (bucketCount > MAX_FILLED_BUCKETS) {
+      throw new IllegalArgumentException(
+          "The query would fill " + bucketCount + " time buckets, the maximum is " + MAX_FILLED_BUCKETS);
+    }
+
+    var rows = new ArrayList<List<Object>>((int) bucketCount);
+    var filled = new boolean[(int) bucketCount];
+    int next = 0;
+    for (int i = 0; i < bucketCount; i++) {
+      long start = first + i * interval;
+      while (next < buckets.size() && buckets.get(next).start < start) {
+        next++;
+      }
+      if (next < buckets.size() && buckets.get(next).start == start) {
+        rows.add(toRow(start, buckets.get(next)));
+      } else {
+        rows.add(emptyRow(plan, start, fill));
+        filled[i] = true;
+      }
+    }
+
+    if (fill.mode == FillMode.PREVIOUS) {
+      fillPrevious(rows, filled);
+    } else if (fill.mode == FillMode.LINEAR) {
+      fillLinear(rows, filled);
+    }
+    return rows;
+  }
+
+  private List<Object> emptyRow(QueryPlan plan,
+                                long start,
+                                Fill fill) {
+    var row = new ArrayList<>(plan.columns.size() + 1);
+    row.add((double) start);
+    for (QueryColumn column : plan.columns) {
+      if (column.function() == AggregationFunction.COUNT) {
+        row.add(0.0);
+      } else {
+        row.add(fill.mode == FillMode.NUMBER ? fill.value : null);
+      }
+    }
+    return row;
+  }
+
+  private void fillPrevious(List<List<Object>> rows,
+                            boolean[] filled) {
+    for (int i = 1; i < rows.size(); i++) {
+      if (filled[i]) {
+        var row = rows.get(i);
+        var previous = rows.get(i - 1);
+        for (int c = 1; c < row.size(); c++) {
+          if (row.get(c) == null) {
+            row.set(c, previous.get(c));
+          }
+        }
+      }
+    }
+  }
+
+  private void fillLinear(List<List<Object>> rows,
+                          boolean[] filled) {
+    int columnCount = rows.get(0).size();
+    for (int c = 1; c < columnCount; c++) {
+      int previous = -1;
+      for (int i = 0; i < rows.size(); i++) {
+        if (filled[i] || !(rows.get(i).get(c) instanceof Number)) {
+          continue;
+        }
+        if (previous >= 0 && i - previous > 1) {
+          double startTime = (Double) rows.get(previous).get(0);
+          double startValue = ((Number) rows.get(previous).get(c)).doubleValue();
+          double slope = (((Number) rows.get(i).get(c)).doubleValue() - startValue)
+              / ((Double) rows.get(i).get(0) - startTime);
+          for (int j = previous + 1; j < i; j++) {
+            if (filled[j]) {
+              rows.get(j).set(c, startValue + slope * ((Double) rows.get(j).get(0) - startTime));
+            }
+          }
+        }
+        previous = i;
+      }
+    }
+  }
+
+  private List<Object> toRow(long start,
+                             Bucket bucket) {
+    var row = new ArrayList<>(bucket.aggregates.length + 1);
+    row.add((double) start);
+    for (ColumnAggregate aggregate : bucket.aggregates) {
+      row.add(aggregate.result());
+    }
+    return row;
+  }
+
+  private static long bucketStart(long timestamp,
+                                  long interval,
+                                  long offset) {
+    return Math.floorDiv(timestamp - offset, interval) * interval + offset;
+  }
+
+  /**
+   * Merges the rows of all segments in time order and passes them to the visitor until it returns false.
+   */
+  private void scan(List<SegmentFile> files,
+                    List<String> columnNames,
+                    long from,
+                    long to,
+                    boolean descending,
+                    RowVisitor visitor) throws IOException {
+    Comparator<SegmentCursor> order = Comparator.comparingLong(SegmentCursor::timestamp);
+    var cursors = new PriorityQueue<>(Math.max(files.size(), 1), descending ? order.reversed() : order);
+    for (SegmentFile file : files) {
+      var cursor = new SegmentCursor(file, columnNames, from, to, descending);
+      if (cursor.advance()) {
+        cursors.add(cursor);
+      }
+    }
+    while (!cursors.isEmpty()) {
+      var cursor = cursors.poll();
+      var values = new Object[columnNames.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = cursor.value(i);
+      }
+      if (!visitor.visit(cursor.timestamp(), values)) {
+        return;
+      }
+      if (cursor.advance()) {
+        cursors.add(cursor);
+      }
+    }
+  }
+
+  private interface RowVisitor {
+    boolean visit(long timestamp, Object[] values) throws IOException;
+  }
+
+  private interface SeriesRowConsumer {
+    void accept(List<String> seriesKey, List<Object> row) throws IOException;
+  }
+
+  /**
+   * The segments and columns needed by a query. The scanned columns start with the fields of the selected columns,
+   * followed by the group-by tags and filter fields which are not selected.
+   */
+  private static class QueryPlan {
+
+    private final EmbeddedQuery query;
+    private final List<SegmentFile> files;
+    private final List<QueryColumn> columns;
+    private final List<String> columnNames;
+    private final List<String> headers;
+    private final int[] groupByTagIndexes;
+    private final RowFilter filter;
+    private final long from;
+    private final long to;
+
+    QueryPlan(EmbeddedQuery query,
+              List<SegmentFile> files,
+              List<QueryColumn> columns,
+              List<String> columnNames,
+              long from,
+              long to) {
+      this.query = query;
+      this.files = files;
+      this.columns = columns;
+      this.columnNames = columnNames;
+      this.from = from;
+      this.to = to;
+      this.headers = new ArrayList<>(columns.size() + 1);
+      headers.add(EmbeddedQuery.TIME_FIELD);
+      columns.forEach(column -> headers.add(column.outputName()));
+
+      var columnIndexes = new HashMap<String, Integer>();
+      for (int i = 0; i < columnNames.size(); i++) {
+        columnIndexes.putIfAbsent(columnNames.get(i), i);
+      }
+      this.groupByTagIndexes = query.getGroupByTags().stream().mapToInt(columnIndexes::get).toArray();
+      this.filter = new RowFilter(query.getFilters(), columnIndexes);
+    }
+
+    /**
+     * Returns the group-by tag values of the row, missing tags are represented by an empty string.
+     */
+    List<String> seriesKey(Object[] values) {
+      if (groupByTagIndexes.length == 0) {
+        return List.of();
+      }
+      var key = new ArrayList<String>(groupByTagIndexes.length);
+      for (int index : groupByTagIndexes) {
+        key.add(values[index] != null ? values[index].toString() : "");
+      }
+      return key;
+    }
+
+    Map<String, String> toTags(List<String> seriesKey) {
+      if (seriesKey.isEmpty()) {
+        return null;
+      }
+      var tags = new LinkedHashMap<String, String>();
+      for (int i = 0; i < seriesKey.size(); i++) {
+        tags.put(query.getGroupByTags().get(i), seriesKey.get(i));
+      }
+      return tags;
+    }
+  }
+
+  private static class Bucket {
+
+    private final long start;
+    private final ColumnAggregate[] aggregates;
+
+    Bucket(long start,
+           List<QueryColumn> columns) {
+      this.start = start;
+      this.aggregates = columns.stream()
+                               .map(column -> new ColumnAggregate(column.function()))
+                               .toArray(ColumnAggregate[]::new);
+    }
+  }
+
+  private enum FillMode {
+    NONE, NULL, NUMBER, PREVIOUS, LINEAR
+  }
+
+  private record Fill(FillMode mode, Double value) {
+
+    static Fill of(Object fill) {
+      if (fill instanceof Number number) {
+        return new Fill(FillMode.NUMBER, number.doubleValue());
+      } else if (fill == null || "none".equals(fill)) {
+        return new Fill(FillMode.NONE, null);
+      }
+      var value = fill.toString();
+      return switch (value) {
+        case "null" -> new Fill(FillMode.NULL, null);
+        case "previous" -> new Fill(FillMode.PREVIOUS, null);
+        case "linear" -> new Fill(FillMode.LINEAR, null);
+        default -> {
+          try {
+            yield new Fill(FillMode.NUMBER, Double.parseDouble(value));
+          } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unsupported fill option " + value);
+          }
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.query;
+
+import org.apache.streampipes.model.datalake.AggregationFunction;
+
+/**
+ * A selected column, optionally aggregated and renamed.
+ */
+public record QueryColumn(String field, AggregationFunction function, String alias) {
+
+  public boolean isAggregated() {
+    return function != null;
+  }
+
+  public String outputName() {
+    if (alias != null) {
+      return alias;
+    }
+    return function != null ? function.name().toLowerCase() : field;
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.query;
+
+import org.apache.streampipes.model.datalake.FilterCondition;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates the filter groups of a query against a row.
+ * <p>
+ * Conditions on the time field compare nanoseconds against the millisecond timestamp of the row. Numbers are
+ * compared numerically, values of different types and missing values never match.
+ */
+class RowFilter {
+
+  private static final long NANOS_PER_MILLI = 1000000L;
+
+  private final List<FilterGroup> groups;
+  private final Map<String, Integer> columnIndexes;
+
+  RowFilter(List<FilterGroup> groups,
+            Map<String, Integer> columnIndexes) {
+    this.groups = groups;
+    this.columnIndexes = columnIndexes;
+    groups.forEach(group -> group.conditions().forEach(condition -> validateOperator(condition.operator())));
+  }
+
+  boolean matches(long timestamp,
+                  Object[] values) {
+    for (FilterGroup group : groups) {
+      if (!matches(group, timestamp, values)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean matches(FilterGroup group,
+                          long timestamp,
+                          Object[] values) {
+    for (FilterCondition condition : group.conditions()) {
+      boolean matches = matches(condition, timestamp, values);
+      if (matches != group.matchAll()) {
+        return matches;
+      }
+    }
+    return group.matchAll();
+  }
+
+  private boolean matches(FilterCondition condition,
+                          long timestamp,
+                          Object[] values) {
+    if (EmbeddedQuery.TIME_FIELD.equals(condition.field()) && condition.condition() instanceof Number nanos) {
+      return matchesTime(condition.operator(), timestamp, nanos.longValue());
+    }
+    var index = columnIndexes.get(condition.field());
+    var value = index != null ? values[index] : null;
+    if (value == null || condition.condition() == null) {
+      return false;
+    }
+    Integer comparison = compare(value, condition.condition());
+    return comparison != null && evaluate(condition.operator(), comparison);
+  }
+
+  private boolean matchesTime(String operator,
+                              long timestamp,
+                              long nanos) {
+    long floor = Math.floorDiv(nanos, NANOS_PER_MILLI);
+    boolean exact = Math.floorMod(nanos, NANOS_PER_MILLI) == 0;
+    return switch (operator) {
+      case ">" -> timestamp > floor;
+      case ">=" -> exact ? timestamp >= floor : timestamp > floor;
+      case "<" -> exact ? timestamp < floor : timestamp <= floor;
+      case "<=" -> timestamp <= floor;
+      case "=", "==" -> exact && timestamp == floor;
+      default -> !exact || timestamp != floor;
+    };
+  }
+
+  private Integer compare(Object value,
+                          Object condition) {
+    if (value instanceof Number number && condition instanceof Number expected) {
+      return Double.compare(number.doubleValue(), expected.doubleValue());
+    } else if (value instanceof Boolean bool && condition instanceof Boolean expected) {
+      return Boolean.compare(bool, expected);
+    } else if (value instanceof String string && condition instanceof String expected) {
+      return string.compareTo(expected);
+    } else {
+      return null;
+    }
+  }
+
+  private boolean evaluate(String operator,
+                           int comparison) {
+    return switch (operator) {
+      case "=", "==" -> comparison == 0;
+      case "<" -> comparison < 0;
+      case "<=" -> comparison <= 0;
+      case ">" -> comparison > 0;
+      case ">=" -> comparison >= 0;
+      default -> comparison != 0;
+    };
+  }
+
+  private static void validateOperator(String operator) {
+    switch (operator) {
+      case "=", "==", "!=", "<>", "<", "<=", ">", ">=" -> {
+      }
+      default -> throw new IllegalArgumentException("Unsupported filter operator " + operator);
+    }
+  }
+}
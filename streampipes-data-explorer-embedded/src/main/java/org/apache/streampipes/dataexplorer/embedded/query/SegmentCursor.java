@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.query;
+
+import org.apache.streampipes.dataexplorer.embedded.segment.ColumnBuffer;
+import org.apache.streampipes.dataexplorer.embedded.segment.SegmentFile;
+
+import java.util.List;
+
+/**
+ * Iterates over the rows of a segment within a time range, in ascending or descending time order.
+ * <p>
+ * The block index of the segment is used to skip blocks outside the time range, and only the requested columns of
+ * a block are decoded.
+ */
+class SegmentCursor {
+
+  private final SegmentFile file;
+  private final int[] columnIndexes;
+  private final long from;
+  private final long to;
+  private final boolean descending;
+
+  private int block;
+  private long[] timestamps;
+  private ColumnBuffer[] columns;
+  private int row;
+
+  SegmentCursor(SegmentFile file,
+                List<String> columnNames,
+                long from,
+                long to,
+                boolean descending) {
+    this.file = file;
+    this.from = from;
+    this.to = to;
+    this.descending = descending;
+    this.columnIndexes = new int[columnNames.size()];
+    for (int i = 0; i < columnIndexes.length; i++) {
+      columnIndexes[i] = file.getColumnIndex(columnNames.get(i));
+    }
+    this.block = descending ? findLastBlock(to) + 1 : file.findFirstBlock(from) - 1;
+  }
+
+  /**
+   * Moves to the next row within the time range.
+   *
+   * @return false if there are no more rows in the time range
+   */
+  boolean advance() {
+    while (true) {
+      if (timestamps != null) {
+        row += descending ? -1 : 1;
+        if (row >= 0 && row < timestamps.length) {
+          long timestamp = timestamps[row];
+          if (descending ? timestamp < from : timestamp > to) {
+            return false;
+          } else if (timestamp >= from && timestamp <= to) {
+            return true;
+          }
+          continue;
+        }
+      }
+      if (!loadNextBlock()) {
+        return false;
+      }
+    }
+  }
+
+  long timestamp() {
+    return timestamps[row];
+  }
+
+  /**
+   * Returns the value of the requested column at the current row, or null if the segment has no such column.
+   */
+  Object value(int column) {
+    var buffer = columns[column];
+    return buffer != null ? buffer.getValue(row) : null;
+  }
+
+  private boolean loadNextBlock() {
+    block += descending ? -1 : 1;
+    var blocks = file.getBlocks();
+    if (block < 0
+        || block >= blocks.size()
+        || (descending ? blocks.get(block).maxTimestamp() < from : blocks.get(block).minTimestamp() > to)) {
+      return false;
+    }
+    timestamps = file.readTimestamps(block);
+    columns = new ColumnBuffer[columnIndexes.length];
+    for (int i = 0; i < columnIndexes.length; i++) {
+      if (columnIndexes[i] >= 0) {
+        columns[i] = file.readColumn(block, columnIndexes[i]);
+      }
+    }
+    row = descending ? timestamps.length : -1;
+    return true;
+  }
+
+  /**
+   * Returns the index of the last block which contains rows at or before the given timestamp, or -1 if there is no
+   * such block.
+   */
+  private int findLastBlock(long timestamp) {
+    var blocks = file.getBlocks();
+    int low = 0;
+    int high = blocks.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (blocks.get(mid).minTimestamp() <= timestamp) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low - 1;
+  }
+}
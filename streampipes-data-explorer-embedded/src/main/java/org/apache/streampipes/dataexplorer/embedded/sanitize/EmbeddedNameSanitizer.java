@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.sanitize;
+
+import org.apache.streampipes.dataexplorer.embedded.query.EmbeddedQuery;
+
+public class EmbeddedNameSanitizer {
+
+  /**
+   * Renames runtime names which conflict with the time column of the embedded storage by suffixing them with an
+   * underscore.
+   *
+   * @param runtimeName the runtime name to be checked
+   * @return the modified runtime name if it conflicts with the time column, otherwise the original runtime name
+   */
+  public String renameReservedKeywords(String runtimeName) {
+    return EmbeddedQuery.TIME_FIELD.equalsIgnoreCase(runtimeName) ? runtimeName + "_" : runtimeName;
+  }
+}
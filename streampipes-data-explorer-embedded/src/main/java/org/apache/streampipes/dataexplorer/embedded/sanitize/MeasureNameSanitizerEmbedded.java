@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.sanitize;
+
+/**
+ * Ensures that measurement names can be used as directory names of the embedded storage.
+ */
+public class MeasureNameSanitizerEmbedded {
+
+  /**
+   * Sanitizes the given measurement name so that it is a valid directory name on all common file systems.
+   *
+   * @param measureName The measurement name to be sanitized
+   * @return The sanitized measurement name with path separators and reserved characters replaced by underscores
+   */
+  public String sanitize(String measureName) {
+    var sanitized = measureName.replaceAll("[/\\\\:*?\"<>|\\p{Cntrl}]", "_");
+    return sanitized.equals(".") || sanitized.equals("..") ? sanitized.replace('.', '_') : sanitized;
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.segment;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads bits written by {@link BitOutput} from a region of a byte buffer, using absolute positions only.
+ */
+class BitInput {
+
+  private final ByteBuffer buffer;
+  private final int offset;
+  private long bitPosition;
+
+  BitInput(ByteBuffer buffer, int offset) {
+    this.buffer = buffer;
+    this.offset = offset;
+  }
+
+  boolean readBit() {
+    return readBits(1) == 1;
+  }
+
+  long readBits(int bits) {
+    long result = 0;
+    while (bits > 0) {
+      int byteIndex = offset + (int) (bitPosition >>> 3);
+      int available = 8 - (int) (bitPosition & 7);
+      int n = Math.min(available, bits);
+      int chunk = ((buffer.get(byteIndex) & 0xff) >>> (available - n)) & ((1 << n) - 1);
+      result = (result << n) | chunk;
+      bitPosition += n;
+      bits -= n;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the byte position after the last bit which was read.
+   */
+  int endPosition() {
+    return offset + (int) ((bitPosition + 7) >>> 3);
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.segment;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer which bits are written to, most significant bit first.
+ */
+class BitOutput {
+
+  private byte[] buffer;
+  private long bitPosition;
+
+  BitOutput(int initialBytes) {
+    this.buffer = new byte[Math.max(8, initialBytes)];
+  }
+
+  void writeBit(boolean bit) {
+    writeBits(bit ? 1 : 0, 1);
+  }
+
+  /**
+   * Writes the lowest bits of the value.
+   */
+  void writeBits(long value, int bits) {
+    ensureCapacity(bits);
+    while (bits > 0) {
+      int byteIndex = (int) (bitPosition >>> 3);
+      int free = 8 - (int) (bitPosition & 7);
+      int n = Math.min(free, bits);
+      int chunk = (int) ((value >>> (bits - n)) & ((1 << n) - 1));
+      buffer[byteIndex] |= (byte) (chunk << (free - n));
+      bitPosition += n;
+      bits -= n;
+    }
+  }
+
+  byte[] toByteArray() {
+    return Arrays.copyOf(buffer, (int) ((bitPosition + 7) >>> 3));
+  }
+
+  private void ensureCapacity(int bits) {
+    long requiredBytes = ((bitPosition + bits) >>> 3) + 1;
+    if (requiredBytes > buffer.length) {
+      buffer = Arrays.copyOf(buffer, (int) Math.max(requiredBytes, buffer.length * 2L));
+    }
+  }
+}
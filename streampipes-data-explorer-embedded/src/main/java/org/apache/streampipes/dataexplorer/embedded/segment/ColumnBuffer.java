@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.segment;
+
+import java.util.Arrays;
+
+/**
+ * Values of one column, either rows which are buffered before they are written to a segment file or rows which
+ * were decoded from a block of a segment file.
+ * <p>
+ * Numeric and boolean values are kept in a primitive array, doubles as their raw long bits and booleans as 0 or 1.
+ * Rows without a value are marked as absent.
+ */
+public class ColumnBuffer {
+
+  private final String name;
+  private final ColumnType type;
+
+  private long[] values;
+  private String[] strings;
+  private boolean[] present;
+  private int size;
+
+  public ColumnBuffer(String name, ColumnType type, int capacity) {
+    this.name = name;
+    this.type = type;
+    int initialCapacity = Math.max(1, capacity);
+    if (type == ColumnType.STRING) {
+      this.strings = new String[initialCapacity];
+    } else {
+      this.values = new long[initialCapacity];
+    }
+    this.present = new boolean[initialCapacity];
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public ColumnType getType() {
+    return type;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Extends the column to the given number of rows, the added rows have no value.
+   */
+  public void setSize(int rows) {
+    ensureCapacity(rows);
+    size = Math.max(size, rows);
+  }
+
+  public void set(int row, Object value) {
+    setSize(row + 1);
+    if (value == null) {
+      present[row] = false;
+      return;
+    }
+    switch (type) {
+      case DOUBLE -> values[row] = Double.doubleToRawLongBits(((Number) value).doubleValue());
+      case LONG -> values[row] = ((Number) value).longValue();
+      case BOOLEAN -> values[row] = Boolean.TRUE.equals(value) ? 1 : 0;
+      default -> strings[row] = value.toString();
+    }
+    present[row] = true;
+  }
+
+  void setRaw(int row, long value) {
+    values[row] = value;
+    present[row] = true;
+  }
+
+  void setString(int row, String value) {
+    strings[row] = value;
+    present[row] = true;
+  }
+
+  public boolean isPresent(int row) {
+    return present[row];
+  }
+
+  long getRaw(int row) {
+    return values[row];
+  }
+
+  public double getDouble(int row) {
+    return type == ColumnType.DOUBLE ? Double.longBitsToDouble(values[row]) : values[row];
+  }
+
+  public String getString(int row) {
+    return strings[row];
+  }
+
+  /**
+   * Returns the value of the row as it is returned by queries, numbers are returned as doubles.
+   */
+  public Object getValue(int row) {
+    if (!present[row]) {
+      return null;
+    }
+    return switch (type) {
+      case DOUBLE -> Double.longBitsToDouble(values[row]);
+      case LONG -> (double) values[row];
+      case BOOLEAN -> values[row] == 1;
+      default -> strings[row];
+    };
+  }
+
+  /**
+   * Copies the value of a row of another column with the same type into the given row.
+   */
+  public void copyRow(ColumnBuffer source, int sourceRow, int targetRow) {
+    setSize(targetRow + 1);
+    if (!source.present[sourceRow]) {
+      present[targetRow] = false;
+    } else if (type == ColumnType.STRING) {
+      setString(targetRow, source.strings[sourceRow]);
+    } else {
+      setRaw(targetRow, source.values[sourceRow]);
+    }
+  }
+
+  /**
+   * Copies the given rows into a new column.
+   */
+  public ColumnBuffer select(int[] rows, int from, int to) {
+    var selected = new ColumnBuffer(name, type, to - from);
+    selected.setSize(to - from);
+    for (int i = from; i < to; i++) {
+      int row = rows[i];
+      if (row < size && present[row]) {
+        if (type == ColumnType.STRING) {
+          selected.setString(i - from, strings[row]);
+        } else {
+          selected.setRaw(i - from, values[row]);
+        }
+      }
+    }
+    return selected;
+  }
+
+  private void ensureCapacity(int rows) {
+    if (rows > present.length) {
+      int capacity = Math.max(rows, present.length * 2);
+      present = Arrays.copyOf(present, capacity);
+      if (type == ColumnType.STRING) {
+        strings = Arrays.copyOf(strings, capacity);
+      } else {
+        values = Arrays.copyOf(values, capacity);
+      }
+    }
+  }
+}
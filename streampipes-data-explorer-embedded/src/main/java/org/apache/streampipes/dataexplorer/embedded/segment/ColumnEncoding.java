@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.segment;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodings of the timestamps and columns of a block.
+ * <p>
+ * Timestamps are stored as delta-of-delta values with variable bit width, doubles are XOR-compressed against the
+ * previous value as in Facebook's Gorilla paper, longs as zig-zag varint deltas, booleans as single bits and strings
+ * with a dictionary of the block. Missing values are stored in a bitmap and are not part of the encoded values.
+ */
+final class ColumnEncoding {
+
+  private static final byte ALL_PRESENT = 0;
+  private static final byte SOME_ABSENT = 1;
+  private static final byte ALL_ABSENT = 2;
+
+  private ColumnEncoding() {
+  }
+
+  static byte[] encodeTimestamps(long[] timestamps, int from, int to) {
+    var out = new BitOutput((to - from) / 2 + 8);
+    out.writeBits(timestamps[from], 64);
+    long previousDelta = 0;
+    for (int i = from + 1; i < to; i++) {
+      long delta = timestamps[i] - timestamps[i - 1];
+      writeDeltaOfDelta(out, delta - previousDelta);
+      previousDelta = delta;
+    }
+    return out.toByteArray();
+  }
+
+  static long[] decodeTimestamps(ByteBuffer buffer, int offset, int count) {
+    var timestamps = new long[count];
+    var in = new BitInput(buffer, offset);
+    timestamps[0] = in.readBits(64);
+    long delta = 0;
+    for (int i = 1; i < count; i++) {
+      delta += readDeltaOfDelta(in);
+      timestamps[i] = timestamps[i - 1] + delta;
+    }
+    return timestamps;
+  }
+
+  static byte[] encodeColumn(ColumnBuffer column, int from, int to) {
+    var out = new ByteArrayOutputStream();
+    int rows = to - from;
+    int presentRows = 0;
+    for (int i = from; i < to; i++) {
+      if (i < column.size() && column.isPresent(i)) {
+        presentRows++;
+      }
+    }
+
+    if (presentRows == 0) {
+      out.write(ALL_ABSENT);
+      return out.toByteArray();
+    } else if (presentRows == rows) {
+      out.write(ALL_PRESENT);
+    } else {
+      out.write(SOME_ABSENT);
+      var bitmap = new byte[(rows + 7) >>> 3];
+      for (int i = from; i < to; i++) {
+        if (i < column.size() && column.isPresent(i)) {
+          bitmap[(i - from) >>> 3] |= (byte) (1 << ((i - from) & 7));
+        }
+      }
+      out.writeBytes(bitmap);
+    }
+
+    switch (column.getType()) {
+      case DOUBLE -> encodeDoubles(column, from, to, out);
+      case LONG -> encodeLongs(column, from, to, out);
+      case BOOLEAN -> encodeBooleans(column, from, to, out);
+      default -> encodeStrings(column, from, to, out);
+    }
+    return out.toByteArray();
+  }
+
+  static ColumnBuffer decodeColumn(ByteBuffer buffer,
+                                   int offset,
+                                   String name,
+                                   ColumnType type,
+                                   int rows) {
+    var column = new ColumnBuffer(name, type, rows);
+    column.setSize(rows);
+    byte mode = buffer.get(offset);
+    int position = offset + 1;
+    var present = new boolean[rows];
+    if (mode == ALL_ABSENT) {
+      return column;
+    } else if (mode == ALL_PRESENT) {
+      Arrays.fill(present, true);
+    } else {
+      for (int i = 0; i < rows; i++) {
+        present[i] = (buffer.get(position + (i >>> 3)) & (1 << (i & 7))) != 0;
+      }
+      position += (rows + 7) >>> 3;
+    }
+
+    switch (type) {
+      case DOUBLE -> decodeDoubles(buffer, position, present, column);
+      case LONG -> decodeLongs(buffer, position, present, column);
+      case BOOLEAN -> decodeBooleans(buffer, position, present, column);
+      default -> decodeStrings(buffer, position, present, column);
+    }
+    return column;
+  }
+
+  private static void writeDeltaOfDelta(BitOutput out, long value) {
+    if (value == 0) {
+      out.writeBit(false);
+    } else if (fits(value, 7)) {
+      out.writeBits(0b10, 2);
+      out.writeBits(value, 7);
+    } else if (fits(value, 9)) {
+      out.writeBits(0b110, 3);
+      out.writeBits(value, 9);
+    } else if (fits(value, 12)) {
+      out.writeBits(0b1110, 4);
+      out.writeBits(value, 12);
+    } else if (fits(value, 32)) {
+      out.writeBits(0b11110, 5);
+      out.writeBits(value, 32);
+    } else {
+      out.writeBits(0b11111, 5);
+      out.writeBits(value, 64);
+    }
+  }
+
+  private static long readDeltaOfDelta(BitInput in) {
+    if (!in.readBit()) {
+      return 0;
+    } else if (!in.readBit()) {
+      return signExtend(in.readBits(7), 7);
+    } else if (!in.readBit()) {
+      return signExtend(in.readBits(9), 9);
+    } else if (!in.readBit()) {
+      return signExtend(in.readBits(12), 12);
+    } else if (!in.readBit()) {
+      return signExtend(in.readBits(32), 32);
+    } else {
+      return in.readBits(64);
+    }
+  }
+
+  private static boolean fits(long value, int bits) {
+    return value >= -(1L << (bits - 1)) && value < (1L << (bits - 1));
+  }
+
+  private static long signExtend(long value, int bits) {
+    return (value << (64 - bits)) >> (64 - bits);
+  }
+
+  private static void encodeDoubles(ColumnBuffer column, int from, int to, ByteArrayOutputStream target) {
+    var out = new BitOutput((to - from) * 2);
+    boolean first = true;
+    long previous = 0;
+    int previousLeading = -1;
+    int previousTrailing = 0;
+    for (int i = from; i < to; i++) {
+      if (i >= column.size() || !column.isPresent(i)) {
+        continue;
+      }
+      long value = column.getRaw(i);
+      if (first) {
+        out.writeBits(value, 64);
+        first = false;
+      } else {
+        long xor = value ^ previous;
+        if (xor == 0) {
+          out.writeBit(false);
+        } else {
+          out.writeBit(true);
+          int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+          int trailing = Long.numberOfTrailingZeros(xor);
+          if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+            out.writeBit(false);
+            out.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+          } else {
+            int significant = 64 - leading - trailing;
+            out.writeBit(true);
+            out.writeBits(leading, 5);
+            out.writeBits(significant == 64 ? 0 : significant, 6);
+            out.writeBits(xor >>> trailing, significant);
+            previousLeading = leading;
+            previousTrailing = trailing;
+          }
+        }
+      }
+      previous = value;
+    }
+    target.writeBytes(out.toByteArray());
+  }
+
+  private static void decodeDoubles(ByteBuffer buffer, int position, boolean[] present, ColumnBuffer column) {
+    var in = new BitInput(buffer, position);
+    boolean first = true;
+    long previous = 0;
+    int previousLeading = 0;
+    int previousTrailing = 0;
+    for (int row = 0; row < present.length; row++) {
+      if (!present[row]) {
+        continue;
+      }
+      long value;
+      if (first) {
+        value = in.readBits(64);
+        first = false;
+      } else if (!in.readBit()) {
+        value = previous;
+      } else if (!in.readBit()) {
+        int significant = 64 - previousLeading - previousTrailing;
+        value = previous ^ (in.readBits(significant) << previousTrailing);
+      } else {
+        int leading = (int) in.readBits(5);
+        int significant = (int) in.readBits(6);
+        if (significant == 0) {
+          significant = 64;
+        }
+        int trailing = 64 - leading - significant;
+        value = previous ^ (in.readBits(significant) << trailing);
+        previousLeading = leading;
+        previousTrailing = trailing;
+      }
+      column.setRaw(row, value);
+      previous = value;
+    }
+  }
+
+  private static void encodeLongs(ColumnBuffer column, int from, int to, ByteArrayOutputStream out) {
+    long previous = 0;
+    for (int i = from; i < to; i++) {
+      if (i < column.size() && column.isPresent(i)) {
+        long value = column.getRaw(i);
+        long delta = value - previous;
+        writeVarLong(out, (delta << 1) ^ (delta >> 63));
+        previous = value;
+      }
+    }
+  }
+
+  private static void decodeLongs(ByteBuffer buffer, int position, boolean[] present, ColumnBuffer column) {
+    var cursor = new int[] {position};
+    long previous = 0;
+    for (int row = 0; row < present.length; row++) {
+      if (present[row]) {
+        long zigZag = readVarLong(buffer, cursor);
+        previous += (zigZag >>> 1) ^ -(zigZag & 1);
+        column.setRaw(row, previous);
+      }
+    }
+  }
+
+  private static void encodeBooleans(ColumnBuffer column, int from, int to, ByteArrayOutputStream target) {
+    var out = new BitOutput((to - from) / 8 + 1);
+    for (int i = from; i < to; i++) {
+      if (i < column.size() && column.isPresent(i)) {
+        out.writeBit(column.getRaw(i) == 1);
+      }
+    }
+    target.writeBytes(out.toByteArray());
+  }
+
+  private static void decodeBooleans(ByteBuffer buffer, int position, boolean[] present, ColumnBuffer column) {
+    var in = new BitInput(buffer, position);
+    for (int row = 0; row < present.length; row++) {
+      if (present[row]) {
+        column.setRaw(row, in.readBit() ? 1 : 0);
+      }
+    }
+  }
+
+  private static void encodeStrings(ColumnBuffer column, int from, int to, ByteArrayOutputStream out) {
+    Map<String, Integer> dictionary = new HashMap<>();
+    List<String> entries = new ArrayList<>();
+    var indexes = new ByteArrayOutputStream();
+    for (int i = from; i < to; i++) {
+      if (i < column.size() && column.isPresent(i)) {
+        var value = column.getString(i);
+        var index = dictionary.get(value);
+        if (index == null) {
+          index = entries.size();
+          dictionary.put(value, index);
+          entries.add(value);
+        }
+        writeVarLong(indexes, index);
+      }
+    }
+    writeVarLong(out, entries.size());
+    for (String entry : entries) {
+      var bytes = entry.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(out, bytes.length);
+      out.writeBytes(bytes);
+    }
+    out.writeBytes(indexes.toByteArray());
+  }
+
+  private static void decodeStrings(ByteBuffer buffer, int position, boolean[] present, ColumnBuffer column) {
+    var cursor = new int[] {position};
+    var entries = new String[(int) readVarLong(buffer, cursor)];
+    for (int i = 0; i < entries.length; i++) {
+      var bytes = new byte[(int) readVarLong(buffer, cursor)];
+      buffer.get(cursor[0], bytes);
+      cursor[0] += bytes.length;
+      entries[i] = new String(bytes, StandardCharsets.UTF_8);
+    }
+    for (int row = 0; row < present.length; row++) {
+      if (present[row]) {
+        column.setString(row, entries[(int) readVarLong(buffer, cursor)]);
+      }
+    }
+  }
+
+  private static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static long readVarLong(ByteBuffer buffer, int[] cursor) {
+    long result = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.get(cursor[0]++);
+      result |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return result;
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.segment;
+
+/**
+ * Entry of the sparse time index of a segment file, describing one block of consecutive rows.
+ *
+ * @param minTimestamp   The timestamp of the first row of the block.
+ * @param maxTimestamp   The timestamp of the last row of the block.
+ * @param rows           The number of rows of the block.
+ * @param offsets        The file offsets of the timestamps, followed by the offsets of the columns.
+ * @param lengths        The encoded lengths of the timestamps, followed by the lengths of the columns.
+ */
+public record SegmentBlock(long minTimestamp,
+                           long maxTimestamp,
+                           int rows,
+                           long[] offsets,
+                           int[] lengths) {
+}
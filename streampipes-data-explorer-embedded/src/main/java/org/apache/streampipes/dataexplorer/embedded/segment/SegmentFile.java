@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.segment;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read access to a segment file written by {@link SegmentFileWriter}.
+ * <p>
+ * The file is memory-mapped, only the footer is parsed when the file is opened. Blocks and columns are decoded on
+ * demand, so queries only read the blocks within their time range and the columns they need.
+ */
+public class SegmentFile {
+
+  private final Path path;
+  private final ByteBuffer buffer;
+  private final List<SegmentColumn> columns;
+  private final Map<String, Integer> columnIndexes;
+  private final List<SegmentBlock> blocks;
+  private final long rowCount;
+
+  private SegmentFile(Path path,
+                      ByteBuffer buffer,
+                      List<SegmentColumn> columns,
+                      List<SegmentBlock> blocks) {
+    this.path = path;
+    this.buffer = buffer;
+    this.columns = Collections.unmodifiableList(columns);
+    this.blocks = Collections.unmodifiableList(blocks);
+    this.columnIndexes = new HashMap<>();
+    for (int i = 0; i < columns.size(); i++) {
+      columnIndexes.put(columns.get(i).name(), i);
+    }
+    this.rowCount = blocks.stream().mapToLong(SegmentBlock::rows).sum();
+  }
+
+  public static SegmentFile open(Path path) throws IOException {
+    ByteBuffer buffer;
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < 4 + SegmentFileWriter.TRAILER_BYTES) {
+        throw new IOException("Segment file " + path + " is too small");
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    int size = buffer.capacity();
+    if (buffer.getInt(0) != SegmentFileWriter.MAGIC || buffer.getInt(size - 4) != SegmentFileWriter.MAGIC) {
+      throw new IOException("File " + path + " is not a valid segment file");
+    }
+    var footer = buffer.duplicate();
+    footer.position((int) buffer.getLong(size - SegmentFileWriter.TRAILER_BYTES));
+
+    int columnCount = footer.getInt();
+    var columns = new ArrayList<SegmentColumn>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      var name = readUtf(footer);
+      columns.add(new SegmentColumn(name, ColumnType.fromId(footer.get())));
+    }
+
+    int blockCount = footer.getInt();
+    var blocks = new ArrayList<SegmentBlock>(blockCount);
+    for (int i = 0; i < blockCount; i++) {
+      long minTimestamp = footer.getLong();
+      long maxTimestamp = footer.getLong();
+      int rows = footer.getInt();
+      var offsets = new long[columnCount + 1];
+      var lengths = new int[columnCount + 1];
+      for (int c = 0; c <= columnCount; c++) {
+        offsets[c] = footer.getLong();
+        lengths[c] = footer.getInt();
+      }
+      blocks.add(new SegmentBlock(minTimestamp, maxTimestamp, rows, offsets, lengths));
+    }
+    return new SegmentFile(path, buffer, columns, blocks);
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  public List<SegmentColumn> getColumns() {
+    return columns;
+  }
+
+  /**
+   * Returns the index of the column with the given name or -1 if the segment does not contain the column.
+   */
+  public int getColumnIndex(String name) {
+    return columnIndexes.getOrDefault(name, -1);
+  }
+
+  public List<SegmentBlock> getBlocks() {
+    return blocks;
+  }
+
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  public long getMinTimestamp() {
+    return blocks.get(0).minTimestamp();
+  }
+
+  public long getMaxTimestamp() {
+    return blocks.get(blocks.size() - 1).maxTimestamp();
+  }
+
+  /**
+   * Returns the index of the first block which contains rows at or after the given timestamp, or the number of
+   * blocks if there is no such block.
+   */
+  public int findFirstBlock(long timestamp) {
+    int low = 0;
+    int high = blocks.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (blocks.get(mid).maxTimestamp() < timestamp) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  public long[] readTimestamps(int block) {
+    var segmentBlock = blocks.get(block);
+    return ColumnEncoding.decodeTimestamps(buffer, (int) segmentBlock.offsets()[0], segmentBlock.rows());
+  }
+
+  public ColumnBuffer readColumn(int block, int column) {
+    var segmentBlock = blocks.get(block);
+    var segmentColumn = columns.get(column);
+    return ColumnEncoding.decodeColumn(
+        buffer,
+        (int) segmentBlock.offsets()[column + 1],
+        segmentColumn.name(),
+        segmentColumn.type(),
+        segmentBlock.rows()
+    );
+  }
+
+  private static String readUtf(ByteBuffer footer) {
+    int length = footer.getShort() & 0xffff;
+    var bytes = new byte[length];
+    footer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
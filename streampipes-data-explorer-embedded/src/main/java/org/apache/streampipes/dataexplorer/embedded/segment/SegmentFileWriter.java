@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.embedded.segment;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes rows which are sorted by time to an immutable segment file.
+ * <p>
+ * A segment file starts with a magic number, followed by the encoded blocks of rows and a footer. The footer holds
+ * the columns of the segment and the sparse time index with the time range and the file offsets of every block. The
+ * file ends with the offset of the footer and the magic number. Files are written to a temporary file first and
+ * moved to their target path once complete, so readers never observe partially written segments.
+ */
+public final class SegmentFileWriter {
+
+  public static final int MAGIC = 0x53505347;
+  public static final int TRAILER_BYTES = 12;
+  public static final int DEFAULT_BLOCK_ROWS = 1024;
+
+  private SegmentFileWriter() {
+  }
+
+  /**
+   * @param target     The path of the segment file.
+   * @param timestamps The timestamps of the rows in ascending order.
+   * @param columns    The columns, each having a value or an absent marker for every row.
+   * @param blockRows  The maximum number of rows per block.
+   */
+  public static void write(Path target,
+                           long[] timestamps,
+                           List<ColumnBuffer> columns,
+                           int blockRows) throws IOException {
+    if (timestamps.length == 0) {
+      throw new IllegalArgumentException("Cannot write a segment without rows");
+    }
+    var temporary = target.resolveSibling(target.getFileName() + ".tmp");
+    try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+      long position = 0;
+      out.writeInt(MAGIC);
+      position += 4;
+
+      var blocks = new ArrayList<SegmentBlock>();
+      for (int from = 0; from < timestamps.length; from += blockRows) {
+        int to = Math.min(timestamps.length, from + blockRows);
+        var offsets = new long[columns.size() + 1];
+        var lengths = new int[columns.size() + 1];
+
+        var encodedTimestamps = ColumnEncoding.encodeTimestamps(timestamps, from, to);
+        offsets[0] = position;
+        lengths[0] = encodedTimestamps.length;
+        out.write(encodedTimestamps);
+        position += encodedTimestamps.length;
+
+        for (int c = 0; c < columns.size(); c++) {
+          var encodedColumn = ColumnEncoding.encodeColumn(columns.get(c), from, to);
+          offsets[c + 1] = position;
+          lengths[c + 1] = encodedColumn.length;
+          out.write(encodedColumn);
+          position += encodedColumn.length;
+        }
+        blocks.add(new SegmentBlock(timestamps[from], timestamps[to - 1], to - from, offsets, lengths));
+      }
+
+      long footerOffset = position;
+      out.writeInt(columns.size());
+      for (ColumnBuffer column : columns) {
+        var name = column.getName().getBytes(StandardCharsets.UTF_8);
+        out.writeShort(name.length);
+        out.write(name);
+        out.writeByte(column.getType().getId());
+      }
+      out.writeInt(blocks.size());
+      for (SegmentBlock block : blocks) {
+        out.writeLong(block.minTimestamp());
+        out.writeLong(block.maxTimestamp());
+        out.writeInt(block.rows());
+        for (int i = 0; i < block.offsets().length; i++) {
+          out.writeLong(block.offsets()[i]);
+          out.writeInt(block.lengths()[i]);
+        }
+      }
+      out.writeLong(footerOffset);
+      out.writeInt(MAGIC);
+      out.flush();
+      channel.force(true);
+    }
+    Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+  }
+}
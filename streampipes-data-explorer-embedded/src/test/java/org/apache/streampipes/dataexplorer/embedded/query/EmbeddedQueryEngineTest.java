@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.embedded.query;
+
+import org.apache.streampipes.dataexplorer.embedded.EmbeddedMeasureStore;
+import org.apache.streampipes.dataexplorer.embedded.segment.ColumnBuffer;
+import org.apache.streampipes.dataexplorer.embedded.segment.ColumnType;
+import org.apache.streampipes.model.datalake.AggregationFunction;
+import org.apache.streampipes.model.datalake.DataLakeQueryOrdering;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmbeddedQueryEngineTest {
+
+  private static final String MEASURE = "test";
+
+  @TempDir
+  Path directory;
+
+  private EmbeddedMeasureStore store;
+  private EmbeddedQueryEngine engine;
+
+  @BeforeEach
+  public void setUp() {
+    store = new EmbeddedMeasureStore(directory, 4);
+    engine = new EmbeddedQueryEngine(store);
+  }
+
+  @Test
+  public void mergesSegmentsAndAppliesFilterLimitAndOffset() throws Exception {
+    writeRows(0, 2, 4, 6, 8);
+    writeRows(9, 7, 5, 3, 1);
+
+    var query = DataLakeEmbeddedQueryBuilder.create(MEASURE)
+                                            .withAllColumns()
+                                            .withFilter("temperature", ">=", 2)
+                                            .withOffset(1)
+                                            .withLimit(3)
+                                            .build();
+    var result = engine.query(query);
+
+    assertEquals(1, result.size());
+    assertEquals(List.of("time", "sensor", "temperature"), result.get(0).getHeaders());
+    assertEquals(List.of(
+        List.of(3000.0, "b", 3.0),
+        List.of(4000.0, "a", 4.0),
+        List.of(5000.0, "b", 5.0)
+    ), result.get(0).getRows());
+  }
+
+  @Test
+  public void returnsRowsInDescendingOrder() throws Exception {
+    writeRows(0, 1, 2, 3, 4, 5);
+
+    var query = DataLakeEmbeddedQueryBuilder.create(MEASURE)
+                                            .withSimpleColumn("temperature")
+                                            .withEndTime(4000, false)
+                                            .withOrderBy(DataLakeQueryOrdering.DESC)
+                                            .withLimit(2)
+                                            .build();
+    var rows = engine.query(query).get(0).getRows();
+
+    assertEquals(List.of(List.of(3000.0, 3.0), List.of(2000.0, 2.0)), rows);
+  }
+
+  @Test
+  public void groupsByTimeAndFillsLinear() throws Exception {
+    writeRows(0, 1, 6, 7);
+
+    var query = DataLakeEmbeddedQueryBuilder.create(MEASURE)
+                                            .withAggregatedColumn("temperature", AggregationFunction.MEAN)
+                                            .withTimeBoundary(0, 9999)
+                                            .withGroupByTime("2000ms")
+                                            .withFill("linear")
+                                            .build();
+    var rows = engine.query(query).get(0).getRows();
+
+    assertEquals(Arrays.asList(
+        List.of(0.0, 0.5),
+        List.of(2000.0, 2.5),
+        List.of(4000.0, 4.5),
+        List.of(6000.0, 6.5),
+        Arrays.asList(8000.0, null)
+    ), rows);
+  }
+
+  @Test
+  public void groupsByTag() throws Exception {
+    writeRows(0, 1, 2, 3, 4);
+
+    var query = DataLakeEmbeddedQueryBuilder.create(MEASURE)
+                                            .withAggregatedColumn("temperature", AggregationFunction.COUNT)
+                                            .withGroupBy("sensor")
+                                            .build();
+    var result = engine.query(query);
+
+    assertEquals(2, result.size());
+    assertEquals(Map.of("sensor", "a"), result.get(0).getTags());
+    assertEquals(List.of(List.of(0.0, 3.0)), result.get(0).getRows());
+    assertEquals(Map.of("sensor", "b"), result.get(1).getTags());
+    assertEquals(List.of(List.of(0.0, 2.0)), result.get(1).getRows());
+  }
+
+  @Test
+  public void deletesTimeRange() throws Exception {
+    writeRows(0, 1, 2, 3, 4, 5);
+
+    assertTrue(store.deleteRange(MEASURE, 1000, 4000));
+
+    var query = DataLakeEmbeddedQueryBuilder.create(MEASURE)
+                                            .withSimpleColumn("temperature")
+                                            .build();
+    var rows = engine.query(query).get(0).getRows();
+
+    assertEquals(List.of(
+        List.of(0.0, 0.0),
+        List.of(1000.0, 1.0),
+        List.of(4000.0, 4.0),
+        List.of(5000.0, 5.0)
+    ), rows);
+    assertEquals(4, store.countRows(MEASURE));
+  }
+
+  @Test
+  public void skipsReplacedSegmentsOfInterruptedDeletes() throws Exception {
+    writeRows(0, 1, 2, 3, 4, 5);
+    var original = store.findSegments(MEASURE, Long.MIN_VALUE, Long.MAX_VALUE).get(0).path();
+    var originalContent = Files.readAllBytes(original);
+
+    assertTrue(store.deleteRange(MEASURE, 1000, 4000));
+    // the replaced segment is still present, as if the delete was interrupted before removing it
+    Files.write(original, originalContent);
+
+    assertEquals(4, store.countRows(MEASURE));
+    assertTrue(store.deleteRange(MEASURE, 10000, 20000));
+    assertFalse(Files.exists(original));
+    assertEquals(4, store.countRows(MEASURE));
+  }
+
+  /**
+   * Writes one row per value at {@code value} seconds, with sensor "a" for even and "b" for odd values.
+   */
+  private void writeRows(int... values) throws Exception {
+    var timestamps = new long[values.length];
+    var temperature = new ColumnBuffer("temperature", ColumnType.DOUBLE, values.length);
+    var sensor = new ColumnBuffer("sensor", ColumnType.STRING, values.length);
+    for (int i = 0; i < values.length; i++) {
+      timestamps[i] = values[i] * 1000L;
+      temperature.set(i, (double) values[i]);
+      sensor.set(i, values[i] % 2 == 0 ? "a" : "b");
+    }
+    store.writeRows(MEASURE, timestamps, values.length, List.of(temperature, sensor));
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.embedded.sanitize;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MeasureNameSanitizerEmbeddedTest {
+
+  @Test
+  public void sanitize() {
+    var sanitizer = new MeasureNameSanitizerEmbedded();
+
+    assertEquals("myMeasure", sanitizer.sanitize("myMeasure"));
+    assertEquals("my.Measure", sanitizer.sanitize("my.Measure"));
+    assertEquals("my_Measure", sanitizer.sanitize("my/Measure"));
+    assertEquals("my_Measure", sanitizer.sanitize("my\\Measure"));
+    assertEquals("my_Measure_", sanitizer.sanitize("my:Measure?"));
+    assertEquals("__", sanitizer.sanitize(".."));
+  }
+
+  @Test
+  public void renameReservedKeywords() {
+    var sanitizer = new EmbeddedNameSanitizer();
+
+    assertEquals("time_", sanitizer.renameReservedKeywords("time"));
+    assertEquals("Time_", sanitizer.renameReservedKeywords("Time"));
+    assertEquals("timestamp", sanitizer.renameReservedKeywords("timestamp"));
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataexplorer.embedded.segment;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SegmentFileTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void roundTripsAllColumnTypes() throws Exception {
+    var timestamps = new long[] {1000L, 1010L, 1020L, 1021L, 5000L, -3L + 10000L};
+    var doubles = new ColumnBuffer("temperature", ColumnType.DOUBLE, timestamps.length);
+    var longs = new ColumnBuffer("counter", ColumnType.LONG, timestamps.length);
+    var booleans = new ColumnBuffer("running", ColumnType.BOOLEAN, timestamps.length);
+    var strings = new ColumnBuffer("sensorId", ColumnType.STRING, timestamps.length);
+    var values = new double[] {21.5, 21.5, 21.75, -0.0, Double.NaN, 1.0e300};
+    for (int i = 0; i < timestamps.length; i++) {
+      doubles.set(i, values[i]);
+      longs.set(i, i == 2 ? null : (long) i * Integer.MAX_VALUE * (i % 2 == 0 ? 1 : -1));
+      booleans.set(i, i % 2 == 0);
+      strings.set(i, i < 3 ? "a" : "b");
+    }
+
+    var path = directory.resolve("test.seg");
+    SegmentFileWriter.write(path, timestamps, List.of(doubles, longs, booleans, strings), 4);
+    var file = SegmentFile.open(path);
+
+    assertEquals(6, file.getRowCount());
+    assertEquals(2, file.getBlocks().size());
+    assertEquals(1000L, file.getMinTimestamp());
+    assertEquals(9997L, file.getMaxTimestamp());
+
+    int row = 0;
+    for (int block = 0; block < file.getBlocks().size(); block++) {
+      var blockTimestamps = file.readTimestamps(block);
+      var blockDoubles = file.readColumn(block, file.getColumnIndex("temperature"));
+      var blockLongs = file.readColumn(block, file.getColumnIndex("counter"));
+      var blockBooleans = file.readColumn(block, file.getColumnIndex("running"));
+      var blockStrings = file.readColumn(block, file.getColumnIndex("sensorId"));
+      for (int i = 0; i < blockTimestamps.length; i++, row++) {
+        assertEquals(timestamps[row], blockTimestamps[i]);
+        assertEquals(Double.doubleToRawLongBits(values[row]), blockDoubles.getRaw(i));
+        assertEquals(longs.getValue(row), blockLongs.getValue(i));
+        assertEquals(row % 2 == 0, blockBooleans.getValue(i));
+        assertEquals(row < 3 ? "a" : "b", blockStrings.getValue(i));
+      }
+    }
+    assertEquals(timestamps.length, row);
+  }
+
+  @Test
+  public void keepsAbsentValues() throws Exception {
+    var timestamps = new long[] {1L, 2L, 3L};
+    var sparse = new ColumnBuffer("sparse", ColumnType.DOUBLE, 3);
+    sparse.set(1, 4.2);
+    var empty = new ColumnBuffer("empty", ColumnType.STRING, 3);
+
+    var path = directory.resolve("sparse.seg");
+    SegmentFileWriter.write(path, timestamps, List.of(sparse, empty), 1024);
+    var file = SegmentFile.open(path);
+
+    var sparseColumn = file.readColumn(0, 0);
+    assertFalse(sparseColumn.isPresent(0));
+    assertTrue(sparseColumn.isPresent(1));
+    assertEquals(4.2, sparseColumn.getValue(1));
+    assertFalse(sparseColumn.isPresent(2));
+    assertNull(file.readColumn(0, 1).getValue(0));
+    assertEquals(-1, file.getColumnIndex("unknown"));
+  }
+
+  @Test
+  public void findsFirstBlockByTime() throws Exception {
+    var timestamps = new long[10];
+    var column = new ColumnBuffer("value", ColumnType.LONG, timestamps.length);
+    for (int i = 0; i < timestamps.length; i++) {
+      timestamps[i] = i * 100L;
+      column.set(i, (long) i);
+    }
+
+    var path = directory.resolve("index.seg");
+    SegmentFileWriter.write(path, timestamps, List.of(column), 3);
+    var file = SegmentFile.open(path);
+
+    assertEquals(4, file.getBlocks().size());
+    assertEquals(0, file.findFirstBlock(Long.MIN_VALUE));
+    assertEquals(1, file.findFirstBlock(250L));
+    assertEquals(1, file.findFirstBlock(300L));
+    assertEquals(3, file.findFirstBlock(900L));
+    assertEquals(4, file.findFirstBlock(901L));
+  }
+}
@@ -23,6 +23,7 @@ import org.apache.streampipes.dataexplorer.param.DeleteQueryParams;
 import org.apache.streampipes.dataexplorer.param.SelectQueryParams;
 import org.apache.streampipes.dataexplorer.api.IDataLakeQueryBuilder;
 import org.apache.streampipes.dataexplorer.query.DataExplorerQueryExecutor;
+import org.apache.streampipes.dataexplorer.query.QueryRowConsumer;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.datalake.DataSeries;
 import org.apache.streampipes.model.datalake.SpQueryResult;
@@ -31,6 +32,8 @@ import org.influxdb.InfluxDB;
 import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -45,6 +48,9 @@ import static org.apache.streampipes.commons.environment.Environments.getEnviron
 
 public class DataExplorerInfluxQueryExecutor extends DataExplorerQueryExecutor<Query, QueryResult> {
 
+  private static final int STREAMED_QUERY_CHUNK_SIZE = 10000;
+  private static final int STREAMED_QUERY_MAX_PENDING_CHUNKS = 4;
+
   protected DataSeries convertResult(QueryResult.Series series,
                                      boolean ignoreMissingValues) {
     List<String> columns = series.getColumns();
@@ -101,6 +107,47 @@ public class DataExplorerInfluxQueryExecutor extends DataExplorerQueryExecutor<Q
     }
   }
 
+  @Override
+  protected void streamQuery(Query query,
+                             boolean ignoreMissingValues,
+                             QueryRowConsumer consumer) throws IOException {
+    var reader = new InfluxChunkedQueryReader(STREAMED_QUERY_CHUNK_SIZE, STREAMED_QUERY_MAX_PENDING_CHUNKS);
+    try (final InfluxDB influxDB = InfluxClientProvider.getInfluxDBClient()) {
+      reader.read(influxDB, query, chunk -> {
+        if (hasResult(chunk)) {
+          for (QueryResult.Series series : chunk.getResults().get(0).getSeries()) {
+            writeSeries(series, ignoreMissingValues, consumer);
+          }
+        }
+      });
+    }
+  }
+
+  private void writeSeries(QueryResult.Series series,
+                           boolean ignoreMissingValues,
+                           QueryRowConsumer consumer) throws IOException {
+    if (series.getValues() == null) {
+      return;
+    }
+    for (List<Object> row : series.getValues()) {
+      if (!ignoreMissingValues || !row.contains(null)) {
+        row.set(0, toEpochMillis(row.get(0)));
+        consumer.accept(series.getColumns(), row);
+      }
+    }
+  }
+
+  /**
+   * Chunked queries do not support the epoch parameter, so timestamps are returned in RFC3339 format.
+   */
+  private Double toEpochMillis(Object time) {
+    if (time instanceof Number number) {
+      return number.doubleValue();
+    } else {
+      return (double) Instant.parse(time.toString()).toEpochMilli();
+    }
+  }
+
   @Override
   protected String asQueryString(Query query) {
     return "(database:" + query.getDatabase() + "): " + query.getCommand();
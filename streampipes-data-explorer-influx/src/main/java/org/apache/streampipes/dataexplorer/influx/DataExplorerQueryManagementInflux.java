@@ -21,10 +21,13 @@ package org.apache.streampipes.dataexplorer.influx;
 import org.apache.streampipes.dataexplorer.api.IDataExplorerQueryManagement;
 import org.apache.streampipes.dataexplorer.api.IDataExplorerSchemaManagement;
 import org.apache.streampipes.dataexplorer.export.OutputFormat;
+import org.apache.streampipes.dataexplorer.cache.QueryResultCache;
+import org.apache.streampipes.dataexplorer.statistics.MeasurementStatisticsCatalog;
 import org.apache.streampipes.dataexplorer.QueryResultProvider;
 import org.apache.streampipes.dataexplorer.StreamedQueryResultProvider;
 import org.apache.streampipes.dataexplorer.param.DeleteQueryParams;
 import org.apache.streampipes.dataexplorer.param.ProvidedRestQueryParamConverter;
+import org.apache.streampipes.dataexplorer.rollup.RollupTiers;
 import org.apache.streampipes.model.datalake.SpQueryStatus;
 import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
@@ -68,11 +71,13 @@ public class DataExplorerQueryManagementInflux implements IDataExplorerQueryMana
 
   @Override
   public boolean deleteAllData() {
+    MeasurementStatisticsCatalog.INSTANCE.invalidateAll();
+    QueryResultCache.getInstance().invalidateAll();
     List<DataLakeMeasure> allMeasurements = getAllMeasurements();
     var queryExecutor = new DataExplorerInfluxQueryExecutor();
 
     for (DataLakeMeasure measure : allMeasurements) {
-      boolean success = queryExecutor.deleteData(measure);
+      boolean success = deleteMeasureData(queryExecutor, measure);
       if (!success) {
         return false;
       }
@@ -82,18 +87,23 @@ public class DataExplorerQueryManagementInflux implements IDataExplorerQueryMana
 
   @Override
   public boolean deleteData(String measurementID) {
+    MeasurementStatisticsCatalog.INSTANCE.invalidate(measurementID);
+    QueryResultCache.getInstance().invalidate(measurementID);
     List<DataLakeMeasure> allMeasurements = getAllMeasurements();
 
     var measureToDeleteOpt = allMeasurements.stream()
                                             .filter(measure -> measure.getMeasureName().equals(measurementID))
                                             .findFirst();
 
-    return measureToDeleteOpt.filter(measure -> new DataExplorerInfluxQueryExecutor().deleteData(measure))
+    return measureToDeleteOpt.filter(measure -> deleteMeasureData(new DataExplorerInfluxQueryExecutor(), measure))
                              .isPresent();
   }
 
   @Override
   public boolean deleteData(String measurementName, Long startDate, Long endDate) {
+    MeasurementStatisticsCatalog.INSTANCE.invalidate(measurementName);
+    QueryResultCache.getInstance().invalidate(measurementName, startDate, endDate);
+    RollupTiers.outdate(dataExplorerSchemaManagement, measurementName, endDate);
     DeleteQueryParams params =
         ProvidedRestQueryParamConverter.getDeleteQueryParams(measurementName, startDate, endDate);
     return new DataExplorerInfluxQueryExecutor().executeQuery(params)
@@ -107,6 +117,16 @@ public class DataExplorerQueryManagementInflux implements IDataExplorerQueryMana
     return new DataExplorerInfluxQueryExecutor().getTagValues(measurementId, fields);
   }
 
+  /**
+   * Deletes the data of the measure together with its rollup measurements.
+   */
+  private boolean deleteMeasureData(DataExplorerInfluxQueryExecutor queryExecutor,
+                                    DataLakeMeasure measure) {
+    RollupTiers.getRollupMeasures(measure).forEach(queryExecutor::deleteData);
+    RollupTiers.outdate(dataExplorerSchemaManagement, measure.getMeasureName(), System.currentTimeMillis());
+    return queryExecutor.deleteData(measure);
+  }
+
   private List<DataLakeMeasure> getAllMeasurements() {
     return this.dataExplorerSchemaManagement.getAllMeasurements();
   }
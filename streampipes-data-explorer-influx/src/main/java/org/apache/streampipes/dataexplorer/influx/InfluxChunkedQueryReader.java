@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.influx;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the result of a chunked InfluxDB query on the calling thread.
+ * <p>
+ * The InfluxDB client delivers chunks asynchronously, they are handed over through a bounded queue so that the
+ * response is only read as fast as the chunks are consumed. If the consumer fails, the query is cancelled.
+ */
+public class InfluxChunkedQueryReader {
+
+  private static final QueryResult END_OF_RESULT = new QueryResult();
+  private static final long OFFER_TIMEOUT_MS = 500;
+
+  private final int chunkSize;
+  private final BlockingQueue<QueryResult> chunks;
+
+  private volatile boolean cancelled;
+  private volatile Throwable failure;
+
+  public InfluxChunkedQueryReader(int chunkSize,
+                                  int maxPendingChunks) {
+    this.chunkSize = chunkSize;
+    this.chunks = new ArrayBlockingQueue<>(maxPendingChunks);
+  }
+
+  public void read(InfluxDB influxDb,
+                   Query query,
+                   ChunkConsumer consumer) throws IOException {
+    influxDb.query(query, chunkSize, this::onChunk, this::onComplete, this::onFailure);
+    try {
+      var chunk = chunks.take();
+      while (chunk != END_OF_RESULT) {
+        if (chunk.getError() != null) {
+          throw new SpRuntimeException(chunk.getError());
+        }
+        consumer.accept(chunk);
+        chunk = chunks.take();
+      }
+    } catch (InterruptedException e) {
+      cancelled = true;
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while reading the query result", e);
+    } catch (IOException | RuntimeException e) {
+      cancelled = true;
+      throw e;
+    }
+
+    if (failure != null) {
+      throw new SpRuntimeException(failure);
+    }
+  }
+
+  private void onChunk(InfluxDB.Cancellable cancellable,
+                       QueryResult chunk) {
+    if (!enqueue(chunk)) {
+      cancellable.cancel();
+    }
+  }
+
+  private void onComplete() {
+    enqueue(END_OF_RESULT);
+  }
+
+  private void onFailure(Throwable throwable) {
+    failure = throwable;
+    enqueue(END_OF_RESULT);
+  }
+
+  private boolean enqueue(QueryResult chunk) {
+    try {
+      while (!cancelled) {
+        if (chunks.offer(chunk, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return false;
+  }
+
+  @FunctionalInterface
+  public interface ChunkConsumer {
+    void accept(QueryResult chunk) throws IOException;
+  }
+}
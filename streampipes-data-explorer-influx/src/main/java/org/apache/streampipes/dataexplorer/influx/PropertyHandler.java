@@ -19,7 +19,6 @@
 package org.apache.streampipes.dataexplorer.influx;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
-import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.field.PrimitiveField;
 import org.apache.streampipes.model.schema.EventPropertyPrimitive;
 import org.apache.streampipes.model.schema.PropertyScope;
@@ -80,12 +79,11 @@ public class PropertyHandler {
    */
   public void handleNonPrimitiveProperty(
       Point.Builder p,
-      Event event,
+      Object rawValue,
       String preparedRuntimeName
   ) {
     try {
-      var json = rawFieldSerializer.serialize(event.getRaw()
-                                                   .get(preparedRuntimeName));
+      var json = rawFieldSerializer.serialize(rawValue);
       p.addField(preparedRuntimeName, json);
     } catch (SpRuntimeException e) {
       LOG.warn("Failed to serialize field {}, ignoring.", preparedRuntimeName);
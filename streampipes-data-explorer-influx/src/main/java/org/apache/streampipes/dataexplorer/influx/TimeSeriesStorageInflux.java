@@ -21,15 +21,23 @@ package org.apache.streampipes.dataexplorer.influx;
 import org.apache.streampipes.commons.environment.Environment;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataexplorer.TimeSeriesStorage;
+import org.apache.streampipes.dataexplorer.TimeSeriesWritePlan;
 import org.apache.streampipes.dataexplorer.influx.client.InfluxClientProvider;
 import org.apache.streampipes.dataexplorer.influx.sanitize.InfluxNameSanitizer;
+import org.apache.streampipes.dataexplorer.rollup.RollupBucket;
+import org.apache.streampipes.dataexplorer.rollup.RollupTiers;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.schema.EventProperty;
 import org.apache.streampipes.model.schema.EventPropertyPrimitive;
 
 import org.influxdb.InfluxDB;
+import org.influxdb.InfluxDBIOException;
 import org.influxdb.dto.Point;
 
+import java.io.IOException;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 public class TimeSeriesStorageInflux extends TimeSeriesStorage {
@@ -38,6 +46,8 @@ public class TimeSeriesStorageInflux extends TimeSeriesStorage {
 
   private final PropertyHandler propertyHandler;
 
+  private final TimeSeriesWritePlan<InfluxFieldWriter> writePlan;
+
   public TimeSeriesStorageInflux(
       DataLakeMeasure measure,
       Environment environment,
@@ -55,47 +65,53 @@ public class TimeSeriesStorageInflux extends TimeSeriesStorage {
     super(measure);
     this.influxDb = influxClientProvider.getSetUpInfluxDBClient(environment);
     propertyHandler = new PropertyHandler(new PropertyDuplicateFilter(ignoreDuplicates));
+    writePlan = TimeSeriesWritePlan.compile(
+        allEventProperties,
+        InfluxNameSanitizer::renameReservedKeywords,
+        this::makeFieldWriter
+    );
   }
 
   protected void writeToTimeSeriesStorage(Event event) throws SpRuntimeException {
     var point = initializePointWithTimestamp(event);
-    iterateOverallEventProperties(event, point);
+    forEachPlannedField(writePlan, event, (planField, field) ->
+        planField.converter().write(point, field, planField.columnName()));
     influxDb.write(point.build());
   }
 
-  private void iterateOverallEventProperties(
-      Event event,
-      Point.Builder point
-  ) {
-
-    allEventProperties.forEach(ep -> {
-      var runtimeName = ep.getRuntimeName();
-      var sanitizedRuntimeName = sanitizedRuntimeNames.get(runtimeName);
-      var fieldOptional = event.getOptionalFieldByRuntimeName(runtimeName);
-
-      fieldOptional.ifPresent(field -> {
-        if (ep instanceof EventPropertyPrimitive) {
-          propertyHandler.handlePrimitiveProperty(
-              point,
-              (EventPropertyPrimitive) ep,
-              field.getAsPrimitive(),
-              sanitizedRuntimeName
-          );
-        } else {
-          propertyHandler.handleNonPrimitiveProperty(
-              point,
-              event,
-              sanitizedRuntimeName
-          );
-        }
-      });
+  @Override
+  protected void writeRollup(RollupBucket bucket) throws SpRuntimeException {
+    var point = Point.measurement(RollupTiers.rollupMeasureName(measure.getMeasureName(), bucket.tier()))
+        .time(bucket.timestamp(), TimeUnit.MILLISECONDS);
+    bucket.fields().forEach((field, aggregate) -> {
+      point.addField(RollupTiers.rollupColumnName(field, RollupTiers.MIN_SUFFIX), aggregate.getMin());
+      point.addField(RollupTiers.rollupColumnName(field, RollupTiers.MAX_SUFFIX), aggregate.getMax());
+      point.addField(RollupTiers.rollupColumnName(field, RollupTiers.SUM_SUFFIX), aggregate.getSum());
+      point.addField(RollupTiers.rollupColumnName(field, RollupTiers.COUNT_SUFFIX), aggregate.getCount());
     });
+    influxDb.write(point.build());
+  }
+
+  @Override
+  public Set<Class<? extends Throwable>> getTransientErrorTypes() {
+    return Set.of(InfluxDBIOException.class, IOException.class);
+  }
+
+  private InfluxFieldWriter makeFieldWriter(EventProperty ep) {
+    if (ep instanceof EventPropertyPrimitive primitive) {
+      return (point, field, columnName) ->
+          propertyHandler.handlePrimitiveProperty(point, primitive, field.getAsPrimitive(), columnName);
+    } else {
+      return (point, field, columnName) ->
+          propertyHandler.handleNonPrimitiveProperty(point, EventConverter.toRawValue(field), columnName);
+    }
   }
 
   /**
    * Shuts down the connection to the InfluxDB server
    */
   public void close() throws SpRuntimeException {
+    flushRollups();
     influxDb.flush();
     try {
       Thread.sleep(1000);
@@ -115,26 +131,4 @@ public class TimeSeriesStorageInflux extends TimeSeriesStorage {
     return Point.measurement(measure.getMeasureName())
         .time((long) timestampValue, TimeUnit.MILLISECONDS);
   }
-
-  /**
-   * store sanitized target property runtime names in local variable
-   */
-  protected void storeSanitizedRuntimeNames() {
-    measure.getEventSchema()
-           .getEventProperties()
-           .forEach(ep -> sanitizedRuntimeNames.put(
-             ep.getRuntimeName(),
-             InfluxNameSanitizer.renameReservedKeywords(ep.getRuntimeName())
-           ));
-  }
-
-  /**
-   * Iterates over all properties of the event and renames the key if it is a reserved keywords in InfluxDB
-   */
-  protected void sanitizeRuntimeNamesInEvent(Event event) {
-    // sanitize event
-    event.getRaw()
-         .keySet()
-         .forEach(key -> event.renameFieldByRuntimeName(key, InfluxNameSanitizer.renameReservedKeywords(key)));
-  }
 }
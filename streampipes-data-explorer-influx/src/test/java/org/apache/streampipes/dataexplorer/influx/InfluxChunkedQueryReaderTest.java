@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.influx;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class InfluxChunkedQueryReaderTest {
+
+  private static final Query QUERY = new Query("SELECT * FROM \"test\"", "sp");
+
+  @Test
+  public void readsAllChunksInOrder() throws IOException {
+    var chunks = List.of(new QueryResult(), new QueryResult(), new QueryResult());
+    var influxDb = mockChunkedQuery(chunks, null, mock(InfluxDB.Cancellable.class));
+
+    var received = new ArrayList<QueryResult>();
+    new InfluxChunkedQueryReader(10, 1).read(influxDb, QUERY, received::add);
+
+    assertEquals(chunks, received);
+  }
+
+  @Test
+  public void failureIsPropagated() {
+    var influxDb = mockChunkedQuery(List.of(new QueryResult()), new IllegalStateException("failed"),
+        mock(InfluxDB.Cancellable.class));
+
+    var reader = new InfluxChunkedQueryReader(10, 1);
+    assertThrows(SpRuntimeException.class, () -> reader.read(influxDb, QUERY, chunk -> {
+    }));
+  }
+
+  @Test
+  public void failingConsumerCancelsQuery() throws InterruptedException {
+    var cancellable = mock(InfluxDB.Cancellable.class);
+    var chunks = List.of(new QueryResult(), new QueryResult(), new QueryResult(), new QueryResult());
+    var influxDb = mockChunkedQuery(chunks, null, cancellable);
+
+    var reader = new InfluxChunkedQueryReader(10, 1);
+    assertThrows(IOException.class, () -> reader.read(influxDb, QUERY, chunk -> {
+      throw new IOException("client disconnected");
+    }));
+
+    Thread.sleep(1500);
+    verify(cancellable, atLeastOnce()).cancel();
+  }
+
+  @SuppressWarnings("unchecked")
+  private InfluxDB mockChunkedQuery(List<QueryResult> chunks,
+                                    Throwable failure,
+                                    InfluxDB.Cancellable cancellable) {
+    var influxDb = mock(InfluxDB.class);
+    doAnswer(invocation -> {
+      BiConsumer<InfluxDB.Cancellable, QueryResult> onNext = invocation.getArgument(2);
+      Runnable onComplete = invocation.getArgument(3);
+      Consumer<Throwable> onFailure = invocation.getArgument(4);
+      var producer = new Thread(() -> {
+        chunks.forEach(chunk -> onNext.accept(cancellable, chunk));
+        if (failure != null) {
+          onFailure.accept(failure);
+        } else {
+          onComplete.run();
+        }
+      });
+      producer.start();
+      return null;
+    }).when(influxDb).query(any(Query.class), anyInt(), any(BiConsumer.class), any(Runnable.class), any(Consumer.class));
+    return influxDb;
+  }
+}
@@ -22,15 +22,22 @@ import org.apache.iotdb.isession.pool.SessionDataSetWrapper;
 import org.apache.iotdb.rpc.IoTDBConnectionException;
 import org.apache.iotdb.rpc.StatementExecutionException;
 import org.apache.iotdb.session.pool.SessionPool;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.Field;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataexplorer.param.DeleteQueryParams;
 import org.apache.streampipes.dataexplorer.param.SelectQueryParams;
 import org.apache.streampipes.dataexplorer.query.DataExplorerQueryExecutor;
+import org.apache.streampipes.dataexplorer.query.QueryRowConsumer;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataSeries;
 import org.apache.streampipes.model.datalake.SpQueryResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -43,20 +50,114 @@ public class DataExplorerIotDbQueryExecutor extends DataExplorerQueryExecutor<St
   }
 
   private static final Logger LOG = LoggerFactory.getLogger(DataExplorerIotDbQueryExecutor.class);
+  /**
+   * Reads all rows of the data set into a single series and closes the data set.
+   */
   @Override
-  protected SpQueryResult postQuery(SessionDataSetWrapper queryResult, Optional<String> forIdOpt, boolean ignoreMissingValues) {
-    return null;
+  protected SpQueryResult postQuery(SessionDataSetWrapper queryResult,
+                                    Optional<String> forIdOpt,
+                                    boolean ignoreMissingValues) {
+    var result = new SpQueryResult();
+    var rows = new ArrayList<List<Object>>();
+    try (queryResult) {
+      var columns = readRows(queryResult, ignoreMissingValues, (rowColumns, row) -> rows.add(row));
+      if (!rows.isEmpty()) {
+        result.setHeaders(columns);
+        result.addDataResult(new DataSeries(rows.size(), rows, columns, Map.of()));
+        result.setTotal(rows.size());
+        result.setLastTimestamp(rows.stream().mapToLong(row -> ((Double) row.get(0)).longValue()).max().getAsLong());
+      }
+    } catch (IoTDBConnectionException | StatementExecutionException | IOException e) {
+      throw new SpRuntimeException(e);
+    }
+    forIdOpt.ifPresent(result::setForId);
+    return result;
   }
 
+  /**
+   * Executes the query, the returned data set needs to be closed by the caller.
+   */
   @Override
   public SessionDataSetWrapper executeQuery(String query) {
-    try (var result = sessionPool.executeQueryStatement(query)) {
-      return result;
+    try {
+      return sessionPool.executeQueryStatement(query);
     } catch (IoTDBConnectionException | StatementExecutionException e) {
       throw new SpRuntimeException(e);
     }
   }
 
+  /**
+   * Iterates over the session data set, which fetches the result from the server in batches of the session's
+   * fetch size.
+   */
+  @Override
+  protected void streamQuery(String query,
+                             boolean ignoreMissingValues,
+                             QueryRowConsumer consumer) throws IOException {
+    try (var result = executeQuery(query)) {
+      readRows(result, ignoreMissingValues, consumer);
+    } catch (IoTDBConnectionException | StatementExecutionException e) {
+      throw new SpRuntimeException(e);
+    }
+  }
+
+  /**
+   * Passes all rows of the data set to the consumer and returns the column names.
+   */
+  private List<String> readRows(SessionDataSetWrapper result,
+                                boolean ignoreMissingValues,
+                                QueryRowConsumer consumer)
+      throws IoTDBConnectionException, StatementExecutionException, IOException {
+    var columns = toColumnNames(result.getColumnNames());
+    while (result.hasNext()) {
+      var record = result.next();
+      var row = new ArrayList<>(columns.size());
+      row.add((double) record.getTimestamp());
+      for (Field field : record.getFields()) {
+        row.add(toValue(field));
+      }
+      if (!ignoreMissingValues || !row.contains(null)) {
+        consumer.accept(columns, row);
+      }
+    }
+    return columns;
+  }
+
+  /**
+   * Strips the time series path from the column names, the first column is always the timestamp.
+   */
+  private List<String> toColumnNames(List<String> columnNames) {
+    var columns = new ArrayList<String>(columnNames.size());
+    columns.add("time");
+    columnNames.stream()
+        .skip(1)
+        .map(this::toColumnName)
+        .forEach(columns::add);
+    return columns;
+  }
+
+  private String toColumnName(String path) {
+    if (path.endsWith("`")) {
+      return path.substring(path.lastIndexOf(".`") + 2, path.length() - 1).replace("``", "`");
+    }
+    return path.substring(path.lastIndexOf('.') + 1);
+  }
+
+  private Object toValue(Field field) {
+    if (field == null || field.getDataType() == null) {
+      return null;
+    } else if (field.getDataType() == TSDataType.TEXT) {
+      return field.getStringValue();
+    } else {
+      return field.getObjectValue(field.getDataType());
+    }
+  }
+
+  @Override
+  public boolean supportsAggregation() {
+    return false;
+  }
+
   public boolean executeNonQueryStatement(String statement) {
     try {
       sessionPool.executeNonQueryStatement(statement);
@@ -69,7 +170,7 @@ public class DataExplorerIotDbQueryExecutor extends DataExplorerQueryExecutor<St
 
   @Override
   protected String asQueryString(String query) {
-    return "";
+    return query;
   }
 
   @Override
@@ -80,7 +181,7 @@ public class DataExplorerIotDbQueryExecutor extends DataExplorerQueryExecutor<St
 
   @Override
   protected String makeSelectQuery(SelectQueryParams params) {
-    return "";
+    return params.toQuery(DataLakeIotDbQueryBuilder.create(params.getIndex()));
   }
 
   @Override
@@ -18,9 +18,14 @@
 
 package org.apache.streampipes.dataexplorer.iotdb;
 
+import org.apache.streampipes.dataexplorer.StreamedQueryResultProvider;
 import org.apache.streampipes.dataexplorer.api.IDataExplorerQueryManagement;
 import org.apache.streampipes.dataexplorer.api.IDataExplorerSchemaManagement;
 import org.apache.streampipes.dataexplorer.export.OutputFormat;
+import org.apache.streampipes.dataexplorer.cache.QueryResultCache;
+import org.apache.streampipes.dataexplorer.rollup.RollupTiers;
+import org.apache.streampipes.dataexplorer.statistics.MeasurementStatisticsCatalog;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.datalake.SpQueryResult;
 import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
 import org.slf4j.Logger;
@@ -50,31 +55,39 @@ public class DataExplorerQueryManagementIotDb implements IDataExplorerQueryManag
 
   @Override
   public void getDataAsStream(ProvidedRestQueryParams params, OutputFormat format, boolean ignoreMissingValues, OutputStream outputStream) throws IOException {
-
+    new StreamedQueryResultProvider(params, format, this, queryExecutor, ignoreMissingValues)
+        .getDataAsStream(outputStream);
   }
 
   @Override
   public boolean deleteData(String measurementID) {
+    MeasurementStatisticsCatalog.INSTANCE.invalidate(measurementID);
+    QueryResultCache.getInstance().invalidate(measurementID);
     var allMeasurements = this.dataExplorerSchemaManagement.getAllMeasurements();
 
     var measureToDeleteOpt = allMeasurements.stream()
         .filter(measure -> measure.getMeasureName().equals(measurementID))
         .findFirst();
-    return measureToDeleteOpt.filter(queryExecutor::deleteData).isPresent();
+    return measureToDeleteOpt.filter(this::deleteMeasureData).isPresent();
   }
 
   @Override
   public boolean deleteData(String measurementName, Long startDate, Long endDate) {
+    MeasurementStatisticsCatalog.INSTANCE.invalidate(measurementName);
+    QueryResultCache.getInstance().invalidate(measurementName, startDate, endDate);
+    RollupTiers.outdate(dataExplorerSchemaManagement, measurementName, endDate);
     var queryString = "DELETE FROM root.streampipes.%s.* WHERE time > %s AND time < %s".formatted(measurementName, startDate, endDate);
     return queryExecutor.executeNonQueryStatement(queryString);
   }
 
   @Override
   public boolean deleteAllData() {
+    MeasurementStatisticsCatalog.INSTANCE.invalidateAll();
+    QueryResultCache.getInstance().invalidateAll();
     var allMeasurements = this.dataExplorerSchemaManagement.getAllMeasurements();
 
     return allMeasurements.stream()
-                          .allMatch(queryExecutor::deleteData); // Check if all results are true else return false
+                          .allMatch(this::deleteMeasureData); // Check if all results are true else return false
   }
 
   @Override
@@ -82,4 +95,13 @@ public class DataExplorerQueryManagementIotDb implements IDataExplorerQueryManag
     LOG.error("Retrieval of tag values is not supported with IoTDB as storage");
     return Map.of();
   }
+
+  /**
+   * Deletes the data of the measure together with its rollup measurements.
+   */
+  private boolean deleteMeasureData(DataLakeMeasure measure) {
+    RollupTiers.getRollupMeasures(measure).forEach(queryExecutor::deleteData);
+    RollupTiers.outdate(dataExplorerSchemaManagement, measure.getMeasureName(), System.currentTimeMillis());
+    return queryExecutor.deleteData(measure);
+  }
 }
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.iotdb;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.api.IDataLakeQueryBuilder;
+import org.apache.streampipes.model.datalake.AggregationFunction;
+import org.apache.streampipes.model.datalake.DataLakeQueryOrdering;
+import org.apache.streampipes.model.datalake.FilterCondition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Builds raw IoTDB select queries for a measurement.
+ * <p>
+ * Aggregations, grouping and fill values are not yet supported with IoTDB as storage. The measurement and all
+ * column names are quoted, so names which are reserved or contain special characters cannot change the query.
+ */
+public class DataLakeIotDbQueryBuilder implements IDataLakeQueryBuilder<String> {
+
+  private static final String TIME_FIELD = "time";
+  private static final long NANOS_PER_MILLI = 1000000;
+
+  private final String measurementId;
+  private final List<String> columns;
+  private final List<String> whereClauses;
+  private DataLakeQueryOrdering ordering;
+  private int limit = Integer.MIN_VALUE;
+  private int offset = Integer.MIN_VALUE;
+
+  private DataLakeIotDbQueryBuilder(String measurementId) {
+    this.measurementId = measurementId;
+    this.columns = new ArrayList<>();
+    this.whereClauses = new ArrayList<>();
+  }
+
+  public static DataLakeIotDbQueryBuilder create(String measurementId) {
+    return new DataLakeIotDbQueryBuilder(measurementId);
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withAllColumns() {
+    this.columns.clear();
+    return this;
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withSimpleColumn(String columnName) {
+    this.columns.add(columnName);
+    return this;
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withSimpleColumns(List<String> columnNames) {
+    this.columns.addAll(columnNames);
+    return this;
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withAggregatedColumn(String columnName,
+                                                        AggregationFunction aggregationFunction,
+                                                        String targetName) {
+    throw unsupported("Aggregation");
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withAggregatedColumn(String columnName,
+                                                        AggregationFunction aggregationFunction) {
+    throw unsupported("Aggregation");
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withStartTime(long startTime) {
+    this.whereClauses.add(makeClause(TIME_FIELD, ">=", startTime));
+    return this;
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withEndTime(long endTime) {
+    return withEndTime(endTime, true);
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withEndTime(long endTime,
+                                               boolean includeEndTime) {
+    String operator = includeEndTime ? "<=" : "<";
+    this.whereClauses.add(makeClause(TIME_FIELD, operator, endTime));
+    return this;
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withTimeBoundary(long startTime,
+                                                    long endTime) {
+    this.withStartTime(startTime);
+    this.withEndTime(endTime);
+
+    return this;
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withFilter(String field,
+                                              String operator,
+                                              Object value) {
+    this.whereClauses.add(makeClause(field, operator, value));
+    return this;
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withExclusiveFilter(String field,
+                                                       String operator,
+                                                       List<?> values) {
+    var or = new StringJoiner(" OR ", "(", ")");
+    values.forEach(value -> or.add(makeClause(field, operator, value)));
+    this.whereClauses.add(or.toString());
+    return this;
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withInclusiveFilter(String field,
+                                                       String operator,
+                                                       List<?> values) {
+    values.forEach(value -> withFilter(field, operator, value));
+    return this;
+  }
+
+  /**
+   * Time conditions of the filter are given in nanoseconds, IoTDB uses milliseconds.
+   */
+  @Override
+  public DataLakeIotDbQueryBuilder withInclusiveFilter(List<FilterCondition> filterConditions) {
+    filterConditions.forEach(c -> {
+      if (TIME_FIELD.equals(c.field()) && c.condition() instanceof Number time) {
+        withFilter(c.field(), c.operator(), time.longValue() / NANOS_PER_MILLI);
+      } else {
+        withFilter(c.field(), c.operator(), c.condition());
+      }
+    });
+    return this;
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withGroupByTime(String timeInterval) {
+    throw unsupported("Grouping by time");
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withGroupByTime(String timeInterval,
+                                                   String offsetInterval) {
+    throw unsupported("Grouping by time");
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withGroupBy(String column) {
+    throw unsupported("Grouping by tags");
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withOrderBy(DataLakeQueryOrdering ordering) {
+    this.ordering = ordering;
+    return this;
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withLimit(int limit) {
+    this.limit = limit;
+    return this;
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withOffset(int offset) {
+    this.offset = offset;
+    return this;
+  }
+
+  @Override
+  public DataLakeIotDbQueryBuilder withFill(Object fill) {
+    throw unsupported("Filling missing values");
+  }
+
+  @Override
+  public String build() {
+    var query = new StringBuilder("SELECT ")
+        .append(columns.isEmpty()
+                    ? "*"
+                    : String.join(", ", columns.stream().map(DataLakeIotDbQueryBuilder::quoteIdentifier).toList()))
+        .append(" FROM root.streampipes.")
+        .append(quoteIdentifier(measurementId));
+
+    if (!whereClauses.isEmpty()) {
+      query.append(" WHERE ").append(String.join(" AND ", whereClauses));
+    }
+
+    if (ordering != null) {
+      query.append(" ORDER BY TIME ").append(ordering == DataLakeQueryOrdering.ASC ? "ASC" : "DESC");
+    }
+
+    if (limit != Integer.MIN_VALUE) {
+      query.append(" LIMIT ").append(limit);
+    }
+
+    if (offset > 0) {
+      query.append(" OFFSET ").append(offset);
+    }
+
+    return query.toString();
+  }
+
+  private String makeClause(String field,
+                            String operator,
+                            Object value) {
+    var identifier = TIME_FIELD.equals(field) ? field : quoteIdentifier(field);
+    return identifier + " " + operator + " " + toLiteral(value);
+  }
+
+  static String quoteIdentifier(String identifier) {
+    return "`" + identifier.replace("`", "``") + "`";
+  }
+
+  private String toLiteral(Object value) {
+    if (value instanceof String) {
+      return "'" + ((String) value).replace("'", "''") + "'";
+    } else {
+      return String.valueOf(value);
+    }
+  }
+
+  private SpRuntimeException unsupported(String feature) {
+    return new SpRuntimeException(feature + " is not yet supported when using IoTDB as time series store.");
+  }
+}
@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.iotdb;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import org.apache.iotdb.rpc.IoTDBConnectionException;
+import org.apache.iotdb.rpc.StatementExecutionException;
+import org.apache.iotdb.session.pool.SessionPool;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Buffers the rows of one aligned IoTDB device in {@link Tablet}s and writes them with a single
+ * {@link SessionPool#insertAlignedTablet(Tablet)} call.
+ * <p>
+ * A tablet is handed over to a background thread once it reaches the maximum number of rows or once its first row
+ * is older than the flush interval. If IoTDB cannot keep up and the number of pending tablets reaches its limit,
+ * {@link #write(long, List)} blocks until a tablet has been written, so back-pressure is propagated to the caller.
+ * <p>
+ * Connection failures are retried with an increasing backoff. A tablet is dropped if IoTDB rejects it or if the
+ * connection could not be established after {@value #MAX_CONNECTION_ATTEMPTS} attempts. The error is thrown by the
+ * next call of {@link #write(long, List)} or by {@link #close()}, so that it is reported by the sink.
+ */
+public class IotDbTabletWriter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(IotDbTabletWriter.class);
+
+  private static final int MAX_PENDING_TABLETS = 4;
+  private static final long CLOSE_TIMEOUT_MS = 30000;
+  private static final long POLL_TIMEOUT_MS = 100;
+  private static final int MAX_CONNECTION_ATTEMPTS = 5;
+  private static final long RETRY_BACKOFF_MS = 500;
+
+  private final SessionPool sessionPool;
+  private final String deviceId;
+  private final int maxRows;
+  private final long flushIntervalMs;
+  private final long retryBackoffMs;
+  private final long closeTimeoutMs;
+
+  private final BlockingQueue<Tablet> pendingTablets;
+  private final Thread flushThread;
+
+  private final List<MeasurementSchema> schemas = new ArrayList<>();
+  private final Map<String, Integer> columnIndexes = new HashMap<>();
+  private final AtomicReference<SpRuntimeException> writeError = new AtomicReference<>();
+
+  private Tablet tablet;
+  private boolean[] writtenColumns = new boolean[0];
+  private long firstRowTime;
+  private long backpressureCount;
+  private boolean backpressured;
+
+  private volatile boolean running;
+
+  public IotDbTabletWriter(SessionPool sessionPool,
+                           String deviceId,
+                           int maxRows,
+                           long flushIntervalMs) {
+    this(sessionPool, deviceId, maxRows, flushIntervalMs, RETRY_BACKOFF_MS, CLOSE_TIMEOUT_MS);
+  }
+
+  IotDbTabletWriter(SessionPool sessionPool,
+                    String deviceId,
+                    int maxRows,
+                    long flushIntervalMs,
+                    long retryBackoffMs,
+                    long closeTimeoutMs) {
+    this.retryBackoffMs = retryBackoffMs;
+    this.closeTimeoutMs = closeTimeoutMs;
+    this.sessionPool = sessionPool;
+    this.deviceId = deviceId;
+    this.maxRows = Math.max(1, maxRows);
+    this.flushIntervalMs = Math.max(1, flushIntervalMs);
+    this.pendingTablets = new ArrayBlockingQueue<>(MAX_PENDING_TABLETS);
+    this.running = true;
+    this.flushThread = new Thread(this::runFlushLoop, "iotdb-writer-" + deviceId);
+    this.flushThread.setDaemon(true);
+    this.flushThread.start();
+  }
+
+  /**
+   * Adds one row to the current tablet. Measurements which are not part of the current tablet start a new tablet,
+   * measurements of the tablet which are missing in the row are marked as null.
+   *
+   * @param timestamp The timestamp of the row.
+   * @param records   The measurement records of the row.
+   */
+  public synchronized void write(long timestamp,
+                                 List<IotDbMeasurementRecord> records) throws SpRuntimeException {
+    if (!running) {
+      throw new SpRuntimeException("IoTDB writer for device %s has already been closed".formatted(deviceId));
+    }
+    throwWriteError();
+    updateSchema(records);
+    if (tablet == null) {
+      tablet = new Tablet(deviceId, new ArrayList<>(schemas), maxRows);
+      firstRowTime = System.currentTimeMillis();
+    }
+
+    int row = tablet.rowSize++;
+    tablet.addTimestamp(row, timestamp);
+    for (IotDbMeasurementRecord record : records) {
+      if (record.value() != null) {
+        tablet.addValue(record.measurementName(), row, record.value());
+        writtenColumns[columnIndexes.get(record.measurementName())] = true;
+      }
+    }
+    markMissingValues(row);
+
+    if (tablet.rowSize == maxRows) {
+      handOver();
+    }
+  }
+
+  /**
+   * Returns how often a write had to wait because IoTDB did not keep up with the incoming rows.
+   */
+  public synchronized long getBackpressureCount() {
+    return backpressureCount;
+  }
+
+  /**
+   * Writes all buffered rows and stops the background thread.
+   *
+   * @throws SpRuntimeException if a tablet has been dropped since the last write, or if the pending tablets could
+   *                            not be written within the close timeout
+   */
+  public void close() throws SpRuntimeException {
+    synchronized (this) {
+      if (!running) {
+        return;
+      }
+      if (tablet != null) {
+        handOver();
+      }
+      running = false;
+    }
+    try {
+      flushThread.join(closeTimeoutMs);
+      if (flushThread.isAlive()) {
+        flushThread.interrupt();
+        flushThread.join(closeTimeoutMs);
+        int discardedRows = pendingTablets.stream().mapToInt(pending -> pending.rowSize).sum();
+        pendingTablets.clear();
+        throw new SpRuntimeException("Could not write the pending tablets of device %s within %d ms, "
+            .formatted(deviceId, closeTimeoutMs) + "discarded %d rows".formatted(discardedRows));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException(e);
+    }
+    throwWriteError();
+  }
+
+  private void throwWriteError() {
+    var error = writeError.getAndSet(null);
+    if (error != null) {
+      throw error;
+    }
+  }
+
+  private void updateSchema(List<IotDbMeasurementRecord> records) {
+    boolean changed = false;
+    for (IotDbMeasurementRecord record : records) {
+      var index = columnIndexes.get(record.measurementName());
+      if (index == null) {
+        columnIndexes.put(record.measurementName(), schemas.size());
+        schemas.add(new MeasurementSchema(record.measurementName(), record.dataType()));
+        changed = true;
+      } else if (schemas.get(index).getType() != record.dataType()) {
+        schemas.set(index, new MeasurementSchema(record.measurementName(), record.dataType()));
+        changed = true;
+      }
+    }
+    if (changed) {
+      if (tablet != null) {
+        handOver();
+      }
+      writtenColumns = new boolean[schemas.size()];
+    }
+  }
+
+  private void markMissingValues(int row) {
+    for (int column = 0; column < writtenColumns.length; column++) {
+      if (!writtenColumns[column]) {
+        if (tablet.bitMaps == null) {
+          tablet.initBitMaps();
+        }
+        tablet.bitMaps[column].mark(row);
+      }
+      writtenColumns[column] = false;
+    }
+  }
+
+  private void handOver() {
+    if (!pendingTablets.offer(tablet)) {
+      backpressureCount++;
+      if (!backpressured) {
+        backpressured = true;
+        LOG.warn("IoTDB does not keep up with the incoming rows of device {} - "
+            + "blocking writes until a pending tablet has been written", deviceId);
+      }
+      try {
+        pendingTablets.put(tablet);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SpRuntimeException(e);
+      }
+    } else if (backpressured) {
+      backpressured = false;
+      LOG.info("IoTDB writes of device {} caught up again", deviceId);
+    }
+    tablet = null;
+  }
+
+  private synchronized void handOverIfExpired() {
+    if (tablet != null
+        && System.currentTimeMillis() - firstRowTime >= flushIntervalMs
+        && pendingTablets.remainingCapacity() > 0) {
+      handOver();
+    }
+  }
+
+  private void runFlushLoop() {
+    while (running || !pendingTablets.isEmpty()) {
+      try {
+        // wake up regularly, so that a close is noticed even with a long flush interval
+        var next = pendingTablets.poll(Math.min(flushIntervalMs, POLL_TIMEOUT_MS), TimeUnit.MILLISECONDS);
+        if (next != null) {
+          insert(next);
+        }
+        handOverIfExpired();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void insert(Tablet tablet) throws InterruptedException {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        sessionPool.insertAlignedTablet(tablet);
+        return;
+      } catch (IoTDBConnectionException e) {
+        if (attempt == MAX_CONNECTION_ATTEMPTS) {
+          drop(tablet, e);
+          return;
+        }
+        LOG.warn("Could not connect to IoTDB to write {} rows of device {}, retrying in {} ms - {}",
+            tablet.rowSize, deviceId, retryBackoffMs * attempt, e.getMessage());
+        Thread.sleep(retryBackoffMs * attempt);
+      } catch (StatementExecutionException e) {
+        drop(tablet, e);
+        return;
+      }
+    }
+  }
+
+  private void drop(Tablet tablet,
+                    Exception cause) {
+    LOG.error("Failed to write {} rows of device {} to IoTDB", tablet.rowSize, deviceId, cause);
+    writeError.set(new SpRuntimeException(
+        "Failed to write %d rows of device %s to IoTDB: %s".formatted(tablet.rowSize, deviceId, cause.getMessage()),
+        cause));
+  }
+}
@@ -19,20 +19,29 @@
 package org.apache.streampipes.dataexplorer.iotdb;
 
 import org.apache.iotdb.rpc.IoTDBConnectionException;
-import org.apache.iotdb.rpc.StatementExecutionException;
 import org.apache.iotdb.session.pool.SessionPool;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataexplorer.TimeSeriesStorage;
+import org.apache.streampipes.dataexplorer.TimeSeriesWritePlan;
 import org.apache.streampipes.dataexplorer.iotdb.sanitize.IotDbNameSanitizer;
+import org.apache.streampipes.dataexplorer.rollup.RollupBucket;
+import org.apache.streampipes.dataexplorer.rollup.RollupTiers;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.schema.EventProperty;
 import org.apache.streampipes.model.schema.EventPropertyPrimitive;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 public class TimeSeriesStorageIotDb extends TimeSeriesStorage {
 
@@ -40,49 +49,31 @@ public class TimeSeriesStorageIotDb extends TimeSeriesStorage {
 
   private final IotDbPropertyConverter propertyConverter;
   private final SessionPool sessionPool;
+  private final IotDbTabletWriter tabletWriter;
+  private final Map<String, IotDbTabletWriter> rollupWriters = new HashMap<>();
+  private final int tabletMaxRows;
+  private final int tabletFlushIntervalMs;
+  private final TimeSeriesWritePlan<Function<AbstractField, IotDbMeasurementRecord>> writePlan;
 
   public TimeSeriesStorageIotDb(DataLakeMeasure measure,
                                 IotDbPropertyConverter propertyConverter,
                                 IotDbSessionProvider iotDbSessionProvider) {
     super(measure);
+    var environment = Environments.getEnvironment();
     this.propertyConverter = propertyConverter;
-    this.sessionPool = iotDbSessionProvider.getSessionPool(Environments.getEnvironment());
-  }
-
-  @Override
-  protected void storeSanitizedRuntimeNames() {
-    measure.getEventSchema()
-        .getEventProperties()
-        .forEach(ep -> sanitizedRuntimeNames.put(
-            ep.getRuntimeName(),
-            new IotDbNameSanitizer().renameReservedKeywords(ep.getRuntimeName())
-        ));
-  }
-
-  @Override
-  protected void sanitizeRuntimeNamesInEvent(Event event) {
-    event.getRaw()
-        .keySet()
-        .forEach(runtimeName -> {
-              // timestamp field does not need to be renamed since it is not written as measurement
-              // and taken care of separately
-              if (!runtimeName.equals(measure.getTimestampFieldName())) {
-                event.renameFieldByRuntimeName(
-                    runtimeName,
-                    new IotDbNameSanitizer().renameReservedKeywords(runtimeName)
-                );
-              }
-            }
-        );
+    this.sessionPool = iotDbSessionProvider.getSessionPool(environment);
+    this.tabletMaxRows = environment.getIotDbTabletMaxRows().getValueOrDefault();
+    this.tabletFlushIntervalMs = environment.getIotDbTabletFlushIntervalMs().getValueOrDefault();
+    this.tabletWriter = makeTabletWriter(measure.getMeasureName());
+    this.writePlan = TimeSeriesWritePlan.compile(
+        allEventProperties,
+        new IotDbNameSanitizer()::renameReservedKeywords,
+        this::makeRecordConverter
+    );
   }
 
   @Override
   protected void writeToTimeSeriesStorage(Event event) throws SpRuntimeException {
-    if (event == null) {
-      LOG.warn("Input event is null - skipping event");
-      return;
-    }
-
     var timestampValue = event.getFieldBySelector(measure.getTimestampField())
         .getAsPrimitive()
         .getAsLong();
@@ -92,23 +83,85 @@ public class TimeSeriesStorageIotDb extends TimeSeriesStorage {
       return;
     }
 
-    if (event.getRaw().size() <= 1) {
-      LOG.warn("Event only consists of timestamp and does not include any measurement - skipping event");
-      return;
-    }
-
     var iotDbRecords = extractMeasurementRecords(event);
 
     if (iotDbRecords.isEmpty()) {
       return;
     }
 
-    insertIntoIotDb(timestampValue, iotDbRecords);
+    tabletWriter.write(timestampValue, iotDbRecords);
+  }
+
+  @Override
+  protected void writeRollup(RollupBucket bucket) throws SpRuntimeException {
+    var records = new ArrayList<IotDbMeasurementRecord>(bucket.fields().size() * 4);
+    bucket.fields().forEach((field, aggregate) -> {
+      records.add(rollupRecord(field, RollupTiers.MIN_SUFFIX, TSDataType.DOUBLE, aggregate.getMin()));
+      records.add(rollupRecord(field, RollupTiers.MAX_SUFFIX, TSDataType.DOUBLE, aggregate.getMax()));
+      records.add(rollupRecord(field, RollupTiers.SUM_SUFFIX, TSDataType.DOUBLE, aggregate.getSum()));
+      records.add(rollupRecord(field, RollupTiers.COUNT_SUFFIX, TSDataType.INT64, aggregate.getCount()));
+    });
+    rollupWriters.computeIfAbsent(
+        bucket.tier().getName(),
+        tier -> makeTabletWriter(RollupTiers.rollupMeasureName(measure.getMeasureName(), bucket.tier()))
+    ).write(bucket.timestamp(), records);
+  }
+
+  private static IotDbMeasurementRecord rollupRecord(String field,
+                                                     String suffix,
+                                                     TSDataType type,
+                                                     Object value) {
+    return new IotDbMeasurementRecord(RollupTiers.rollupColumnName(field, suffix), type, value);
+  }
+
+  @Override
+  public Set<Class<? extends Throwable>> getTransientErrorTypes() {
+    return Set.of(IoTDBConnectionException.class, IOException.class);
   }
 
   @Override
   public void close() throws SpRuntimeException {
+    SpRuntimeException error = null;
+    try {
+      flushRollups();
+    } catch (SpRuntimeException e) {
+      error = e;
+    }
+    var writers = new ArrayList<>(rollupWriters.values());
+    writers.add(tabletWriter);
+    for (IotDbTabletWriter writer : writers) {
+      try {
+        writer.close();
+      } catch (SpRuntimeException e) {
+        if (error == null) {
+          error = e;
+        } else {
+          error.addSuppressed(e);
+        }
+      }
+    }
     this.sessionPool.close();
+    if (error != null) {
+      throw error;
+    }
+  }
+
+  private IotDbTabletWriter makeTabletWriter(String measureName) {
+    return new IotDbTabletWriter(
+        sessionPool,
+        "root.streampipes.%s".formatted(measureName),
+        tabletMaxRows,
+        tabletFlushIntervalMs
+    );
+  }
+
+  private Function<AbstractField, IotDbMeasurementRecord> makeRecordConverter(EventProperty ep) {
+    var columnName = new IotDbNameSanitizer().renameReservedKeywords(ep.getRuntimeName());
+    if (ep instanceof EventPropertyPrimitive primitive) {
+      return field -> propertyConverter.convertPrimitiveProperty(primitive, field.getAsPrimitive(), columnName);
+    } else {
+      return field -> propertyConverter.convertNonPrimitiveProperty(ep, columnName);
+    }
   }
 
   /**
@@ -118,58 +171,17 @@ public class TimeSeriesStorageIotDb extends TimeSeriesStorage {
    * @return An ArrayList of IotDbMeasurementRecord objects containing the extracted measurement records.
    */
   private ArrayList<IotDbMeasurementRecord> extractMeasurementRecords(Event event) {
-    var iotDbRecords = new ArrayList<IotDbMeasurementRecord>();
-    allEventProperties.forEach(ep -> {
+    var iotDbRecords = new ArrayList<IotDbMeasurementRecord>(writePlan.size());
+    forEachPlannedField(writePlan, event, (planField, field) -> {
       try {
-        // timestamp is already known and is not part of the measurement thus we ignore it here
-        if (!ep.getRuntimeName().equals(measure.getTimestampFieldName())) {
-
-          try {
-            var eventField = event.getFieldByRuntimeName(ep.getRuntimeName()).getAsPrimitive();
-
-            if (ep instanceof EventPropertyPrimitive) {
-              iotDbRecords.add(propertyConverter.convertPrimitiveProperty(
-                  (EventPropertyPrimitive) ep,
-                  event.getFieldByRuntimeName(ep.getRuntimeName()).getAsPrimitive(),
-                  sanitizedRuntimeNames.get(ep.getRuntimeName())
-              ));
-            } else {
-              iotDbRecords.add(propertyConverter.convertNonPrimitiveProperty(
-                  ep,
-                  sanitizedRuntimeNames.get(ep.getRuntimeName())
-              ));
-            }
-          } catch (SpRuntimeException e) {
-            LOG.debug("Value and metadata for event field '{}' could not be extracted - "
-                    + "property will not be written to storage",
-                ep.getRuntimeName()
-            );
-          }
-        }
+        iotDbRecords.add(planField.converter().apply(field));
       } catch (SpRuntimeException e) {
-        LOG.error("Event could not be converted to the IotDB representation: {}", e.getMessage());
+        LOG.debug("Value and metadata for event field '{}' could not be extracted - "
+                + "property will not be written to storage",
+            planField.property().getRuntimeName()
+        );
       }
     });
     return iotDbRecords;
   }
-
-  /**
-   * Inserts measurement records into an IoTDB database as an aligned time series of one device.
-   *
-   * @param timestampValue The timestamp value associated with the measurement records.
-   * @param iotDbRecords   An ArrayList of IotDbMeasurementRecord objects containing the measurement records to be inserted.
-   */
-  private void insertIntoIotDb(long timestampValue, ArrayList<IotDbMeasurementRecord> iotDbRecords) {
-    try {
-      sessionPool.insertAlignedRecordsOfOneDevice(
-          "root.streampipes.%s".formatted(measure.getMeasureName()),
-          List.of(timestampValue),
-          List.of(iotDbRecords.stream().map(IotDbMeasurementRecord::measurementName).toList()),
-          List.of(iotDbRecords.stream().map(IotDbMeasurementRecord::dataType).toList()),
-          List.of(iotDbRecords.stream().map(IotDbMeasurementRecord::value).toList())
-      );
-    } catch (IoTDBConnectionException | StatementExecutionException e) {
-      LOG.error("Failed to write event to IoTDB  - {}", e.getMessage());
-    }
-  }
 }
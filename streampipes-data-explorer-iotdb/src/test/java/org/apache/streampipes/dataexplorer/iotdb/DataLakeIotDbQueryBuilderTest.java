@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.iotdb;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.datalake.AggregationFunction;
+import org.apache.streampipes.model.datalake.DataLakeQueryOrdering;
+import org.apache.streampipes.model.datalake.FilterCondition;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DataLakeIotDbQueryBuilderTest {
+
+  private static final String MEASUREMENT = "measurement";
+
+  @Test
+  public void withAllColumns() {
+    var result = DataLakeIotDbQueryBuilder
+        .create(MEASUREMENT)
+        .withAllColumns()
+        .build();
+
+    assertEquals("SELECT * FROM root.streampipes.`measurement`", result);
+  }
+
+  @Test
+  public void withSimpleColumnsAndPaging() {
+    var result = DataLakeIotDbQueryBuilder
+        .create(MEASUREMENT)
+        .withSimpleColumns(List.of("one", "two"))
+        .withOrderBy(DataLakeQueryOrdering.DESC)
+        .withLimit(10)
+        .withOffset(20)
+        .build();
+
+    assertEquals(
+        "SELECT `one`, `two` FROM root.streampipes.`measurement` ORDER BY TIME DESC LIMIT 10 OFFSET 20",
+        result);
+  }
+
+  @Test
+  public void withFilterConditionsConvertsTimeToMillis() {
+    var result = DataLakeIotDbQueryBuilder
+        .create(MEASUREMENT)
+        .withAllColumns()
+        .withInclusiveFilter(List.of(
+            new FilterCondition("time", ">", 1000 * 1000000L),
+            new FilterCondition("name", "=", "it's")
+        ))
+        .build();
+
+    assertEquals("SELECT * FROM root.streampipes.`measurement` WHERE time > 1000 AND `name` = 'it''s'", result);
+  }
+
+  @Test
+  public void quotesIdentifiers() {
+    var result = DataLakeIotDbQueryBuilder
+        .create("m`x")
+        .withSimpleColumn("a` FROM root.other")
+        .withFilter("select", "=", 1)
+        .build();
+
+    assertEquals("SELECT `a`` FROM root.other` FROM root.streampipes.`m``x` WHERE `select` = 1", result);
+  }
+
+  @Test
+  public void withAggregationIsNotSupported() {
+    var builder = DataLakeIotDbQueryBuilder.create(MEASUREMENT);
+
+    assertThrows(SpRuntimeException.class, () -> builder.withAggregatedColumn("one", AggregationFunction.MEAN));
+  }
+}
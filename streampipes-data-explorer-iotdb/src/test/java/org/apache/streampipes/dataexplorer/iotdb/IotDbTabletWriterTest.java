@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.iotdb;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import org.apache.iotdb.rpc.IoTDBConnectionException;
+import org.apache.iotdb.rpc.StatementExecutionException;
+import org.apache.iotdb.session.pool.SessionPool;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class IotDbTabletWriterTest {
+
+  private static final String DEVICE = "root.streampipes.test";
+
+  private SessionPool sessionPool;
+
+  @BeforeEach
+  public void setUp() {
+    sessionPool = mock(SessionPool.class);
+  }
+
+  @Test
+  public void writesTabletWhenMaxRowsReached() throws Exception {
+    var writer = new IotDbTabletWriter(sessionPool, DEVICE, 2, 60000);
+
+    writer.write(1L, List.of(temperature(1.0)));
+    verify(sessionPool, never()).insertAlignedTablet(any());
+
+    writer.write(2L, List.of(temperature(2.0)));
+    var tablet = captureTablets(1).get(0);
+
+    assertEquals(DEVICE, tablet.deviceId);
+    assertEquals(2, tablet.rowSize);
+    assertEquals(1L, tablet.timestamps[0]);
+    assertEquals(2.0, ((double[]) tablet.values[0])[1]);
+    writer.close();
+  }
+
+  @Test
+  public void writesPartialTabletOnClose() throws Exception {
+    var writer = new IotDbTabletWriter(sessionPool, DEVICE, 100, 60000);
+
+    writer.write(1L, List.of(temperature(1.0)));
+    writer.close();
+
+    assertEquals(1, captureTablets(1).get(0).rowSize);
+  }
+
+  @Test
+  public void writesTabletAfterFlushInterval() throws Exception {
+    var writer = new IotDbTabletWriter(sessionPool, DEVICE, 100, 10);
+
+    writer.write(1L, List.of(temperature(1.0)));
+
+    assertEquals(1, captureTablets(1).get(0).rowSize);
+    writer.close();
+  }
+
+  @Test
+  public void marksMissingValuesAndStartsNewTabletForNewMeasurement() throws Exception {
+    var writer = new IotDbTabletWriter(sessionPool, DEVICE, 100, 60000);
+
+    writer.write(1L, List.of(temperature(1.0), new IotDbMeasurementRecord("status", TSDataType.TEXT, "ok")));
+    writer.write(2L, List.of(temperature(2.0)));
+    writer.write(3L, List.of(new IotDbMeasurementRecord("pressure", TSDataType.DOUBLE, 1013.0)));
+    writer.close();
+
+    var tablets = captureTablets(2);
+    var first = tablets.get(0);
+    assertEquals(2, first.rowSize);
+    assertFalse(first.bitMaps[1].isMarked(0));
+    assertTrue(first.bitMaps[1].isMarked(1));
+
+    var second = tablets.get(1);
+    assertEquals(3, second.getSchemas().size());
+    assertEquals(1, second.rowSize);
+    assertTrue(second.bitMaps[0].isMarked(0));
+    assertFalse(second.bitMaps[2].isMarked(0));
+  }
+
+  @Test
+  public void retriesConnectionFailures() throws Exception {
+    doThrow(new IoTDBConnectionException("unavailable"))
+        .doThrow(new IoTDBConnectionException("unavailable"))
+        .doNothing()
+        .when(sessionPool).insertAlignedTablet(any());
+    var writer = new IotDbTabletWriter(sessionPool, DEVICE, 1, 60000, 1, 5000);
+
+    writer.write(1L, List.of(temperature(1.0)));
+    captureTablets(3);
+
+    writer.write(2L, List.of(temperature(2.0)));
+    writer.close();
+  }
+
+  @Test
+  public void reportsRejectedTabletWithNextWrite() throws Exception {
+    doThrow(new StatementExecutionException("invalid"))
+        .doNothing()
+        .when(sessionPool).insertAlignedTablet(any());
+    var writer = new IotDbTabletWriter(sessionPool, DEVICE, 1, 60000, 1, 5000);
+
+    writer.write(1L, List.of(temperature(1.0)));
+    captureTablets(1);
+
+    var error = assertThrows(SpRuntimeException.class, () -> awaitWriteError(writer));
+    assertTrue(error.getMessage().contains("invalid"));
+    writer.close();
+  }
+
+  @Test
+  public void reportsDroppedTabletOnClose() throws Exception {
+    doThrow(new IoTDBConnectionException("unavailable")).when(sessionPool).insertAlignedTablet(any());
+    var writer = new IotDbTabletWriter(sessionPool, DEVICE, 100, 60000, 1, 5000);
+
+    writer.write(1L, List.of(temperature(1.0)));
+
+    assertThrows(SpRuntimeException.class, writer::close);
+    captureTablets(5);
+  }
+
+  @Test
+  public void closeFailsIfPendingTabletsAreNotWritten() throws Exception {
+    var release = new CountDownLatch(1);
+    doAnswer(invocation -> release.await(10, TimeUnit.SECONDS))
+        .when(sessionPool).insertAlignedTablet(any());
+    var writer = new IotDbTabletWriter(sessionPool, DEVICE, 1, 60000, 1, 100);
+
+    writer.write(1L, List.of(temperature(1.0)));
+    writer.write(2L, List.of(temperature(2.0)));
+
+    var error = assertThrows(SpRuntimeException.class, writer::close);
+    assertTrue(error.getMessage().contains("discarded 1 rows"));
+  }
+
+  private void awaitWriteError(IotDbTabletWriter writer) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (System.currentTimeMillis() < deadline) {
+      writer.write(System.currentTimeMillis(), List.of(temperature(1.0)));
+      Thread.sleep(10);
+    }
+  }
+
+  private List<Tablet> captureTablets(int expectedCalls) throws Exception {
+    var captor = ArgumentCaptor.forClass(Tablet.class);
+    verify(sessionPool, timeout(5000).times(expectedCalls)).insertAlignedTablet(captor.capture());
+    return captor.getAllValues();
+  }
+
+  private IotDbMeasurementRecord temperature(double value) {
+    return new IotDbMeasurementRecord("temperature", TSDataType.DOUBLE, value);
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.streampipes.dataexplorer.management;
 
 import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.dataexplorer.api.IDataExplorerManager;
+import org.apache.streampipes.dataexplorer.embedded.DataExplorerManagerEmbedded;
 import org.apache.streampipes.dataexplorer.influx.DataExplorerManagerInflux;
 import org.apache.streampipes.dataexplorer.iotdb.DataExplorerManagerIotDb;
 
@@ -33,6 +34,7 @@ public class DataExplorerDispatcher {
                                .getTsStorage()
                                .getValueOrDefault()) {
       case SupportedDataExplorerStorages.IOT_DB -> new DataExplorerManagerIotDb();
+      case SupportedDataExplorerStorages.EMBEDDED -> new DataExplorerManagerEmbedded();
       default -> new DataExplorerManagerInflux();
     };
   }
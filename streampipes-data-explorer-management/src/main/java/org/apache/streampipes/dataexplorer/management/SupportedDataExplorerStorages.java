@@ -24,9 +24,13 @@ package org.apache.streampipes.dataexplorer.management;
  * Supported time series storage implementations:
  * <ul>
  *     <li>{@link #INFLUX_DB}: Represents the InfluxDB time series storage implementation.</li>
+ *     <li>{@link #IOT_DB}: Represents the Apache IoTDB time series storage implementation.</li>
+ *     <li>{@link #EMBEDDED}: Represents the embedded columnar storage, which keeps segment files in a local
+ *     directory shared by all services.</li>
  * </ul>
  */
 public class SupportedDataExplorerStorages {
   public static final String INFLUX_DB = "influxdb";
   public static final String IOT_DB = "iotdb";
+  public static final String EMBEDDED = "embedded";
 }
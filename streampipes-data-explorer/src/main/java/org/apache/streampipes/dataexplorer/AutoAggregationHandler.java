@@ -17,8 +17,11 @@
  */
 package org.apache.streampipes.dataexplorer;
 
+import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.dataexplorer.api.IDataExplorerQueryManagement;
 import org.apache.streampipes.dataexplorer.param.model.SelectColumn;
+import org.apache.streampipes.dataexplorer.statistics.MeasurementStatistics;
+import org.apache.streampipes.dataexplorer.statistics.MeasurementStatisticsCatalog;
 import org.apache.streampipes.model.datalake.DataLakeQueryOrdering;
 import org.apache.streampipes.model.datalake.SpQueryResult;
 import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
@@ -27,13 +30,20 @@ import org.apache.streampipes.model.datalake.param.SupportedRestQueryParams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
-import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Chooses the aggregation interval of auto-aggregated queries.
+ * <p>
+ * Unfiltered queries are answered from the {@link MeasurementStatisticsCatalog}, which is reconciled with the
+ * storage backend at most once per reconcile interval. Queries with filter conditions still count the matching
+ * rows in the storage backend.
+ */
 public class AutoAggregationHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(AutoAggregationHandler.class);
@@ -41,11 +51,6 @@ public class AutoAggregationHandler {
   private static final String TIMESTAMP_FIELD = "time";
   private static final String COMMA = ",";
 
-  // Date format for ISO 8601 timestamps with milliseconds
-  private final SimpleDateFormat isoFormatWithMillis = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-  // Date format for ISO 8601 timestamps without milliseconds
-  private final SimpleDateFormat isoFormatOnlySeconds = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
-
   private final IDataExplorerQueryManagement dataLakeQueryManagement;
   private final ProvidedRestQueryParams queryParams;
 
@@ -57,38 +62,119 @@ public class AutoAggregationHandler {
 
   public ProvidedRestQueryParams makeAutoAggregationQueryParams() throws IllegalArgumentException {
     try {
-      SpQueryResult newest = getSingleRecord(DataLakeQueryOrdering.DESC);
-      SpQueryResult oldest = getSingleRecord(DataLakeQueryOrdering.ASC);
-      if (newest.getTotal() > 0) {
-        String sampleField = getSampleField(newest);
-        Integer count = getCount(sampleField);
-        if (count <= MAX_RETURN_LIMIT) {
-          LOG.debug("Auto-Aggregation disabled as {} results <= max return limit {}", count, MAX_RETURN_LIMIT);
-          return disableAutoAgg(this.queryParams);
-        } else {
-          LOG.debug("Performing auto-aggregation");
-
-          int aggValue = getAggregationValue(newest, oldest);
-          LOG.debug("Setting auto-aggregation value to {} ms", aggValue);
-          queryParams.update(SupportedRestQueryParams.QP_TIME_INTERVAL, aggValue + "ms");
-          return disableAutoAgg(queryParams);
-        }
+      if (queryParams.has(SupportedRestQueryParams.QP_FILTER)) {
+        return makeAutoAggregationQueryParamsFromBackend();
       } else {
-        return disableAutoAgg(this.queryParams);
+        return makeAutoAggregationQueryParamsFromStatistics();
       }
-    } catch (ParseException e) {
+    } catch (DateTimeParseException e) {
       LOG.error("Parsing of timestamp failed during auto aggregation of query parameters: {}", e.getMessage());
     }
     return null;
   }
 
+  private ProvidedRestQueryParams makeAutoAggregationQueryParamsFromStatistics() {
+    var statistics = getReconciledStatistics();
+    if (statistics.isEmpty()) {
+      return disableAutoAgg(this.queryParams);
+    }
+
+    var startTimestamp = queryParams.has(SupportedRestQueryParams.QP_START_DATE)
+        ? queryParams.getAsLong(SupportedRestQueryParams.QP_START_DATE) : Long.MIN_VALUE;
+    var endTimestamp = queryParams.has(SupportedRestQueryParams.QP_END_DATE)
+        ? queryParams.getAsLong(SupportedRestQueryParams.QP_END_DATE) : Long.MAX_VALUE;
+    var count = statistics.estimateRowCount(startTimestamp, endTimestamp);
+
+    if (count <= MAX_RETURN_LIMIT) {
+      LOG.debug("Auto-Aggregation disabled as {} estimated results <= max return limit {}", count, MAX_RETURN_LIMIT);
+      return disableAutoAgg(this.queryParams);
+    } else {
+      var timerange = Math.min(endTimestamp, statistics.getMaxTimestamp())
+          - Math.max(startTimestamp, statistics.getMinTimestamp());
+      return applyAggregationValue(timerange);
+    }
+  }
+
+  private ProvidedRestQueryParams makeAutoAggregationQueryParamsFromBackend() {
+    SpQueryResult newest = getSingleRecord(queryParams, DataLakeQueryOrdering.DESC);
+    SpQueryResult oldest = getSingleRecord(queryParams, DataLakeQueryOrdering.ASC);
+    if (newest.getTotal() > 0) {
+      String sampleField = getSampleField(newest);
+      Integer count = getCount(sampleField);
+      if (count <= MAX_RETURN_LIMIT) {
+        LOG.debug("Auto-Aggregation disabled as {} results <= max return limit {}", count, MAX_RETURN_LIMIT);
+        return disableAutoAgg(this.queryParams);
+      } else {
+        return applyAggregationValue(extractTimestamp(newest) - extractTimestamp(oldest));
+      }
+    } else {
+      return disableAutoAgg(this.queryParams);
+    }
+  }
+
+  private ProvidedRestQueryParams applyAggregationValue(long timerange) {
+    LOG.debug("Performing auto-aggregation");
+    int aggValue = Math.max(1, (int) (timerange / MAX_RETURN_LIMIT));
+    LOG.debug("Setting auto-aggregation value to {} ms", aggValue);
+    queryParams.update(SupportedRestQueryParams.QP_TIME_INTERVAL, aggValue + "ms");
+    return disableAutoAgg(queryParams);
+  }
+
+  /**
+   * Returns the statistics of the queried measurement, reconciling them with the storage backend if they were not
+   * reconciled within the reconcile interval.
+   */
+  private MeasurementStatistics getReconciledStatistics() {
+    var statistics = MeasurementStatisticsCatalog.INSTANCE.getOrCreate(queryParams.getMeasurementId());
+    var reconcileIntervalMs = Environments.getEnvironment()
+                                          .getTsStorageStatisticsReconcileIntervalSeconds()
+                                          .getValueOrDefault() * 1000L;
+    if (isOutdated(statistics, reconcileIntervalMs)) {
+      synchronized (statistics) {
+        if (isOutdated(statistics, reconcileIntervalMs)) {
+          reconcile(statistics);
+        }
+      }
+    }
+    return statistics;
+  }
+
+  private boolean isOutdated(MeasurementStatistics statistics,
+                             long reconcileIntervalMs) {
+    return System.currentTimeMillis() - statistics.getLastReconciled() >= reconcileIntervalMs;
+  }
+
+  /**
+   * The statistics are shared by all queries of the measurement, so they are reconciled independently of the
+   * queried columns. Every row has a value in at least one field, so the row count is the highest count of all
+   * fields.
+   */
+  private void reconcile(MeasurementStatistics statistics) {
+    var measurementParams = new ProvidedRestQueryParams(queryParams.getMeasurementId(), new HashMap<>());
+
+    SpQueryResult newest = getSingleRecord(measurementParams, DataLakeQueryOrdering.DESC);
+    if (newest.getTotal() > 0) {
+      SpQueryResult oldest = getSingleRecord(measurementParams, DataLakeQueryOrdering.ASC);
+      int count = getRowCount(measurementParams, getFields(newest));
+      statistics.reconcile(extractTimestamp(oldest), extractTimestamp(newest), count, System.currentTimeMillis());
+      LOG.debug("Reconciled statistics of measurement {} with {} rows", queryParams.getMeasurementId(), count);
+    } else {
+      statistics.reconcileEmpty(System.currentTimeMillis());
+    }
+  }
+
   private ProvidedRestQueryParams disableAutoAgg(ProvidedRestQueryParams params) {
     params.remove(SupportedRestQueryParams.QP_AUTO_AGGREGATE);
     return params;
   }
 
   public Integer getCount(String fieldName) {
-    ProvidedRestQueryParams countParams = disableAutoAgg(new ProvidedRestQueryParams(queryParams));
+    return getCount(queryParams, fieldName);
+  }
+
+  private Integer getCount(ProvidedRestQueryParams params,
+                           String fieldName) {
+    ProvidedRestQueryParams countParams = disableAutoAgg(new ProvidedRestQueryParams(params));
     countParams.remove(SupportedRestQueryParams.QP_TIME_INTERVAL);
     countParams.remove(SupportedRestQueryParams.QP_AGGREGATION_FUNCTION);
     countParams.update(SupportedRestQueryParams.QP_COUNT_ONLY, true);
@@ -105,24 +191,44 @@ public class AutoAggregationHandler {
     ).intValue() : 0;
   }
 
-  private SpQueryResult fireQuery(ProvidedRestQueryParams params) {
-    return dataLakeQueryManagement.getData(params, true);
+  private int getRowCount(ProvidedRestQueryParams params,
+                          List<String> fieldNames) {
+    ProvidedRestQueryParams countParams = disableAutoAgg(new ProvidedRestQueryParams(params));
+    countParams.update(SupportedRestQueryParams.QP_COUNT_ONLY, true);
+    countParams.update(SupportedRestQueryParams.QP_COLUMNS, String.join(COMMA, fieldNames));
+
+    SpQueryResult result = dataLakeQueryManagement.getData(countParams, true);
+    if (result.getTotal() == 0) {
+      return 0;
+    }
+    var row = result.getAllDataSeries()
+                    .get(0)
+                    .getRows()
+                    .get(0);
+    int timestampIndex = result.getHeaders().indexOf(TIMESTAMP_FIELD);
+    int count = 0;
+    for (int i = 0; i < row.size(); i++) {
+      if (i != timestampIndex && row.get(i) instanceof Number number) {
+        count = Math.max(count, number.intValue());
+      }
+    }
+    return count;
   }
 
-  private int getAggregationValue(SpQueryResult newest, SpQueryResult oldest) throws ParseException {
-    long timerange = extractTimestamp(newest) - extractTimestamp(oldest);
-    double v = timerange / MAX_RETURN_LIMIT;
-    return Double.valueOf(v)
-                 .intValue();
+  private SpQueryResult fireQuery(ProvidedRestQueryParams params) {
+    return dataLakeQueryManagement.getData(params, true);
   }
 
-  private SpQueryResult getSingleRecord(DataLakeQueryOrdering order) throws ParseException {
-    ProvidedRestQueryParams singleEvent = disableAutoAgg(new ProvidedRestQueryParams(queryParams));
+  private SpQueryResult getSingleRecord(ProvidedRestQueryParams params,
+                                        DataLakeQueryOrdering order) {
+    ProvidedRestQueryParams singleEvent = disableAutoAgg(new ProvidedRestQueryParams(params));
     singleEvent.remove(SupportedRestQueryParams.QP_AGGREGATION_FUNCTION);
     singleEvent.update(SupportedRestQueryParams.QP_LIMIT, 1);
     singleEvent.update(SupportedRestQueryParams.QP_ORDER, order.name());
-    singleEvent.update(SupportedRestQueryParams.QP_COLUMNS, transformColumns(singleEvent.getAsString(
-        SupportedRestQueryParams.QP_COLUMNS)));
+    if (singleEvent.has(SupportedRestQueryParams.QP_COLUMNS)) {
+      singleEvent.update(SupportedRestQueryParams.QP_COLUMNS, transformColumns(singleEvent.getAsString(
+          SupportedRestQueryParams.QP_COLUMNS)));
+    }
 
     return fireQuery(singleEvent);
   }
@@ -137,6 +243,17 @@ public class AutoAggregationHandler {
                   .collect(Collectors.joining(COMMA));
   }
 
+  private List<String> getFields(SpQueryResult result) {
+    var fields = result.getHeaders()
+                       .stream()
+                       .filter(column -> !column.equals(TIMESTAMP_FIELD))
+                       .toList();
+    if (fields.isEmpty()) {
+      throw new IllegalArgumentException("No columns present");
+    }
+    return fields;
+  }
+
   private String getSampleField(SpQueryResult result) {
     for (String column : result.getHeaders()) {
       if (!column.equals(TIMESTAMP_FIELD)) {
@@ -146,22 +263,18 @@ public class AutoAggregationHandler {
     throw new IllegalArgumentException("No columns present");
   }
 
-  private long extractTimestamp(SpQueryResult result) throws ParseException {
+  private long extractTimestamp(SpQueryResult result) {
     int timestampIndex = result.getHeaders()
                                .indexOf(TIMESTAMP_FIELD);
-    return tryParseDate(result.getAllDataSeries()
-                              .get(0)
-                              .getRows()
-                              .get(0)
-                              .get(timestampIndex)
-                              .toString()).getTime();
-  }
-
-  private Date tryParseDate(String v) throws ParseException {
-    try {
-      return isoFormatWithMillis.parse(v);
-    } catch (ParseException e) {
-      return isoFormatOnlySeconds.parse(v);
+    var timestamp = result.getAllDataSeries()
+                          .get(0)
+                          .getRows()
+                          .get(0)
+                          .get(timestampIndex);
+    if (timestamp instanceof Number number) {
+      return number.longValue();
+    } else {
+      return Instant.parse(timestamp.toString()).toEpochMilli();
     }
   }
 }
@@ -19,6 +19,7 @@
 package org.apache.streampipes.dataexplorer;
 
 import org.apache.streampipes.dataexplorer.api.IDataExplorerSchemaManagement;
+import org.apache.streampipes.dataexplorer.rollup.RollupTiers;
 import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.datalake.DataLakeMeasureSchemaUpdateStrategy;
@@ -52,7 +53,8 @@ public class DataExplorerSchemaManagement implements IDataExplorerSchemaManageme
 
   /**
    * For new measurements an entry is generated in the database. For existing measurements the schema is updated
-   * according to the update strategy defined by the measurement.
+   * according to the update strategy defined by the measurement. Rollup tiers which already existed keep the
+   * timestamp since which they are active.
    */
   @Override
   public DataLakeMeasure createOrUpdateMeasurement(DataLakeMeasure measure) {
@@ -60,6 +62,7 @@ public class DataExplorerSchemaManagement implements IDataExplorerSchemaManageme
     setDefaultUpdateStrategyIfNoneProvided(measure);
 
     var existingMeasure = getExistingMeasureByName(measure.getMeasureName());
+    RollupTiers.mergeActiveSince(measure, existingMeasure.orElse(null), System.currentTimeMillis());
 
     if (existingMeasure.isEmpty()) {
       setSchemaVersionAndStoreMeasurement(measure);
@@ -20,65 +20,207 @@ package org.apache.streampipes.dataexplorer;
 
 import org.apache.streampipes.commons.environment.Environment;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.image.IImageBlobStore;
+import org.apache.streampipes.dataexplorer.image.ImageBlob;
+import org.apache.streampipes.dataexplorer.image.ImageBlobStores;
+import org.apache.streampipes.dataexplorer.image.PartialImageStoreException;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.schema.EventProperty;
 
-import org.apache.commons.codec.binary.Base64;
-import org.lightcouch.CouchDbClient;
-import org.lightcouch.CouchDbProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Replaces the images of an event with their ID and stores the images in the background.
+ * <p>
+ * Images are put into a bounded queue which is drained by a dedicated writer thread in batches. If the queue is
+ * full, {@link #onEvent(Event)} blocks until there is space, so back-pressure is propagated to the sink.
+ * <p>
+ * Images which could not be stored after {@value #MAX_WRITE_ATTEMPTS} attempts are discarded, while events already
+ * refer to them. This is reported to the sink by the next call of {@link #onEvent(Event)} or by {@link #close()}.
+ */
 public class ImageStore {
-  private static final String DB_NAME = "images";
+
+  private static final Logger LOG = LoggerFactory.getLogger(ImageStore.class);
+
+  private static final long POLL_TIMEOUT_MS = 100;
+  private static final long CLOSE_TIMEOUT_MS = 30000;
+  private static final int MAX_WRITE_ATTEMPTS = 3;
+  private static final long RETRY_BACKOFF_MS = 500;
 
   private final List<EventProperty> imageProperties;
-  private final CouchDbClient couchDbClient;
+  private final IImageBlobStore blobStore;
+  private final BlockingQueue<ImageBlob> queue;
+  private final int batchSize;
+  private final long retryBackoffMs;
+  private final long closeTimeoutMs;
+  private final Thread writerThread;
+  private final AtomicLong discardedImages = new AtomicLong();
+  private final AtomicReference<SpRuntimeException> discardedImagesError = new AtomicReference<>();
+
+  private volatile boolean closing;
 
   public ImageStore(DataLakeMeasure measure,
                     Environment environment) {
-    this.couchDbClient = new CouchDbClient(from(environment));
-    this.imageProperties = ImageStoreUtils.getImageProperties(measure);
+    this(
+        measure,
+        ImageBlobStores.from(environment),
+        environment.getImageStoreQueueSize().getValueOrDefault(),
+        environment.getImageStoreBatchSize().getValueOrDefault()
+    );
   }
 
-  private static CouchDbProperties from(Environment env) {
-    String couchDbProtocol = env.getCouchDbProtocol().getValueOrDefault();
-    String couchDbHost = env.getCouchDbHost().getValueOrDefault();
-    int couchDbPort = env.getCouchDbPort().getValueOrDefault();
-    String username = env.getCouchDbUsername().getValueOrDefault();
-    String password = env.getCouchDbPassword().getValueOrDefault();
+  public ImageStore(DataLakeMeasure measure,
+                    IImageBlobStore blobStore,
+                    int queueSize,
+                    int batchSize) {
+    this(measure, blobStore, queueSize, batchSize, RETRY_BACKOFF_MS, CLOSE_TIMEOUT_MS);
+  }
 
-    return new CouchDbProperties(DB_NAME, true, couchDbProtocol,
-        couchDbHost, couchDbPort, username, password);
+  ImageStore(DataLakeMeasure measure,
+             IImageBlobStore blobStore,
+             int queueSize,
+             int batchSize,
+             long retryBackoffMs,
+             long closeTimeoutMs) {
+    this.retryBackoffMs = retryBackoffMs;
+    this.closeTimeoutMs = closeTimeoutMs;
+    this.imageProperties = ImageStoreUtils.getImageProperties(measure);
+    this.blobStore = blobStore;
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+    this.batchSize = Math.max(1, batchSize);
+    this.writerThread = new Thread(this::writeLoop, "data-lake-image-store-" + measure.getMeasureName());
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
   }
 
   public void onEvent(Event event) throws SpRuntimeException {
+    if (closing) {
+      throw new SpRuntimeException("Image store is already closed");
+    }
     this.imageProperties.forEach(eventProperty -> {
-      String imageDocId = UUID.randomUUID().toString();
       String image = event.getFieldByRuntimeName(eventProperty.getRuntimeName()).getAsPrimitive().getAsString();
-
-      byte[] data = Base64.decodeBase64(image);
-      storeImage(data, imageDocId);
+      String imageDocId = blobStore.makeId(image);
+      enqueue(new ImageBlob(imageDocId, image));
       event.updateFieldBySelector("s0::" + eventProperty.getRuntimeName(), imageDocId);
     });
+
+    var error = discardedImagesError.getAndSet(null);
+    if (error != null) {
+      throw error;
+    }
   }
 
-  public void storeImage(byte[] imageBytes,
-                         String imageDocId) {
-    this.couchDbClient.saveAttachment(
-        new ByteArrayInputStream(imageBytes),
-        imageDocId,
-        "image/jpeg",
-        imageDocId,
-        null);
+  public int getQueueDepth() {
+    return queue.size();
+  }
 
+  public long getDiscardedImages() {
+    return discardedImages.get();
   }
 
+  /**
+   * Writes all queued images and closes the underlying image store.
+   *
+   * @throws IOException if images have been discarded since the last event, or if the queued images could not be
+   *                     written within the close timeout
+   */
   public void close() throws IOException {
-    this.couchDbClient.close();
+    closing = true;
+    try {
+      writerThread.join(closeTimeoutMs);
+      if (writerThread.isAlive()) {
+        writerThread.interrupt();
+        writerThread.join(closeTimeoutMs);
+        discardedImages.addAndGet(queue.size());
+        queue.clear();
+        throw new IOException("Image store was not drained within %d ms, %d images have been discarded".formatted(
+            closeTimeoutMs, discardedImages.get()));
+      }
+      var error = discardedImagesError.getAndSet(null);
+      if (error != null) {
+        throw new IOException(error.getMessage(), error);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while draining the image store");
+    } finally {
+      blobStore.close();
+    }
+  }
+
+  private void enqueue(ImageBlob image) {
+    try {
+      queue.put(image);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException(e);
+    }
+  }
+
+  private void writeLoop() {
+    var batch = new ArrayList<ImageBlob>(batchSize);
+    while (true) {
+      try {
+        var first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          if (closing) {
+            return;
+          }
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        writeWithRetry(batch);
+      } catch (InterruptedException e) {
+        discardedImages.addAndGet(batch.size());
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void writeWithRetry(List<ImageBlob> batch) throws InterruptedException {
+    List<ImageBlob> pending = batch;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        blobStore.storeAll(pending);
+        return;
+      } catch (IOException | RuntimeException e) {
+        if (e instanceof PartialImageStoreException partial) {
+          pending = partial.getFailedImages();
+        }
+        if (attempt == MAX_WRITE_ATTEMPTS) {
+          discard(pending, attempt, e);
+          return;
+        }
+        LOG.warn("Could not store {} images, retrying in {} ms", pending.size(), retryBackoffMs * attempt, e);
+        Thread.sleep(retryBackoffMs * attempt);
+      }
+    }
+  }
+
+  private void discard(List<ImageBlob> images,
+                       int attempts,
+                       Exception cause) {
+    LOG.error("Could not store {} images after {} attempts, discarding them", images.size(), attempts, cause);
+    long total = discardedImages.get() + images.size();
+    // the error is published before the counter, so that callers observing the counter also observe the error
+    discardedImagesError.set(new SpRuntimeException(
+        "Could not store %d images (first id %s) after %d attempts, %d images have been discarded so far".formatted(
+            images.size(), images.get(0).id(), attempts, total), cause));
+    discardedImages.addAndGet(images.size());
   }
 }
@@ -18,14 +18,25 @@
 
 package org.apache.streampipes.dataexplorer;
 
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataexplorer.api.IDataExplorerQueryManagement;
+import org.apache.streampipes.dataexplorer.cache.QueryCacheKey;
+import org.apache.streampipes.dataexplorer.cache.QueryResultCache;
+import org.apache.streampipes.dataexplorer.downsampling.DownsamplingRowConsumer;
+import org.apache.streampipes.dataexplorer.downsampling.M4QueryPlan;
 import org.apache.streampipes.dataexplorer.param.ProvidedRestQueryParamConverter;
 import org.apache.streampipes.dataexplorer.param.SelectQueryParams;
 import org.apache.streampipes.dataexplorer.query.DataExplorerQueryExecutor;
+import org.apache.streampipes.dataexplorer.rollup.RollupQueryPlan;
+import org.apache.streampipes.dataexplorer.rollup.RollupQueryPlanner;
+import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DownsamplingAlgorithm;
 import org.apache.streampipes.model.datalake.SpQueryResult;
 import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
 import org.apache.streampipes.model.datalake.param.SupportedRestQueryParams;
 
+import java.io.IOException;
 import java.util.Optional;
 
 
@@ -36,6 +47,7 @@ public class QueryResultProvider {
   protected final IDataExplorerQueryManagement dataExplorerQueryManagement;
   protected final DataExplorerQueryExecutor<?, ?> queryExecutor;
   protected ProvidedRestQueryParams queryParams;
+  private boolean autoAggregated;
 
   public QueryResultProvider(ProvidedRestQueryParams queryParams,
                              IDataExplorerQueryManagement dataExplorerQueryManagement,
@@ -47,13 +59,63 @@ public class QueryResultProvider {
     this.queryExecutor = queryExecutor;
   }
 
+  /**
+   * Returns the query result from the {@link QueryResultCache} or queries the time series storage.
+   */
   public SpQueryResult getData() {
-    if (queryParams.has(SupportedRestQueryParams.QP_AUTO_AGGREGATE)) {
-      queryParams = new AutoAggregationHandler(queryParams,
-                                               dataExplorerQueryManagement).makeAutoAggregationQueryParams();
+    return QueryResultCache.getInstance().get(
+        QueryCacheKey.from(queryParams, ignoreMissingData),
+        this::queryData
+    );
+  }
+
+  /**
+   * Queries the time series storage, reading from a rollup measurement if the {@link RollupQueryPlanner} finds a
+   * rollup tier which can answer the query.
+   */
+  private SpQueryResult queryData() {
+    if (queryParams.has(SupportedRestQueryParams.QP_DOWNSAMPLING)) {
+      return queryDownsampledData();
+    }
+    applyAutoAggregation();
+    var rollupQueryPlan = new RollupQueryPlanner(this::findMeasure).plan(queryParams, autoAggregated);
+    SelectQueryParams qp = ProvidedRestQueryParamConverter.getSelectQueryParams(
+        rollupQueryPlan.map(RollupQueryPlan::getQueryParams).orElse(queryParams)
+    );
+    SpQueryResult result = executeQuery(qp);
+    return rollupQueryPlan.map(plan -> plan.postProcess(result)).orElse(result);
+  }
+
+  /**
+   * Pushes M4 downsampling down to the storage if it supports aggregation, otherwise the raw data is streamed from
+   * the storage and downsampled while it is read.
+   */
+  private SpQueryResult queryDownsampledData() {
+    var downsampling = ProvidedRestQueryParamConverter.getDownsamplingParams(queryParams);
+    if (downsampling.algorithm() == DownsamplingAlgorithm.M4 && queryExecutor.supportsAggregation()) {
+      var m4QueryPlan = M4QueryPlan.from(queryParams, downsampling);
+      if (m4QueryPlan.isPresent()) {
+        var qp = ProvidedRestQueryParamConverter.getSelectQueryParams(m4QueryPlan.get().getQueryParams());
+        return m4QueryPlan.get().postProcess(executeQuery(qp));
+      }
+    }
+    if (queryParams.has(SupportedRestQueryParams.QP_GROUP_BY)) {
+      throw new IllegalArgumentException("Grouping by tags is only supported with M4 downsampling of selected columns");
+    }
+    var consumer = new DownsamplingRowConsumer(downsampling);
+    try {
+      queryExecutor.executeStreamedQuery(
+          ProvidedRestQueryParamConverter.getSelectQueryParams(DownsamplingRowConsumer.toRawQueryParams(queryParams)),
+          ignoreMissingData,
+          consumer
+      );
+    } catch (IOException e) {
+      throw new SpRuntimeException(e);
     }
-    SelectQueryParams qp = ProvidedRestQueryParamConverter.getSelectQueryParams(queryParams);
+    return consumer.toQueryResult();
+  }
 
+  private SpQueryResult executeQuery(SelectQueryParams qp) {
     if (queryParams.getProvidedParams().containsKey(SupportedRestQueryParams.QP_MAXIMUM_AMOUNT_OF_EVENTS)) {
       int maximumAmountOfEvents = Integer.parseInt(queryParams.getProvidedParams()
                                                               .get(SupportedRestQueryParams.QP_MAXIMUM_AMOUNT_OF_EVENTS)
@@ -68,4 +130,25 @@ public class QueryResultProvider {
       return queryExecutor.executeQuery(qp, -1, Optional.empty(), ignoreMissingData);
     }
   }
+
+  protected SelectQueryParams makeSelectQueryParams() {
+    applyAutoAggregation();
+    return ProvidedRestQueryParamConverter.getSelectQueryParams(queryParams);
+  }
+
+  private void applyAutoAggregation() {
+    if (queryParams.has(SupportedRestQueryParams.QP_AUTO_AGGREGATE)
+        && !queryParams.has(SupportedRestQueryParams.QP_DOWNSAMPLING)) {
+      queryParams = new AutoAggregationHandler(queryParams,
+                                               dataExplorerQueryManagement).makeAutoAggregationQueryParams();
+      autoAggregated = queryParams.has(SupportedRestQueryParams.QP_TIME_INTERVAL);
+    }
+  }
+
+  private Optional<DataLakeMeasure> findMeasure(String measureName) {
+    return DataExplorerUtils.getInfos()
+                            .stream()
+                            .filter(measure -> measure.getMeasureName().equals(measureName))
+                            .findFirst();
+  }
 }
@@ -22,20 +22,29 @@ import org.apache.streampipes.dataexplorer.api.IDataExplorerQueryManagement;
 import org.apache.streampipes.dataexplorer.export.ConfiguredOutputWriter;
 import org.apache.streampipes.dataexplorer.export.OutputFormat;
 import org.apache.streampipes.dataexplorer.query.DataExplorerQueryExecutor;
+import org.apache.streampipes.dataexplorer.query.QueryRowConsumer;
 import org.apache.streampipes.dataexplorer.utils.DataExplorerUtils;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
-import org.apache.streampipes.model.datalake.SpQueryResult;
 import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
 import org.apache.streampipes.model.datalake.param.SupportedRestQueryParams;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Writes the result of a data lake query to an output stream.
+ * <p>
+ * The query is executed once and its rows are passed to the configured output writer while they are read from the
+ * time series storage, so that the memory usage does not depend on the size of the exported data.
+ * <p>
+ * If a maximum amount of events is given, the rows are buffered up to this amount and nothing is exported if the
+ * result contains more rows.
+ */
 public class StreamedQueryResultProvider extends QueryResultProvider {
 
-  private static final int MAX_RESULTS_PER_QUERY = 200000;
   private static final String TIME_FIELD = "time";
 
   private final OutputFormat format;
@@ -50,50 +59,34 @@ public class StreamedQueryResultProvider extends QueryResultProvider {
   }
 
   public void getDataAsStream(OutputStream outputStream) throws IOException {
-    var usesLimit = queryParams.has(SupportedRestQueryParams.QP_LIMIT);
     var measurement = findByMeasurementName(queryParams.getMeasurementId()).get();
 
     var configuredWriter = ConfiguredOutputWriter
         .getConfiguredWriter(measurement, format, queryParams, ignoreMissingData);
 
-    if (!queryParams.has(SupportedRestQueryParams.QP_LIMIT)) {
-      queryParams.update(SupportedRestQueryParams.QP_LIMIT, MAX_RESULTS_PER_QUERY);
-    }
-
-    var limit = queryParams.getAsInt(SupportedRestQueryParams.QP_LIMIT);
-
-    SpQueryResult dataResult;
+    var selectQueryParams = makeSelectQueryParams();
 
-    boolean isFirstDataItem = true;
-    var resultsCount = 0;
     configuredWriter.beforeFirstItem(outputStream);
-    do {
-      dataResult = getData();
-      long lastTimestamp = 0;
-      resultsCount = dataResult.getTotal() > 0 ? dataResult.getAllDataSeries().get(0).getTotal() : 0;
-      if (resultsCount > 0) {
-
-        changeTimestampHeader(measurement, dataResult);
-        var columns = dataResult.getHeaders();
-        for (List<Object> row : dataResult.getAllDataSeries().get(0).getRows()) {
-          configuredWriter.writeItem(outputStream, row, columns, isFirstDataItem);
-          isFirstDataItem = false;
-          lastTimestamp = dataResult.getLastTimestamp();
-        }
+    var outputConsumer = new OutputWriterRowConsumer(measurement, configuredWriter, outputStream);
+    var maximumAmountOfEvents = getMaximumAmountOfEvents();
+    if (maximumAmountOfEvents.isPresent()) {
+      var limitedConsumer = new LimitedRowConsumer(maximumAmountOfEvents.get());
+      try {
+        queryExecutor.executeStreamedQuery(selectQueryParams, ignoreMissingData, limitedConsumer);
+        limitedConsumer.writeTo(outputConsumer);
+      } catch (TooMuchDataException e) {
+        // the query was stopped, the result is not exported
       }
-      queryParams.update(SupportedRestQueryParams.QP_START_DATE, lastTimestamp + 1);
-    } while (queryNextPage(resultsCount, usesLimit, limit));
+    } else {
+      queryExecutor.executeStreamedQuery(selectQueryParams, ignoreMissingData, outputConsumer);
+    }
     configuredWriter.afterLastItem(outputStream);
   }
 
-  private boolean queryNextPage(int lastResultsCount,
-                                boolean usesLimit,
-                                int limit) {
-    if (usesLimit) {
-      return lastResultsCount >= limit;
-    } else {
-      return lastResultsCount > 0;
-    }
+  private Optional<Integer> getMaximumAmountOfEvents() {
+    return Optional
+        .ofNullable(queryParams.getProvidedParams().get(SupportedRestQueryParams.QP_MAXIMUM_AMOUNT_OF_EVENTS))
+        .map(Integer::parseInt);
   }
 
   private Optional<DataLakeMeasure> findByMeasurementName(String measurementName) {
@@ -103,17 +96,79 @@ public class StreamedQueryResultProvider extends QueryResultProvider {
         .findFirst();
   }
 
+  private static class TooMuchDataException extends IOException {
+  }
+
   /**
-   * Replaces the field 'time' of the data result with the actual timestamp field name of the measurement
-   *
-   * @param measurement contains the actual timestamp name value
-   * @param dataResult  the query result of the database with 'time' as timestamp field name
+   * Buffers the rows of the query and stops it once it returns more rows than the maximum amount of events.
    */
-  private void changeTimestampHeader(DataLakeMeasure measurement,
-                                     SpQueryResult dataResult) {
-    var timeFieldIndex = dataResult.getHeaders().indexOf(TIME_FIELD);
-    if (timeFieldIndex > -1) {
-      dataResult.getHeaders().set(timeFieldIndex, measurement.getTimestampFieldName());
+  private static class LimitedRowConsumer implements QueryRowConsumer {
+
+    private final int maximumAmountOfEvents;
+    private final List<List<String>> columns = new ArrayList<>();
+    private final List<List<Object>> rows = new ArrayList<>();
+
+    LimitedRowConsumer(int maximumAmountOfEvents) {
+      this.maximumAmountOfEvents = maximumAmountOfEvents;
+    }
+
+    @Override
+    public void accept(List<String> columns, List<Object> row) throws IOException {
+      if (rows.size() >= maximumAmountOfEvents) {
+        rows.clear();
+        throw new TooMuchDataException();
+      }
+      this.columns.add(columns);
+      rows.add(row);
+    }
+
+    void writeTo(QueryRowConsumer consumer) throws IOException {
+      for (int i = 0; i < rows.size(); i++) {
+        consumer.accept(columns.get(i), rows.get(i));
+      }
+    }
+  }
+
+  private static class OutputWriterRowConsumer implements QueryRowConsumer {
+
+    private final DataLakeMeasure measurement;
+    private final ConfiguredOutputWriter configuredWriter;
+    private final OutputStream outputStream;
+
+    private List<String> lastColumns;
+    private List<String> renamedColumns;
+    private boolean isFirstDataItem = true;
+
+    OutputWriterRowConsumer(DataLakeMeasure measurement,
+                            ConfiguredOutputWriter configuredWriter,
+                            OutputStream outputStream) {
+      this.measurement = measurement;
+      this.configuredWriter = configuredWriter;
+      this.outputStream = outputStream;
+    }
+
+    @Override
+    public void accept(List<String> columns, List<Object> row) throws IOException {
+      if (columns != lastColumns) {
+        lastColumns = columns;
+        renamedColumns = changeTimestampHeader(columns);
+      }
+      configuredWriter.writeItem(outputStream, row, renamedColumns, isFirstDataItem);
+      isFirstDataItem = false;
+    }
+
+    /**
+     * Replaces the field 'time' of the query result with the actual timestamp field name of the measurement
+     *
+     * @param columns the column names of the database with 'time' as timestamp field name
+     */
+    private List<String> changeTimestampHeader(List<String> columns) {
+      var result = new ArrayList<>(columns);
+      var timeFieldIndex = result.indexOf(TIME_FIELD);
+      if (timeFieldIndex > -1) {
+        result.set(timeFieldIndex, measurement.getTimestampFieldName());
+      }
+      return result;
     }
   }
 }
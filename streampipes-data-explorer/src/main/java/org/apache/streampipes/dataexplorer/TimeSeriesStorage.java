@@ -15,51 +15,108 @@
  * limitations under the License.
  *
  */
-
 package org.apache.streampipes.dataexplorer;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataexplorer.api.ITimeSeriesStorage;
+import org.apache.streampipes.dataexplorer.rollup.RollupAggregator;
+import org.apache.streampipes.dataexplorer.rollup.RollupBucket;
+import org.apache.streampipes.dataexplorer.rollup.RollupTiers;
+import org.apache.streampipes.dataexplorer.statistics.MeasurementStatistics;
+import org.apache.streampipes.dataexplorer.statistics.MeasurementStatisticsCatalog;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
 import org.apache.streampipes.model.schema.EventProperty;
-import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.PropertyScope;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
 
 public abstract class TimeSeriesStorage implements ITimeSeriesStorage {
 
   private static final Logger LOG = LoggerFactory.getLogger(TimeSeriesStorage.class);
 
+  private static final long FIELD_REPORT_INTERVAL_MS = 60000;
+
+  public static final String LATE_ROLLUP_EVENTS_METRIC = "rollup.late.events";
+  public static final String DROPPED_LATE_ROLLUP_EVENTS_METRIC = "rollup.late.events.dropped";
+
   protected final DataLakeMeasure measure;
   protected final List<EventProperty> allEventProperties;
-  protected final Map<String, String> sanitizedRuntimeNames = new HashMap<>();
+
+  private final MeasurementStatistics statistics;
+
+  private final RollupAggregator rollupAggregator;
+  private boolean[] rollupFields = new boolean[0];
+
+  private final Set<String> missingFields = new TreeSet<>();
+  private final Set<String> nullFields = new TreeSet<>();
+  private long eventsWithMissingFields;
+  private long eventsWithNullFields;
+  private long lastFieldReport;
+
+  private long[] lastWrittenEvent = new long[0];
+  private long eventCount;
 
   public TimeSeriesStorage(DataLakeMeasure measure) {
     this.measure = measure;
-    storeSanitizedRuntimeNames();
     allEventProperties = getAllEventPropertiesExceptTimestamp();
+    statistics = MeasurementStatisticsCatalog.INSTANCE.getOrCreate(measure.getMeasureName());
+    var rollupTiers = RollupTiers.getTiers(measure);
+    rollupAggregator = rollupTiers.isEmpty() ? null : new RollupAggregator(rollupTiers);
   }
 
   @Override
   public void onEvent(Event event) throws SpRuntimeException {
-    validateInputEventAndLogMissingFields(event);
-    sanitizeRuntimeNamesInEvent(event);
+    checkEventIsNotNull(event);
+    var timestamp = event.getFieldBySelector(measure.getTimestampField())
+                         .getAsPrimitive()
+                         .getRawValue();
+    advanceRollups(timestamp);
     writeToTimeSeriesStorage(event);
+    if (timestamp instanceof Number number) {
+      statistics.recordWrite(number.longValue());
+    }
   }
 
-  private void validateInputEventAndLogMissingFields(Event event) {
-    checkEventIsNotNull(event);
+  private void advanceRollups(Object timestamp) {
+    if (rollupAggregator == null) {
+      return;
+    }
+    if (timestamp instanceof Number number) {
+      rollupAggregator.advance(number.longValue(), this::writeRollup);
+    } else {
+      rollupAggregator.skip();
+    }
+  }
 
-    logMissingFields(event);
+  /**
+   * Writes the rollup buckets which are still open, should be called by implementations before the storage is
+   * closed.
+   */
+  protected void flushRollups() {
+    if (rollupAggregator != null) {
+      rollupAggregator.flush(this::writeRollup);
+    }
+  }
 
-    logNullFields(event);
+  @Override
+  public Map<String, Long> getMetrics() {
+    if (rollupAggregator == null) {
+      return Map.of();
+    }
+    return Map.of(
+        LATE_ROLLUP_EVENTS_METRIC, rollupAggregator.getLateEvents(),
+        DROPPED_LATE_ROLLUP_EVENTS_METRIC, rollupAggregator.getDroppedLateEvents()
+    );
   }
 
   private void checkEventIsNotNull(Event event) {
@@ -69,54 +126,80 @@ public abstract class TimeSeriesStorage implements ITimeSeriesStorage {
   }
 
   /**
-   * Logs all fields which are present in the schema, but not in the provided event
+   * Passes each top-level field of the event which is part of the write plan to the given consumer.
+   * Fields of the plan which are missing in the event or which have a null value are not passed, they are
+   * aggregated and logged periodically instead of on every event.
    */
-  private void logMissingFields(Event event) {
-    var missingFields = getMissingProperties(allEventProperties, event);
-    if (!missingFields.isEmpty()) {
-      LOG.debug(
-          "Ignored {} fields which were present in the schema, but not in the provided event: {}",
-          missingFields.size(),
-          String.join(", ", missingFields)
-      );
+  protected <T> void forEachPlannedField(TimeSeriesWritePlan<T> plan,
+                                         Event event,
+                                         BiConsumer<WritePlanField<T>, AbstractField> consumer) {
+    if (lastWrittenEvent.length != plan.size()) {
+      lastWrittenEvent = new long[plan.size()];
+      rollupFields = new boolean[plan.size()];
+      plan.getFields().forEach(f -> rollupFields[f.index()] = rollupAggregator != null
+          && !PropertyScope.DIMENSION_PROPERTY.name().equals(f.property().getPropertyScope()));
+    }
+    long currentEvent = ++eventCount;
+    int matched = 0;
+    boolean hasNullFields = false;
+
+    for (AbstractField field : event.getFields().values()) {
+      var planField = plan.resolve(field.getFieldNameIn());
+      if (planField != null && lastWrittenEvent[planField.index()] != currentEvent) {
+        lastWrittenEvent[planField.index()] = currentEvent;
+        matched++;
+        if (field instanceof PrimitiveField && field.getRawValue() == null) {
+          hasNullFields = true;
+          nullFields.add(planField.property().getRuntimeName());
+        } else {
+          consumer.accept(planField, field);
+          if (rollupFields[planField.index()] && field.getRawValue() instanceof Number number) {
+            rollupAggregator.add(planField.property().getRuntimeName(), number.doubleValue());
+          }
+        }
+      }
     }
-  }
 
-  /**
-   * Returns a list of the runtime names that are missing within the event
-   */
-  private List<String> getMissingProperties(
-      List<EventProperty> allEventProperties,
-      Event event
-  ) {
-    return allEventProperties.stream()
-                             .map(EventProperty::getRuntimeName)
-                             .filter(runtimeName -> event.getOptionalFieldByRuntimeName(runtimeName)
-                                                         .isEmpty())
-                             .toList();
+    if (matched < plan.size()) {
+      eventsWithMissingFields++;
+      plan.getFields()
+          .stream()
+          .filter(f -> lastWrittenEvent[f.index()] != currentEvent)
+          .forEach(f -> missingFields.add(f.property().getRuntimeName()));
+    }
+    if (hasNullFields) {
+      eventsWithNullFields++;
+    }
+    reportFieldsPeriodically();
   }
 
-  /**
-   * Logs all fields that contain null values
-   */
-  private void logNullFields(Event event) {
-    List<String> nullFields = allEventProperties
-        .stream()
-        .filter(EventPropertyPrimitive.class::isInstance)
-        .filter(ep -> {
-          var runtimeName = ep.getRuntimeName();
-          var field = event.getOptionalFieldByRuntimeName(runtimeName);
-
-          return field.isPresent() && field.get()
-                                           .getAsPrimitive()
-                                           .getRawValue() == null;
-        })
-        .map(EventProperty::getRuntimeName)
-        .collect(Collectors.toList());
-
-    if (!nullFields.isEmpty()) {
-      LOG.warn("Ignored {} fields which had a value 'null': {}", nullFields.size(), String.join(", ", nullFields));
+  private void reportFieldsPeriodically() {
+    if (eventsWithMissingFields == 0 && eventsWithNullFields == 0) {
+      return;
     }
+    long now = System.currentTimeMillis();
+    if (now - lastFieldReport < FIELD_REPORT_INTERVAL_MS) {
+      return;
+    }
+    lastFieldReport = now;
+    if (eventsWithMissingFields > 0) {
+      LOG.debug(
+          "Ignored fields in {} events which were present in the schema, but not in the provided event: {}",
+          eventsWithMissingFields,
+          String.join(", ", missingFields)
+      );
+    }
+    if (eventsWithNullFields > 0) {
+      LOG.warn(
+          "Ignored fields in {} events which had a value 'null': {}",
+          eventsWithNullFields,
+          String.join(", ", nullFields)
+      );
+    }
+    eventsWithMissingFields = 0;
+    eventsWithNullFields = 0;
+    missingFields.clear();
+    nullFields.clear();
   }
 
   /**
@@ -131,15 +214,10 @@ public abstract class TimeSeriesStorage implements ITimeSeriesStorage {
                   .toList();
   }
 
-  /**
-   * store sanitized target property runtime names in variable `sanitizedRuntimeNames`
-   */
-  protected abstract void storeSanitizedRuntimeNames();
+  protected abstract void writeToTimeSeriesStorage(Event event) throws SpRuntimeException;
 
   /**
-   * Iterates over all properties of the event and renames the key if it is a reserved keywords in InfluxDB
+   * Writes a closed bucket of a rollup tier to the rollup measurement of the tier.
    */
-  protected abstract void sanitizeRuntimeNamesInEvent(Event event);
-
-  protected abstract void writeToTimeSeriesStorage(Event event) throws SpRuntimeException;
+  protected abstract void writeRollup(RollupBucket bucket) throws SpRuntimeException;
 }
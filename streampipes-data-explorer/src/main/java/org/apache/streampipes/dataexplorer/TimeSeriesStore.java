@@ -21,6 +21,8 @@ package org.apache.streampipes.dataexplorer;
 import org.apache.streampipes.commons.environment.Environment;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataexplorer.api.ITimeSeriesStorage;
+import org.apache.streampipes.dataexplorer.buffer.WriteBehindTimeSeriesStorage;
+import org.apache.streampipes.dataexplorer.cache.QueryResultCache;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.runtime.Event;
 
@@ -28,11 +30,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Map;
 
 public class TimeSeriesStore {
 
   private static final Logger LOG = LoggerFactory.getLogger(TimeSeriesStore.class);
   private final ITimeSeriesStorage timeSeriesStorage;
+  private final boolean writeBehind;
+  private final DataLakeMeasure measure;
+  private final QueryResultCache queryResultCache;
   private ImageStore imageStore;
 
 
@@ -46,7 +52,15 @@ public class TimeSeriesStore {
     if (enableImageStore) {
       this.imageStore = new ImageStore(measure, environment);
     }
-    this.timeSeriesStorage = timeSeriesStorage;
+    this.measure = measure;
+    this.queryResultCache = QueryResultCache.getInstance();
+
+    // Write events asynchronously if a write buffer is configured, the consumer thread is not blocked by
+    // slow or unavailable storage then
+    this.writeBehind = environment.getTsStorageWriteBufferSize().getValueOrDefault() > 0;
+    this.timeSeriesStorage = writeBehind
+        ? WriteBehindTimeSeriesStorage.create(timeSeriesStorage, measure, environment, this::onWritten)
+        : timeSeriesStorage;
   }
 
   public boolean onEvent(Event event) throws SpRuntimeException {
@@ -58,19 +72,40 @@ public class TimeSeriesStore {
     // Store event in time series database
     this.timeSeriesStorage.onEvent(event);
 
+    if (!writeBehind) {
+      onWritten(event);
+    }
+
     return true;
   }
 
+  private void onWritten(Event event) {
+    // Invalidate cached query results which include the written event
+    var timestamp = event.getFieldBySelector(measure.getTimestampField())
+                         .getAsPrimitive()
+                         .getRawValue();
+    if (timestamp instanceof Number number) {
+      queryResultCache.onWrite(measure.getMeasureName(), number.longValue());
+    }
+  }
+
+  /**
+   * Returns the current values of the metrics of the time series storage by metric name.
+   */
+  public Map<String, Long> getMetrics() {
+    return this.timeSeriesStorage.getMetrics();
+  }
+
   public void close() throws SpRuntimeException {
-    if (imageStore != null) {
-      try {
+    try {
+      if (imageStore != null) {
         this.imageStore.close();
-      } catch (IOException e) {
-        LOG.error("Could not close couchDB connection");
-        throw new SpRuntimeException(e);
       }
+    } catch (IOException e) {
+      LOG.error("Could not close image store", e);
+      throw new SpRuntimeException(e);
+    } finally {
+      this.timeSeriesStorage.close();
     }
-
-    this.timeSeriesStorage.close();
   }
 }
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer;
+
+import org.apache.streampipes.model.schema.EventProperty;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Write plan of a measurement which is compiled once when a time series storage is created.
+ * <p>
+ * Each measurement property is mapped to its sanitized column name and a backend-specific converter. Incoming
+ * events are matched against the plan by sanitizing their field names, the result is cached per field name so that
+ * events do not need to be renamed before they are written.
+ *
+ * @param <T> The converter type of the storage backend.
+ */
+public class TimeSeriesWritePlan<T> {
+
+  private final List<WritePlanField<T>> fields;
+  private final Map<String, WritePlanField<T>> fieldsByColumnName;
+  private final Map<String, WritePlanField<T>> fieldsByEventRuntimeName;
+  private final UnaryOperator<String> sanitizer;
+
+  private TimeSeriesWritePlan(List<WritePlanField<T>> fields,
+                              UnaryOperator<String> sanitizer) {
+    this.fields = Collections.unmodifiableList(fields);
+    this.sanitizer = sanitizer;
+    this.fieldsByColumnName = new HashMap<>();
+    this.fieldsByEventRuntimeName = new HashMap<>();
+    fields.forEach(field -> fieldsByColumnName.put(field.columnName(), field));
+  }
+
+  /**
+   * Compiles the write plan for the given measurement properties.
+   *
+   * @param properties       The measurement properties, without the timestamp property.
+   * @param sanitizer        Maps runtime names to valid column names of the storage backend.
+   * @param converterFactory Creates the backend-specific converter of a property.
+   */
+  public static <T> TimeSeriesWritePlan<T> compile(List<EventProperty> properties,
+                                                   UnaryOperator<String> sanitizer,
+                                                   Function<EventProperty, T> converterFactory) {
+    var fields = new ArrayList<WritePlanField<T>>();
+    for (EventProperty property : properties) {
+      fields.add(new WritePlanField<>(
+          fields.size(),
+          property,
+          sanitizer.apply(property.getRuntimeName()),
+          converterFactory.apply(property)
+      ));
+    }
+    return new TimeSeriesWritePlan<>(fields, sanitizer);
+  }
+
+  public List<WritePlanField<T>> getFields() {
+    return fields;
+  }
+
+  public int size() {
+    return fields.size();
+  }
+
+  /**
+   * Returns the plan field an event field with the given runtime name is written to, or null if the field is not
+   * part of the measurement.
+   */
+  public WritePlanField<T> resolve(String eventRuntimeName) {
+    var field = fieldsByEventRuntimeName.get(eventRuntimeName);
+    if (field == null && !fieldsByEventRuntimeName.containsKey(eventRuntimeName)) {
+      field = fieldsByColumnName.get(sanitizer.apply(eventRuntimeName));
+      fieldsByEventRuntimeName.put(eventRuntimeName, field);
+    }
+    return field;
+  }
+}
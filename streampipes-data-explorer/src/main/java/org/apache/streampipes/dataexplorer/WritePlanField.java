@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer;
+
+import org.apache.streampipes.model.schema.EventProperty;
+
+/**
+ * A measurement property of a {@link TimeSeriesWritePlan} together with its sanitized column name and the
+ * backend-specific converter which writes the field value.
+ *
+ * @param index      The position of the property within the write plan.
+ * @param property   The event property as defined in the measurement schema.
+ * @param columnName The sanitized column name used by the storage backend.
+ * @param converter  The backend-specific converter for values of this property.
+ * @param <T>        The converter type of the storage backend.
+ */
+public record WritePlanField<T>(int index,
+                                EventProperty property,
+                                String columnName,
+                                T converter) {
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.buffer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary encoding of buffered events in spill segments.
+ * <p>
+ * A record consists of the selector prefix of the event source followed by the raw event map. Values keep their
+ * Java type, so that replayed events are written with the same field types as the original events. Values of
+ * types which cannot be represented are stored as their string representation.
+ */
+public final class SpillRecordCodec {
+
+  private static final byte TYPE_NULL = 0;
+  private static final byte TYPE_STRING = 1;
+  private static final byte TYPE_INT = 2;
+  private static final byte TYPE_LONG = 3;
+  private static final byte TYPE_FLOAT = 4;
+  private static final byte TYPE_DOUBLE = 5;
+  private static final byte TYPE_BOOLEAN = 6;
+  private static final byte TYPE_MAP = 7;
+  private static final byte TYPE_LIST = 8;
+
+  private SpillRecordCodec() {
+  }
+
+  public static byte[] encode(String selectorPrefix, Map<String, Object> raw) {
+    var bytes = new ByteArrayOutputStream(256);
+    try (var out = new DataOutputStream(bytes)) {
+      writeString(out, selectorPrefix == null ? "" : selectorPrefix);
+      writeMap(out, raw);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  public static SpillRecord decode(ByteBuffer buffer) {
+    var selectorPrefix = readString(buffer);
+    return new SpillRecord(selectorPrefix, readMap(buffer));
+  }
+
+  private static void writeValue(DataOutputStream out, Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(TYPE_NULL);
+    } else if (value instanceof String s) {
+      out.writeByte(TYPE_STRING);
+      writeString(out, s);
+    } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      out.writeByte(TYPE_INT);
+      out.writeInt(((Number) value).intValue());
+    } else if (value instanceof Long l) {
+      out.writeByte(TYPE_LONG);
+      out.writeLong(l);
+    } else if (value instanceof Float f) {
+      out.writeByte(TYPE_FLOAT);
+      out.writeFloat(f);
+    } else if (value instanceof Double d) {
+      out.writeByte(TYPE_DOUBLE);
+      out.writeDouble(d);
+    } else if (value instanceof Boolean b) {
+      out.writeByte(TYPE_BOOLEAN);
+      out.writeBoolean(b);
+    } else if (value instanceof Map<?, ?> map) {
+      out.writeByte(TYPE_MAP);
+      writeMap(out, map);
+    } else if (value instanceof List<?> list) {
+      out.writeByte(TYPE_LIST);
+      out.writeInt(list.size());
+      for (Object item : list) {
+        writeValue(out, item);
+      }
+    } else {
+      out.writeByte(TYPE_STRING);
+      writeString(out, value.toString());
+    }
+  }
+
+  private static void writeMap(DataOutputStream out, Map<?, ?> map) throws IOException {
+    out.writeInt(map.size());
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      writeString(out, String.valueOf(entry.getKey()));
+      writeValue(out, entry.getValue());
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static Object readValue(ByteBuffer buffer) {
+    byte type = buffer.get();
+    return switch (type) {
+      case TYPE_NULL -> null;
+      case TYPE_STRING -> readString(buffer);
+      case TYPE_INT -> buffer.getInt();
+      case TYPE_LONG -> buffer.getLong();
+      case TYPE_FLOAT -> buffer.getFloat();
+      case TYPE_DOUBLE -> buffer.getDouble();
+      case TYPE_BOOLEAN -> buffer.get() != 0;
+      case TYPE_MAP -> readMap(buffer);
+      case TYPE_LIST -> readList(buffer);
+      default -> throw new IllegalArgumentException("Unknown value type in spill record: " + type);
+    };
+  }
+
+  private static Map<String, Object> readMap(ByteBuffer buffer) {
+    int size = buffer.getInt();
+    Map<String, Object> map = new LinkedHashMap<>(Math.max(16, size * 2));
+    for (int i = 0; i < size; i++) {
+      var key = readString(buffer);
+      map.put(key, readValue(buffer));
+    }
+    return map;
+  }
+
+  private static List<Object> readList(ByteBuffer buffer) {
+    int size = buffer.getInt();
+    List<Object> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(readValue(buffer));
+    }
+    return list;
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    var bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
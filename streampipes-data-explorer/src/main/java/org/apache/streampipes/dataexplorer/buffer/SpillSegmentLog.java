@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.buffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of spilled records, split into segment files in a local directory.
+ * <p>
+ * Each record is framed by its length and a CRC32 checksum, so that a record which was only partially written
+ * before a crash is detected and skipped when the segment is replayed. Segments which exist when the log is
+ * opened are replayed first. A segment is deleted once all of its records were replayed.
+ * <p>
+ * The total size of all segments is limited, records which would exceed the limit are rejected.
+ */
+public class SpillSegmentLog implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SpillSegmentLog.class);
+
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".spill";
+  private static final int HEADER_BYTES = 8;
+
+  private final Path directory;
+  private final long maxSegmentBytes;
+  private final long maxSpillBytes;
+  private final Deque<Path> segments = new ArrayDeque<>();
+  private final CRC32 crc = new CRC32();
+  private final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+
+  private long nextSequence;
+  private long spillBytes;
+  private FileChannel activeChannel;
+  private Path activeSegment;
+  private long activeSegmentBytes;
+
+  public SpillSegmentLog(Path directory, long maxSegmentBytes) throws IOException {
+    this(directory, maxSegmentBytes, Long.MAX_VALUE);
+  }
+
+  public SpillSegmentLog(Path directory, long maxSegmentBytes, long maxSpillBytes) throws IOException {
+    this.directory = directory;
+    this.maxSegmentBytes = maxSegmentBytes;
+    this.maxSpillBytes = maxSpillBytes;
+    Files.createDirectories(directory);
+    try (Stream<Path> files = Files.list(directory)) {
+      var existing = files.filter(SpillSegmentLog::isSegment).sorted().toList();
+      for (Path segment : existing) {
+        segments.add(segment);
+        spillBytes += Files.size(segment);
+        nextSequence = Math.max(nextSequence, sequenceOf(segment) + 1);
+      }
+    }
+    if (!segments.isEmpty()) {
+      LOG.info("Found {} spilled segments with {} bytes in {}, replaying them", segments.size(), spillBytes,
+          directory);
+    }
+  }
+
+  /**
+   * Appends a record to the active segment.
+   *
+   * @return false if the record was rejected because the spilled bytes would exceed the limit
+   */
+  public synchronized boolean append(byte[] record) throws IOException {
+    if (spillBytes + HEADER_BYTES + record.length > maxSpillBytes) {
+      return false;
+    }
+    if (activeChannel == null) {
+      openSegment();
+    }
+    crc.reset();
+    crc.update(record);
+    header.clear();
+    header.putInt(record.length).putInt((int) crc.getValue()).flip();
+    var payload = ByteBuffer.wrap(record);
+    while (header.hasRemaining() || payload.hasRemaining()) {
+      activeChannel.write(new ByteBuffer[] {header, payload});
+    }
+    activeSegmentBytes += HEADER_BYTES + record.length;
+    spillBytes += HEADER_BYTES + record.length;
+    if (activeSegmentBytes >= maxSegmentBytes) {
+      closeActiveSegment();
+    }
+    return true;
+  }
+
+  public synchronized boolean isEmpty() {
+    return segments.isEmpty();
+  }
+
+  public synchronized long getSpillBytes() {
+    return spillBytes;
+  }
+
+  /**
+   * Returns the oldest segment to be replayed. If this is the segment which is currently appended to, it is closed
+   * first, so that subsequent records are appended to a new segment.
+   */
+  public synchronized Optional<Path> nextSegment() throws IOException {
+    var oldest = segments.peekFirst();
+    if (oldest != null && oldest.equals(activeSegment)) {
+      closeActiveSegment();
+    }
+    return Optional.ofNullable(oldest);
+  }
+
+  /**
+   * Reads all complete records of a closed segment in the order they were appended.
+   */
+  public void forEachRecord(Path segment, Consumer<ByteBuffer> consumer) throws IOException {
+    var checksum = new CRC32();
+    long segmentBytes = Files.size(segment);
+    try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), 1 << 16))) {
+      while (true) {
+        int length;
+        int expectedCrc;
+        byte[] record;
+        try {
+          length = in.readInt();
+          expectedCrc = in.readInt();
+          if (length < 0 || length > segmentBytes) {
+            LOG.warn("Skipping the remainder of spill segment {}, invalid record length {}", segment, length);
+            return;
+          }
+          record = new byte[length];
+          in.readFully(record);
+        } catch (EOFException e) {
+          return;
+        }
+        checksum.reset();
+        checksum.update(record);
+        if ((int) checksum.getValue() != expectedCrc) {
+          LOG.warn("Skipping the remainder of spill segment {}, record checksum does not match", segment);
+          return;
+        }
+        consumer.accept(ByteBuffer.wrap(record));
+      }
+    }
+  }
+
+  public synchronized void remove(Path segment) throws IOException {
+    if (segments.remove(segment)) {
+      spillBytes = Math.max(0, spillBytes - Files.size(segment));
+      Files.deleteIfExists(segment);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    closeActiveSegment();
+  }
+
+  private void openSegment() throws IOException {
+    activeSegment = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence++, SEGMENT_SUFFIX));
+    activeChannel = FileChannel.open(activeSegment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    activeSegmentBytes = 0;
+    segments.addLast(activeSegment);
+  }
+
+  private void closeActiveSegment() throws IOException {
+    if (activeChannel != null) {
+      try {
+        activeChannel.force(false);
+      } finally {
+        activeChannel.close();
+        activeChannel = null;
+        activeSegment = null;
+      }
+    }
+  }
+
+  private static boolean isSegment(Path path) {
+    var name = path.getFileName().toString();
+    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+  }
+
+  private static long sequenceOf(Path segment) {
+    var name = segment.getFileName().toString();
+    try {
+      return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,405 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.buffer;
+
+import org.apache.streampipes.commons.environment.Environment;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.api.ITimeSeriesStorage;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Decouples the consumer thread of the data lake sink from the time series storage.
+ * <p>
+ * Events are put into a bounded in-memory queue which is drained by a dedicated flush thread. If the queue is full,
+ * e.g. because the storage is slow or unavailable, events are appended to a {@link SpillSegmentLog} on local disk
+ * instead. The flush thread drains the queue first and replays spilled segments afterward, so events are written in
+ * the order they arrived. The size of the spilled segments is limited, events are rejected once the limit is reached.
+ * <p>
+ * Writes which failed due to an error the storage declares as transient, see
+ * {@link ITimeSeriesStorage#getTransientErrorTypes()}, are retried with an increasing backoff until they succeed.
+ * Other errors, e.g. caused by an invalid value, are not resolved by retrying, so these events are dropped after
+ * {@value #MAX_WRITE_ATTEMPTS} attempts. The error of a dropped event is reported by the next call of
+ * {@link #onEvent(Event)}.
+ * <p>
+ * The queue size, spilled bytes and the number of written, failed and dropped writes are provided by
+ * {@link #getMetrics()} together with the metrics of the storage.
+ * <p>
+ * Spilled segments survive restarts and are replayed when a buffer for the same measurement is created again.
+ * Events of a segment which was only partially replayed before a crash are written again (at-least-once).
+ */
+public class WriteBehindTimeSeriesStorage implements ITimeSeriesStorage {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WriteBehindTimeSeriesStorage.class);
+
+  private static final long POLL_TIMEOUT_MS = 100;
+  private static final long INITIAL_RETRY_BACKOFF_MS = 100;
+  private static final long MAX_RETRY_BACKOFF_MS = 30000;
+  private static final int MAX_WRITE_ATTEMPTS = 3;
+  private static final long CLOSE_TIMEOUT_MS = 30000;
+  private static final long METRICS_REPORT_INTERVAL_MS = 60000;
+  private static final String DEFAULT_SPILL_DIRECTORY = "streampipes-data-lake-spill";
+
+  public static final String QUEUE_SIZE_METRIC = "write.buffer.queue.size";
+  public static final String SPILL_BYTES_METRIC = "write.buffer.spill.bytes";
+  public static final String WRITTEN_EVENTS_METRIC = "write.buffer.events.written";
+  public static final String FAILED_WRITES_METRIC = "write.buffer.writes.failed";
+  public static final String DROPPED_EVENTS_METRIC = "write.buffer.events.dropped";
+
+  private static final Set<Path> SPILL_DIRECTORIES_IN_USE = ConcurrentHashMap.newKeySet();
+
+  private final ITimeSeriesStorage delegate;
+  private final Set<Class<? extends Throwable>> transientErrorTypes;
+  private final BlockingQueue<Event> queue;
+  private final SpillSegmentLog spillLog;
+  private final Path spillDirectory;
+  private final SchemaInfo replaySchemaInfo;
+  private final Consumer<Event> writeListener;
+  private final WriteBufferMetrics metrics = new WriteBufferMetrics();
+  private final AtomicReference<SpRuntimeException> droppedEventError = new AtomicReference<>();
+  private final Thread flushThread;
+  private final String measureName;
+
+  private volatile boolean closing;
+  private volatile boolean aborted;
+  private long lastMetricsReport = System.currentTimeMillis();
+
+  public WriteBehindTimeSeriesStorage(ITimeSeriesStorage delegate,
+                                      DataLakeMeasure measure,
+                                      int capacity,
+                                      SpillSegmentLog spillLog,
+                                      Consumer<Event> writeListener) {
+    this(delegate, measure, capacity, spillLog, null, writeListener);
+  }
+
+  private WriteBehindTimeSeriesStorage(ITimeSeriesStorage delegate,
+                                       DataLakeMeasure measure,
+                                       int capacity,
+                                       SpillSegmentLog spillLog,
+                                       Path spillDirectory,
+                                       Consumer<Event> writeListener) {
+    this.delegate = delegate;
+    this.transientErrorTypes = delegate.getTransientErrorTypes();
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.spillLog = spillLog;
+    this.spillDirectory = spillDirectory;
+    this.replaySchemaInfo = new SchemaInfo(measure.getEventSchema(), new ArrayList<>());
+    this.writeListener = writeListener;
+    this.measureName = measure.getMeasureName();
+    this.flushThread = new Thread(this::flushLoop, "data-lake-write-buffer-" + measureName);
+    this.flushThread.setDaemon(true);
+    this.flushThread.start();
+  }
+
+  /**
+   * Creates a write buffer for the given storage as configured by the environment.
+   * The spill segments of the measurement are stored in a subdirectory of the configured spill directory.
+   */
+  public static WriteBehindTimeSeriesStorage create(ITimeSeriesStorage delegate,
+                                                    DataLakeMeasure measure,
+                                                    Environment environment,
+                                                    Consumer<Event> writeListener) {
+    var spillDirectory = acquireSpillDirectory(
+        environment.getTsStorageWriteBufferSpillDir().getValueOrDefault(),
+        measure.getMeasureName()
+    );
+    try {
+      var spillLog = new SpillSegmentLog(
+          spillDirectory,
+          environment.getTsStorageWriteBufferSegmentBytes().getValueOrDefault(),
+          environment.getTsStorageWriteBufferSpillMaxMb().getValueOrDefault() * 1024L * 1024L
+      );
+      return new WriteBehindTimeSeriesStorage(
+          delegate,
+          measure,
+          environment.getTsStorageWriteBufferSize().getValueOrDefault(),
+          spillLog,
+          spillDirectory,
+          writeListener
+      );
+    } catch (IOException e) {
+      SPILL_DIRECTORIES_IN_USE.remove(spillDirectory);
+      throw new SpRuntimeException("Could not open spill directory " + spillDirectory, e);
+    }
+  }
+
+  @Override
+  public void onEvent(Event event) throws SpRuntimeException {
+    if (closing) {
+      throw new SpRuntimeException("Write buffer of measurement " + measureName + " is already closed");
+    }
+    synchronized (spillLog) {
+      if (!(spillLog.isEmpty() && queue.offer(event)) && !spill(event)) {
+        metrics.recordDrop();
+        throw new SpRuntimeException("Write buffer of measurement " + measureName
+            + " is full and the spill limit is reached, dropping event");
+      }
+    }
+    var error = droppedEventError.getAndSet(null);
+    if (error != null) {
+      throw error;
+    }
+  }
+
+  @Override
+  public void close() throws SpRuntimeException {
+    closing = true;
+    try {
+      flushThread.join(CLOSE_TIMEOUT_MS);
+      if (flushThread.isAlive()) {
+        LOG.warn("Write buffer of measurement {} was not drained within {} ms, spilling remaining events",
+            measureName, CLOSE_TIMEOUT_MS);
+        aborted = true;
+        flushThread.interrupt();
+        flushThread.join();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      try {
+        spillLog.close();
+      } catch (IOException e) {
+        LOG.error("Could not close spill segments of measurement {}", measureName, e);
+      }
+      if (spillDirectory != null) {
+        SPILL_DIRECTORIES_IN_USE.remove(spillDirectory);
+      }
+      delegate.close();
+    }
+  }
+
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  public long getSpillBytes() {
+    return spillLog.getSpillBytes();
+  }
+
+  public WriteBufferMetrics getBufferMetrics() {
+    return metrics;
+  }
+
+  @Override
+  public Map<String, Long> getMetrics() {
+    var result = new HashMap<>(delegate.getMetrics());
+    result.put(QUEUE_SIZE_METRIC, (long) queue.size());
+    result.put(SPILL_BYTES_METRIC, spillLog.getSpillBytes());
+    result.put(WRITTEN_EVENTS_METRIC, metrics.getFlushedEvents());
+    result.put(FAILED_WRITES_METRIC, metrics.getFailedWrites());
+    result.put(DROPPED_EVENTS_METRIC, metrics.getDroppedEvents());
+    return result;
+  }
+
+  private void flushLoop() {
+    while (!aborted) {
+      try {
+        var event = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (event != null) {
+          if (!writeWithRetry(event)) {
+            spillOrDrop(event);
+          }
+        } else if (!spillLog.isEmpty()) {
+          replayNextSegment();
+        } else if (closing) {
+          break;
+        }
+        reportMetricsPeriodically();
+      } catch (InterruptedException e) {
+        aborted = true;
+      } catch (RuntimeException | IOException e) {
+        LOG.error("Unexpected error in write buffer of measurement {}", measureName, e);
+      }
+    }
+    spillRemainingEvents();
+  }
+
+  private void replayNextSegment() throws IOException {
+    var segment = spillLog.nextSegment();
+    if (segment.isEmpty()) {
+      return;
+    }
+    spillLog.forEachRecord(segment.get(), this::replayRecord);
+    if (!aborted) {
+      spillLog.remove(segment.get());
+    }
+  }
+
+  private void replayRecord(ByteBuffer record) {
+    if (aborted) {
+      return;
+    }
+    Event event;
+    try {
+      var spillRecord = SpillRecordCodec.decode(record);
+      event = EventFactory.fromMap(
+          spillRecord.raw(),
+          new SourceInfo(null, spillRecord.selectorPrefix()),
+          replaySchemaInfo
+      );
+    } catch (RuntimeException e) {
+      LOG.warn("Skipping spilled event of measurement {} which could not be decoded", measureName, e);
+      return;
+    }
+    writeWithRetry(event);
+  }
+
+  /**
+   * Writes the event to the storage, retrying transient failures with an increasing backoff until the write succeeds.
+   * The event is dropped if the write failed {@value #MAX_WRITE_ATTEMPTS} times for another reason.
+   *
+   * @return false if the buffer was aborted before the event was written or dropped
+   */
+  private boolean writeWithRetry(Event event) {
+    long backoff = INITIAL_RETRY_BACKOFF_MS;
+    int failedAttempts = 0;
+    while (!aborted) {
+      long start = System.nanoTime();
+      try {
+        delegate.onEvent(event);
+        metrics.recordFlush(System.nanoTime() - start);
+        writeListener.accept(event);
+        return true;
+      } catch (RuntimeException e) {
+        metrics.recordFailure();
+        if (!isTransient(e, transientErrorTypes) && ++failedAttempts >= MAX_WRITE_ATTEMPTS) {
+          LOG.error("Dropping event of measurement {} which could not be written after {} attempts",
+              measureName, failedAttempts, e);
+          metrics.recordDrop();
+          droppedEventError.set(new SpRuntimeException(
+              "Dropped event of measurement " + measureName + " which could not be written: " + e.getMessage(), e));
+          return true;
+        }
+        LOG.warn("Could not write event of measurement {} to the time series storage, retrying in {} ms",
+            measureName, backoff, e);
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException ie) {
+          aborted = true;
+        }
+        backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns true if the error or one of its causes is an instance of one of the transient error types of the storage.
+   */
+  static boolean isTransient(Throwable error,
+                             Set<Class<? extends Throwable>> transientErrorTypes) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+      for (Class<? extends Throwable> type : transientErrorTypes) {
+        if (type.isInstance(cause)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private void spillRemainingEvents() {
+    var remaining = new ArrayList<Event>();
+    queue.drainTo(remaining);
+    synchronized (spillLog) {
+      remaining.forEach(this::spillOrDrop);
+    }
+    if (!remaining.isEmpty() || spillLog.getSpillBytes() > 0) {
+      LOG.info("Spilled {} bytes of measurement {}, they will be written when the measurement is started again",
+          spillLog.getSpillBytes(), measureName);
+    }
+  }
+
+  /**
+   * @return false if the event was not spilled because the spill limit is reached
+   */
+  private boolean spill(Event event) {
+    try {
+      return spillLog.append(SpillRecordCodec.encode(event.getSourceInfo().getSelectorPrefix(), event.getRaw()));
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not spill event of measurement " + measureName, e);
+    }
+  }
+
+  private void spillOrDrop(Event event) {
+    try {
+      if (spill(event)) {
+        return;
+      }
+      LOG.error("Dropping event of measurement {}, the spill limit is reached", measureName);
+    } catch (SpRuntimeException e) {
+      LOG.error("Dropping event of measurement {}", measureName, e);
+    }
+    metrics.recordDrop();
+  }
+
+  private void reportMetricsPeriodically() {
+    long now = System.currentTimeMillis();
+    if (now - lastMetricsReport < METRICS_REPORT_INTERVAL_MS) {
+      return;
+    }
+    lastMetricsReport = now;
+    long spillBytes = spillLog.getSpillBytes();
+    if (spillBytes > 0) {
+      LOG.info("Write buffer of measurement {}: queue depth {}, spill bytes {}, flushed {} events, dropped {} events, "
+              + "flush latency avg {} ms, max {} ms",
+          measureName, queue.size(), spillBytes, metrics.getIntervalEvents(), metrics.getDroppedEvents(),
+          String.format("%.3f", metrics.getAverageFlushLatencyMs()),
+          String.format("%.3f", metrics.getMaxFlushLatencyMs()));
+    } else if (LOG.isDebugEnabled()) {
+      LOG.debug("Write buffer of measurement {}: queue depth {}, flushed {} events, flush latency avg {} ms, max {} ms",
+          measureName, queue.size(), metrics.getIntervalEvents(),
+          String.format("%.3f", metrics.getAverageFlushLatencyMs()),
+          String.format("%.3f", metrics.getMaxFlushLatencyMs()));
+    }
+    metrics.resetInterval();
+  }
+
+  private static Path acquireSpillDirectory(String configuredDirectory, String measureName) {
+    var baseDirectory = configuredDirectory == null || configuredDirectory.isBlank()
+        ? Path.of(System.getProperty("java.io.tmpdir"), DEFAULT_SPILL_DIRECTORY)
+        : Path.of(configuredDirectory);
+    var name = measureName.replaceAll("[^A-Za-z0-9_.-]", "_");
+    var directory = baseDirectory.resolve(name);
+    for (int i = 2; !SPILL_DIRECTORIES_IN_USE.add(directory); i++) {
+      directory = baseDirectory.resolve(name + "-" + i);
+    }
+    return directory;
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.buffer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flush latency of a write buffer, aggregated since the last report, and the number of failed writes and events
+ * it dropped.
+ */
+public class WriteBufferMetrics {
+
+  private long flushedEvents;
+  private long failedWrites;
+  private long droppedEvents;
+  private long intervalEvents;
+  private long intervalLatencyNanos;
+  private long intervalMaxLatencyNanos;
+
+  public synchronized void recordFlush(long latencyNanos) {
+    flushedEvents++;
+    intervalEvents++;
+    intervalLatencyNanos += latencyNanos;
+    intervalMaxLatencyNanos = Math.max(intervalMaxLatencyNanos, latencyNanos);
+  }
+
+  public synchronized void recordFailure() {
+    failedWrites++;
+  }
+
+  public synchronized void recordDrop() {
+    droppedEvents++;
+  }
+
+  public synchronized long getFlushedEvents() {
+    return flushedEvents;
+  }
+
+  public synchronized long getFailedWrites() {
+    return failedWrites;
+  }
+
+  public synchronized long getDroppedEvents() {
+    return droppedEvents;
+  }
+
+  public synchronized long getIntervalEvents() {
+    return intervalEvents;
+  }
+
+  public synchronized double getAverageFlushLatencyMs() {
+    return intervalEvents == 0 ? 0 : (double) intervalLatencyNanos / intervalEvents / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  public synchronized double getMaxFlushLatencyMs() {
+    return (double) intervalMaxLatencyNanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  public synchronized void resetInterval() {
+    intervalEvents = 0;
+    intervalLatencyNanos = 0;
+    intervalMaxLatencyNanos = 0;
+  }
+}
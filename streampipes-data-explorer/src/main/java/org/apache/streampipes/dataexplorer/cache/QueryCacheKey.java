@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.cache;
+
+import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
+import org.apache.streampipes.model.datalake.param.SupportedRestQueryParams;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Normalized data lake query which identifies a cached query result.
+ *
+ * @param measurementId     The queried measurement.
+ * @param params            All provided query parameters, sorted by key.
+ * @param ignoreMissingData Whether rows with missing values are removed from the result.
+ * @param startTimestamp    The start of the queried time range in milliseconds, inclusive.
+ * @param endTimestamp      The end of the queried time range in milliseconds, {@link Long#MAX_VALUE} if open.
+ */
+public record QueryCacheKey(String measurementId,
+                            Map<String, String> params,
+                            boolean ignoreMissingData,
+                            long startTimestamp,
+                            long endTimestamp) {
+
+  public static QueryCacheKey from(ProvidedRestQueryParams queryParams,
+                                   boolean ignoreMissingData) {
+    var startTimestamp = queryParams.has(SupportedRestQueryParams.QP_START_DATE)
+        ? queryParams.getAsLong(SupportedRestQueryParams.QP_START_DATE) : Long.MIN_VALUE;
+    var endTimestamp = queryParams.has(SupportedRestQueryParams.QP_END_DATE)
+        ? queryParams.getAsLong(SupportedRestQueryParams.QP_END_DATE) : Long.MAX_VALUE;
+    return new QueryCacheKey(
+        queryParams.getMeasurementId(),
+        new TreeMap<>(queryParams.getProvidedParams()),
+        ignoreMissingData,
+        startTimestamp,
+        endTimestamp
+    );
+  }
+
+  public boolean overlaps(long start,
+                          long end) {
+    return startTimestamp <= end && endTimestamp >= start;
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.cache;
+
+import org.apache.streampipes.commons.environment.Environments;
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.apache.streampipes.model.datalake.SpQueryStatus;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of data lake query results, bounded by the number of entries and the number of cached values.
+ * <p>
+ * Results of queries which include the open "now" tail of a measurement expire after a short time to live, so that
+ * concurrent dashboards share the result of a single query. Results of queries whose time range ended before
+ * {@link #CLOSED_RANGE_DELAY_MS} rarely change and are kept for a longer time to live. Writes into their time range
+ * and deletes invalidate them earlier, but writes are only seen if they happen in the same service as the cache.
+ * Late or replayed data written by the data lake sink of an extensions service becomes visible once the entry
+ * expires.
+ * <p>
+ * Concurrent misses of the same query are collapsed, only the first one executes the query and the others wait for
+ * its result.
+ */
+public class QueryResultCache {
+
+  private static final long CLOSED_RANGE_DELAY_MS = 60000;
+
+  private static volatile QueryResultCache instance;
+
+  private final int maxEntries;
+  private final long maxValues;
+  private final long openRangeTtlMs;
+  private final long closedRangeTtlMs;
+  private final LongSupplier clock;
+
+  private final LinkedHashMap<QueryCacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, Long> generations = new HashMap<>();
+  private final Map<String, TimeRange> cachedRanges = new ConcurrentHashMap<>();
+  private final Map<QueryCacheKey, CompletableFuture<SpQueryResult>> pendingQueries = new HashMap<>();
+  private long cachedValues;
+
+  public QueryResultCache(int maxEntries,
+                          long maxValues,
+                          long openRangeTtlMs,
+                          long closedRangeTtlMs,
+                          LongSupplier clock) {
+    this.maxEntries = maxEntries;
+    this.maxValues = maxValues;
+    this.openRangeTtlMs = openRangeTtlMs;
+    this.closedRangeTtlMs = closedRangeTtlMs;
+    this.clock = clock;
+  }
+
+  public static QueryResultCache getInstance() {
+    if (instance == null) {
+      synchronized (QueryResultCache.class) {
+        if (instance == null) {
+          var env = Environments.getEnvironment();
+          instance = new QueryResultCache(
+              env.getTsStorageQueryCacheMaxEntries().getValueOrDefault(),
+              env.getTsStorageQueryCacheMaxValues().getValueOrDefault(),
+              env.getTsStorageQueryCacheOpenRangeTtlMs().getValueOrDefault(),
+              env.getTsStorageQueryCacheClosedRangeTtlMs().getValueOrDefault(),
+              System::currentTimeMillis
+          );
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Returns the cached result of the query or executes the query using the given loader. If the same query is
+   * already executed by another thread, its result is returned instead.
+   */
+  public SpQueryResult get(QueryCacheKey key,
+                           Supplier<SpQueryResult> loader) {
+    if (maxEntries <= 0) {
+      return loader.get();
+    }
+
+    long generation = 0;
+    CompletableFuture<SpQueryResult> pending = null;
+    CompletableFuture<SpQueryResult> running;
+    synchronized (this) {
+      var entry = entries.get(key);
+      if (entry != null) {
+        if (entry.expiresAt() > clock.getAsLong()) {
+          return entry.result();
+        }
+        remove(key);
+      }
+      running = pendingQueries.get(key);
+      if (running == null) {
+        generation = generations.getOrDefault(key.measurementId(), 0L);
+        pending = new CompletableFuture<>();
+        pendingQueries.put(key, pending);
+      }
+    }
+    if (running != null) {
+      return awaitPending(running);
+    }
+
+    try {
+      var result = loader.get();
+      if (result != null && result.getSpQueryStatus() == SpQueryStatus.OK) {
+        put(key, result, generation);
+      }
+      pending.complete(result);
+      return result;
+    } catch (RuntimeException e) {
+      pending.completeExceptionally(e);
+      throw e;
+    } finally {
+      synchronized (this) {
+        pendingQueries.remove(key, pending);
+      }
+    }
+  }
+
+  /**
+   * Invalidates all cached results of the measurement whose time range includes the written timestamp.
+   */
+  public void onWrite(String measurementId,
+                      long timestamp) {
+    var range = cachedRanges.get(measurementId);
+    if (range != null && range.contains(timestamp)) {
+      invalidate(measurementId, key -> key.overlaps(timestamp, timestamp));
+    }
+  }
+
+  public void invalidate(String measurementId) {
+    invalidate(measurementId, key -> true);
+  }
+
+  /**
+   * Invalidates all cached results of the measurement which overlap the given time range, a missing boundary is
+   * treated as open.
+   */
+  public void invalidate(String measurementId,
+                         Long startTimestamp,
+                         Long endTimestamp) {
+    var start = startTimestamp != null ? startTimestamp : Long.MIN_VALUE;
+    var end = endTimestamp != null ? endTimestamp : Long.MAX_VALUE;
+    invalidate(measurementId, key -> key.overlaps(start, end));
+  }
+
+  public synchronized void invalidateAll() {
+    Set.copyOf(generations.keySet()).forEach(this::nextGeneration);
+    entries.clear();
+    cachedRanges.clear();
+    cachedValues = 0;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private SpQueryResult awaitPending(CompletableFuture<SpQueryResult> pending) {
+    try {
+      return pending.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private synchronized void invalidate(String measurementId,
+                                       Predicate<QueryCacheKey> affected) {
+    nextGeneration(measurementId);
+    entries.keySet()
+           .stream()
+           .filter(key -> key.measurementId().equals(measurementId) && affected.test(key))
+           .toList()
+           .forEach(this::remove);
+  }
+
+  private synchronized void put(QueryCacheKey key,
+                                SpQueryResult result,
+                                long generation) {
+    var values = countValues(result);
+    if (values > maxValues || generation != generations.getOrDefault(key.measurementId(), 0L)) {
+      return;
+    }
+
+    var now = clock.getAsLong();
+    var isClosed = key.endTimestamp() < now - CLOSED_RANGE_DELAY_MS;
+    var expiresAt = now + (isClosed ? closedRangeTtlMs : openRangeTtlMs);
+
+    remove(key);
+    entries.put(key, new CacheEntry(result, values, expiresAt));
+    cachedValues += values;
+    cachedRanges.merge(
+        key.measurementId(),
+        new TimeRange(key.startTimestamp(), key.endTimestamp()),
+        TimeRange::union
+    );
+    evict();
+  }
+
+  private void evict() {
+    var iterator = entries.entrySet().iterator();
+    while ((entries.size() > maxEntries || cachedValues > maxValues) && iterator.hasNext()) {
+      var eldest = iterator.next();
+      iterator.remove();
+      cachedValues -= eldest.getValue().values();
+      updateCachedRange(eldest.getKey().measurementId());
+    }
+  }
+
+  private void remove(QueryCacheKey key) {
+    var entry = entries.remove(key);
+    if (entry != null) {
+      cachedValues -= entry.values();
+      updateCachedRange(key.measurementId());
+    }
+  }
+
+  private void updateCachedRange(String measurementId) {
+    var range = entries.keySet()
+        .stream()
+        .filter(key -> key.measurementId().equals(measurementId))
+        .map(key -> new TimeRange(key.startTimestamp(), key.endTimestamp()))
+        .reduce(TimeRange::union);
+    if (range.isPresent()) {
+      cachedRanges.put(measurementId, range.get());
+    } else {
+      cachedRanges.remove(measurementId);
+    }
+  }
+
+  private void nextGeneration(String measurementId) {
+    generations.merge(measurementId, 1L, Long::sum);
+  }
+
+  private long countValues(SpQueryResult result) {
+    long values = 0;
+    for (DataSeries series : result.getAllDataSeries()) {
+      var columns = series.getHeaders() != null ? series.getHeaders().size() : 1;
+      var rows = series.getRows() != null ? series.getRows().size() : 0;
+      values += (long) rows * columns;
+    }
+    return values;
+  }
+
+  private record CacheEntry(SpQueryResult result,
+                            long values,
+                            long expiresAt) {
+  }
+
+  private record TimeRange(long start,
+                           long end) {
+
+    boolean contains(long timestamp) {
+      return timestamp >= start && timestamp <= end;
+    }
+
+    TimeRange union(TimeRange other) {
+      return new TimeRange(Math.min(start, other.start), Math.max(end, other.end));
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.downsampling;
+
+import org.apache.streampipes.dataexplorer.param.model.DownsamplingClauseParams;
+import org.apache.streampipes.dataexplorer.query.QueryRowConsumer;
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.DownsamplingAlgorithm;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
+import org.apache.streampipes.model.datalake.param.SupportedRestQueryParams;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Downsamples each numeric column of a streamed query independently and combines the selected points into a single
+ * query result, so only the downsampled points are held in memory.
+ */
+public class DownsamplingRowConsumer implements QueryRowConsumer {
+
+  private static final List<String> RAW_QUERY_EXCLUDED_PARAMS = List.of(
+      SupportedRestQueryParams.QP_DOWNSAMPLING,
+      SupportedRestQueryParams.QP_DOWNSAMPLING_POINTS,
+      SupportedRestQueryParams.QP_ORDER,
+      SupportedRestQueryParams.QP_LIMIT,
+      SupportedRestQueryParams.QP_OFFSET,
+      SupportedRestQueryParams.QP_PAGE
+  );
+
+  private final DownsamplingClauseParams params;
+  private final Map<String, Downsampler> downsamplers = new HashMap<>();
+
+  private List<String> columns;
+
+  public DownsamplingRowConsumer(DownsamplingClauseParams params) {
+    this.params = params;
+  }
+
+  /**
+   * Returns the parameters of the raw query whose rows are downsampled, the rows need to be in ascending time order
+   * and must not be limited.
+   */
+  public static ProvidedRestQueryParams toRawQueryParams(ProvidedRestQueryParams params) {
+    var rawParams = new ProvidedRestQueryParams(params);
+    RAW_QUERY_EXCLUDED_PARAMS.forEach(rawParams::remove);
+    return rawParams;
+  }
+
+  @Override
+  public void accept(List<String> columns,
+                     List<Object> row) {
+    if (this.columns == null) {
+      this.columns = List.copyOf(columns);
+    }
+    long timestamp = ((Number) row.get(0)).longValue();
+    for (int i = 1; i < row.size(); i++) {
+      if (row.get(i) instanceof Number value) {
+        downsamplers.computeIfAbsent(columns.get(i), c -> makeDownsampler())
+                    .accept(timestamp, value.doubleValue());
+      }
+    }
+  }
+
+  public SpQueryResult toQueryResult() {
+    if (columns == null || downsamplers.isEmpty()) {
+      return new SpQueryResult();
+    }
+    var headers = new ArrayList<String>();
+    headers.add(columns.get(0));
+    columns.stream()
+           .skip(1)
+           .filter(downsamplers::containsKey)
+           .forEach(headers::add);
+
+    var rowsByTimestamp = new TreeMap<Long, Object[]>();
+    for (int i = 1; i < headers.size(); i++) {
+      int column = i;
+      for (DownsampledPoint point : downsamplers.get(headers.get(i)).finish()) {
+        var row = rowsByTimestamp.computeIfAbsent(point.timestamp(), timestamp -> {
+          var values = new Object[headers.size()];
+          values[0] = timestamp.doubleValue();
+          return values;
+        });
+        row[column] = point.value();
+      }
+    }
+
+    List<List<Object>> rows = new ArrayList<>(rowsByTimestamp.size());
+    rowsByTimestamp.values().forEach(values -> rows.add(Arrays.asList(values)));
+    var series = new DataSeries(rows.size(), rows, headers, new HashMap<>());
+    var result = new SpQueryResult(rows.size(), headers, new ArrayList<>(List.of(series)));
+    result.setLastTimestamp(rowsByTimestamp.isEmpty() ? 0 : rowsByTimestamp.lastKey());
+    return result;
+  }
+
+  private Downsampler makeDownsampler() {
+    if (params.algorithm() == DownsamplingAlgorithm.M4) {
+      return new M4Downsampler(params.startTime(), params.bucketWidthMs());
+    } else {
+      return new LttbDownsampler(params.startTime(), params.bucketWidthMs());
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.downsampling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling over time buckets of equal width.
+ * <p>
+ * The first and the last point are always kept. From each bucket in between, the point is selected which forms the
+ * largest triangle with the point selected from the previous bucket and the average of the next non-empty bucket.
+ * The points of the current and the next bucket are buffered, so the selection runs one bucket behind the stream.
+ */
+public class LttbDownsampler implements Downsampler {
+
+  private final long startTime;
+  private final long bucketWidthMs;
+  private final List<DownsampledPoint> result = new ArrayList<>();
+
+  private DownsampledPoint selected;
+  private Bucket current;
+  private Bucket next;
+
+  public LttbDownsampler(long startTime,
+                         long bucketWidthMs) {
+    this.startTime = startTime;
+    this.bucketWidthMs = bucketWidthMs;
+  }
+
+  @Override
+  public void accept(long timestamp,
+                     double value) {
+    var point = new DownsampledPoint(timestamp, value);
+    if (selected == null) {
+      select(point);
+      return;
+    }
+    long index = Math.floorDiv(timestamp - startTime, bucketWidthMs);
+    if (current == null) {
+      current = new Bucket(index);
+    }
+    if (index == current.index) {
+      current.points.add(point);
+    } else if (next == null || index == next.index) {
+      if (next == null) {
+        next = new Bucket(index);
+      }
+      next.points.add(point);
+    } else {
+      selectLargestTriangle(current, next.averageTimestamp(), next.averageValue());
+      current = next;
+      next = new Bucket(index);
+      next.points.add(point);
+    }
+  }
+
+  @Override
+  public List<DownsampledPoint> finish() {
+    var lastBucket = next != null ? next : current;
+    if (lastBucket != null) {
+      var last = lastBucket.points.remove(lastBucket.points.size() - 1);
+      if (next != null && !next.points.isEmpty()) {
+        selectLargestTriangle(current, next.averageTimestamp(), next.averageValue());
+        selectLargestTriangle(next, last.timestamp(), last.value());
+      } else {
+        selectLargestTriangle(current, last.timestamp(), last.value());
+      }
+      select(last);
+    }
+    current = null;
+    next = null;
+    return result;
+  }
+
+  private void selectLargestTriangle(Bucket bucket,
+                                     double nextTimestamp,
+                                     double nextValue) {
+    DownsampledPoint largest = null;
+    double largestArea = -1;
+    for (DownsampledPoint point : bucket.points) {
+      double area = Math.abs(
+          (selected.timestamp() - nextTimestamp) * (point.value() - selected.value())
+              - (selected.timestamp() - (double) point.timestamp()) * (nextValue - selected.value())
+      );
+      if (area > largestArea) {
+        largestArea = area;
+        largest = point;
+      }
+    }
+    if (largest != null) {
+      select(largest);
+    }
+  }
+
+  private void select(DownsampledPoint point) {
+    selected = point;
+    result.add(point);
+  }
+
+  private static class Bucket {
+
+    private final long index;
+    private final List<DownsampledPoint> points = new ArrayList<>();
+
+    Bucket(long index) {
+      this.index = index;
+    }
+
+    double averageTimestamp() {
+      return points.stream().mapToLong(DownsampledPoint::timestamp).average().orElse(0);
+    }
+
+    double averageValue() {
+      return points.stream().mapToDouble(DownsampledPoint::value).average().orElse(0);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.downsampling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * M4 downsampling, keeps the first, last, minimum and maximum point of each time bucket. With one bucket per pixel
+ * column of a line chart, the chart of the downsampled series is identical to the chart of the raw series.
+ */
+public class M4Downsampler implements Downsampler {
+
+  private final long startTime;
+  private final long bucketWidthMs;
+  private final List<DownsampledPoint> result = new ArrayList<>();
+
+  private long bucket;
+  private DownsampledPoint first;
+  private DownsampledPoint last;
+  private DownsampledPoint min;
+  private DownsampledPoint max;
+
+  public M4Downsampler(long startTime,
+                       long bucketWidthMs) {
+    this.startTime = startTime;
+    this.bucketWidthMs = bucketWidthMs;
+  }
+
+  @Override
+  public void accept(long timestamp,
+                     double value) {
+    var point = new DownsampledPoint(timestamp, value);
+    long pointBucket = Math.floorDiv(timestamp - startTime, bucketWidthMs);
+    if (first == null || pointBucket != bucket) {
+      closeBucket();
+      bucket = pointBucket;
+      first = point;
+      min = point;
+      max = point;
+    } else if (value < min.value()) {
+      min = point;
+    } else if (value > max.value()) {
+      max = point;
+    }
+    last = point;
+  }
+
+  @Override
+  public List<DownsampledPoint> finish() {
+    closeBucket();
+    first = null;
+    return result;
+  }
+
+  private void closeBucket() {
+    if (first != null) {
+      Stream.of(first, min, max, last)
+            .distinct()
+            .sorted(Comparator.comparingLong(DownsampledPoint::timestamp))
+            .forEach(result::add);
+    }
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.downsampling;
+
+import org.apache.streampipes.dataexplorer.param.model.DownsamplingClauseParams;
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
+import org.apache.streampipes.model.datalake.param.SupportedRestQueryParams;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Pushes M4 downsampling down to the storage as a query which groups by the bucket width and selects the first,
+ * minimum, maximum and last value of each column.
+ * <p>
+ * Grouped queries return the start of the bucket instead of the timestamps of the selected values, so
+ * {@link #postProcess(SpQueryResult)} places the four values of a bucket at the start, the thirds and the end of the
+ * bucket. With one bucket per pixel column, this does not change the rendered chart.
+ */
+public class M4QueryPlan {
+
+  private static final String[] M4_FUNCTIONS = {"FIRST", "MIN", "MAX", "LAST"};
+  private static final String M4_ALIAS_INFIX = "_m4_";
+
+  private final ProvidedRestQueryParams queryParams;
+  private final DownsamplingClauseParams downsampling;
+  private final List<String> columns;
+
+  private M4QueryPlan(ProvidedRestQueryParams queryParams,
+                      DownsamplingClauseParams downsampling,
+                      List<String> columns) {
+    this.queryParams = queryParams;
+    this.downsampling = downsampling;
+    this.columns = columns;
+  }
+
+  /**
+   * Returns the pushed down query, which requires an explicit list of columns without aggregation.
+   */
+  public static Optional<M4QueryPlan> from(ProvidedRestQueryParams params,
+                                           DownsamplingClauseParams downsampling) {
+    var selectedColumns = params.getAsString(SupportedRestQueryParams.QP_COLUMNS);
+    if (selectedColumns == null || selectedColumns.contains(";")) {
+      return Optional.empty();
+    }
+    var columns = Arrays.stream(selectedColumns.split(",")).map(String::trim).toList();
+    var m4Columns = new ArrayList<String>();
+    for (String column : columns) {
+      for (String function : M4_FUNCTIONS) {
+        m4Columns.add("[%s;%s;%s]".formatted(column, function, alias(column, function)));
+      }
+    }
+    var m4Params = DownsamplingRowConsumer.toRawQueryParams(params);
+    m4Params.update(SupportedRestQueryParams.QP_COLUMNS, String.join(",", m4Columns));
+    m4Params.update(SupportedRestQueryParams.QP_TIME_INTERVAL, downsampling.bucketWidthMs() + "ms");
+    return Optional.of(new M4QueryPlan(m4Params, downsampling, columns));
+  }
+
+  public ProvidedRestQueryParams getQueryParams() {
+    return queryParams;
+  }
+
+  /**
+   * Expands each bucket row of the grouped query into up to four rows per column.
+   */
+  public SpQueryResult postProcess(SpQueryResult result) {
+    var headers = new ArrayList<String>();
+    headers.add("time");
+    headers.addAll(columns);
+    result.setHeaders(headers);
+    result.getAllDataSeries().forEach(series -> postProcess(series, headers));
+    result.setTotal(result.getAllDataSeries().stream().mapToInt(DataSeries::getTotal).sum());
+    return result;
+  }
+
+  private void postProcess(DataSeries series,
+                           List<String> headers) {
+    var rowsByTimestamp = new TreeMap<Long, Object[]>();
+    if (series.getRows() != null && series.getHeaders() != null) {
+      for (List<Object> row : series.getRows()) {
+        long bucketStart = ((Number) row.get(0)).longValue();
+        for (int i = 0; i < columns.size(); i++) {
+          var values = new Object[M4_FUNCTIONS.length];
+          for (int f = 0; f < M4_FUNCTIONS.length; f++) {
+            int index = series.getHeaders().indexOf(alias(columns.get(i), M4_FUNCTIONS[f]));
+            values[f] = index >= 0 ? row.get(index) : null;
+          }
+          addBucket(rowsByTimestamp, headers.size(), i + 1, bucketStart, values);
+        }
+      }
+    }
+    List<List<Object>> rows = new ArrayList<>(rowsByTimestamp.size());
+    rowsByTimestamp.values().forEach(values -> rows.add(Arrays.asList(values)));
+    series.setHeaders(headers);
+    series.setRows(rows);
+    series.setTotal(rows.size());
+  }
+
+  private void addBucket(TreeMap<Long, Object[]> rowsByTimestamp,
+                         int rowSize,
+                         int column,
+                         long bucketStart,
+                         Object[] values) {
+    if (!(values[0] instanceof Number first) || !(values[3] instanceof Number last)) {
+      return;
+    }
+    long width = downsampling.bucketWidthMs();
+    boolean rising = first.doubleValue() <= last.doubleValue();
+    addValue(rowsByTimestamp, rowSize, column, bucketStart, first);
+    addValue(rowsByTimestamp, rowSize, column, bucketStart + width / 3, rising ? values[1] : values[2]);
+    addValue(rowsByTimestamp, rowSize, column, bucketStart + 2 * width / 3, rising ? values[2] : values[1]);
+    addValue(rowsByTimestamp, rowSize, column, bucketStart + width - 1, last);
+  }
+
+  private void addValue(TreeMap<Long, Object[]> rowsByTimestamp,
+                        int rowSize,
+                        int column,
+                        long timestamp,
+                        Object value) {
+    if (value == null) {
+      return;
+    }
+    long clampedTimestamp = Math.min(Math.max(timestamp, downsampling.startTime()), downsampling.endTime());
+    var row = rowsByTimestamp.computeIfAbsent(clampedTimestamp, t -> {
+      var values = new Object[rowSize];
+      values[0] = t.doubleValue();
+      return values;
+    });
+    row[column] = value;
+  }
+
+  private static String alias(String column,
+                              String function) {
+    return column + M4_ALIAS_INFIX + function.toLowerCase();
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.image;
+
+import org.apache.streampipes.commons.environment.Environment;
+
+import org.apache.commons.codec.binary.Base64;
+import org.lightcouch.Attachment;
+import org.lightcouch.CouchDbClient;
+import org.lightcouch.CouchDbProperties;
+import org.lightcouch.Document;
+import org.lightcouch.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Stores images as attachments in the CouchDB database {@code images}, one document per image.
+ * <p>
+ * Images are sent as inline attachments of a single bulk request instead of one request per image.
+ */
+public class CouchDbImageBlobStore implements IImageBlobStore {
+
+  private static final String DB_NAME = "images";
+  private static final String CONTENT_TYPE = "image/jpeg";
+  private static final String CONFLICT = "conflict";
+
+  private final CouchDbClient couchDbClient;
+
+  public CouchDbImageBlobStore(Environment environment) {
+    this.couchDbClient = new CouchDbClient(from(environment));
+  }
+
+  private static CouchDbProperties from(Environment env) {
+    String couchDbProtocol = env.getCouchDbProtocol().getValueOrDefault();
+    String couchDbHost = env.getCouchDbHost().getValueOrDefault();
+    int couchDbPort = env.getCouchDbPort().getValueOrDefault();
+    String username = env.getCouchDbUsername().getValueOrDefault();
+    String password = env.getCouchDbPassword().getValueOrDefault();
+
+    return new CouchDbProperties(DB_NAME, true, couchDbProtocol,
+        couchDbHost, couchDbPort, username, password);
+  }
+
+  @Override
+  public String makeId(String base64Image) {
+    return UUID.randomUUID().toString();
+  }
+
+  @Override
+  public void storeAll(List<ImageBlob> images) throws IOException {
+    var documents = images.stream()
+                          .map(this::toDocument)
+                          .toList();
+    var failed = couchDbClient.bulk(documents, true)
+                              .stream()
+                              .filter(CouchDbImageBlobStore::isFailed)
+                              .toList();
+    if (!failed.isEmpty()) {
+      var failedIds = failed.stream()
+                            .map(Response::getId)
+                            .collect(Collectors.toSet());
+      Response first = failed.get(0);
+      throw new PartialImageStoreException("Could not store %d of %d images, first error: %s (%s)".formatted(
+          failed.size(), images.size(), first.getError(), first.getReason()),
+          images.stream().filter(image -> failedIds.contains(image.id())).toList());
+    }
+  }
+
+  /**
+   * A conflict means that a document with the ID exists already. IDs are random, so the document has been written
+   * by a previous attempt whose response got lost.
+   */
+  static boolean isFailed(Response response) {
+    return response.getError() != null && !CONFLICT.equals(response.getError());
+  }
+
+  @Override
+  public InputStream read(String id) {
+    return couchDbClient.find(id + "/" + id);
+  }
+
+  @Override
+  public void close() throws IOException {
+    couchDbClient.close();
+  }
+
+  /**
+   * The attachment is named like the document, as expected by the image storage of the backend. The image is
+   * encoded again since CouchDB only accepts plain base64 without line breaks or other characters.
+   */
+  private Document toDocument(ImageBlob image) {
+    var document = new Document();
+    document.setId(image.id());
+    document.addAttachment(image.id(), new Attachment(Base64.encodeBase64String(image.decode()), CONTENT_TYPE));
+    return document;
+  }
+}
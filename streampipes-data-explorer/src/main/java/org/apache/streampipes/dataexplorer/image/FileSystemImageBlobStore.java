@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image storage in a local directory.
+ * <p>
+ * The ID of an image is the SHA-256 hash of its base64 representation, so repeated images are stored only once.
+ * Images are stored in subdirectories named after the first two characters of their ID and are written to a
+ * temporary file first, so readers never observe partially written images.
+ * <p>
+ * Images are written by the data lake sink of the extensions service, but served by the {@code DataLakeImageResource}
+ * of the core. {@code SP_IMAGE_STORE_DIR} must therefore point to a volume which is mounted into both services.
+ */
+public class FileSystemImageBlobStore implements IImageBlobStore {
+
+  private static final Pattern ID_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+  private final Path directory;
+
+  public FileSystemImageBlobStore(Path directory) {
+    this.directory = directory;
+  }
+
+  @Override
+  public String makeId(String base64Image) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(base64Image.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Override
+  public void storeAll(List<ImageBlob> images) throws IOException {
+    for (ImageBlob image : images) {
+      var path = resolve(image.id());
+      if (Files.exists(path)) {
+        continue;
+      }
+      Files.createDirectories(path.getParent());
+      var temporary = path.resolveSibling(image.id() + "." + UUID.randomUUID() + ".tmp");
+      try {
+        Files.write(temporary, image.decode());
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+    }
+  }
+
+  @Override
+  public InputStream read(String id) throws IOException {
+    return Files.newInputStream(resolve(id));
+  }
+
+  @Override
+  public void close() {
+  }
+
+  private Path resolve(String id) {
+    if (id == null || !ID_PATTERN.matcher(id).matches()) {
+      throw new IllegalArgumentException("Invalid image id " + id);
+    }
+    return directory.resolve(id.substring(0, 2)).resolve(id);
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.image;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Storage of the images of data lake measurements.
+ * <p>
+ * IDs are assigned by {@link #makeId(String)} before an image is stored, so the data lake can replace the image
+ * with its ID while the image is written in the background.
+ */
+public interface IImageBlobStore extends Closeable {
+
+  /**
+   * Returns the ID under which the given image will be stored.
+   *
+   * @param base64Image The base64-encoded image
+   */
+  String makeId(String base64Image);
+
+  /**
+   * Stores the given images, preferably with a single request.
+   * <p>
+   * Images might be passed again if a previous attempt failed, so storing an image which already exists must
+   * succeed.
+   *
+   * @throws PartialImageStoreException if only some of the images could not be stored, so that only these are
+   *                                    retried
+   */
+  void storeAll(List<ImageBlob> images) throws IOException;
+
+  InputStream read(String id) throws IOException;
+}
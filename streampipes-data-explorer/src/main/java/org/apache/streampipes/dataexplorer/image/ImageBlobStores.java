@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.image;
+
+import org.apache.streampipes.commons.environment.Environment;
+import org.apache.streampipes.storage.management.StorageDispatcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Creates the image store configured by {@code SP_IMAGE_STORE}:
+ * <ul>
+ *     <li>{@link #COUCH_DB}: Images are stored as attachments in CouchDB (default).</li>
+ *     <li>{@link #FILE_SYSTEM}: Images are stored in the directory configured by {@code SP_IMAGE_STORE_DIR}, which
+ *     must be shared by the services writing and reading data lake images.</li>
+ * </ul>
+ */
+public class ImageBlobStores {
+
+  public static final String COUCH_DB = "couchdb";
+  public static final String FILE_SYSTEM = "filesystem";
+
+  public static IImageBlobStore from(Environment environment) {
+    if (isFileSystem(environment)) {
+      return makeFileSystemStore(environment);
+    }
+    return new CouchDbImageBlobStore(environment);
+  }
+
+  /**
+   * Reads an image of the configured image store. Images in CouchDB are read with the shared client of the
+   * backend storage.
+   */
+  public static InputStream readImage(Environment environment,
+                                      String imageId) throws IOException {
+    if (isFileSystem(environment)) {
+      return makeFileSystemStore(environment).read(imageId);
+    }
+    return StorageDispatcher.INSTANCE.getNoSqlStore().getImageStorage().getImageBytes(imageId);
+  }
+
+  private static boolean isFileSystem(Environment environment) {
+    return FILE_SYSTEM.equalsIgnoreCase(environment.getImageStore().getValueOrDefault());
+  }
+
+  private static FileSystemImageBlobStore makeFileSystemStore(Environment environment) {
+    return new FileSystemImageBlobStore(Path.of(environment.getImageStoreDir().getValueOrDefault()));
+  }
+}
@@ -15,37 +15,26 @@
  * limitations under the License.
  *
  */
-package org.apache.streampipes.wrapper.kafka.converter;
 
-import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.kafka.streams.kstream.ValueMapper;
+package org.apache.streampipes.dataexplorer.image;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
-public class JsonToMapFormat implements ValueMapper<String, Iterable<Map<String,
-    Object>>> {
+/**
+ * Thrown by {@link IImageBlobStore#storeAll(List)} if only some of the images could not be stored.
+ */
+public class PartialImageStoreException extends IOException {
 
-  private ObjectMapper mapper;
-  private InvocableStreamPipesEntity graph;
+  private final List<ImageBlob> failedImages;
 
-  public JsonToMapFormat(InvocableStreamPipesEntity graph) {
-    this.mapper = new ObjectMapper();
-    this.graph = graph;
+  public PartialImageStoreException(String message,
+                                    List<ImageBlob> failedImages) {
+    super(message);
+    this.failedImages = List.copyOf(failedImages);
   }
 
-
-  @Override
-  public Iterable<Map<String, Object>> apply(String s) {
-    try {
-      return Arrays.asList(mapper.readValue(s, HashMap.class));
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
-    return null;
+  public List<ImageBlob> getFailedImages() {
+    return failedImages;
   }
 }
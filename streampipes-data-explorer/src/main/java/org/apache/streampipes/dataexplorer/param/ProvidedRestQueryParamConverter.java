@@ -18,6 +18,7 @@
 
 package org.apache.streampipes.dataexplorer.param;
 
+import org.apache.streampipes.dataexplorer.param.model.DownsamplingClauseParams;
 import org.apache.streampipes.dataexplorer.param.model.FillClauseParams;
 import org.apache.streampipes.dataexplorer.param.model.GroupByTagsClauseParams;
 import org.apache.streampipes.dataexplorer.param.model.GroupByTimeClauseParams;
@@ -102,9 +103,30 @@ public class ProvidedRestQueryParamConverter {
           params.getAsInt(SupportedRestQueryParams.QP_PAGE) * params.getAsInt(SupportedRestQueryParams.QP_LIMIT)));
     }
 
+    if (params.has(SupportedRestQueryParams.QP_DOWNSAMPLING)) {
+      queryParameters.withDownsamplingParams(getDownsamplingParams(params));
+    }
+
     return queryParameters;
   }
 
+  public static DownsamplingClauseParams getDownsamplingParams(ProvidedRestQueryParams params) {
+    if (params.has(SupportedRestQueryParams.QP_AGGREGATION_FUNCTION)
+        || params.has(SupportedRestQueryParams.QP_TIME_INTERVAL)
+        || params.getAsBoolean(SupportedRestQueryParams.QP_COUNT_ONLY)) {
+      throw new IllegalArgumentException("Downsampling cannot be combined with aggregation");
+    }
+    if (!params.has(SupportedRestQueryParams.QP_START_DATE) || !params.has(SupportedRestQueryParams.QP_END_DATE)) {
+      throw new IllegalArgumentException("Downsampling requires a start and an end date");
+    }
+    return DownsamplingClauseParams.from(
+        params.getAsString(SupportedRestQueryParams.QP_DOWNSAMPLING),
+        params.getAsInt(SupportedRestQueryParams.QP_DOWNSAMPLING_POINTS),
+        params.getAsLong(SupportedRestQueryParams.QP_START_DATE),
+        params.getAsLong(SupportedRestQueryParams.QP_END_DATE)
+    );
+  }
+
   public static DeleteQueryParams getDeleteQueryParams(String measurementName,
                                                        Long startTime,
                                                        Long endTime) {
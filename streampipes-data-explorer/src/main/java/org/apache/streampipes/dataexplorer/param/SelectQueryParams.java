@@ -18,6 +18,7 @@
 package org.apache.streampipes.dataexplorer.param;
 
 import org.apache.streampipes.dataexplorer.api.IDataLakeQueryBuilder;
+import org.apache.streampipes.dataexplorer.param.model.DownsamplingClauseParams;
 import org.apache.streampipes.dataexplorer.param.model.FillClauseParams;
 import org.apache.streampipes.dataexplorer.param.model.GroupByTagsClauseParams;
 import org.apache.streampipes.dataexplorer.param.model.GroupByTimeClauseParams;
@@ -45,6 +46,8 @@ public class SelectQueryParams {
 
   private FillClauseParams fillClauseParams;
 
+  private DownsamplingClauseParams downsamplingParams;
+
   private final String index;
 
   public SelectQueryParams(String index) {
@@ -87,6 +90,18 @@ public class SelectQueryParams {
     this.orderByClauseParams = params;
   }
 
+  public void withDownsamplingParams(DownsamplingClauseParams params) {
+    this.downsamplingParams = params;
+  }
+
+  /**
+   * Returns the requested downsampling or null if the query is not downsampled. Downsampling is not part of the
+   * storage query built by {@link #toQuery(IDataLakeQueryBuilder)}, it is applied to the result of the query.
+   */
+  public DownsamplingClauseParams getDownsamplingParams() {
+    return downsamplingParams;
+  }
+
   public <T> T toQuery(IDataLakeQueryBuilder<T> builder) {
     this.selectParams.buildStatement(builder);
     prepareBuilder(builder);
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.param.model;
+
+import org.apache.streampipes.model.datalake.DownsamplingAlgorithm;
+
+/**
+ * Downsampling of the queried time series to a maximum number of points per column.
+ *
+ * @param algorithm The downsampling algorithm.
+ * @param points    The maximum number of points per column and series.
+ * @param startTime The start of the queried time range.
+ * @param endTime   The end of the queried time range.
+ */
+public record DownsamplingClauseParams(DownsamplingAlgorithm algorithm,
+                                       int points,
+                                       long startTime,
+                                       long endTime) {
+
+  public static final int DEFAULT_POINTS = 1000;
+
+  public static DownsamplingClauseParams from(String algorithm,
+                                              Integer points,
+                                              long startTime,
+                                              long endTime) {
+    var maxPoints = points != null ? points : DEFAULT_POINTS;
+    if (maxPoints < 4) {
+      throw new IllegalArgumentException("Downsampling requires at least 4 points");
+    }
+    return new DownsamplingClauseParams(DownsamplingAlgorithm.valueOf(algorithm), maxPoints, startTime, endTime);
+  }
+
+  /**
+   * Returns the number of time buckets of the time range. M4 keeps up to four points per bucket, LTTB keeps one
+   * point per bucket in addition to the first and the last point.
+   */
+  public int bucketCount() {
+    return algorithm == DownsamplingAlgorithm.M4 ? points / 4 : points - 2;
+  }
+
+  /**
+   * Returns the width of each time bucket in milliseconds.
+   */
+  public long bucketWidthMs() {
+    long range = endTime - startTime + 1;
+    return Math.max(1, (range + bucketCount() - 1) / bucketCount());
+  }
+}
@@ -28,6 +28,7 @@ import org.apache.streampipes.model.datalake.SpQueryStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
 
@@ -75,6 +76,27 @@ public abstract class DataExplorerQueryExecutor<X, W> {
     return tooMuchData;
   }
 
+  /**
+   * Executes the select query and passes each result row to the consumer while the result is read from the
+   * storage, so that the full result is never held in memory.
+   */
+  public void executeStreamedQuery(SelectQueryParams params,
+                                   boolean ignoreMissingValues,
+                                   QueryRowConsumer consumer) throws IOException {
+    X query = makeSelectQuery(params);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Streamed Data Lake Query {}", asQueryString(query));
+    }
+    streamQuery(query, ignoreMissingValues, consumer);
+  }
+
+  /**
+   * Returns whether the storage can execute queries with aggregated columns grouped by time.
+   */
+  public boolean supportsAggregation() {
+    return true;
+  }
+
   public SpQueryResult executeQuery(DeleteQueryParams params) {
     return executeQuery(makeDeleteQuery(params), Optional.empty(), true);
   }
@@ -100,6 +122,10 @@ public abstract class DataExplorerQueryExecutor<X, W> {
 
   public abstract W executeQuery(X query);
 
+  protected abstract void streamQuery(X query,
+                                      boolean ignoreMissingValues,
+                                      QueryRowConsumer consumer) throws IOException;
+
   protected abstract String asQueryString(X query);
 
   protected abstract X makeDeleteQuery(DeleteQueryParams params);
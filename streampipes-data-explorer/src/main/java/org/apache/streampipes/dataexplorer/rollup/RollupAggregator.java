@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.rollup;
+
+import org.apache.streampipes.model.datalake.DataLakeRollupTier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Incrementally aggregates the numeric fields of a measurement into epoch-aligned buckets for each rollup tier.
+ * <p>
+ * Each tier keeps only its currently open bucket. A bucket is closed and handed over once the first event of a later
+ * bucket arrives or the aggregator is flushed. Buckets which are flushed before they are complete are written at
+ * the timestamp of their latest event, see {@link RollupBucket}.
+ * <p>
+ * Events which are older than the open bucket of a tier are aggregated into a separate correction bucket per earlier
+ * bucket. Correction buckets are handed over together with the open bucket and are written at the timestamp of their
+ * latest event like flushed buckets, so that they are combined with the already written part of the bucket when the
+ * rollups are queried. At most {@link #MAX_LATE_BUCKETS} earlier buckets per tier are corrected at a time, late
+ * events of further buckets are dropped from the rollups of the tier. Both are counted and reported periodically.
+ */
+public class RollupAggregator {
+
+  static final int MAX_LATE_BUCKETS = 1000;
+
+  private static final Logger LOG = LoggerFactory.getLogger(RollupAggregator.class);
+
+  private static final long LATE_EVENT_REPORT_INTERVAL_MS = 60000;
+
+  private final TierState[] tiers;
+
+  private volatile long lateEvents;
+  private volatile long droppedLateEvents;
+  private long reportedLateEvents;
+  private long reportedDroppedLateEvents;
+  private long lastLateEventReport;
+
+  public RollupAggregator(List<DataLakeRollupTier> tiers) {
+    this.tiers = tiers.stream()
+                      .map(TierState::new)
+                      .toArray(TierState[]::new);
+  }
+
+  /**
+   * Moves the open bucket of each tier to the bucket of the given event timestamp. Buckets which are closed by this
+   * are passed to the consumer. Values added afterwards are aggregated into the bucket of the timestamp, or into a
+   * correction bucket if the timestamp is older than the open bucket of a tier.
+   */
+  public void advance(long timestamp,
+                      Consumer<RollupBucket> closedBuckets) {
+    boolean late = false;
+    boolean dropped = false;
+    for (TierState tier : tiers) {
+      long bucketStart = Math.floorDiv(timestamp, tier.intervalMs) * tier.intervalMs;
+      if (tier.fields == null) {
+        tier.open(bucketStart);
+      } else if (bucketStart > tier.bucketStart) {
+        tier.close(closedBuckets, tier.bucketStart);
+        tier.closeLateBuckets(closedBuckets);
+        tier.open(bucketStart);
+      } else if (bucketStart < tier.bucketStart) {
+        tier.target = tier.lateBucket(bucketStart, timestamp);
+        late = true;
+        dropped |= tier.target == null;
+        continue;
+      }
+      tier.target = tier.fields;
+      tier.latestTimestamp = Math.max(tier.latestTimestamp, timestamp);
+    }
+    if (late) {
+      lateEvents++;
+      if (dropped) {
+        droppedLateEvents++;
+      }
+      reportLateEventsPeriodically();
+    }
+  }
+
+  /**
+   * Ignores all values until the next call of {@link #advance(long, Consumer)}, e.g. for events without timestamp.
+   */
+  public void skip() {
+    for (TierState tier : tiers) {
+      tier.target = null;
+    }
+  }
+
+  public void add(String column,
+                  double value) {
+    for (TierState tier : tiers) {
+      if (tier.target != null) {
+        tier.target.computeIfAbsent(column, c -> new FieldAggregate()).add(value);
+      }
+    }
+  }
+
+  /**
+   * Passes the open bucket and the correction buckets of each tier to the consumer, e.g. before the storage is
+   * closed. The open buckets are not complete yet, so they are written at the timestamp of their latest event to
+   * avoid that the bucket is overwritten once the remaining events of the bucket are aggregated after a restart.
+   */
+  public void flush(Consumer<RollupBucket> closedBuckets) {
+    for (TierState tier : tiers) {
+      if (tier.fields != null) {
+        tier.close(closedBuckets, tier.writeTimestamp(tier.bucketStart, tier.latestTimestamp));
+        tier.fields = null;
+      }
+      tier.closeLateBuckets(closedBuckets);
+      tier.target = null;
+    }
+  }
+
+  /**
+   * Returns the number of events which were older than the open bucket of at least one tier.
+   */
+  public long getLateEvents() {
+    return lateEvents;
+  }
+
+  /**
+   * Returns the number of late events which could not be added to the rollups of at least one tier, because too
+   * many earlier buckets of the tier were corrected at the same time.
+   */
+  public long getDroppedLateEvents() {
+    return droppedLateEvents;
+  }
+
+  private void reportLateEventsPeriodically() {
+    long now = System.currentTimeMillis();
+    if (now - lastLateEventReport < LATE_EVENT_REPORT_INTERVAL_MS) {
+      return;
+    }
+    lastLateEventReport = now;
+    LOG.warn(
+        "Corrected rollups for {} events which arrived after their rollup bucket had been written, "
+            + "ignored {} of them in at least one rollup tier",
+        lateEvents - reportedLateEvents,
+        droppedLateEvents - reportedDroppedLateEvents
+    );
+    reportedLateEvents = lateEvents;
+    reportedDroppedLateEvents = droppedLateEvents;
+  }
+
+  private static class TierState {
+
+    private final DataLakeRollupTier tier;
+    private final long intervalMs;
+    private final Map<Long, LateBucket> lateBuckets = new HashMap<>();
+
+    private long bucketStart;
+    private long latestTimestamp;
+    private Map<String, FieldAggregate> fields;
+    private Map<String, FieldAggregate> target;
+
+    TierState(DataLakeRollupTier tier) {
+      this.tier = tier;
+      this.intervalMs = tier.getIntervalMs();
+    }
+
+    void open(long bucketStart) {
+      this.bucketStart = bucketStart;
+      this.latestTimestamp = bucketStart;
+      this.fields = new HashMap<>();
+    }
+
+    void close(Consumer<RollupBucket> closedBuckets,
+               long timestamp) {
+      if (!fields.isEmpty()) {
+        closedBuckets.accept(new RollupBucket(tier, bucketStart, timestamp, fields));
+      }
+    }
+
+    Map<String, FieldAggregate> lateBucket(long bucketStart,
+                                           long timestamp) {
+      var lateBucket = lateBuckets.get(bucketStart);
+      if (lateBucket == null) {
+        if (lateBuckets.size() >= MAX_LATE_BUCKETS) {
+          return null;
+        }
+        lateBucket = new LateBucket();
+        lateBuckets.put(bucketStart, lateBucket);
+      }
+      lateBucket.latestTimestamp = Math.max(lateBucket.latestTimestamp, timestamp);
+      return lateBucket.fields;
+    }
+
+    void closeLateBuckets(Consumer<RollupBucket> closedBuckets) {
+      lateBuckets.forEach((lateBucketStart, lateBucket) -> {
+        if (!lateBucket.fields.isEmpty()) {
+          closedBuckets.accept(new RollupBucket(
+              tier,
+              lateBucketStart,
+              writeTimestamp(lateBucketStart, lateBucket.latestTimestamp),
+              lateBucket.fields
+          ));
+        }
+      });
+      lateBuckets.clear();
+    }
+
+    /**
+     * Returns a timestamp after the bucket start and within the bucket, so that a partial bucket does not overwrite
+     * the part of the bucket which is written at the bucket start.
+     */
+    long writeTimestamp(long bucketStart,
+                        long latestTimestamp) {
+      return Math.min(Math.max(latestTimestamp, bucketStart + 1), bucketStart + intervalMs - 1);
+    }
+  }
+
+  private static class LateBucket {
+
+    private final Map<String, FieldAggregate> fields = new HashMap<>();
+    private long latestTimestamp = Long.MIN_VALUE;
+  }
+}
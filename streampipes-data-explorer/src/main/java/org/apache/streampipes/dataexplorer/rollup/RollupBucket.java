@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.rollup;
+
+import org.apache.streampipes.model.datalake.DataLakeRollupTier;
+
+import java.util.Map;
+
+/**
+ * A closed time bucket of a rollup tier.
+ * <p>
+ * A bucket which was flushed before it was complete, e.g. because the sink was stopped, is written at the timestamp
+ * of its latest value instead of the bucket start. The part of the bucket which is aggregated after a restart is
+ * written at the bucket start then and does not overwrite the flushed part, both are combined when the rollups are
+ * queried. Correction buckets with the values of events which arrived after the bucket had been written are
+ * written at the timestamp of their latest value in the same way.
+ *
+ * @param tier        The rollup tier the bucket belongs to.
+ * @param bucketStart The epoch-aligned start of the bucket in milliseconds.
+ * @param timestamp   The timestamp in milliseconds the bucket is written at, within the bucket interval.
+ * @param fields      The aggregated values of the bucket by field runtime name.
+ */
+public record RollupBucket(DataLakeRollupTier tier,
+                           long bucketStart,
+                           long timestamp,
+                           Map<String, FieldAggregate> fields) {
+}
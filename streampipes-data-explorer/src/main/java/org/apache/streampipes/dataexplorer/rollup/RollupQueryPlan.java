@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.rollup;
+
+import org.apache.streampipes.model.datalake.DataLakeRollupTier;
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A query which has been rewritten by the {@link RollupQueryPlanner} to read from a rollup measurement.
+ * <p>
+ * Mean values cannot be aggregated from the means of the rollup buckets, so they are queried as sum and count of the
+ * buckets and combined into the mean by {@link #postProcess(SpQueryResult)}.
+ */
+public class RollupQueryPlan {
+
+  static final String MEAN_SUM_SUFFIX = "_rollup_sum";
+  static final String MEAN_COUNT_SUFFIX = "_rollup_count";
+
+  private final ProvidedRestQueryParams queryParams;
+  private final DataLakeRollupTier tier;
+  private final List<String> meanColumns;
+
+  public RollupQueryPlan(ProvidedRestQueryParams queryParams,
+                         DataLakeRollupTier tier,
+                         List<String> meanColumns) {
+    this.queryParams = queryParams;
+    this.tier = tier;
+    this.meanColumns = meanColumns;
+  }
+
+  public ProvidedRestQueryParams getQueryParams() {
+    return queryParams;
+  }
+
+  public DataLakeRollupTier getTier() {
+    return tier;
+  }
+
+  /**
+   * Replaces the sum and count columns of each mean by a single column with the mean value.
+   */
+  public SpQueryResult postProcess(SpQueryResult result) {
+    if (meanColumns.isEmpty()) {
+      return result;
+    }
+    if (result.getHeaders() != null) {
+      result.setHeaders(new ColumnMapping(result.getHeaders()).getHeaders());
+    }
+    result.getAllDataSeries().forEach(this::postProcess);
+    return result;
+  }
+
+  private void postProcess(DataSeries series) {
+    if (series.getHeaders() == null) {
+      return;
+    }
+    var mapping = new ColumnMapping(series.getHeaders());
+    series.setHeaders(mapping.getHeaders());
+    if (series.getRows() != null) {
+      series.setRows(series.getRows()
+                           .stream()
+                           .map(mapping::mapRow)
+                           .toList());
+    }
+  }
+
+  private class ColumnMapping {
+
+    private final List<String> headers;
+    private final int[] countIndexes;
+    private final boolean[] removed;
+
+    ColumnMapping(List<String> headers) {
+      this.headers = headers;
+      this.countIndexes = new int[headers.size()];
+      this.removed = new boolean[headers.size()];
+      Arrays.fill(countIndexes, -1);
+      for (String meanColumn : meanColumns) {
+        int sumIndex = headers.indexOf(meanColumn + MEAN_SUM_SUFFIX);
+        int countIndex = headers.indexOf(meanColumn + MEAN_COUNT_SUFFIX);
+        if (sumIndex >= 0 && countIndex >= 0) {
+          countIndexes[sumIndex] = countIndex;
+          removed[countIndex] = true;
+        }
+      }
+    }
+
+    List<String> getHeaders() {
+      var result = new ArrayList<String>(headers.size());
+      for (int i = 0; i < headers.size(); i++) {
+        if (countIndexes[i] >= 0) {
+          var header = headers.get(i);
+          result.add(header.substring(0, header.length() - MEAN_SUM_SUFFIX.length()));
+        } else if (!removed[i]) {
+          result.add(headers.get(i));
+        }
+      }
+      return result;
+    }
+
+    List<Object> mapRow(List<Object> row) {
+      var result = new ArrayList<>(row.size());
+      for (int i = 0; i < row.size(); i++) {
+        if (countIndexes[i] >= 0) {
+          result.add(mean(row.get(i), row.get(countIndexes[i])));
+        } else if (!removed[i]) {
+          result.add(row.get(i));
+        }
+      }
+      return result;
+    }
+
+    private Object mean(Object sum, Object count) {
+      if (sum instanceof Number s && count instanceof Number c && c.doubleValue() > 0) {
+        return s.doubleValue() / c.doubleValue();
+      }
+      return null;
+    }
+  }
+}
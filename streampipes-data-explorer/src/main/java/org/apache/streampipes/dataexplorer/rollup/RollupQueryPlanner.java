@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.rollup;
+
+import org.apache.streampipes.dataexplorer.param.ProvidedRestQueryParamConverter;
+import org.apache.streampipes.model.datalake.AggregationFunction;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeRollupTier;
+import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.PropertyScope;
+import org.apache.streampipes.vocabulary.XSD;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_AGGREGATION_FUNCTION;
+import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_COLUMNS;
+import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_COUNT_ONLY;
+import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_END_DATE;
+import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_FILTER;
+import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_GROUP_BY;
+import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_START_DATE;
+import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_TIME_INTERVAL;
+
+/**
+ * Routes aggregated queries to the coarsest rollup tier of the measure which can answer them.
+ * <p>
+ * A tier is used if the query groups by a multiple of the tier interval, selects only numeric fields with MIN, MAX,
+ * SUM, COUNT or MEAN and neither filters nor groups by tags. The queried time range must start after the tier became
+ * active and end at least one tier interval before the current bucket, so that all rollup buckets of the range have
+ * been written. The start of the range is aligned to the tier interval, so the first and last group of the result
+ * can contain values of up to one tier interval outside the requested range.
+ * <p>
+ * Auto-aggregated queries have an arbitrary interval, which is rounded down to a multiple of the tier interval.
+ */
+public class RollupQueryPlanner {
+
+  private static final Set<AggregationFunction> SUPPORTED_FUNCTIONS = EnumSet.of(
+      AggregationFunction.MIN,
+      AggregationFunction.MAX,
+      AggregationFunction.SUM,
+      AggregationFunction.COUNT,
+      AggregationFunction.MEAN
+  );
+
+  private final Function<String, Optional<DataLakeMeasure>> measureResolver;
+  private final LongSupplier clock;
+
+  public RollupQueryPlanner(Function<String, Optional<DataLakeMeasure>> measureResolver) {
+    this(measureResolver, System::currentTimeMillis);
+  }
+
+  public RollupQueryPlanner(Function<String, Optional<DataLakeMeasure>> measureResolver,
+                            LongSupplier clock) {
+    this.measureResolver = measureResolver;
+    this.clock = clock;
+  }
+
+  public Optional<RollupQueryPlan> plan(ProvidedRestQueryParams params,
+                                        boolean autoAggregated) {
+    if (!isAggregatedRangeQuery(params)) {
+      return Optional.empty();
+    }
+    var requestedInterval = RollupTiers.parseIntervalMs(params.getAsString(QP_TIME_INTERVAL));
+    var columns = parseColumns(params);
+    if (requestedInterval.isEmpty() || columns.isEmpty()) {
+      return Optional.empty();
+    }
+    var measure = measureResolver.apply(params.getMeasurementId());
+    if (measure.isEmpty() || !areRollupFields(measure.get(), columns.get())) {
+      return Optional.empty();
+    }
+
+    long start = params.getAsLong(QP_START_DATE);
+    long end = params.getAsLong(QP_END_DATE);
+    long now = clock.getAsLong();
+    var tiers = RollupTiers.getTiers(measure.get());
+    for (int i = tiers.size() - 1; i >= 0; i--) {
+      var tier = tiers.get(i);
+      long tierInterval = tier.getIntervalMs();
+      long interval = autoAggregated
+          ? requestedInterval.getAsLong() / tierInterval * tierInterval
+          : requestedInterval.getAsLong();
+      long alignedStart = Math.floorDiv(start, tierInterval) * tierInterval;
+      long lastWrittenBucketEnd = Math.floorDiv(now, tierInterval) * tierInterval - tierInterval;
+      if (interval > 0
+          && interval % tierInterval == 0
+          && tier.getActiveSince() > 0
+          && alignedStart >= tier.getActiveSince()
+          && end < lastWrittenBucketEnd) {
+        return Optional.of(makePlan(params, tier, columns.get(), alignedStart, interval, autoAggregated));
+      }
+    }
+    return Optional.empty();
+  }
+
+  private boolean isAggregatedRangeQuery(ProvidedRestQueryParams params) {
+    return params.has(QP_TIME_INTERVAL)
+        && params.has(QP_COLUMNS)
+        && params.has(QP_START_DATE)
+        && params.has(QP_END_DATE)
+        && !params.has(QP_FILTER)
+        && !params.has(QP_GROUP_BY)
+        && !params.getAsBoolean(QP_COUNT_ONLY);
+  }
+
+  private Optional<List<RollupColumn>> parseColumns(ProvidedRestQueryParams params) {
+    var globalFunction = params.getAsString(QP_AGGREGATION_FUNCTION);
+    var columns = new ArrayList<RollupColumn>();
+    try {
+      for (String column : params.getAsString(QP_COLUMNS).split(",")) {
+        var parts = ProvidedRestQueryParamConverter.buildSingleCondition(column);
+        AggregationFunction function;
+        if (globalFunction != null) {
+          function = AggregationFunction.valueOf(globalFunction);
+        } else if (parts.length >= 2) {
+          function = AggregationFunction.valueOf(parts[1]);
+        } else {
+          return Optional.empty();
+        }
+        if (!SUPPORTED_FUNCTIONS.contains(function)) {
+          return Optional.empty();
+        }
+        var alias = globalFunction == null && parts.length == 3
+            ? parts[2]
+            : function.name().toLowerCase() + "_" + parts[0];
+        columns.add(new RollupColumn(parts[0], function, alias));
+      }
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+    return Optional.of(columns);
+  }
+
+  private boolean areRollupFields(DataLakeMeasure measure,
+                                  List<RollupColumn> columns) {
+    return columns.stream().allMatch(column -> measure.getEventSchema()
+        .getEventProperties()
+        .stream()
+        .filter(ep -> ep.getRuntimeName().equals(column.field()))
+        .anyMatch(ep -> ep instanceof EventPropertyPrimitive primitive
+            && !PropertyScope.DIMENSION_PROPERTY.name().equals(primitive.getPropertyScope())
+            && !XSD.STRING.toString().equals(primitive.getRuntimeType())
+            && !XSD.BOOLEAN.toString().equals(primitive.getRuntimeType())));
+  }
+
+  private RollupQueryPlan makePlan(ProvidedRestQueryParams params,
+                                   DataLakeRollupTier tier,
+                                   List<RollupColumn> columns,
+                                   long alignedStart,
+                                   long interval,
+                                   boolean autoAggregated) {
+    var rollupParams = new ProvidedRestQueryParams(
+        RollupTiers.rollupMeasureName(params.getMeasurementId(), tier),
+        new HashMap<>(params.getProvidedParams())
+    );
+    var rollupColumns = new ArrayList<String>();
+    var meanColumns = new ArrayList<String>();
+    for (RollupColumn column : columns) {
+      switch (column.function()) {
+        case MIN -> rollupColumns.add(column.rollupColumn(RollupTiers.MIN_SUFFIX, "MIN", column.alias()));
+        case MAX -> rollupColumns.add(column.rollupColumn(RollupTiers.MAX_SUFFIX, "MAX", column.alias()));
+        case SUM -> rollupColumns.add(column.rollupColumn(RollupTiers.SUM_SUFFIX, "SUM", column.alias()));
+        case COUNT -> rollupColumns.add(column.rollupColumn(RollupTiers.COUNT_SUFFIX, "SUM", column.alias()));
+        default -> {
+          rollupColumns.add(column.rollupColumn(
+              RollupTiers.SUM_SUFFIX, "SUM", column.alias() + RollupQueryPlan.MEAN_SUM_SUFFIX));
+          rollupColumns.add(column.rollupColumn(
+              RollupTiers.COUNT_SUFFIX, "SUM", column.alias() + RollupQueryPlan.MEAN_COUNT_SUFFIX));
+          meanColumns.add(column.alias());
+        }
+      }
+    }
+    rollupParams.remove(QP_AGGREGATION_FUNCTION);
+    rollupParams.update(QP_COLUMNS, String.join(",", rollupColumns));
+    rollupParams.update(QP_START_DATE, alignedStart);
+    if (autoAggregated) {
+      rollupParams.update(QP_TIME_INTERVAL, interval + "ms");
+    }
+    return new RollupQueryPlan(rollupParams, tier, meanColumns);
+  }
+
+  private record RollupColumn(String field,
+                              AggregationFunction function,
+                              String alias) {
+
+    String rollupColumn(String suffix,
+                        String rollupFunction,
+                        String targetField) {
+      return "[%s;%s;%s]".formatted(RollupTiers.rollupColumnName(field, suffix), rollupFunction, targetField);
+    }
+  }
+}
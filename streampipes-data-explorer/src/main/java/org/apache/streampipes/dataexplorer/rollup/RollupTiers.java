@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.rollup;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.api.IDataExplorerSchemaManagement;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataLakeRollupTier;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.regex.Pattern;
+
+/**
+ * Parsing and naming of the rollup tiers of a data lake measure. The rollups of a tier are stored in a separate
+ * measurement named {@code <measure>_rollup_<tier>} which contains the columns {@code <field>_min},
+ * {@code <field>_max}, {@code <field>_sum} and {@code <field>_count} for each numeric field of the measure.
+ */
+public class RollupTiers {
+
+  public static final String ROLLUP_MEASURE_INFIX = "_rollup_";
+
+  public static final String MIN_SUFFIX = "_min";
+  public static final String MAX_SUFFIX = "_max";
+  public static final String SUM_SUFFIX = "_sum";
+  public static final String COUNT_SUFFIX = "_count";
+
+  private static final Pattern INTERVAL_PATTERN = Pattern.compile("(\\d+)(ms|s|m|h|d|w)");
+
+  /**
+   * Parses a comma-separated list of tier intervals such as {@code 1m,1h,1d}. The interval is used as tier name,
+   * the returned tiers are ordered by ascending interval.
+   */
+  public static List<DataLakeRollupTier> parse(String tiers) {
+    var result = new ArrayList<DataLakeRollupTier>();
+    if (tiers == null || tiers.isBlank()) {
+      return result;
+    }
+    for (String tier : tiers.split(",")) {
+      var name = tier.trim();
+      var intervalMs = parseIntervalMs(name)
+          .orElseThrow(() -> new SpRuntimeException("Invalid rollup tier interval: " + name));
+      if (result.stream().noneMatch(t -> t.getIntervalMs() == intervalMs)) {
+        result.add(new DataLakeRollupTier(name, intervalMs));
+      }
+    }
+    result.sort(Comparator.comparingLong(DataLakeRollupTier::getIntervalMs));
+    return result;
+  }
+
+  /**
+   * Parses a time interval in the format of the {@code timeInterval} query parameter, e.g. {@code 500ms} or
+   * {@code 1h}.
+   */
+  public static OptionalLong parseIntervalMs(String interval) {
+    if (interval == null) {
+      return OptionalLong.empty();
+    }
+    var matcher = INTERVAL_PATTERN.matcher(interval.trim());
+    if (!matcher.matches()) {
+      return OptionalLong.empty();
+    }
+    long value = Long.parseLong(matcher.group(1));
+    long unitMs = switch (matcher.group(2)) {
+      case "s" -> 1000L;
+      case "m" -> 60 * 1000L;
+      case "h" -> 60 * 60 * 1000L;
+      case "d" -> 24 * 60 * 60 * 1000L;
+      case "w" -> 7 * 24 * 60 * 60 * 1000L;
+      default -> 1L;
+    };
+    return value > 0 ? OptionalLong.of(value * unitMs) : OptionalLong.empty();
+  }
+
+  /**
+   * Returns the name of the rollup column of a field. Writers and the query planner both derive rollup columns from
+   * the runtime name of the field, the suffix ensures that the column name is no reserved keyword of the storage.
+   */
+  public static String rollupColumnName(String runtimeName,
+                                        String suffix) {
+    return runtimeName + suffix;
+  }
+
+  public static String rollupMeasureName(String measureName,
+                                         DataLakeRollupTier tier) {
+    return measureName + ROLLUP_MEASURE_INFIX + tier.getName();
+  }
+
+  public static List<DataLakeRollupTier> getTiers(DataLakeMeasure measure) {
+    return Objects.requireNonNullElse(measure.getRollupTiers(), List.of());
+  }
+
+  /**
+   * Returns a copy of the measure for each rollup tier which carries the name of the rollup measurement.
+   */
+  public static List<DataLakeMeasure> getRollupMeasures(DataLakeMeasure measure) {
+    return getTiers(measure)
+        .stream()
+        .map(tier -> {
+          var rollupMeasure = new DataLakeMeasure(measure);
+          rollupMeasure.setMeasureName(rollupMeasureName(measure.getMeasureName(), tier));
+          return rollupMeasure;
+        })
+        .toList();
+  }
+
+  /**
+   * Marks all tiers which were not active before as active since the given timestamp. Tiers of the existing measure
+   * with the same name and interval keep the timestamp since which they are active.
+   */
+  public static void mergeActiveSince(DataLakeMeasure measure,
+                                      DataLakeMeasure existingMeasure,
+                                      long now) {
+    var existingTiers = existingMeasure != null ? getTiers(existingMeasure) : List.<DataLakeRollupTier>of();
+    for (DataLakeRollupTier tier : getTiers(measure)) {
+      var existingActiveSince = existingTiers
+          .stream()
+          .filter(t -> t.getName().equals(tier.getName()) && t.getIntervalMs() == tier.getIntervalMs())
+          .mapToLong(DataLakeRollupTier::getActiveSince)
+          .filter(activeSince -> activeSince > 0)
+          .findFirst();
+      if (existingActiveSince.isPresent()) {
+        tier.setActiveSince(existingActiveSince.getAsLong());
+      } else if (tier.getActiveSince() <= 0) {
+        tier.setActiveSince(now);
+      }
+    }
+  }
+
+  /**
+   * Excludes all rollup data written before the given timestamp from query routing, e.g. because raw data of the
+   * measurement has been deleted and the rollups no longer match the raw data. Without timestamp, all rollup data
+   * written until now is excluded.
+   */
+  public static void outdate(IDataExplorerSchemaManagement schemaManagement,
+                             String measureName,
+                             Long until) {
+    long timestamp = until != null ? until : System.currentTimeMillis();
+    schemaManagement.getAllMeasurements()
+                    .stream()
+                    .filter(m -> m.getMeasureName().equals(measureName))
+                    .filter(m -> !getTiers(m).isEmpty())
+                    .findFirst()
+                    .ifPresent(measure -> {
+                      getTiers(measure).forEach(tier ->
+                          tier.setActiveSince(Math.max(tier.getActiveSince(), timestamp)));
+                      schemaManagement.updateMeasurement(measure);
+                    });
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.statistics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of a single measurement which are updated incrementally by the time series storage and reconciled
+ * periodically with the storage backend.
+ */
+public class MeasurementStatistics {
+
+  private final LongAccumulator minTimestamp = new LongAccumulator(Math::min, Long.MAX_VALUE);
+  private final LongAccumulator maxTimestamp = new LongAccumulator(Math::max, Long.MIN_VALUE);
+  private final LongAdder rowCount = new LongAdder();
+
+  private volatile long lastReconciled;
+
+  public void recordWrite(long timestamp) {
+    minTimestamp.accumulate(timestamp);
+    maxTimestamp.accumulate(timestamp);
+    rowCount.increment();
+  }
+
+  /**
+   * Replaces the timestamp range and row count with the values provided by the storage backend.
+   */
+  public synchronized void reconcile(long minTimestamp,
+                                     long maxTimestamp,
+                                     long rowCount,
+                                     long reconciledAt) {
+    this.minTimestamp.reset();
+    this.minTimestamp.accumulate(minTimestamp);
+    this.maxTimestamp.reset();
+    this.maxTimestamp.accumulate(maxTimestamp);
+    this.rowCount.reset();
+    this.rowCount.add(rowCount);
+    this.lastReconciled = reconciledAt;
+  }
+
+  /**
+   * Marks the statistics of an empty measurement as reconciled.
+   */
+  public synchronized void reconcileEmpty(long reconciledAt) {
+    this.minTimestamp.reset();
+    this.maxTimestamp.reset();
+    this.rowCount.reset();
+    this.lastReconciled = reconciledAt;
+  }
+
+  public void markOutdated() {
+    this.lastReconciled = 0;
+  }
+
+  public boolean isEmpty() {
+    return rowCount.sum() == 0;
+  }
+
+  public long getMinTimestamp() {
+    return minTimestamp.get();
+  }
+
+  public long getMaxTimestamp() {
+    return maxTimestamp.get();
+  }
+
+  public long getRowCount() {
+    return rowCount.sum();
+  }
+
+  public long getLastReconciled() {
+    return lastReconciled;
+  }
+
+  /**
+   * Estimates the number of rows between the given timestamps, assuming the rows are evenly distributed over the
+   * time range of the measurement.
+   */
+  public long estimateRowCount(long startTimestamp,
+                               long endTimestamp) {
+    var count = getRowCount();
+    var min = getMinTimestamp();
+    var max = getMaxTimestamp();
+    var start = Math.max(startTimestamp, min);
+    var end = Math.min(endTimestamp, max);
+    if (count == 0 || end < start) {
+      return 0;
+    } else if (max == min) {
+      return count;
+    } else {
+      return (long) Math.ceil(count * ((double) (end - start) / (max - min)));
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.statistics;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catalog of the statistics of all measurements known to this service, keyed by measurement name.
+ */
+public enum MeasurementStatisticsCatalog {
+
+  INSTANCE;
+
+  private final Map<String, MeasurementStatistics> statistics = new ConcurrentHashMap<>();
+
+  public MeasurementStatistics getOrCreate(String measureName) {
+    return statistics.computeIfAbsent(measureName, key -> new MeasurementStatistics());
+  }
+
+  public Optional<MeasurementStatistics> find(String measureName) {
+    return Optional.ofNullable(statistics.get(measureName));
+  }
+
+  /**
+   * Forces the statistics of a measurement to be reconciled on next access, e.g., after its data has been deleted.
+   */
+  public void invalidate(String measureName) {
+    find(measureName).ifPresent(MeasurementStatistics::markOutdated);
+  }
+
+  public void invalidateAll() {
+    statistics.values().forEach(MeasurementStatistics::markOutdated);
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer;
+
+import org.apache.streampipes.dataexplorer.api.IDataExplorerQueryManagement;
+import org.apache.streampipes.dataexplorer.statistics.MeasurementStatisticsCatalog;
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
+import org.apache.streampipes.model.datalake.param.SupportedRestQueryParams;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class AutoAggregationHandlerTest {
+
+  private static final String MEASUREMENT = "auto-aggregation-test";
+
+  @Test
+  public void usesStatisticsCatalogWithoutQueryingBackend() {
+    MeasurementStatisticsCatalog.INSTANCE
+        .getOrCreate(MEASUREMENT)
+        .reconcile(0, 100000, 10000, System.currentTimeMillis());
+    var queryManagement = mock(IDataExplorerQueryManagement.class);
+
+    var params = makeParams();
+    params.update(SupportedRestQueryParams.QP_START_DATE, 0L);
+    params.update(SupportedRestQueryParams.QP_END_DATE, 50000L);
+
+    var result = new AutoAggregationHandler(params, queryManagement).makeAutoAggregationQueryParams();
+
+    verifyNoInteractions(queryManagement);
+    assertFalse(result.has(SupportedRestQueryParams.QP_AUTO_AGGREGATE));
+    assertEquals("25ms", result.getAsString(SupportedRestQueryParams.QP_TIME_INTERVAL));
+  }
+
+  @Test
+  public void disablesAggregationForSmallTimeRanges() {
+    MeasurementStatisticsCatalog.INSTANCE
+        .getOrCreate(MEASUREMENT)
+        .reconcile(0, 100000, 10000, System.currentTimeMillis());
+    var queryManagement = mock(IDataExplorerQueryManagement.class);
+
+    var params = makeParams();
+    params.update(SupportedRestQueryParams.QP_START_DATE, 90000L);
+
+    var result = new AutoAggregationHandler(params, queryManagement).makeAutoAggregationQueryParams();
+
+    verifyNoInteractions(queryManagement);
+    assertFalse(result.has(SupportedRestQueryParams.QP_AUTO_AGGREGATE));
+    assertFalse(result.has(SupportedRestQueryParams.QP_TIME_INTERVAL));
+  }
+
+  @Test
+  public void reconcilesRowCountIndependentlyOfQueriedColumns() {
+    var measurement = "auto-aggregation-reconcile-test";
+    var countedColumns = new HashMap<String, String>();
+    var queryManagement = mock(IDataExplorerQueryManagement.class);
+    when(queryManagement.getData(any(), anyBoolean())).thenAnswer(invocation -> {
+      ProvidedRestQueryParams params = invocation.getArgument(0);
+      if (params.has(SupportedRestQueryParams.QP_COUNT_ONLY)) {
+        countedColumns.put(measurement, params.getAsString(SupportedRestQueryParams.QP_COLUMNS));
+        return makeResult(List.of("time", "count_a", "count_b"), List.of(0L, 3000.0, 5000.0));
+      }
+      boolean newest = "DESC".equals(params.getAsString(SupportedRestQueryParams.QP_ORDER));
+      return makeResult(List.of("time", "a", "b"), List.of(newest ? 100000L : 0L, 1.0, 2.0));
+    });
+
+    var params = new ProvidedRestQueryParams(measurement, new HashMap<>());
+    params.update(SupportedRestQueryParams.QP_AUTO_AGGREGATE, true);
+    params.update(SupportedRestQueryParams.QP_COLUMNS, "a");
+    new AutoAggregationHandler(params, queryManagement).makeAutoAggregationQueryParams();
+
+    var statistics = MeasurementStatisticsCatalog.INSTANCE.getOrCreate(measurement);
+    assertEquals("a,b", countedColumns.get(measurement));
+    assertEquals(5000, statistics.getRowCount());
+    assertEquals(0, statistics.getMinTimestamp());
+    assertEquals(100000, statistics.getMaxTimestamp());
+  }
+
+  private static SpQueryResult makeResult(List<String> headers,
+                                          List<Object> row) {
+    var series = new DataSeries(1, List.of(row), headers, Map.of());
+    return new SpQueryResult(1, headers, List.of(series));
+  }
+
+  private ProvidedRestQueryParams makeParams() {
+    var params = new ProvidedRestQueryParams(MEASUREMENT, new HashMap<>());
+    params.update(SupportedRestQueryParams.QP_AUTO_AGGREGATE, true);
+    params.update(SupportedRestQueryParams.QP_COLUMNS, "value");
+    return params;
+  }
+}
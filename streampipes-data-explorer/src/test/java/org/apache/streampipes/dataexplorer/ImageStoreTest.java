@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.image.IImageBlobStore;
+import org.apache.streampipes.dataexplorer.image.ImageBlob;
+import org.apache.streampipes.dataexplorer.image.PartialImageStoreException;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.SPSensor;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ImageStoreTest {
+
+  @Test
+  public void replacesImageWithIdAndStoresInBackground() throws Exception {
+    var blobStore = new RecordingBlobStore(null);
+    var imageStore = new ImageStore(makeMeasure(), blobStore, 10, 10);
+
+    var event = makeEvent("aW1hZ2U=");
+    imageStore.onEvent(event);
+    imageStore.close();
+
+    assertEquals("id-1", event.getFieldBySelector("s0::image").getAsPrimitive().getAsString());
+    assertEquals(List.of(new ImageBlob("id-1", "aW1hZ2U=")), blobStore.stored());
+    assertTrue(blobStore.closed);
+  }
+
+  @Test
+  public void writesQueuedImagesInBatches() throws Exception {
+    var release = new CountDownLatch(1);
+    var blobStore = new RecordingBlobStore(release);
+    var imageStore = new ImageStore(makeMeasure(), blobStore, 10, 3);
+
+    for (int i = 0; i < 7; i++) {
+      imageStore.onEvent(makeEvent("aW1hZ2U="));
+    }
+    assertTrue(blobStore.firstBatchStarted.await(5, TimeUnit.SECONDS));
+    release.countDown();
+    imageStore.close();
+
+    assertEquals(7, blobStore.stored().size());
+    assertTrue(blobStore.batches.stream().allMatch(batch -> batch.size() <= 3));
+    assertTrue(blobStore.batches.size() < 7);
+  }
+
+  @Test
+  public void retriesOnlyImagesWhichFailed() throws Exception {
+    var calls = new CopyOnWriteArrayList<List<ImageBlob>>();
+    var blobStore = new RecordingBlobStore(null) {
+      @Override
+      public void storeAll(List<ImageBlob> images) throws IOException {
+        calls.add(List.copyOf(images));
+        var failed = images.stream().filter(image -> image.id().equals("id-2")).toList();
+        if (!failed.isEmpty() && calls.stream().filter(call -> call.containsAll(failed)).count() == 1) {
+          throw new PartialImageStoreException("failed", failed);
+        }
+      }
+    };
+    var imageStore = new ImageStore(makeMeasure(), blobStore, 10, 10, 1, 5000);
+
+    imageStore.onEvent(makeEvent("aW1hZ2U="));
+    imageStore.onEvent(makeEvent("aW1hZ2U="));
+    imageStore.close();
+
+    var stored = calls.stream().flatMap(List::stream).map(ImageBlob::id).toList();
+    assertEquals(1, stored.stream().filter("id-1"::equals).count());
+    assertEquals(2, stored.stream().filter("id-2"::equals).count());
+    assertEquals(List.of(new ImageBlob("id-2", "aW1hZ2U=")), calls.get(calls.size() - 1));
+    assertEquals(0, imageStore.getDiscardedImages());
+  }
+
+  @Test
+  public void reportsDiscardedImagesWithNextEvent() throws Exception {
+    var blobStore = new RecordingBlobStore(null) {
+      @Override
+      public void storeAll(List<ImageBlob> images) throws IOException {
+        throw new IOException("unavailable");
+      }
+    };
+    var imageStore = new ImageStore(makeMeasure(), blobStore, 10, 10, 1, 5000);
+
+    imageStore.onEvent(makeEvent("aW1hZ2U="));
+    awaitDiscarded(imageStore, 1);
+
+    var error = assertThrows(SpRuntimeException.class, () -> imageStore.onEvent(makeEvent("aW1hZ2U=")));
+    assertTrue(error.getMessage().contains("id-1"));
+    awaitDiscarded(imageStore, 2);
+    assertThrows(IOException.class, imageStore::close);
+    assertTrue(blobStore.closed);
+  }
+
+  @Test
+  public void closeFailsIfQueueIsNotDrained() throws Exception {
+    var release = new CountDownLatch(1);
+    var blobStore = new RecordingBlobStore(release);
+    var imageStore = new ImageStore(makeMeasure(), blobStore, 10, 1, 1, 100);
+
+    imageStore.onEvent(makeEvent("aW1hZ2U="));
+    imageStore.onEvent(makeEvent("aW1hZ2U="));
+    assertTrue(blobStore.firstBatchStarted.await(5, TimeUnit.SECONDS));
+
+    var error = assertThrows(IOException.class, imageStore::close);
+    assertTrue(error.getMessage().contains("1 images have been discarded"));
+    assertEquals(1, imageStore.getDiscardedImages());
+    assertTrue(blobStore.closed);
+  }
+
+  private static void awaitDiscarded(ImageStore imageStore,
+                                     long expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (imageStore.getDiscardedImages() < expected && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(expected, imageStore.getDiscardedImages());
+  }
+
+  private static DataLakeMeasure makeMeasure() {
+    EventProperty image = new EventPropertyPrimitive();
+    image.setRuntimeName("image");
+    image.setSemanticType(SPSensor.IMAGE);
+    return new DataLakeMeasure("test", "s0::timestamp", new EventSchema(List.of(image)));
+  }
+
+  private static Event makeEvent(String image) {
+    Map<String, Object> raw = new HashMap<>();
+    raw.put("timestamp", 1000L);
+    raw.put("image", image);
+    return EventFactory.fromMap(raw, new SourceInfo("source", "s0"), new SchemaInfo(null, new ArrayList<>()));
+  }
+
+  private static class RecordingBlobStore implements IImageBlobStore {
+
+    private final CountDownLatch release;
+    private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    private final List<List<ImageBlob>> batches = new CopyOnWriteArrayList<>();
+    private int nextId;
+    volatile boolean closed;
+
+    RecordingBlobStore(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public String makeId(String base64Image) {
+      return "id-" + ++nextId;
+    }
+
+    @Override
+    public void storeAll(List<ImageBlob> images) throws IOException {
+      firstBatchStarted.countDown();
+      if (release != null) {
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      batches.add(List.copyOf(images));
+    }
+
+    @Override
+    public InputStream read(String id) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    List<ImageBlob> stored() {
+      return batches.stream().flatMap(List::stream).toList();
+    }
+  }
+}
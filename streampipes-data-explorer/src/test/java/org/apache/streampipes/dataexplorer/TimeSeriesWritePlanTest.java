@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer;
+
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class TimeSeriesWritePlanTest {
+
+  @Test
+  public void compileSanitizesColumnNames() {
+    var plan = makePlan();
+
+    assertEquals(2, plan.size());
+    assertEquals("name_", plan.getFields().get(0).columnName());
+    assertEquals("value", plan.getFields().get(1).columnName());
+    assertEquals(1, plan.getFields().get(1).index());
+    assertEquals("converter-value", plan.getFields().get(1).converter());
+  }
+
+  @Test
+  public void resolveMatchesSanitizedEventFieldNames() {
+    var plan = makePlan();
+
+    assertSame(plan.getFields().get(0), plan.resolve("name"));
+    assertSame(plan.getFields().get(0), plan.resolve("name_"));
+    assertSame(plan.getFields().get(1), plan.resolve("value"));
+  }
+
+  @Test
+  public void resolveReturnsNullForUnknownFields() {
+    var plan = makePlan();
+
+    assertNull(plan.resolve("timestamp"));
+    assertNull(plan.resolve("timestamp"));
+  }
+
+  private TimeSeriesWritePlan<String> makePlan() {
+    List<EventProperty> properties = List.of(makeProperty("name_"), makeProperty("value"));
+    return TimeSeriesWritePlan.compile(
+        properties,
+        runtimeName -> "name".equals(runtimeName) ? "name_" : runtimeName,
+        ep -> "converter-" + ep.getRuntimeName()
+    );
+  }
+
+  private EventProperty makeProperty(String runtimeName) {
+    var property = new EventPropertyPrimitive();
+    property.setRuntimeName(runtimeName);
+    return property;
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.buffer;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataexplorer.api.ITimeSeriesStorage;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventSchema;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WriteBehindTimeSeriesStorageTest {
+
+  private static final DataLakeMeasure MEASURE = new DataLakeMeasure("test", "s0::timestamp", new EventSchema());
+
+  @TempDir
+  Path spillDirectory;
+
+  @Test
+  public void encodesValuesWithTheirType() {
+    Map<String, Object> raw = new LinkedHashMap<>();
+    raw.put("timestamp", 1000L);
+    raw.put("count", 3);
+    raw.put("value", 1.5);
+    raw.put("ratio", 0.5f);
+    raw.put("name", "sensor");
+    raw.put("active", true);
+    raw.put("missing", null);
+    raw.put("nested", Map.of("inner", 2));
+    raw.put("list", List.of(1, 2));
+
+    var record = SpillRecordCodec.decode(ByteBuffer.wrap(SpillRecordCodec.encode("s0", raw)));
+
+    assertEquals("s0", record.selectorPrefix());
+    assertEquals(raw, record.raw());
+    assertInstanceOf(Long.class, record.raw().get("timestamp"));
+    assertInstanceOf(Float.class, record.raw().get("ratio"));
+  }
+
+  @Test
+  public void spillsWhileStorageIsUnavailableAndKeepsOrder() throws Exception {
+    var storage = new RecordingStorage(3);
+    var written = new CopyOnWriteArrayList<Long>();
+    var buffer = new WriteBehindTimeSeriesStorage(
+        storage,
+        MEASURE,
+        2,
+        new SpillSegmentLog(spillDirectory, 64),
+        event -> written.add(timestampOf(event))
+    );
+
+    for (long i = 0; i < 10; i++) {
+      buffer.onEvent(makeEvent(i));
+    }
+    buffer.close();
+
+    assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), storage.timestamps);
+    assertEquals(storage.timestamps, written);
+    assertEquals(0, buffer.getSpillBytes());
+    assertTrue(storage.closed);
+  }
+
+  @Test
+  public void replaysSegmentsOfPreviousRun() throws Exception {
+    var previousRun = new SpillSegmentLog(spillDirectory, 1024);
+    for (long i = 0; i < 3; i++) {
+      previousRun.append(SpillRecordCodec.encode("s0", Map.of("timestamp", i)));
+    }
+    previousRun.close();
+
+    var storage = new RecordingStorage(0);
+    var buffer = new WriteBehindTimeSeriesStorage(
+        storage,
+        MEASURE,
+        10,
+        new SpillSegmentLog(spillDirectory, 1024),
+        event -> {
+        }
+    );
+    buffer.onEvent(makeEvent(3));
+    buffer.close();
+
+    assertEquals(List.of(0L, 1L, 2L, 3L), storage.timestamps);
+  }
+
+  @Test
+  public void dropsEventsWhichAlwaysFailAndReportsTheError() throws Exception {
+    RecordingStorage storage = new RecordingStorage(0) {
+      @Override
+      public void onEvent(Event event) throws SpRuntimeException {
+        if (timestampOf(event) == 0) {
+          throw new SpRuntimeException("Invalid value");
+        }
+        super.onEvent(event);
+      }
+    };
+    var buffer = new WriteBehindTimeSeriesStorage(
+        storage,
+        MEASURE,
+        10,
+        new SpillSegmentLog(spillDirectory, 1024),
+        event -> {
+        }
+    );
+
+    buffer.onEvent(makeEvent(0));
+    long deadline = System.currentTimeMillis() + 10000;
+    while (buffer.getBufferMetrics().getDroppedEvents() == 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThrows(SpRuntimeException.class, () -> buffer.onEvent(makeEvent(1)));
+    buffer.close();
+
+    assertEquals(List.of(1L), storage.timestamps);
+    assertEquals(1, buffer.getBufferMetrics().getDroppedEvents());
+  }
+
+  @Test
+  public void rejectsEventsOnceTheSpillLimitIsReached() throws Exception {
+    var spillLog = new SpillSegmentLog(spillDirectory, 1024, 64);
+    var record = SpillRecordCodec.encode("s0", Map.of("timestamp", 0L));
+
+    assertTrue(spillLog.append(record));
+    while (spillLog.getSpillBytes() + 8 + record.length <= 64) {
+      assertTrue(spillLog.append(record));
+    }
+    assertFalse(spillLog.append(record));
+    spillLog.close();
+  }
+
+  @Test
+  public void classifiesErrorsByTheTransientErrorTypesOfTheStorage() {
+    Set<Class<? extends Throwable>> ioErrors = Set.of(IOException.class);
+
+    assertTrue(WriteBehindTimeSeriesStorage.isTransient(
+        new SpRuntimeException(new IOException("Connection reset")), ioErrors));
+    assertFalse(WriteBehindTimeSeriesStorage.isTransient(new SpRuntimeException("Connection refused"), ioErrors));
+    assertTrue(WriteBehindTimeSeriesStorage.isTransient(
+        new SpRuntimeException(new IllegalStateException()), Set.of(IllegalStateException.class)));
+  }
+
+  @Test
+  public void retriesErrorsOfTransientTypesDeclaredByTheStorageAndProvidesMetrics() throws Exception {
+    var remainingFailures = new AtomicInteger(4);
+    RecordingStorage storage = new RecordingStorage(0) {
+      @Override
+      public void onEvent(Event event) throws SpRuntimeException {
+        if (remainingFailures.getAndDecrement() > 0) {
+          throw new SpRuntimeException(new IllegalStateException("Not ready"));
+        }
+        super.onEvent(event);
+      }
+
+      @Override
+      public Set<Class<? extends Throwable>> getTransientErrorTypes() {
+        return Set.of(IllegalStateException.class);
+      }
+
+      @Override
+      public Map<String, Long> getMetrics() {
+        return Map.of("storage.metric", 7L);
+      }
+    };
+    var buffer = new WriteBehindTimeSeriesStorage(
+        storage,
+        MEASURE,
+        10,
+        new SpillSegmentLog(spillDirectory, 1024),
+        event -> {
+        }
+    );
+
+    buffer.onEvent(makeEvent(0));
+    buffer.close();
+
+    var metrics = buffer.getMetrics();
+    assertEquals(List.of(0L), storage.timestamps);
+    assertEquals(4, metrics.get(WriteBehindTimeSeriesStorage.FAILED_WRITES_METRIC));
+    assertEquals(1, metrics.get(WriteBehindTimeSeriesStorage.WRITTEN_EVENTS_METRIC));
+    assertEquals(0, metrics.get(WriteBehindTimeSeriesStorage.DROPPED_EVENTS_METRIC));
+    assertEquals(0, metrics.get(WriteBehindTimeSeriesStorage.QUEUE_SIZE_METRIC));
+    assertEquals(7, metrics.get("storage.metric"));
+  }
+
+  private static Event makeEvent(long timestamp) {
+    return EventFactory.fromMap(
+        Map.of("timestamp", timestamp),
+        new SourceInfo("source", "s0"),
+        new SchemaInfo(null, new ArrayList<>())
+    );
+  }
+
+  private static long timestampOf(Event event) {
+    return ((Number) event.getFieldBySelector("s0::timestamp").getAsPrimitive().getRawValue()).longValue();
+  }
+
+  private static class RecordingStorage implements ITimeSeriesStorage {
+
+    private final List<Long> timestamps = new CopyOnWriteArrayList<>();
+    private final AtomicInteger remainingFailures;
+    private volatile boolean closed;
+
+    RecordingStorage(int failures) {
+      this.remainingFailures = new AtomicInteger(failures);
+    }
+
+    @Override
+    public void onEvent(Event event) throws SpRuntimeException {
+      if (remainingFailures.getAndDecrement() > 0) {
+        throw new SpRuntimeException(new IOException("Storage unavailable"));
+      }
+      timestamps.add(timestampOf(event));
+    }
+
+    @Override
+    public void close() throws SpRuntimeException {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.cache;
+
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
+import org.apache.streampipes.model.datalake.param.SupportedRestQueryParams;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class QueryResultCacheTest {
+
+  private static final String MEASUREMENT = "measurement";
+  private static final long NOW = 1_000_000_000L;
+  private static final long CLOSED_RANGE_TTL = 600000;
+
+  private long now;
+  private AtomicInteger queries;
+
+  @BeforeEach
+  public void setUp() {
+    now = NOW;
+    queries = new AtomicInteger();
+  }
+
+  @Test
+  public void closedRangeIsServedFromCache() {
+    var cache = new QueryResultCache(10, 1000, 5000, CLOSED_RANGE_TTL, () -> now);
+    var key = makeKey(0L, NOW - 120000);
+
+    var first = cache.get(key, this::query);
+    now += CLOSED_RANGE_TTL - 1;
+    var second = cache.get(key, this::query);
+
+    assertSame(first, second);
+    assertEquals(1, queries.get());
+  }
+
+  @Test
+  public void closedRangeExpiresAfterTtl() {
+    var cache = new QueryResultCache(10, 1000, 5000, CLOSED_RANGE_TTL, () -> now);
+    var key = makeKey(0L, NOW - 120000);
+
+    cache.get(key, this::query);
+    now += CLOSED_RANGE_TTL;
+    cache.get(key, this::query);
+
+    assertEquals(2, queries.get());
+  }
+
+  @Test
+  public void concurrentMissesExecuteQueryOnce() throws Exception {
+    var cache = new QueryResultCache(10, 1000, 0, CLOSED_RANGE_TTL, () -> now);
+    var key = makeKey(0L, null);
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+
+    var first = new Thread(() -> cache.get(key, () -> {
+      started.countDown();
+      awaitQuietly(release);
+      return query();
+    }));
+    first.start();
+    started.await();
+
+    var second = new AtomicReference<SpQueryResult>();
+    var waiting = new Thread(() -> second.set(cache.get(key, this::query)));
+    waiting.start();
+    while (waiting.getState() != Thread.State.WAITING && waiting.isAlive()) {
+      Thread.sleep(1);
+    }
+    release.countDown();
+    first.join();
+    waiting.join();
+
+    assertEquals(1, queries.get());
+    assertNotNull(second.get());
+  }
+
+  @Test
+  public void keyIsIndependentOfParameterOrder() {
+    var cache = new QueryResultCache(10, 1000, 5000, CLOSED_RANGE_TTL, () -> now);
+    var first = new ProvidedRestQueryParams(MEASUREMENT, new HashMap<>(Map.of("columns", "a", "limit", "10")));
+    var second = new ProvidedRestQueryParams(MEASUREMENT, new HashMap<>(Map.of("limit", "10", "columns", "a")));
+
+    cache.get(QueryCacheKey.from(first, true), this::query);
+    cache.get(QueryCacheKey.from(second, true), this::query);
+
+    assertEquals(1, queries.get());
+  }
+
+  @Test
+  public void openRangeExpiresAfterTtl() {
+    var cache = new QueryResultCache(10, 1000, 5000, CLOSED_RANGE_TTL, () -> now);
+    var key = makeKey(0L, null);
+
+    cache.get(key, this::query);
+    now += 1000;
+    cache.get(key, this::query);
+    assertEquals(1, queries.get());
+
+    now += 5000;
+    cache.get(key, this::query);
+    assertEquals(2, queries.get());
+  }
+
+  @Test
+  public void writeInvalidatesOverlappingEntries() {
+    var cache = new QueryResultCache(10, 1000, 5000, CLOSED_RANGE_TTL, () -> now);
+    var older = makeKey(0L, 1000L);
+    var newer = makeKey(2000L, 3000L);
+    cache.get(older, this::query);
+    cache.get(newer, this::query);
+
+    cache.onWrite(MEASUREMENT, 2500L);
+    cache.onWrite(MEASUREMENT, 5000L);
+
+    cache.get(older, this::query);
+    cache.get(newer, this::query);
+    assertEquals(3, queries.get());
+  }
+
+  @Test
+  public void deleteInvalidatesMeasurement() {
+    var cache = new QueryResultCache(10, 1000, 5000, CLOSED_RANGE_TTL, () -> now);
+    var key = makeKey(0L, 1000L);
+    cache.get(key, this::query);
+
+    cache.invalidate(MEASUREMENT, null, null);
+
+    cache.get(key, this::query);
+    assertEquals(2, queries.get());
+  }
+
+  @Test
+  public void leastRecentlyUsedEntriesAreEvicted() {
+    var cache = new QueryResultCache(2, 1000, 5000, CLOSED_RANGE_TTL, () -> now);
+    var first = makeKey(0L, 1000L);
+    var second = makeKey(0L, 2000L);
+    var third = makeKey(0L, 3000L);
+
+    cache.get(first, this::query);
+    cache.get(second, this::query);
+    cache.get(first, this::query);
+    cache.get(third, this::query);
+    assertEquals(2, cache.size());
+
+    cache.get(first, this::query);
+    assertEquals(3, queries.get());
+    cache.get(second, this::query);
+    assertEquals(4, queries.get());
+  }
+
+  @Test
+  public void entriesAreBoundedByValues() {
+    var cache = new QueryResultCache(10, 5, 5000, CLOSED_RANGE_TTL, () -> now);
+    var first = makeKey(0L, 1000L);
+    var second = makeKey(0L, 2000L);
+
+    cache.get(first, this::query);
+    cache.get(second, this::query);
+
+    assertEquals(1, cache.size());
+  }
+
+  private QueryCacheKey makeKey(Long startDate,
+                                Long endDate) {
+    var params = new ProvidedRestQueryParams(MEASUREMENT, new HashMap<>());
+    if (startDate != null) {
+      params.update(SupportedRestQueryParams.QP_START_DATE, startDate);
+    }
+    if (endDate != null) {
+      params.update(SupportedRestQueryParams.QP_END_DATE, endDate);
+    }
+    return QueryCacheKey.from(params, true);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private SpQueryResult query() {
+    queries.incrementAndGet();
+    List<List<Object>> rows = new ArrayList<>();
+    rows.add(List.of(1.0, 2.0));
+    rows.add(List.of(3.0, 4.0));
+    var result = new SpQueryResult();
+    result.addDataResult(new DataSeries(2, rows, List.of("time", "value"), Map.of()));
+    return result;
+  }
+}
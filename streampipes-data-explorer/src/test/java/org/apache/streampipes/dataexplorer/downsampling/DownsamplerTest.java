@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.downsampling;
+
+import org.apache.streampipes.dataexplorer.param.model.DownsamplingClauseParams;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DownsamplerTest {
+
+  @Test
+  public void m4KeepsFirstLastMinAndMaxPerBucket() {
+    var downsampler = new M4Downsampler(0, 10);
+    double[] values = {5, 1, 9, 3, 4, 7, 7, 2, 8, 6};
+    for (int i = 0; i < values.length; i++) {
+      downsampler.accept(i, values[i]);
+    }
+    downsampler.accept(10, 1);
+
+    assertEquals(
+        List.of(
+            new DownsampledPoint(0, 5),
+            new DownsampledPoint(1, 1),
+            new DownsampledPoint(2, 9),
+            new DownsampledPoint(9, 6),
+            new DownsampledPoint(10, 1)
+        ),
+        downsampler.finish()
+    );
+  }
+
+  @Test
+  public void lttbKeepsFirstLastAndOnePointPerBucket() {
+    var downsampler = new LttbDownsampler(0, 10);
+    for (int i = 0; i < 40; i++) {
+      downsampler.accept(i, i == 15 ? 100 : 0);
+    }
+
+    var result = downsampler.finish();
+
+    assertEquals(6, result.size());
+    assertEquals(new DownsampledPoint(0, 0), result.get(0));
+    assertEquals(new DownsampledPoint(15, 100), result.get(2));
+    assertEquals(new DownsampledPoint(39, 0), result.get(5));
+  }
+
+  @Test
+  public void rowConsumerCombinesDownsampledColumns() {
+    var consumer = new DownsamplingRowConsumer(DownsamplingClauseParams.from("M4", 4, 0, 99));
+    var columns = List.of("time", "a", "b");
+    for (int i = 0; i < 100; i++) {
+      consumer.accept(columns, List.of((double) i, (double) i, i % 2 == 0 ? "x" : "y"));
+    }
+
+    var result = consumer.toQueryResult();
+
+    assertEquals(List.of("time", "a"), result.getHeaders());
+    assertEquals(2, result.getTotal());
+    assertEquals(List.of(0.0, 0.0), result.getAllDataSeries().get(0).getRows().get(0));
+    assertEquals(List.of(99.0, 99.0), result.getAllDataSeries().get(0).getRows().get(1));
+  }
+
+  @Test
+  public void rowConsumerWithoutValues() {
+    var consumer = new DownsamplingRowConsumer(DownsamplingClauseParams.from("LTTB", 10, 0, 99));
+
+    assertNull(consumer.toQueryResult().getHeaders());
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.downsampling;
+
+import org.apache.streampipes.dataexplorer.param.model.DownsamplingClauseParams;
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
+import org.apache.streampipes.model.datalake.param.SupportedRestQueryParams;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class M4QueryPlanTest {
+
+  @Test
+  public void rewritesColumnsToGroupedM4Query() {
+    var plan = M4QueryPlan.from(makeParams("value"), DownsamplingClauseParams.from("M4", 400, 0, 99999));
+
+    assertTrue(plan.isPresent());
+    var params = plan.get().getQueryParams();
+    assertEquals(
+        "[value;FIRST;value_m4_first],[value;MIN;value_m4_min],[value;MAX;value_m4_max],[value;LAST;value_m4_last]",
+        params.getAsString(SupportedRestQueryParams.QP_COLUMNS)
+    );
+    assertEquals("1000ms", params.getAsString(SupportedRestQueryParams.QP_TIME_INTERVAL));
+    assertFalse(params.has(SupportedRestQueryParams.QP_DOWNSAMPLING));
+  }
+
+  @Test
+  public void doesNotRewriteAggregatedColumns() {
+    var plan = M4QueryPlan.from(makeParams("[value;MEAN;mean_value]"), DownsamplingClauseParams.from("M4", 400, 0, 1));
+
+    assertFalse(plan.isPresent());
+  }
+
+  @Test
+  public void expandsBucketsIntoPoints() {
+    var plan = M4QueryPlan.from(makeParams("value"), DownsamplingClauseParams.from("M4", 400, 0, 99999)).get();
+    var headers = List.of("time", "value_m4_first", "value_m4_min", "value_m4_max", "value_m4_last");
+    var rows = new ArrayList<List<Object>>();
+    rows.add(List.of(0.0, 5.0, 1.0, 9.0, 3.0));
+    var result = new SpQueryResult(1, headers, List.of(new DataSeries(1, rows, headers, Map.of())));
+
+    plan.postProcess(result);
+
+    assertEquals(List.of("time", "value"), result.getHeaders());
+    assertEquals(4, result.getTotal());
+    assertEquals(
+        List.of(List.of(0.0, 5.0), List.of(333.0, 9.0), List.of(666.0, 1.0), List.of(999.0, 3.0)),
+        result.getAllDataSeries().get(0).getRows()
+    );
+  }
+
+  private ProvidedRestQueryParams makeParams(String columns) {
+    var params = new ProvidedRestQueryParams("test", new HashMap<>());
+    params.update(SupportedRestQueryParams.QP_COLUMNS, columns);
+    params.update(SupportedRestQueryParams.QP_DOWNSAMPLING, "M4");
+    params.update(SupportedRestQueryParams.QP_START_DATE, 0L);
+    params.update(SupportedRestQueryParams.QP_END_DATE, 99999L);
+    return params;
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.image;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import org.lightcouch.Response;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CouchDbImageBlobStoreTest {
+
+  @Test
+  public void conflictOfExistingDocumentIsNoFailure() {
+    assertFalse(CouchDbImageBlobStore.isFailed(response("{\"id\":\"a\",\"rev\":\"1-a\"}")));
+    assertFalse(CouchDbImageBlobStore.isFailed(response("{\"id\":\"a\",\"error\":\"conflict\"}")));
+    assertTrue(CouchDbImageBlobStore.isFailed(response("{\"id\":\"a\",\"error\":\"forbidden\"}")));
+  }
+
+  private static Response response(String json) {
+    return new Gson().fromJson(json, Response.class);
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.image;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FileSystemImageBlobStoreTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  public void storesImagesByContent() throws Exception {
+    var store = new FileSystemImageBlobStore(directory);
+    var first = store.makeId("aW1hZ2U=");
+    var second = store.makeId("b3RoZXI=");
+
+    assertEquals(64, first.length());
+    assertEquals(first, store.makeId("aW1hZ2U="));
+    assertNotEquals(first, second);
+
+    store.storeAll(List.of(new ImageBlob(first, "aW1hZ2U="), new ImageBlob(second, "b3RoZXI=")));
+    store.storeAll(List.of(new ImageBlob(first, "aW1hZ2U=")));
+
+    try (var image = store.read(first)) {
+      assertArrayEquals("image".getBytes(StandardCharsets.UTF_8), image.readAllBytes());
+    }
+    try (var files = Files.walk(directory)) {
+      assertEquals(2, files.filter(Files::isRegularFile).count());
+    }
+  }
+
+  @Test
+  public void rejectsInvalidIds() {
+    var store = new FileSystemImageBlobStore(directory);
+
+    assertThrows(IllegalArgumentException.class, () -> store.read("../secret"));
+    assertThrows(IllegalArgumentException.class, () -> store.read(null));
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.rollup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RollupAggregatorTest {
+
+  private static final long MINUTE = 60000;
+
+  @Test
+  public void closesBucketsOnceLaterBucketStarts() {
+    var aggregator = new RollupAggregator(RollupTiers.parse("1m,1h"));
+    var closed = new ArrayList<RollupBucket>();
+
+    addValue(aggregator, closed, 0, 1.0);
+    addValue(aggregator, closed, 30000, 3.0);
+    addValue(aggregator, closed, MINUTE + 1, 5.0);
+
+    assertEquals(1, closed.size());
+    var bucket = closed.get(0);
+    assertEquals("1m", bucket.tier().getName());
+    assertEquals(0, bucket.bucketStart());
+    var aggregate = bucket.fields().get("value");
+    assertEquals(1.0, aggregate.getMin());
+    assertEquals(3.0, aggregate.getMax());
+    assertEquals(4.0, aggregate.getSum());
+    assertEquals(2, aggregate.getCount());
+
+    aggregator.flush(closed::add);
+    assertEquals(3, closed.size());
+    assertEquals(MINUTE, closed.get(1).bucketStart());
+    assertEquals(3, closed.get(2).fields().get("value").getCount());
+  }
+
+  @Test
+  public void writesFlushedBucketsAtTheirLatestTimestamp() {
+    var aggregator = new RollupAggregator(RollupTiers.parse("1m"));
+    var closed = new ArrayList<RollupBucket>();
+
+    addValue(aggregator, closed, 10000, 1.0);
+    addValue(aggregator, closed, MINUTE + 20000, 2.0);
+    aggregator.flush(closed::add);
+
+    assertEquals(0, closed.get(0).bucketStart());
+    assertEquals(0, closed.get(0).timestamp());
+    assertEquals(MINUTE, closed.get(1).bucketStart());
+    assertEquals(MINUTE + 20000, closed.get(1).timestamp());
+
+    var restarted = new RollupAggregator(RollupTiers.parse("1m"));
+    addValue(restarted, closed, MINUTE + 30000, 3.0);
+    addValue(restarted, closed, 2 * MINUTE, 4.0);
+
+    assertEquals(MINUTE, closed.get(2).bucketStart());
+    assertEquals(MINUTE, closed.get(2).timestamp());
+  }
+
+  @Test
+  public void writesCorrectionBucketsForLateEventsPerTier() {
+    var aggregator = new RollupAggregator(RollupTiers.parse("1m,1h"));
+    var closed = new ArrayList<RollupBucket>();
+
+    addValue(aggregator, closed, 2 * MINUTE, 1.0);
+    addValue(aggregator, closed, MINUTE + 10000, 2.0);
+    addValue(aggregator, closed, MINUTE + 5000, 3.0);
+    addValue(aggregator, closed, 3 * MINUTE, 4.0);
+
+    assertEquals(2, aggregator.getLateEvents());
+    assertEquals(0, aggregator.getDroppedLateEvents());
+    assertEquals(2, closed.size());
+    assertEquals(2 * MINUTE, closed.get(0).timestamp());
+    var correction = closed.get(1);
+    assertEquals(MINUTE, correction.bucketStart());
+    assertEquals(MINUTE + 10000, correction.timestamp());
+    assertEquals(2, correction.fields().get("value").getCount());
+    assertEquals(5.0, correction.fields().get("value").getSum());
+
+    addValue(aggregator, closed, MINUTE, 5.0);
+    aggregator.flush(closed::add);
+
+    assertEquals(5, closed.size());
+    assertEquals(3 * MINUTE, closed.get(2).bucketStart());
+    assertEquals(MINUTE, closed.get(3).bucketStart());
+    assertEquals(MINUTE + 1, closed.get(3).timestamp());
+    assertEquals(1, closed.get(3).fields().get("value").getCount());
+    assertEquals("1h", closed.get(4).tier().getName());
+    assertEquals(5, closed.get(4).fields().get("value").getCount());
+  }
+
+  @Test
+  public void dropsLateEventsOfTooManyBuckets() {
+    var aggregator = new RollupAggregator(RollupTiers.parse("1m"));
+    var closed = new ArrayList<RollupBucket>();
+
+    addValue(aggregator, closed, (RollupAggregator.MAX_LATE_BUCKETS + 1) * MINUTE, 1.0);
+    for (int i = 0; i <= RollupAggregator.MAX_LATE_BUCKETS; i++) {
+      addValue(aggregator, closed, i * MINUTE, 2.0);
+    }
+    aggregator.flush(closed::add);
+
+    assertEquals(RollupAggregator.MAX_LATE_BUCKETS + 1, aggregator.getLateEvents());
+    assertEquals(1, aggregator.getDroppedLateEvents());
+    assertEquals(RollupAggregator.MAX_LATE_BUCKETS + 1, closed.size());
+  }
+
+  @Test
+  public void skipsEventsWithoutTimestamp() {
+    var aggregator = new RollupAggregator(RollupTiers.parse("1m"));
+    var closed = new ArrayList<RollupBucket>();
+
+    aggregator.skip();
+    aggregator.add("value", 1.0);
+    aggregator.flush(closed::add);
+
+    assertTrue(closed.isEmpty());
+  }
+
+  @Test
+  public void parsesTiersByInterval() {
+    var tiers = RollupTiers.parse("1d, 1m,60s,1h");
+
+    assertEquals(List.of("1m", "1h", "1d"), tiers.stream().map(t -> t.getName()).toList());
+    assertEquals(24 * 60 * MINUTE, tiers.get(2).getIntervalMs());
+    assertTrue(RollupTiers.parse("").isEmpty());
+  }
+
+  private void addValue(RollupAggregator aggregator,
+                        List<RollupBucket> closed,
+                        long timestamp,
+                        double value) {
+    aggregator.advance(timestamp, closed::add);
+    aggregator.add("value", value);
+  }
+}
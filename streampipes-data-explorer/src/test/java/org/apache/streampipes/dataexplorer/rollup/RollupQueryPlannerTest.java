@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.rollup;
+
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.datalake.DataSeries;
+import org.apache.streampipes.model.datalake.SpQueryResult;
+import org.apache.streampipes.model.datalake.param.ProvidedRestQueryParams;
+import org.apache.streampipes.model.datalake.param.SupportedRestQueryParams;
+import org.apache.streampipes.test.generator.EventPropertyPrimitiveTestBuilder;
+import org.apache.streampipes.test.generator.EventSchemaTestBuilder;
+import org.apache.streampipes.vocabulary.XSD;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RollupQueryPlannerTest {
+
+  private static final long HOUR = 3600000;
+  private static final long NOW = 1000 * HOUR;
+
+  private DataLakeMeasure measure;
+  private RollupQueryPlanner planner;
+
+  @BeforeEach
+  public void setUp() {
+    measure = new DataLakeMeasure();
+    measure.setMeasureName("test");
+    measure.setEventSchema(EventSchemaTestBuilder
+        .create()
+        .withEventProperties(List.of(
+            EventPropertyPrimitiveTestBuilder.create().withRuntimeName("value").withRuntimeType(XSD.DOUBLE).build(),
+            EventPropertyPrimitiveTestBuilder.create().withRuntimeName("name").withRuntimeType(XSD.STRING).build()
+        ))
+        .build());
+    measure.setRollupTiers(RollupTiers.parse("1m,1h"));
+    measure.getRollupTiers().forEach(tier -> tier.setActiveSince(HOUR));
+    planner = new RollupQueryPlanner(name -> Optional.of(measure), () -> NOW);
+  }
+
+  @Test
+  public void routesToCoarsestTierDividingInterval() {
+    var plan = planner.plan(makeParams("2h", "[value;MAX;max_value]"), false);
+
+    assertTrue(plan.isPresent());
+    assertEquals("1h", plan.get().getTier().getName());
+    assertEquals("test_rollup_1h", plan.get().getQueryParams().getMeasurementId());
+    assertEquals(
+        "[value_max;MAX;max_value]",
+        plan.get().getQueryParams().getAsString(SupportedRestQueryParams.QP_COLUMNS)
+    );
+    assertEquals(2 * HOUR, plan.get().getQueryParams().getAsLong(SupportedRestQueryParams.QP_START_DATE));
+  }
+
+  @Test
+  public void roundsAutoAggregatedInterval() {
+    var plan = planner.plan(makeParams("150000ms", "[value;MIN;min_value]"), true);
+
+    assertTrue(plan.isPresent());
+    assertEquals("1m", plan.get().getTier().getName());
+    assertEquals("120000ms", plan.get().getQueryParams().getAsString(SupportedRestQueryParams.QP_TIME_INTERVAL));
+  }
+
+  @Test
+  public void doesNotRouteUnsupportedQueries() {
+    assertFalse(planner.plan(makeParams("90s", "[value;MAX;max_value]"), false).isPresent());
+    assertFalse(planner.plan(makeParams("1h", "[value;FIRST;first_value]"), false).isPresent());
+    assertFalse(planner.plan(makeParams("1h", "[name;COUNT;count_name]"), false).isPresent());
+
+    var filtered = makeParams("1h", "[value;MAX;max_value]");
+    filtered.update(SupportedRestQueryParams.QP_FILTER, "[value;>;1]");
+    assertFalse(planner.plan(filtered, false).isPresent());
+
+    var beforeActivation = makeParams("1h", "[value;MAX;max_value]");
+    beforeActivation.update(SupportedRestQueryParams.QP_START_DATE, 0L);
+    assertFalse(planner.plan(beforeActivation, false).isPresent());
+
+    var recent = makeParams("1h", "[value;MAX;max_value]");
+    recent.update(SupportedRestQueryParams.QP_END_DATE, NOW - HOUR);
+    assertEquals("1m", planner.plan(recent, false).get().getTier().getName());
+  }
+
+  @Test
+  public void combinesMeanFromSumAndCount() {
+    var plan = planner.plan(makeParams("1h", "[value;MEAN;mean_value],[value;COUNT;count_value]"), false);
+
+    assertTrue(plan.isPresent());
+    assertEquals(
+        "[value_sum;SUM;mean_value_rollup_sum],[value_count;SUM;mean_value_rollup_count],"
+            + "[value_count;SUM;count_value]",
+        plan.get().getQueryParams().getAsString(SupportedRestQueryParams.QP_COLUMNS)
+    );
+
+    var headers = List.of("time", "mean_value_rollup_sum", "mean_value_rollup_count", "count_value");
+    var rows = new ArrayList<List<Object>>();
+    rows.add(List.of(2.0 * HOUR, 10.0, 4.0, 4.0));
+    var result = new SpQueryResult(1, headers, List.of(new DataSeries(1, rows, headers, Map.of())));
+
+    plan.get().postProcess(result);
+
+    assertEquals(List.of("time", "mean_value", "count_value"), result.getHeaders());
+    assertEquals(List.of("time", "mean_value", "count_value"), result.getAllDataSeries().get(0).getHeaders());
+    assertEquals(List.of(2.0 * HOUR, 2.5, 4.0), result.getAllDataSeries().get(0).getRows().get(0));
+  }
+
+  private ProvidedRestQueryParams makeParams(String timeInterval,
+                                             String columns) {
+    var params = new ProvidedRestQueryParams("test", new HashMap<>());
+    params.update(SupportedRestQueryParams.QP_COLUMNS, columns);
+    params.update(SupportedRestQueryParams.QP_TIME_INTERVAL, timeInterval);
+    params.update(SupportedRestQueryParams.QP_START_DATE, 2 * HOUR + 1000);
+    params.update(SupportedRestQueryParams.QP_END_DATE, 100 * HOUR);
+    return params;
+  }
+}
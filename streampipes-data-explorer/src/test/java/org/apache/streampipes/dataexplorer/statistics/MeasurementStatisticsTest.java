@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.statistics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MeasurementStatisticsTest {
+
+  @Test
+  public void recordWriteUpdatesRangeAndCount() {
+    var statistics = new MeasurementStatistics();
+    statistics.recordWrite(2000);
+    statistics.recordWrite(1000);
+    statistics.recordWrite(3000);
+
+    assertEquals(1000, statistics.getMinTimestamp());
+    assertEquals(3000, statistics.getMaxTimestamp());
+    assertEquals(3, statistics.getRowCount());
+  }
+
+  @Test
+  public void reconcileReplacesRangeAndCount() {
+    var statistics = new MeasurementStatistics();
+    statistics.recordWrite(5000);
+    statistics.reconcile(0, 10000, 100, 42);
+
+    assertEquals(0, statistics.getMinTimestamp());
+    assertEquals(10000, statistics.getMaxTimestamp());
+    assertEquals(100, statistics.getRowCount());
+    assertEquals(42, statistics.getLastReconciled());
+
+    statistics.reconcileEmpty(43);
+    assertTrue(statistics.isEmpty());
+  }
+
+  @Test
+  public void estimateRowCountWithinTimeRange() {
+    var statistics = new MeasurementStatistics();
+    statistics.reconcile(0, 10000, 1000, 1);
+
+    assertEquals(1000, statistics.estimateRowCount(Long.MIN_VALUE, Long.MAX_VALUE));
+    assertEquals(500, statistics.estimateRowCount(5000, 20000));
+    assertEquals(0, statistics.estimateRowCount(20000, 30000));
+  }
+}
@@ -20,36 +20,58 @@ package org.apache.streampipes.dataformat;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
-public class JsonDataFormatDefinition implements SpDataFormatDefinition {
+public class JsonDataFormatDefinition extends JacksonDataFormatDefinition {
 
   private final ObjectMapper objectMapper;
 
   public JsonDataFormatDefinition() {
-    this.objectMapper = new ObjectMapper();
+    this(new ObjectMapper());
+  }
+
+  private JsonDataFormatDefinition(ObjectMapper objectMapper) {
+    super(objectMapper, "JSON string");
+    this.objectMapper = objectMapper;
   }
 
   @Override
-  public Map<String, Object> toMap(byte[] event) throws SpRuntimeException {
-    try {
-      return objectMapper.readValue(event, HashMap.class);
+  public Map<String, Object> toMap(byte[] event,
+                                   Set<String> requiredFields) throws SpRuntimeException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(event)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new SpRuntimeException("Could not convert event to map data structure");
+      }
+      Map<String, Object> result = new HashMap<>();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String fieldName = parser.getCurrentName();
+        parser.nextToken();
+        if (requiredFields.contains(fieldName)) {
+          result.put(fieldName, objectMapper.readValue(parser, Object.class));
+        } else {
+          result.put(fieldName, skipValue(parser, event));
+        }
+      }
+      return result;
     } catch (IOException e) {
       throw new SpRuntimeException("Could not convert event to map data structure");
     }
   }
 
-  @Override
-  public byte[] fromMap(Map<String, Object> event) throws SpRuntimeException {
-    try {
-      return objectMapper.writeValueAsBytes(event);
-    } catch (JsonProcessingException e) {
-      throw new SpRuntimeException("Could not convert map data structure to JSON string");
-    }
+  private RawJsonValue skipValue(JsonParser parser,
+                                 byte[] event) throws IOException {
+    int start = (int) parser.getTokenLocation().getByteOffset();
+    parser.skipChildren();
+    // string values are decoded lazily, so the parser must consume the token to report its end
+    parser.finishToken();
+    int end = (int) parser.getCurrentLocation().getByteOffset();
+    return new RawJsonValue(event, start, end - start);
   }
 }
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A JSON value which has not been deserialized, referencing its bytes in the original message.
+ * JSON output writes the bytes unchanged, binary formats transcode the value while serializing.
+ */
+public class RawJsonValue implements JsonSerializable, Serializable {
+
+  private static final long serialVersionUID = 1L;
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final byte[] source;
+  private final int offset;
+  private final int length;
+
+  public RawJsonValue(byte[] source,
+                      int offset,
+                      int length) {
+    this.source = source;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  @Override
+  public void serialize(JsonGenerator gen,
+                        SerializerProvider serializers) throws IOException {
+    if (gen.canWriteBinaryNatively()) {
+      try (JsonParser parser = JSON_FACTORY.createParser(source, offset, length)) {
+        parser.nextToken();
+        gen.copyCurrentStructure(parser);
+      }
+    } else {
+      gen.writeRawValue(toString());
+    }
+  }
+
+  @Override
+  public void serializeWithType(JsonGenerator gen,
+                                SerializerProvider serializers,
+                                TypeSerializer typeSer) throws IOException {
+    serialize(gen, serializers);
+  }
+
+  @Override
+  public String toString() {
+    return new String(source, offset, length, StandardCharsets.UTF_8);
+  }
+}
@@ -22,10 +22,21 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 
 import java.io.Serializable;
 import java.util.Map;
+import java.util.Set;
 
 public interface SpDataFormatDefinition extends Serializable {
 
   Map<String, Object> toMap(byte[] event) throws SpRuntimeException;
 
+  /**
+   * Converts an event, but only needs to deserialize the given top-level fields.
+   * Formats which support projection keep all other fields as opaque values which are
+   * written back unchanged by {@link #fromMap(Map)}.
+   */
+  default Map<String, Object> toMap(byte[] event,
+                                    Set<String> requiredFields) throws SpRuntimeException {
+    return toMap(event);
+  }
+
   byte[] fromMap(Map<String, Object> event) throws SpRuntimeException;
 }
@@ -15,9 +15,17 @@
  * limitations under the License.
  *
  */
-
 package org.apache.streampipes.dataformat;
 
+import org.apache.streampipes.model.grounding.TransportFormat;
+
 public abstract class SpDataFormatFactory {
 
+  public abstract String getTransportFormatRdfUri();
+
+  public abstract SpDataFormatDefinition createInstance();
+
+  public TransportFormat getTransportFormat() {
+    return new TransportFormat(getTransportFormatRdfUri());
+  }
 }
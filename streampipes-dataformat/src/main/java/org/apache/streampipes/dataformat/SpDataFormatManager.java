@@ -15,10 +15,71 @@
  * limitations under the License.
  *
  */
-
 package org.apache.streampipes.dataformat;
 
-public class SpDataFormatManager {
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.TransportFormat;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public enum SpDataFormatManager {
+
+  INSTANCE;
+
+  private final List<SpDataFormatFactory> availableDataFormats;
+
+  SpDataFormatManager() {
+    this.availableDataFormats = new ArrayList<>();
+    // built-in formats can always be decoded, services announce the formats they produce via the service definition
+    this.availableDataFormats.add(new JsonDataFormatFactory());
+    this.availableDataFormats.add(new SmileDataFormatFactory());
+    this.availableDataFormats.add(new CborDataFormatFactory());
+  }
+
+  public void register(SpDataFormatFactory dataFormatDefinition) {
+    if (findFactory(dataFormatDefinition.getTransportFormatRdfUri()).isEmpty()) {
+      availableDataFormats.add(dataFormatDefinition);
+    }
+  }
+
+  public List<SpDataFormatFactory> getAvailableDataFormats() {
+    return availableDataFormats;
+  }
+
+  public Optional<SpDataFormatDefinition> findDefinition(TransportFormat transportFormat) {
+    return transportFormat
+        .getRdfType()
+        .stream()
+        .map(URI::toString)
+        .map(this::findFactory)
+        .flatMap(Optional::stream)
+        .map(SpDataFormatFactory::createInstance)
+        .findFirst();
+  }
+
+  /**
+   * Returns the data format negotiated for the given grounding, JSON is used if the grounding does not
+   * declare a transport format.
+   */
+  public SpDataFormatDefinition findDefinition(EventGrounding eventGrounding) {
+    TransportFormat transportFormat = eventGrounding != null ? eventGrounding.getTransportFormat() : null;
+    if (transportFormat == null) {
+      return getFormatDefinition();
+    }
+    return findDefinition(transportFormat)
+        .orElseThrow(() -> new SpRuntimeException("Unsupported transport format " + transportFormat.getRdfType()));
+  }
+
+  private Optional<SpDataFormatFactory> findFactory(String transportFormatRdfUri) {
+    return availableDataFormats
+        .stream()
+        .filter(f -> f.getTransportFormatRdfUri().equals(transportFormatRdfUri))
+        .findFirst();
+  }
 
   public static SpDataFormatDefinition getFormatDefinition() {
     return new JsonDataFormatDefinition();
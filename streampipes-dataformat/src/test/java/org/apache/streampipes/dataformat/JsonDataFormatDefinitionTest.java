@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataformat;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class JsonDataFormatDefinitionTest {
+
+  private static final byte[] EVENT = ("{\"timestamp\": 1700000000000, \"temperature\": 21.5, "
+      + "\"sensorId\": \"sensor\\\"01\", \"nested\": {\"values\": [1, 2, 3]}, \"valid\": true}")
+      .getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  public void testProjectionMaterializesRequiredFields() {
+    var event = new JsonDataFormatDefinition().toMap(EVENT, Set.of("temperature", "nested"));
+
+    Assertions.assertEquals(21.5, event.get("temperature"));
+    Assertions.assertEquals(Map.of("values", List.of(1, 2, 3)), event.get("nested"));
+    Assertions.assertInstanceOf(RawJsonValue.class, event.get("timestamp"));
+    Assertions.assertEquals("1700000000000", event.get("timestamp").toString());
+    Assertions.assertEquals("\"sensor\\\"01\"", event.get("sensorId").toString());
+    Assertions.assertEquals("true", event.get("valid").toString());
+  }
+
+  @Test
+  public void testSkippedFieldsArePassedThrough() {
+    var definition = new JsonDataFormatDefinition();
+    var projected = definition.toMap(EVENT, Set.of("temperature"));
+
+    var result = definition.toMap(definition.fromMap(projected));
+
+    Assertions.assertEquals(definition.toMap(EVENT), result);
+  }
+
+  @Test
+  public void testSkippedFieldsAreTranscodedToBinaryFormats() {
+    var projected = new JsonDataFormatDefinition().toMap(EVENT, Set.of());
+    var smile = new SmileDataFormatDefinition();
+
+    var result = smile.toMap(smile.fromMap(projected));
+
+    Assertions.assertEquals(new JsonDataFormatDefinition().toMap(EVENT), result);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.vocabulary.MessageFormat;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class SpDataFormatManagerTest {
+
+  private static final Map<String, Object> EVENT = Map.of(
+      "timestamp", 1700000000000L,
+      "temperature", 21.5,
+      "sensorId", "sensor01",
+      "nested", Map.of("values", List.of(1, 2, 3))
+  );
+
+  @Test
+  public void testJsonIsUsedWithoutTransportFormat() {
+    var definition = SpDataFormatManager.INSTANCE.findDefinition(new EventGrounding());
+
+    Assertions.assertInstanceOf(JsonDataFormatDefinition.class, definition);
+  }
+
+  @Test
+  public void testSmileRoundTrip() {
+    var definition = findDefinition(MessageFormat.SMILE);
+
+    Assertions.assertInstanceOf(SmileDataFormatDefinition.class, definition);
+    Assertions.assertEquals(EVENT, definition.toMap(definition.fromMap(EVENT)));
+  }
+
+  @Test
+  public void testCborRoundTrip() {
+    var definition = findDefinition(MessageFormat.CBOR);
+
+    Assertions.assertInstanceOf(CborDataFormatDefinition.class, definition);
+    Assertions.assertEquals(EVENT, definition.toMap(definition.fromMap(EVENT)));
+  }
+
+  @Test
+  public void testBinaryFormatsAreSmallerThanJson() {
+    var json = new JsonDataFormatDefinition().fromMap(EVENT);
+
+    Assertions.assertTrue(findDefinition(MessageFormat.CBOR).fromMap(EVENT).length < json.length);
+  }
+
+  private SpDataFormatDefinition findDefinition(String format) {
+    var grounding = new EventGrounding();
+    grounding.setTransportFormat(new TransportFormat(format));
+    return SpDataFormatManager.INSTANCE.findDefinition(grounding);
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.api.monitoring;
+
+import org.apache.streampipes.model.monitoring.MessageCounter;
+import org.apache.streampipes.model.monitoring.SpMetricsEntry;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe metrics of a single pipeline element, adapter or function.
+ */
+public class SpElementMetrics {
+
+  private final String resourceId;
+  private final Map<String, Counter> messagesIn;
+  private final Counter messagesOut;
+  private final LatencyHistogram processingTime;
+  private final LatencyHistogram eventTimeLag;
+  private final LatencyHistogram publishLatency;
+  private final LatencyHistogram pollLatency;
+  private final LongAdder missedPollTicks;
+  private final Map<String, LongSupplier> gauges;
+  private volatile long lastTimestamp;
+
+  public SpElementMetrics(String resourceId) {
+    this.resourceId = resourceId;
+    this.messagesIn = new ConcurrentHashMap<>();
+    this.messagesOut = new Counter();
+    this.processingTime = new LatencyHistogram();
+    this.eventTimeLag = new LatencyHistogram();
+    this.publishLatency = new LatencyHistogram();
+    this.pollLatency = new LatencyHistogram();
+    this.missedPollTicks = new LongAdder();
+    this.gauges = new ConcurrentHashMap<>();
+  }
+
+  public void increaseInCounter(String sourceInfo,
+                                long timestamp) {
+    var counter = messagesIn.get(sourceInfo);
+    if (counter == null) {
+      counter = messagesIn.computeIfAbsent(sourceInfo, key -> new Counter());
+    }
+    counter.increment(timestamp);
+    this.lastTimestamp = timestamp;
+  }
+
+  public void increaseOutCounter(long timestamp) {
+    increaseOutCounter(1, timestamp);
+  }
+
+  public void increaseOutCounter(long count,
+                                 long timestamp) {
+    messagesOut.increment(count, timestamp);
+    this.lastTimestamp = timestamp;
+  }
+
+  public String getResourceId() {
+    return resourceId;
+  }
+
+  public long getMessagesIn() {
+    return messagesIn.values().stream().mapToLong(Counter::getCount).sum();
+  }
+
+  public long getMessagesOut() {
+    return messagesOut.getCount();
+  }
+
+  public LatencyHistogram getProcessingTime() {
+    return processingTime;
+  }
+
+  public LatencyHistogram getEventTimeLag() {
+    return eventTimeLag;
+  }
+
+  public LatencyHistogram getPublishLatency() {
+    return publishLatency;
+  }
+
+  public LatencyHistogram getPollLatency() {
+    return pollLatency;
+  }
+
+  public void increaseMissedPollTicks(long count) {
+    missedPollTicks.add(count);
+  }
+
+  public long getMissedPollTicks() {
+    return missedPollTicks.sum();
+  }
+
+  /**
+   * Registers a metric which is specific to the element, e.g. the queue size of a sink. The value is read from the
+   * given supplier whenever the metrics are requested, so it is not affected by {@link #reset()}.
+   *
+   * @return false if a gauge with the given name was already registered, it is replaced then
+   */
+  public boolean registerGauge(String name,
+                               LongSupplier value) {
+    return gauges.put(name, value) == null;
+  }
+
+  public Map<String, LongSupplier> getGauges() {
+    return Collections.unmodifiableMap(gauges);
+  }
+
+  public void reset() {
+    messagesIn.clear();
+    messagesOut.reset();
+    processingTime.reset();
+    eventTimeLag.reset();
+    publishLatency.reset();
+    pollLatency.reset();
+    missedPollTicks.reset();
+    this.lastTimestamp = 0;
+  }
+
+  public SpMetricsEntry toMetricsEntry() {
+    var entry = new SpMetricsEntry();
+    entry.setLastTimestamp(lastTimestamp);
+    messagesIn.forEach((sourceInfo, counter) -> entry.getMessagesIn().put(sourceInfo, counter.toMessageCounter()));
+    entry.setMessagesOut(messagesOut.toMessageCounter());
+    entry.setProcessingTime(processingTime.toLatencyInfo());
+    entry.setEventTimeLag(eventTimeLag.toLatencyInfo());
+    entry.setPublishLatency(publishLatency.toLatencyInfo());
+    entry.setPollLatency(pollLatency.toLatencyInfo());
+    entry.setMissedPollTicks(missedPollTicks.sum());
+    gauges.forEach((name, value) -> entry.getGauges().put(name, value.getAsLong()));
+    return entry;
+  }
+
+  private static class Counter {
+
+    private final LongAdder count = new LongAdder();
+    private volatile long lastTimestamp;
+
+    void increment(long timestamp) {
+      increment(1, timestamp);
+    }
+
+    void increment(long delta,
+                   long timestamp) {
+      count.add(delta);
+      this.lastTimestamp = timestamp;
+    }
+
+    long getCount() {
+      return count.sum();
+    }
+
+    void reset() {
+      count.reset();
+      this.lastTimestamp = 0;
+    }
+
+    MessageCounter toMessageCounter() {
+      var counter = new MessageCounter();
+      counter.setCounter(count.sum());
+      counter.setLastTimestamp(lastTimestamp);
+      return counter;
+    }
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.api.monitoring;
+
+/**
+ * Is notified by the {@link SpMonitoringManager} when the metrics of a pipeline element are created or removed,
+ * e.g., to bind them to a metrics registry.
+ */
+public interface SpElementMetricsListener {
+
+  void onMetricsAdded(SpElementMetrics metrics);
+
+  void onMetricsRemoved(SpElementMetrics metrics);
+
+  /**
+   * Called when a gauge is registered for element metrics which have already been added.
+   */
+  default void onGaugeRegistered(SpElementMetrics metrics,
+                                 String name) {
+  }
+}
@@ -25,50 +25,98 @@ import org.apache.streampipes.model.monitoring.SpMetricsEntry;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
 
 public enum SpMonitoringManager {
 
   INSTANCE;
 
   private final Map<String, FixedSizeList<SpLogEntry>> logInfos;
-  private final Map<String, SpMetricsEntry> metricsInfos;
+  private final Map<String, SpElementMetrics> metricsInfos;
+  private final List<SpElementMetricsListener> metricsListeners;
 
   SpMonitoringManager() {
-    this.logInfos = new HashMap<>();
-    this.metricsInfos = new HashMap<>();
+    this.logInfos = new ConcurrentHashMap<>();
+    this.metricsInfos = new ConcurrentHashMap<>();
+    this.metricsListeners = new CopyOnWriteArrayList<>();
   }
 
   public void addErrorMessage(String resourceId,
                               SpLogEntry errorMessageEntry) {
-    if (!logInfos.containsKey(resourceId)) {
-      logInfos.put(resourceId, new FixedSizeList<>(100));
+    var logs = logInfos.computeIfAbsent(resourceId, key -> new FixedSizeList<>(100));
+    synchronized (logs) {
+      logs.add(errorMessageEntry);
     }
-    this.logInfos.get(resourceId).add(errorMessageEntry);
   }
 
   public void increaseInCounter(String resourceId,
                                 String sourceInfo,
                                 long timestamp) {
-    var currentEntry = getMetricsEntry(resourceId, timestamp);
-    currentEntry.addInMetrics(sourceInfo, timestamp);
-    this.metricsInfos.put(resourceId, currentEntry);
+    getElementMetrics(resourceId).increaseInCounter(sourceInfo, timestamp);
   }
 
+  public void increaseOutCounter(String resourceId,
+                                 long timestamp) {
+    getElementMetrics(resourceId).increaseOutCounter(timestamp);
+  }
 
   public void increaseOutCounter(String resourceId,
+                                 long count,
                                  long timestamp) {
-    var currentEntry = getMetricsEntry(resourceId, timestamp);
-    currentEntry.addOutMetrics(timestamp);
-    this.metricsInfos.put(resourceId, currentEntry);
+    getElementMetrics(resourceId).increaseOutCounter(count, timestamp);
+  }
+
+  public void recordProcessingTime(String resourceId,
+                                   long nanos) {
+    getElementMetrics(resourceId).getProcessingTime().record(nanos);
+  }
+
+  public void recordEventTimeLag(String resourceId,
+                                 long millis) {
+    getElementMetrics(resourceId).getEventTimeLag().record(millis * 1_000_000);
+  }
+
+  public void recordPublishLatency(String resourceId,
+                                   long nanos) {
+    getElementMetrics(resourceId).getPublishLatency().record(nanos);
+  }
+
+  public void recordPollLatency(String resourceId,
+                                long nanos) {
+    getElementMetrics(resourceId).getPollLatency().record(nanos);
+  }
+
+  public void increaseMissedPollTicks(String resourceId,
+                                      long count) {
+    getElementMetrics(resourceId).increaseMissedPollTicks(count);
+  }
+
+  /**
+   * Registers a metric of the given resource which is read from the supplier, see
+   * {@link SpElementMetrics#registerGauge(String, LongSupplier)}. The gauge is removed together with the metrics of
+   * the resource.
+   */
+  public void registerGauge(String resourceId,
+                            String name,
+                            LongSupplier value) {
+    var metrics = getElementMetrics(resourceId);
+    if (metrics.registerGauge(name, value)) {
+      this.metricsListeners.forEach(listener -> listener.onGaugeRegistered(metrics, name));
+    }
   }
 
   public void resetCounter(String resourceId) {
-    this.metricsInfos.put(resourceId, new SpMetricsEntry());
+    getElementMetrics(resourceId).reset();
   }
 
   public void resetLogs(String resourceId) {
-    if (this.logInfos.containsKey(resourceId)) {
-      this.logInfos.get(resourceId).clear();
+    var logs = this.logInfos.get(resourceId);
+    if (logs != null) {
+      synchronized (logs) {
+        logs.clear();
+      }
     }
   }
 
@@ -77,28 +125,64 @@ public enum SpMonitoringManager {
     this.resetLogs(resourceId);
   }
 
-  public SpMetricsEntry getMetricsEntry(String resourceId,
-                                        long timestamp) {
-    checkAndPrepareMetrics(resourceId);
-    var currentEntry = this.metricsInfos.get(resourceId);
-    currentEntry.setLastTimestamp(timestamp);
+  /**
+   * Removes the metrics of the given resource, should be called when the resource is stopped.
+   */
+  public void removeMetrics(String resourceId) {
+    var metrics = this.metricsInfos.remove(resourceId);
+    if (metrics != null) {
+      this.metricsListeners.forEach(listener -> listener.onMetricsRemoved(metrics));
+    }
+  }
+
+  /**
+   * Returns a snapshot of the current metrics of the given resource.
+   */
+  public SpMetricsEntry getMetricsEntry(String resourceId) {
+    return getElementMetrics(resourceId).toMetricsEntry();
+  }
+
+  public SpElementMetrics getElementMetrics(String resourceId) {
+    var metrics = metricsInfos.get(resourceId);
+    if (metrics == null) {
+      metrics = metricsInfos.computeIfAbsent(resourceId, this::makeElementMetrics);
+    }
+    return metrics;
+  }
+
+  /**
+   * Registers a listener which is called for existing, newly created and removed element metrics.
+   */
+  public void addMetricsListener(SpElementMetricsListener listener) {
+    this.metricsListeners.add(listener);
+    this.metricsInfos.values().forEach(listener::onMetricsAdded);
+  }
 
-    return currentEntry;
+  /**
+   * Unregisters a listener, which is not notified about any further changes of the element metrics.
+   */
+  public void removeMetricsListener(SpElementMetricsListener listener) {
+    this.metricsListeners.remove(listener);
   }
 
   public SpEndpointMonitoringInfo getMonitoringInfo() {
     var logInfos = makeLogInfos();
+    var metricsInfos = new HashMap<String, SpMetricsEntry>();
+    this.metricsInfos.forEach((key, value) -> metricsInfos.put(key, value.toMetricsEntry()));
     return new SpEndpointMonitoringInfo(logInfos, metricsInfos);
   }
 
   public void clearAllLogs() {
-    this.logInfos.forEach((key, value) -> value.clear());
+    this.logInfos.keySet().forEach(this::resetLogs);
   }
 
   private Map<String, List<SpLogEntry>> makeLogInfos() {
     var logEntries = new HashMap<String, List<SpLogEntry>>();
-    this.logInfos.forEach((key, value) ->
-        logEntries.put(key, cloneList(value.getAllItems())));
+    this.logInfos.forEach((key, value) -> {
+      synchronized (value) {
+        logEntries.put(key, cloneList(value.getAllItems()));
+      }
+    });
 
     return logEntries;
   }
@@ -107,15 +191,10 @@ public enum SpMonitoringManager {
     return allItems.stream().map(SpLogEntry::new).toList();
   }
 
-
-  private void checkAndPrepareMetrics(String resourceId) {
-    if (!metricsInfos.containsKey(resourceId)) {
-      addMetricsObject(resourceId);
-    }
-  }
-
-  private void addMetricsObject(String resourceId) {
-    this.metricsInfos.put(resourceId, new SpMetricsEntry());
+  private SpElementMetrics makeElementMetrics(String resourceId) {
+    var metrics = new SpElementMetrics(resourceId);
+    this.metricsListeners.forEach(listener -> listener.onMetricsAdded(metrics));
+    return metrics;
   }
 
 }
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.api.pe.config;
+
+import java.util.Optional;
+
+/**
+ * Defines how the events of a data processor are executed by a standalone runtime.
+ *
+ * <p>By default, events are processed sequentially on the thread of the broker consumer.
+ * Stateless processors can be executed on a pool of workers, processors with keyed state can be
+ * executed on a fixed number of partitions, so that events with the same key are processed in order.</p>
+ *
+ * <p>Runtimes fall back to sequential processing for Kafka inputs consumed by partition workers, as these
+ * workers already process partitions in parallel and commit offsets once an event has been processed.</p>
+ */
+public class ExecutionMode {
+
+  public enum Type {
+    SEQUENTIAL,
+    PARALLEL,
+    KEY_PARTITIONED
+  }
+
+  private static final ExecutionMode SEQUENTIAL = new ExecutionMode(Type.SEQUENTIAL, 1, null, null);
+
+  private final Type type;
+  private final int parallelism;
+  private final String keyMappingProperty;
+  private final String enablingSlideToggle;
+
+  private ExecutionMode(Type type,
+                        int parallelism,
+                        String keyMappingProperty,
+                        String enablingSlideToggle) {
+    this.type = type;
+    this.parallelism = parallelism;
+    this.keyMappingProperty = keyMappingProperty;
+    this.enablingSlideToggle = enablingSlideToggle;
+  }
+
+  public static ExecutionMode sequential() {
+    return SEQUENTIAL;
+  }
+
+  /**
+   * Processes events on one worker per available processor, without any ordering guarantees.
+   */
+  public static ExecutionMode parallel() {
+    return parallel(Runtime.getRuntime().availableProcessors());
+  }
+
+  public static ExecutionMode parallel(int workers) {
+    return new ExecutionMode(Type.PARALLEL, checkParallelism(workers), null, null);
+  }
+
+  /**
+   * Processes events on the given number of partitions, hashed by the value of the field
+   * selected in the mapping property with the given internal name.
+   */
+  public static ExecutionMode keyPartitioned(String keyMappingProperty,
+                                             int partitions) {
+    return new ExecutionMode(Type.KEY_PARTITIONED, checkParallelism(partitions), keyMappingProperty, null);
+  }
+
+  /**
+   * Only applies this execution mode if the slide toggle with the given internal name is enabled in the
+   * configuration of the pipeline element, so that users opt into it per pipeline. Events are processed
+   * sequentially otherwise.
+   */
+  public ExecutionMode enabledBy(String slideToggleInternalName) {
+    return new ExecutionMode(type, parallelism, keyMappingProperty, slideToggleInternalName);
+  }
+
+  private static int checkParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1");
+    }
+    return parallelism;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public Optional<String> getKeyMappingProperty() {
+    return Optional.ofNullable(keyMappingProperty);
+  }
+
+  public Optional<String> getEnablingSlideToggle() {
+    return Optional.ofNullable(enablingSlideToggle);
+  }
+}
@@ -31,4 +31,8 @@ public interface IDataProcessorConfiguration
 
   @Override
   Supplier<IStreamPipesDataProcessor> getSupplier();
+
+  default ExecutionMode getExecutionMode() {
+    return ExecutionMode.sequential();
+  }
 }
@@ -22,6 +22,7 @@ import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.constants.PropertySelectorConstants;
 import org.apache.streampipes.model.grounding.EventGrounding;
 import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.EventLayout;
 import org.apache.streampipes.model.runtime.SchemaInfo;
 import org.apache.streampipes.model.runtime.SourceInfo;
 import org.apache.streampipes.model.schema.EventSchema;
@@ -39,6 +40,7 @@ public class InputStreamParams implements Serializable {
   private final String inName;
   private final SourceInfo sourceInfo;
   private final SchemaInfo schemaInfo;
+  private final EventLayout eventLayout;
 
   public InputStreamParams(Integer streamId,
                            SpDataStream inputStream,
@@ -49,6 +51,7 @@ public class InputStreamParams implements Serializable {
     this.eventSchema = inputStream.getEventSchema();
     this.sourceInfo = makeSourceInfo(streamId);
     this.schemaInfo = makeSchemaInfo(propertyRenameRules);
+    this.eventLayout = EventLayout.compile(sourceInfo, schemaInfo);
   }
 
   private SchemaInfo makeSchemaInfo(List<PropertyRenameRule> renameRules) {
@@ -84,4 +87,8 @@ public class InputStreamParams implements Serializable {
   public SchemaInfo getSchemaInfo() {
     return schemaInfo;
   }
+
+  public EventLayout getEventLayout() {
+    return eventLayout;
+  }
 }
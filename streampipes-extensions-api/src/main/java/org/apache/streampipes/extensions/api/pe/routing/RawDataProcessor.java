@@ -18,8 +18,17 @@
 package org.apache.streampipes.extensions.api.pe.routing;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 public interface RawDataProcessor {
 
   void process(Map<String, Object> rawEvent, String sourceInfo);
+
+  /**
+   * Returns the top-level fields read from the given source, or an empty optional if all fields are read.
+   */
+  default Optional<Set<String>> getRequiredFields(String sourceInfo) {
+    return Optional.empty();
+  }
 }
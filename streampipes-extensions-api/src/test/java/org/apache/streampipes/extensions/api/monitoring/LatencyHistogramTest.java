@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.api.monitoring;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void testBucketBoundsContainValues() {
+    for (long value : new long[]{0, 1, 7, 8, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE}) {
+      var index = LatencyHistogram.bucketIndex(value);
+      Assertions.assertTrue(LatencyHistogram.bucketUpperBound(index) >= value);
+      if (index > 0) {
+        Assertions.assertTrue(LatencyHistogram.bucketUpperBound(index - 1) < value);
+      }
+    }
+  }
+
+  @Test
+  public void testQuantiles() {
+    var histogram = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+
+    Assertions.assertEquals(1000, histogram.getCount());
+    Assertions.assertEquals(1_000_000, histogram.getMaxNanos());
+    assertWithinError(500_000, histogram.getValueAtQuantile(0.5));
+    assertWithinError(990_000, histogram.getValueAtQuantile(0.99));
+    Assertions.assertEquals(1_000_000, histogram.getValueAtQuantile(1.0));
+  }
+
+  @Test
+  public void testConcurrentRecording() throws Exception {
+    var histogram = new LatencyHistogram();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    var futures = new ArrayList<Future<?>>();
+    for (int t = 0; t < 4; t++) {
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < 10_000; i++) {
+          histogram.record(i);
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    Assertions.assertEquals(40_000, histogram.getCount());
+    Assertions.assertEquals(9_999, histogram.getMaxNanos());
+  }
+
+  @Test
+  public void testReset() {
+    var histogram = new LatencyHistogram();
+    histogram.record(42);
+    histogram.reset();
+
+    Assertions.assertEquals(0, histogram.getCount());
+    Assertions.assertEquals(0, histogram.getValueAtQuantile(0.99));
+  }
+
+  private void assertWithinError(long expected, long actual) {
+    Assertions.assertTrue(Math.abs(actual - expected) <= expected * 0.125,
+        "expected " + expected + " but was " + actual);
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.api.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SpMonitoringManagerTest {
+
+  private final List<SpElementMetricsListener> listeners = new ArrayList<>();
+
+  @AfterEach
+  public void removeListeners() {
+    listeners.forEach(SpMonitoringManager.INSTANCE::removeMetricsListener);
+  }
+
+  @Test
+  public void testConcurrentCountersAreNotLost() throws Exception {
+    var resourceId = "concurrent-counter-test";
+    var manager = SpMonitoringManager.INSTANCE;
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    var futures = new ArrayList<Future<?>>();
+    for (int t = 0; t < 8; t++) {
+      var sourceInfo = "topic" + (t % 2);
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < 10_000; i++) {
+          manager.increaseInCounter(resourceId, sourceInfo, System.currentTimeMillis());
+          manager.increaseOutCounter(resourceId, System.currentTimeMillis());
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    var entry = manager.getMonitoringInfo().getMetricsInfos().get(resourceId);
+    Assertions.assertEquals(40_000, entry.getMessagesIn().get("topic0").getCounter());
+    Assertions.assertEquals(40_000, entry.getMessagesIn().get("topic1").getCounter());
+    Assertions.assertEquals(80_000, entry.getMessagesOut().getCounter());
+
+    manager.resetCounter(resourceId);
+    Assertions.assertEquals(0, manager.getMetricsEntry(resourceId).getMessagesOut().getCounter());
+  }
+
+  @Test
+  public void testListenerIsNotifiedAboutNewElements() {
+    var listener = addListener();
+
+    SpMonitoringManager.INSTANCE.recordProcessingTime("listener-test", 1000);
+
+    Assertions.assertTrue(listener.added.contains("listener-test"));
+    Assertions.assertEquals(1,
+        SpMonitoringManager.INSTANCE.getMetricsEntry("listener-test").getProcessingTime().getCount());
+  }
+
+  @Test
+  public void testRemovedMetricsAreDroppedAndListenerIsNotified() {
+    var listener = addListener();
+    SpMonitoringManager.INSTANCE.increaseOutCounter("removal-test", System.currentTimeMillis());
+
+    SpMonitoringManager.INSTANCE.removeMetrics("removal-test");
+    SpMonitoringManager.INSTANCE.removeMetrics("removal-test");
+
+    Assertions.assertEquals(List.of("removal-test"), listener.removed);
+    Assertions.assertFalse(
+        SpMonitoringManager.INSTANCE.getMonitoringInfo().getMetricsInfos().containsKey("removal-test"));
+  }
+
+  @Test
+  public void testGaugesAreReadOnRequestAndListenerIsNotified() {
+    SpMonitoringManager.INSTANCE.increaseOutCounter("gauge-test", System.currentTimeMillis());
+    var listener = addListener();
+    var value = new AtomicLong(3);
+
+    SpMonitoringManager.INSTANCE.registerGauge("gauge-test", "queue.size", value::get);
+    value.set(5);
+
+    Assertions.assertEquals(5L,
+        SpMonitoringManager.INSTANCE.getMetricsEntry("gauge-test").getGauges().get("queue.size"));
+    Assertions.assertEquals(List.of("gauge-test/queue.size"), listener.gauges);
+    SpMonitoringManager.INSTANCE.removeMetrics("gauge-test");
+  }
+
+  @Test
+  public void testRemovedListenerIsNotNotified() {
+    var listener = addListener();
+
+    SpMonitoringManager.INSTANCE.removeMetricsListener(listener);
+    SpMonitoringManager.INSTANCE.increaseOutCounter("removed-listener-test", System.currentTimeMillis());
+    SpMonitoringManager.INSTANCE.removeMetrics("removed-listener-test");
+
+    Assertions.assertFalse(listener.added.contains("removed-listener-test"));
+    Assertions.assertTrue(listener.removed.isEmpty());
+  }
+
+  private RecordingListener addListener() {
+    var listener = new RecordingListener();
+    listeners.add(listener);
+    SpMonitoringManager.INSTANCE.addMetricsListener(listener);
+    return listener;
+  }
+
+  private static class RecordingListener implements SpElementMetricsListener {
+
+    private final List<String> added = new ArrayList<>();
+    private final List<String> removed = new ArrayList<>();
+    private final List<String> gauges = new ArrayList<>();
+
+    @Override
+    public void onMetricsAdded(SpElementMetrics metrics) {
+      added.add(metrics.getResourceId());
+    }
+
+    @Override
+    public void onMetricsRemoved(SpElementMetrics metrics) {
+      removed.add(metrics.getResourceId());
+    }
+
+    @Override
+    public void onGaugeRegistered(SpElementMetrics metrics,
+                                  String name) {
+      gauges.add(metrics.getResourceId() + "/" + name);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.api.pe.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+public class ExecutionModeTest {
+
+  @Test
+  public void testSequentialIsNotOptIn() {
+    var mode = ExecutionMode.sequential();
+
+    Assertions.assertEquals(ExecutionMode.Type.SEQUENTIAL, mode.getType());
+    Assertions.assertEquals(1, mode.getParallelism());
+    Assertions.assertEquals(Optional.empty(), mode.getEnablingSlideToggle());
+  }
+
+  @Test
+  public void testEnabledByKeepsModeAndLeavesOriginalUnchanged() {
+    var mode = ExecutionMode.keyPartitioned("key", 4);
+    var optIn = mode.enabledBy("toggle");
+
+    Assertions.assertEquals(ExecutionMode.Type.KEY_PARTITIONED, optIn.getType());
+    Assertions.assertEquals(4, optIn.getParallelism());
+    Assertions.assertEquals(Optional.of("key"), optIn.getKeyMappingProperty());
+    Assertions.assertEquals(Optional.of("toggle"), optIn.getEnablingSlideToggle());
+    Assertions.assertEquals(Optional.empty(), mode.getEnablingSlideToggle());
+  }
+
+  @Test
+  public void testParallelismMustBePositive() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> ExecutionMode.parallel(0));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> ExecutionMode.keyPartitioned("key", -1));
+  }
+}
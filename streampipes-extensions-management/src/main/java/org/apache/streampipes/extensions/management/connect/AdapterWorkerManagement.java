@@ -103,6 +103,7 @@ public class AdapterWorkerManagement {
   }
 
   private void resetMonitoring(String elementId) {
-    SpMonitoringManager.INSTANCE.reset(elementId);
+    SpMonitoringManager.INSTANCE.resetLogs(elementId);
+    SpMonitoringManager.INSTANCE.removeMetrics(elementId);
   }
 }
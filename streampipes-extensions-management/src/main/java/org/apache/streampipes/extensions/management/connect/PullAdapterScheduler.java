@@ -18,6 +18,7 @@
 
 package org.apache.streampipes.extensions.management.connect;
 
+import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.extensions.api.connect.IPullAdapter;
 import org.apache.streampipes.extensions.api.monitoring.SpMonitoringManager;
 import org.apache.streampipes.model.monitoring.SpLogEntry;
@@ -27,48 +28,140 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 
+/**
+ * Polls a pull adapter at a fixed rate on a scheduler shared by all pull adapters of the service.
+ * <p>
+ * Polling ticks are derived from the time the adapter was scheduled, so the polling interval does not drift by the
+ * duration of each poll. If a poll takes longer than the polling interval, the ticks which passed in the meantime are
+ * skipped instead of being executed back-to-back. The poll latency and the number of skipped ticks are reported to
+ * the {@link SpMonitoringManager}.
+ */
 public class PullAdapterScheduler {
 
   protected static final Logger LOG = LoggerFactory.getLogger(PullAdapterScheduler.class);
 
-  private ScheduledExecutorService scheduler;
+  private static final ScheduledExecutorService SHARED_SCHEDULER = makeSharedScheduler();
+
+  private final ScheduledExecutorService scheduler;
+  private final LongSupplier nanoClock;
+
+  private ScheduledFuture<?> nextPoll;
+  private boolean stopped;
+
+  public PullAdapterScheduler() {
+    this(SHARED_SCHEDULER, System::nanoTime);
+  }
+
+  PullAdapterScheduler(ScheduledExecutorService scheduler,
+                       LongSupplier nanoClock) {
+    this.scheduler = scheduler;
+    this.nanoClock = nanoClock;
+  }
 
   public void schedule(IPullAdapter pullAdapter,
                        String adapterElementId) {
-    scheduler = Executors.newSingleThreadScheduledExecutor();
-    final Runnable task = new Runnable() {
-      @Override
-      public void run() {
-        try {
-          pullAdapter.pullData();
-        } catch (ExecutionException | InterruptedException | TimeoutException e) {
+    var pollingInterval = pullAdapter.getPollingInterval();
+    var periodNanos = Math.max(1, pollingInterval.timeUnit().toNanos(pollingInterval.value()));
+    var task = new PollTask(pullAdapter, adapterElementId, periodNanos);
+    task.scheduleFirst(nanoClock.getAsLong());
+  }
+
+  public synchronized void shutdown() {
+    stopped = true;
+    if (nextPoll != null) {
+      nextPoll.cancel(true);
+    }
+  }
+
+  private synchronized void scheduleAt(Runnable task,
+                                       long delayNanos) {
+    if (!stopped) {
+      nextPoll = scheduler.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private synchronized boolean isStopped() {
+    return stopped;
+  }
+
+  private static ScheduledExecutorService makeSharedScheduler() {
+    var threads = Math.max(1, Environments.getEnvironment().getPullAdapterSchedulerThreads().getValueOrDefault());
+    var threadCount = new AtomicInteger();
+    var executor = new ScheduledThreadPoolExecutor(threads, runnable -> {
+      var thread = new Thread(runnable, "pull-adapter-scheduler-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  private class PollTask implements Runnable {
+
+    private final IPullAdapter pullAdapter;
+    private final String adapterElementId;
+    private final long periodNanos;
+
+    private long nextTick;
+    private boolean overrunReported;
+
+    PollTask(IPullAdapter pullAdapter,
+             String adapterElementId,
+             long periodNanos) {
+      this.pullAdapter = pullAdapter;
+      this.adapterElementId = adapterElementId;
+      this.periodNanos = periodNanos;
+    }
+
+    void scheduleFirst(long now) {
+      nextTick = now + periodNanos;
+      scheduleAt(this, periodNanos);
+    }
+
+    @Override
+    public void run() {
+      long start = nanoClock.getAsLong();
+      try {
+        pullAdapter.pullData();
+      } catch (ExecutionException | InterruptedException | TimeoutException | RuntimeException e) {
+        if (!isStopped()) {
           LOG.error("Error while pulling data", e);
           SpMonitoringManager.INSTANCE.addErrorMessage(
               adapterElementId,
               SpLogEntry.from(System.currentTimeMillis(), SpLogMessage.from(e))
           );
-        } finally {
-          scheduler.schedule(
-              this,
-              pullAdapter.getPollingInterval().value(),
-              pullAdapter.getPollingInterval().timeUnit()
-          );
+        }
+      } finally {
+        // the metrics of the adapter are removed once it is stopped
+        if (!isStopped()) {
+          long end = nanoClock.getAsLong();
+          SpMonitoringManager.INSTANCE.recordPollLatency(adapterElementId, end - start);
+          scheduleNext(end);
         }
       }
-    };
+    }
 
-    scheduler.schedule(
-        task,
-        pullAdapter.getPollingInterval().value(),
-        pullAdapter.getPollingInterval().timeUnit()
-    );
-  }
-
-  public void shutdown() {
-    scheduler.shutdownNow();
+    private void scheduleNext(long now) {
+      nextTick += periodNanos;
+      if (now > nextTick) {
+        long missedTicks = (now - nextTick) / periodNanos + 1;
+        nextTick += missedTicks * periodNanos;
+        SpMonitoringManager.INSTANCE.increaseMissedPollTicks(adapterElementId, missedTicks);
+        if (!overrunReported) {
+          LOG.warn("Polling adapter {} took longer than its polling interval, skipping {} ticks",
+              adapterElementId, missedTicks);
+          overrunReported = true;
+        }
+      }
+      scheduleAt(this, nextTick - now);
+    }
   }
 }
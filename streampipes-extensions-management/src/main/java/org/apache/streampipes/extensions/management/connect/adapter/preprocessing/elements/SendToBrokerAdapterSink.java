@@ -65,7 +65,11 @@ public class SendToBrokerAdapterSink implements IAdapterPipelineElement {
   public Map<String, Object> process(Map<String, Object> event) {
     try {
       if (event != null) {
+        var start = System.nanoTime();
         sendToBroker(dataFormatDefinition.fromMap(event));
+        SpMonitoringManager.INSTANCE.recordPublishLatency(
+            adapterDescription.getElementId(),
+            System.nanoTime() - start);
         SpMonitoringManager.INSTANCE.increaseOutCounter(
             adapterDescription.getElementId(),
             System.currentTimeMillis());
@@ -18,6 +18,9 @@
 
 package org.apache.streampipes.extensions.management.init;
 
+import org.apache.streampipes.dataformat.JsonDataFormatFactory;
+import org.apache.streampipes.dataformat.SpDataFormatFactory;
+import org.apache.streampipes.dataformat.SpDataFormatManager;
 import org.apache.streampipes.extensions.api.connect.StreamPipesAdapter;
 import org.apache.streampipes.extensions.api.declarer.IStreamPipesFunctionDeclarer;
 import org.apache.streampipes.extensions.api.pe.IStreamPipesDataProcessor;
@@ -28,6 +31,7 @@ import org.apache.streampipes.extensions.api.pe.runtime.IStreamPipesRuntimeProvi
 import org.apache.streampipes.extensions.management.model.SpServiceDefinition;
 import org.apache.streampipes.messaging.SpProtocolDefinitionFactory;
 import org.apache.streampipes.messaging.SpProtocolManager;
+import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.util.Cloner;
 
@@ -53,6 +57,7 @@ public class DeclarersSingleton implements IDeclarersSingleton {
   private final Map<String, IStreamPipesFunctionDeclarer> functions;
 
   private final Map<String, TransportProtocol> supportedProtocols;
+  private final Map<String, TransportFormat> supportedFormats;
   private final Map<String, StreamPipesAdapter> adapters;
 
   private List<IStreamPipesRuntimeProvider> runtimeProviders;
@@ -70,6 +75,7 @@ public class DeclarersSingleton implements IDeclarersSingleton {
     this.dataSinks = new HashMap<>();
     this.dataStreams = new HashMap<>();
     this.supportedProtocols = new HashMap<>();
+    this.supportedFormats = new HashMap<>();
     this.adapters = new HashMap<>();
     this.functions = new HashMap<>();
     this.runtimeProviders = new ArrayList<>();
@@ -92,6 +98,7 @@ public class DeclarersSingleton implements IDeclarersSingleton {
     this.serviceId = serviceDef.getServiceId();
     this.serviceGroup = serviceDef.getServiceGroup();
     this.registerProtocols(serviceDef.getProtocolDefinitionFactories());
+    this.registerDataFormats(serviceDef.getDataFormatFactories());
     this.runtimeProviders = serviceDef.getRuntimeProviders();
     serviceDef.getAdapters().forEach(a -> this.adapters.put(a.declareConfig().getAdapterDescription().getAppId(), a));
     serviceDef.getFunctions().forEach(f -> this.functions.put(f.getFunctionConfig().getFunctionId().getId(), f));
@@ -135,6 +142,16 @@ public class DeclarersSingleton implements IDeclarersSingleton {
     protocols.forEach(this::registerProtocol);
   }
 
+  public void registerDataFormat(SpDataFormatFactory dataFormat) {
+    SpDataFormatManager.INSTANCE.register(dataFormat);
+    this.supportedFormats.put(dataFormat.getTransportFormatRdfUri(),
+        dataFormat.getTransportFormat());
+  }
+
+  public void registerDataFormats(List<SpDataFormatFactory> dataFormats) {
+    dataFormats.forEach(this::registerDataFormat);
+  }
+
   private void addDataProcessor(IStreamPipesDataProcessor dataProcessor) {
     dataProcessors.put(dataProcessor.declareConfig().getDescription().getAppId(), dataProcessor);
   }
@@ -168,6 +185,21 @@ public class DeclarersSingleton implements IDeclarersSingleton {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Returns all data formats supported by this service, JSON is always included.
+   */
+  public List<TransportFormat> getSupportedFormats() {
+    List<TransportFormat> formats = new ArrayList<>();
+    formats.add(new JsonDataFormatFactory().getTransportFormat());
+    this.supportedFormats
+        .values()
+        .stream()
+        .filter(f -> !f.getRdfType().equals(formats.get(0).getRdfType()))
+        .map(TransportFormat::new)
+        .forEach(formats::add);
+    return formats;
+  }
+
   public int getPort() {
     return this.port;
   }
@@ -17,6 +17,7 @@
  */
 package org.apache.streampipes.extensions.management.model;
 
+import org.apache.streampipes.dataformat.SpDataFormatFactory;
 import org.apache.streampipes.extensions.api.connect.StreamPipesAdapter;
 import org.apache.streampipes.extensions.api.declarer.IStreamPipesFunctionDeclarer;
 import org.apache.streampipes.extensions.api.migration.IModelMigrator;
@@ -41,6 +42,7 @@ public class SpServiceDefinition {
 
   private List<IStreamPipesPipelineElement<?>> pipelineElements;
   private List<SpProtocolDefinitionFactory<?>> protocolDefinitionFactories;
+  private List<SpDataFormatFactory> dataFormatFactories;
   private List<IStreamPipesFunctionDeclarer> functions;
 
   private List<StreamPipesAdapter> adapters;
@@ -54,6 +56,7 @@ public class SpServiceDefinition {
     this.serviceId = UUID.randomUUID().toString();
     this.pipelineElements = new ArrayList<>();
     this.protocolDefinitionFactories = new ArrayList<>();
+    this.dataFormatFactories = new ArrayList<>();
     this.kvConfigs = new ArrayList<>();
     this.functions = new ArrayList<>();
     this.adapters = new ArrayList<>();
@@ -145,6 +148,18 @@ public class SpServiceDefinition {
     this.protocolDefinitionFactories = protocolDefinitionFactories;
   }
 
+  public void addDataFormatFactories(List<SpDataFormatFactory> factories) {
+    this.dataFormatFactories.addAll(factories);
+  }
+
+  public List<SpDataFormatFactory> getDataFormatFactories() {
+    return dataFormatFactories;
+  }
+
+  public void setDataFormatFactories(List<SpDataFormatFactory> dataFormatFactories) {
+    this.dataFormatFactories = dataFormatFactories;
+  }
+
   public List<ConfigItem> getKvConfigs() {
     return kvConfigs;
   }
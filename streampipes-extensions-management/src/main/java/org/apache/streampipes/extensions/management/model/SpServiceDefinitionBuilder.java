@@ -17,6 +17,7 @@
  */
 package org.apache.streampipes.extensions.management.model;
 
+import org.apache.streampipes.dataformat.SpDataFormatFactory;
 import org.apache.streampipes.extensions.api.connect.StreamPipesAdapter;
 import org.apache.streampipes.extensions.api.declarer.IExtensionModuleExport;
 import org.apache.streampipes.extensions.api.declarer.IStreamPipesFunctionDeclarer;
@@ -125,6 +126,19 @@ public class SpServiceDefinitionBuilder {
     return this;
   }
 
+  /**
+   * Register additional data formats (e.g., binary formats such as Smile or CBOR) supported by this service.
+   * <br>
+   * JSON is always supported. The pipeline manager selects a format which is supported by all connected
+   * pipeline elements.
+   * @param dataFormats List of data formats to be registered
+   * @return {@link SpServiceDefinitionBuilder}
+   */
+  public SpServiceDefinitionBuilder registerMessagingFormats(SpDataFormatFactory... dataFormats) {
+    this.serviceDefinition.addDataFormatFactories(Arrays.asList(dataFormats));
+    return this;
+  }
+
   /**
    * Include migrations in the service definition.
    * <br>
@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.management.connect;
+
+import org.apache.streampipes.extensions.api.connect.IPollingSettings;
+import org.apache.streampipes.extensions.api.connect.IPullAdapter;
+import org.apache.streampipes.extensions.api.monitoring.SpMonitoringManager;
+import org.apache.streampipes.extensions.management.connect.adapter.util.PollingSettings;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PullAdapterSchedulerTest {
+
+  private final ManualScheduler executor = new ManualScheduler();
+  private final PullAdapterScheduler scheduler = new PullAdapterScheduler(executor, () -> executor.now);
+
+  @Test
+  public void pollsAtFixedRateIndependentOfPollDuration() {
+    var adapterId = "pull-scheduler-fixed-rate";
+    var adapter = new SteppingAdapter(50, 30, 30);
+
+    scheduler.schedule(adapter, adapterId);
+    for (int i = 0; i < 20; i++) {
+      executor.runNextPoll();
+    }
+
+    // a fixed delay would start the polls 80 ms apart
+    var expectedStarts = new ArrayList<Long>();
+    for (int i = 1; i <= 20; i++) {
+      expectedStarts.add(ms(i * 50L));
+    }
+    assertEquals(expectedStarts, adapter.pollStarts);
+    assertEquals(0, SpMonitoringManager.INSTANCE.getElementMetrics(adapterId).getMissedPollTicks());
+    assertEquals(20, SpMonitoringManager.INSTANCE.getElementMetrics(adapterId).getPollLatency().getCount());
+  }
+
+  @Test
+  public void skipsTicksWhilePollingTakesLongerThanTheInterval() {
+    var adapterId = "pull-scheduler-overrun";
+    var adapter = new SteppingAdapter(20, 0, 110);
+
+    scheduler.schedule(adapter, adapterId);
+    executor.runNextPoll();
+    executor.runNextPoll();
+
+    // the first poll runs from 20 ms to 130 ms, so the ticks at 40, 60, 80, 100 and 120 ms are skipped
+    assertEquals(List.of(ms(20), ms(140)), adapter.pollStarts);
+    assertEquals(5, SpMonitoringManager.INSTANCE.getElementMetrics(adapterId).getMissedPollTicks());
+  }
+
+  @Test
+  public void stopsPollingAfterShutdown() {
+    var adapter = new SteppingAdapter(10, 0, 0);
+
+    scheduler.schedule(adapter, "pull-scheduler-shutdown");
+    executor.runNextPoll();
+    assertTrue(executor.hasPendingPoll());
+    scheduler.shutdown();
+
+    assertFalse(executor.hasPendingPoll());
+    assertEquals(1, adapter.pollStarts.size());
+  }
+
+  @Test
+  public void doesNotRescheduleWhenShutDownDuringPoll() {
+    var adapter = new SteppingAdapter(10, 0, 0) {
+      @Override
+      public void pullData() {
+        super.pullData();
+        scheduler.shutdown();
+      }
+    };
+
+    scheduler.schedule(adapter, "pull-scheduler-shutdown-during-poll");
+    executor.runNextPoll();
+
+    assertFalse(executor.hasPendingPoll());
+  }
+
+  private static long ms(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  private class SteppingAdapter implements IPullAdapter {
+
+    private final int intervalMs;
+    private final long pollDurationMs;
+    private final long firstPollDurationMs;
+    private final List<Long> pollStarts = new ArrayList<>();
+
+    SteppingAdapter(int intervalMs,
+                    long pollDurationMs,
+                    long firstPollDurationMs) {
+      this.intervalMs = intervalMs;
+      this.pollDurationMs = pollDurationMs;
+      this.firstPollDurationMs = firstPollDurationMs;
+    }
+
+    @Override
+    public void pullData() {
+      var duration = pollStarts.isEmpty() ? firstPollDurationMs : pollDurationMs;
+      pollStarts.add(executor.now);
+      executor.now += ms(duration);
+    }
+
+    @Override
+    public IPollingSettings getPollingInterval() {
+      return PollingSettings.from(TimeUnit.MILLISECONDS, intervalMs);
+    }
+  }
+
+  /**
+   * Runs the scheduled polls on the calling thread and advances the clock to the time each poll is due.
+   */
+  private static class ManualScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private long now;
+    private PendingPoll pendingPoll;
+
+    void runNextPoll() {
+      assertTrue(hasPendingPoll(), "Expected a scheduled poll");
+      var poll = pendingPoll;
+      pendingPoll = null;
+      now = Math.max(now, poll.dueAt);
+      poll.task.run();
+    }
+
+    boolean hasPendingPoll() {
+      return pendingPoll != null && !pendingPoll.cancelled;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command,
+                                       long delay,
+                                       TimeUnit unit) {
+      pendingPoll = new PendingPoll(command, now + unit.toNanos(delay));
+      return pendingPoll;
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable,
+                                           long delay,
+                                           TimeUnit unit) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command,
+                                                  long initialDelay,
+                                                  long period,
+                                                  TimeUnit unit) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command,
+                                                     long initialDelay,
+                                                     long delay,
+                                                     TimeUnit unit) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout,
+                                    TimeUnit unit) {
+      return false;
+    }
+
+    private class PendingPoll implements ScheduledFuture<Void> {
+
+      private final Runnable task;
+      private final long dueAt;
+      private boolean cancelled;
+
+      PendingPoll(Runnable task,
+                  long dueAt) {
+        this.task = task;
+        this.dueAt = dueAt;
+      }
+
+      @Override
+      public long getDelay(TimeUnit unit) {
+        return unit.convert(dueAt - now, TimeUnit.NANOSECONDS);
+      }
+
+      @Override
+      public int compareTo(Delayed other) {
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+      }
+
+      @Override
+      public boolean cancel(boolean mayInterruptIfRunning) {
+        cancelled = true;
+        return true;
+      }
+
+      @Override
+      public boolean isCancelled() {
+        return cancelled;
+      }
+
+      @Override
+      public boolean isDone() {
+        return cancelled;
+      }
+
+      @Override
+      public Void get() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Void get(long timeout,
+                      TimeUnit unit) {
+        throw new UnsupportedOperationException();
+      }
+    }
+  }
+}
@@ -20,7 +20,6 @@ package org.apache.streampipes.pe.flink;
 import org.apache.streampipes.wrapper.flink.FlinkDataProcessorProgram;
 import org.apache.streampipes.wrapper.params.compat.ProcessorParams;
 
-import org.apache.flink.streaming.api.TimeCharacteristic;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 
 public abstract class AbstractPatternDetectionProgram<T extends ProcessorParams>
@@ -32,7 +31,6 @@ public abstract class AbstractPatternDetectionProgram<T extends ProcessorParams>
 
   @Override
   public void appendEnvironmentConfig(StreamExecutionEnvironment env) {
-    env.setStreamTimeCharacteristic(TimeCharacteristic.EventTime);
     env.setParallelism(1);
   }
 
@@ -19,6 +19,7 @@
 package org.apache.streampipes.pe.flink.processor.aggregation;
 
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.wrapper.flink.EventTime;
 import org.apache.streampipes.wrapper.flink.FlinkDataProcessorProgram;
 
 import org.apache.flink.api.java.functions.KeySelector;
@@ -43,6 +44,11 @@ public class AggregationProgram extends FlinkDataProcessorProgram<AggregationPar
     return getKeyedStream(dataStreams[0]);
   }
 
+  @Override
+  public EventTime getEventTime(int streamIndex) {
+    return EventTime.boundedOutOfOrderness(EventTime.DEFAULT_MAX_OUT_OF_ORDERNESS);
+  }
+
   private DataStream<Event> getKeyedStream(DataStream<Event> dataStream) {
     if (params.getGroupBy().size() > 0) {
       KeyedStream<Event, Map<String, String>> keyedStream = dataStream.keyBy(getKeySelector());
@@ -19,6 +19,7 @@ package org.apache.streampipes.pe.flink.processor.and;
 
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.pe.flink.AbstractPatternDetectionProgram;
+import org.apache.streampipes.wrapper.flink.EventTime;
 
 import org.apache.flink.api.common.functions.JoinFunction;
 import org.apache.flink.api.java.functions.KeySelector;
@@ -72,4 +73,9 @@ public class AndProgram extends AbstractPatternDetectionProgram<AndParameters> {
           }
         });
   }
+
+  @Override
+  public EventTime getEventTime(int streamIndex) {
+    return EventTime.boundedOutOfOrderness(EventTime.DEFAULT_MAX_OUT_OF_ORDERNESS);
+  }
 }
@@ -18,11 +18,11 @@
 package org.apache.streampipes.pe.flink.processor.count;
 
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.wrapper.flink.EventTime;
 import org.apache.streampipes.wrapper.flink.FlinkDataProcessorProgram;
 
-import org.apache.flink.streaming.api.TimeCharacteristic;
 import org.apache.flink.streaming.api.datastream.DataStream;
-import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.windowing.assigners.TumblingEventTimeWindows;
 
 public class CountProgram extends FlinkDataProcessorProgram<CountParameters> {
 
@@ -35,17 +35,18 @@ public class CountProgram extends FlinkDataProcessorProgram<CountParameters> {
     return dataStreams[0]
         .map(new CountMapper(params.getFieldToCount()))
         .keyBy(1)
-        .timeWindow(new TimeWindowConverter().makeTimeWindow(params.getTimeWindowSize(),
-            params.getTimeWindowScale()))
+        .window(TumblingEventTimeWindows.of(
+            new TimeWindowConverter().makeTimeWindow(params.getTimeWindowSize(), params.getTimeWindowScale())))
         .trigger(new CountTrigger())
         .sum(2)
         .map(new Tuple2MapMapper());
   }
 
-
+  /**
+   * Events are counted in windows of the time they were read by the source.
+   */
   @Override
-  public void appendEnvironmentConfig(StreamExecutionEnvironment env) {
-    env.setStreamTimeCharacteristic(TimeCharacteristic.IngestionTime);
+  public EventTime getEventTime(int streamIndex) {
+    return EventTime.ingestion();
   }
-
 }
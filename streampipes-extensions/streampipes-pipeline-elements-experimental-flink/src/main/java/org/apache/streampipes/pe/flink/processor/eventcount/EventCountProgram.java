@@ -19,6 +19,7 @@ package org.apache.streampipes.pe.flink.processor.eventcount;
 
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.pe.flink.processor.count.TimeWindowConverter;
+import org.apache.streampipes.wrapper.flink.EventTime;
 import org.apache.streampipes.wrapper.flink.FlinkDataProcessorProgram;
 
 import org.apache.flink.streaming.api.datastream.DataStream;
@@ -38,4 +39,12 @@ public class EventCountProgram extends FlinkDataProcessorProgram<EventCountParam
         .sum(0)
         .map(new EventCountOutputMapper());
   }
+
+  /**
+   * Events are counted in windows of the time they were read by the source.
+   */
+  @Override
+  public EventTime getEventTime(int streamIndex) {
+    return EventTime.ingestion();
+  }
 }
@@ -24,10 +24,11 @@ import org.apache.streampipes.pe.flink.processor.peak.utils.SlidingBatchWindow;
 
 import org.apache.flink.api.common.typeinfo.TypeHint;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
-import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Created by riemer on 20.04.2017.
@@ -48,8 +49,8 @@ public class PeakDetectionProgram extends AbstractPatternDetectionProgram<PeakDe
     Double influence = params.getInfluence();
     Integer countWindowSize = params.getCountWindowSize();
 
+    // the input stream is keyed by the group-by field, see getPartitionField
     return messageStream[0]
-        .keyBy(getKeySelector())
         .transform
             ("sliding-batch-window-shift",
                 TypeInformation.of(new TypeHint<List<Event>>() {
@@ -61,13 +62,13 @@ public class PeakDetectionProgram extends AbstractPatternDetectionProgram<PeakDe
             influence));
   }
 
-  private KeySelector<Event, String> getKeySelector() {
-    String groupBy = params.getGroupBy();
-    return new KeySelector<Event, String>() {
-      @Override
-      public String getKey(Event in) throws Exception {
-        return in.getFieldBySelector(groupBy).getAsPrimitive().getAsString();
-      }
-    };
+  @Override
+  public Optional<String> getPartitionField(int streamIndex) {
+    return Optional.of(params.getGroupBy());
+  }
+
+  @Override
+  public void appendEnvironmentConfig(StreamExecutionEnvironment env) {
+    // peaks are detected per group, so the parallelism of the deployment config is kept
   }
 }
@@ -22,6 +22,8 @@ import org.apache.streampipes.extensions.api.connect.StreamPipesAdapter;
 import org.apache.streampipes.extensions.api.declarer.IExtensionModuleExport;
 import org.apache.streampipes.extensions.api.migration.IModelMigrator;
 import org.apache.streampipes.extensions.api.pe.IStreamPipesPipelineElement;
+import org.apache.streampipes.processors.enricher.jvm.migrations.JSEvalProcessorMigrationV1;
+import org.apache.streampipes.processors.enricher.jvm.migrations.MathExpressionProcessorMigrationV1;
 import org.apache.streampipes.processors.enricher.jvm.processor.expression.MathExpressionProcessor;
 import org.apache.streampipes.processors.enricher.jvm.processor.jseval.JSEvalProcessor;
 import org.apache.streampipes.processors.enricher.jvm.processor.limitsalert.SensorLimitAlertProcessor;
@@ -56,6 +58,9 @@ public class EnricherExtensionModuleExport implements IExtensionModuleExport {
 
   @Override
   public List<IModelMigrator<?, ?>> migrators() {
-    return Collections.emptyList();
+    return List.of(
+        new JSEvalProcessorMigrationV1(),
+        new MathExpressionProcessorMigrationV1()
+    );
   }
 }
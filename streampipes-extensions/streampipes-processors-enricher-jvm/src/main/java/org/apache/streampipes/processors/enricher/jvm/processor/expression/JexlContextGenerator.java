@@ -22,27 +22,34 @@ import org.apache.streampipes.model.runtime.Event;
 
 import org.apache.commons.jexl3.MapContext;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class JexlContextGenerator {
 
   private final MathExpressionFieldExtractor extractor;
-  private final MapContext mapContext;
+  private final Map<String, Object> initialVariables;
 
   public JexlContextGenerator(MathExpressionFieldExtractor extractor) {
     this.extractor = extractor;
-    this.mapContext = makeInitialContext();
+    this.initialVariables = makeInitialVariables();
   }
 
-  private MapContext makeInitialContext() {
-    var ctx = new MapContext();
-    ctx.set("Math", Math.class);
+  private Map<String, Object> makeInitialVariables() {
+    var variables = new HashMap<String, Object>();
+    variables.put("Math", Math.class);
     extractor.getInputProperties().forEach(ep ->
-        ctx.set(ep.getRuntimeName(), 0)
+        variables.put(ep.getRuntimeName(), 0)
     );
-    return ctx;
+    return variables;
   }
 
+  /**
+   * Creates a new context per event, so that events can be evaluated concurrently.
+   */
   public MapContext makeContext(Event event) {
-    event.getRaw().forEach(mapContext::set);
-    return mapContext;
+    var ctx = new MapContext(new HashMap<>(initialVariables));
+    event.getRaw().forEach(ctx::set);
+    return ctx;
   }
 }
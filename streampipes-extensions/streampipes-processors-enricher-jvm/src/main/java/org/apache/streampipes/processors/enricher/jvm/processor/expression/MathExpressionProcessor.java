@@ -19,6 +19,7 @@
 package org.apache.streampipes.processors.enricher.jvm.processor.expression;
 
 import org.apache.streampipes.extensions.api.pe.IStreamPipesDataProcessor;
+import org.apache.streampipes.extensions.api.pe.config.ExecutionMode;
 import org.apache.streampipes.extensions.api.pe.config.IDataProcessorConfiguration;
 import org.apache.streampipes.extensions.api.pe.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.extensions.api.pe.param.IDataProcessorParameters;
@@ -50,7 +51,8 @@ public class MathExpressionProcessor implements
     IStreamPipesDataProcessor,
     ResolvesContainerProvidedOutputStrategy<DataProcessorInvocation, ProcessingElementParameterExtractor> {
 
-  private static final String ID = "org.apache.streampipes.processors.enricher.jvm.processor.expression";
+  public static final String ID = "org.apache.streampipes.processors.enricher.jvm.processor.expression";
+  public static final String PARALLEL_EXECUTION = "parallel-execution";
   static final String ENRICHED_FIELDS = "enriched-fields";
   static final String FIELD_NAME = "field-name";
   static final String EXPRESSION = "expression";
@@ -63,7 +65,7 @@ public class MathExpressionProcessor implements
   public IDataProcessorConfiguration declareConfig() {
     return DataProcessorConfiguration.create(
         MathExpressionProcessor::new,
-        ProcessingElementBuilder.create(ID, 0)
+        ProcessingElementBuilder.create(ID, 1)
             .category(DataProcessorType.ENRICH)
             .withLocales(Locales.EN)
             .withAssets(ExtensionAssetType.DOCUMENTATION, ExtensionAssetType.ICON)
@@ -71,8 +73,10 @@ public class MathExpressionProcessor implements
                 .requiredProperty(EpRequirements.numberReq())
                 .build())
             .requiredStaticProperty(makeCollection())
+            .requiredSlideToggle(Labels.withId(PARALLEL_EXECUTION), false)
             .outputStrategy(OutputStrategies.customTransformation())
-            .build()
+            .build(),
+        ExecutionMode.parallel().enabledBy(PARALLEL_EXECUTION)
     );
   }
 
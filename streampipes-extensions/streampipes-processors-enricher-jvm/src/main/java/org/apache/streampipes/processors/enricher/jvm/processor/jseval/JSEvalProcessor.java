@@ -18,6 +18,8 @@
 package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.extensions.api.pe.config.ExecutionMode;
+import org.apache.streampipes.extensions.api.pe.config.IDataProcessorConfiguration;
 import org.apache.streampipes.extensions.api.pe.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.extensions.api.pe.routing.SpOutputCollector;
 import org.apache.streampipes.model.DataProcessorType;
@@ -26,6 +28,7 @@ import org.apache.streampipes.model.graph.DataProcessorDescription;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.sdk.builder.ProcessingElementBuilder;
 import org.apache.streampipes.sdk.builder.StreamRequirementsBuilder;
+import org.apache.streampipes.sdk.builder.processor.DataProcessorConfiguration;
 import org.apache.streampipes.sdk.helpers.CodeLanguage;
 import org.apache.streampipes.sdk.helpers.EpRequirements;
 import org.apache.streampipes.sdk.helpers.Labels;
@@ -39,19 +42,33 @@ import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyObject;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class JSEvalProcessor extends StreamPipesDataProcessor {
 
+  public static final String ID = "org.apache.streampipes.processors.enricher.jvm.jseval";
+  public static final String PARALLEL_EXECUTION = "parallel-execution";
   private static final String JS_FUNCTION = "jsFunction";
 
-  private Context polyglot;
-  private Value function;
+  // a polyglot context must not be used by several threads at once, so each worker evaluates its own function
+  private final List<Context> contexts = new CopyOnWriteArrayList<>();
+  private ThreadLocal<Value> function;
+
+  @Override
+  public IDataProcessorConfiguration declareConfig() {
+    return DataProcessorConfiguration.create(
+        JSEvalProcessor::new,
+        declareModel(),
+        ExecutionMode.parallel().enabledBy(PARALLEL_EXECUTION)
+    );
+  }
 
   @Override
   public DataProcessorDescription declareModel() {
     return ProcessingElementBuilder
-        .create("org.apache.streampipes.processors.enricher.jvm.jseval", 0)
+        .create(ID, 1)
         .category(DataProcessorType.SCRIPTING)
         .withAssets(ExtensionAssetType.DOCUMENTATION, ExtensionAssetType.ICON)
         .withLocales(Locales.EN)
@@ -60,6 +77,7 @@ public class JSEvalProcessor extends StreamPipesDataProcessor {
             .requiredProperty(EpRequirements.anyProperty())
             .build())
         .requiredCodeblock(Labels.withId(JS_FUNCTION), CodeLanguage.Javascript)
+        .requiredSlideToggle(Labels.withId(PARALLEL_EXECUTION), false)
         .outputStrategy(OutputStrategies.userDefined())
         .build();
   }
@@ -68,9 +86,20 @@ public class JSEvalProcessor extends StreamPipesDataProcessor {
   public void onInvocation(ProcessorParams parameters,
                            SpOutputCollector spOutputCollector,
                            EventProcessorRuntimeContext runtimeContext) throws SpRuntimeException {
-    polyglot = Context.create();
     String code = parameters.extractor().codeblockValue(JS_FUNCTION);
-    function = polyglot.eval("js", "(" + code + ")");
+    if (parameters.extractor().slideToggleValue(PARALLEL_EXECUTION)) {
+      function = ThreadLocal.withInitial(() -> evaluate(code));
+    } else {
+      // events are processed one at a time, possibly by different consumer threads, so the script state is shared
+      var sharedFunction = evaluate(code);
+      function = ThreadLocal.withInitial(() -> sharedFunction);
+    }
+  }
+
+  private Value evaluate(String code) {
+    var polyglot = Context.create();
+    contexts.add(polyglot);
+    return polyglot.eval("js", "(" + code + ")");
   }
 
   @Override
@@ -81,7 +110,7 @@ public class JSEvalProcessor extends StreamPipesDataProcessor {
 
       final Map<String, Object> eventData = event.getRaw();
 
-      Object result = function.execute(ProxyObject.fromMap(eventData));
+      Object result = function.get().execute(ProxyObject.fromMap(eventData));
       Map<String, Object> resultEvent = ((Value) result).as(java.util.Map.class);
       if (resultEvent != null) {
         resultEvent.forEach(outEvent::addField);
@@ -95,6 +124,7 @@ public class JSEvalProcessor extends StreamPipesDataProcessor {
 
   @Override
   public void onDetach() throws SpRuntimeException {
-
+    contexts.forEach(Context::close);
+    contexts.clear();
   }
 }
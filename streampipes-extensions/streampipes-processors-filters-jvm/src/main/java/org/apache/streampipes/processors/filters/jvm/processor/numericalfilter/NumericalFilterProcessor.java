@@ -19,6 +19,7 @@
 package org.apache.streampipes.processors.filters.jvm.processor.numericalfilter;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.extensions.api.pe.IMappedFieldAccess;
 import org.apache.streampipes.extensions.api.pe.IStreamPipesDataProcessor;
 import org.apache.streampipes.extensions.api.pe.config.IDataProcessorConfiguration;
 import org.apache.streampipes.extensions.api.pe.context.EventProcessorRuntimeContext;
@@ -37,7 +38,7 @@ import org.apache.streampipes.sdk.helpers.Locales;
 import org.apache.streampipes.sdk.helpers.Options;
 import org.apache.streampipes.sdk.helpers.OutputStrategies;
 
-public class NumericalFilterProcessor implements IStreamPipesDataProcessor {
+public class NumericalFilterProcessor implements IStreamPipesDataProcessor, IMappedFieldAccess {
 
   protected static final String NUMBER_MAPPING = "number-mapping";
   protected static final String VALUE = "value";
@@ -26,6 +26,7 @@ import org.apache.streampipes.processors.siddhi.count.CountAggregation;
 import org.apache.streampipes.processors.siddhi.filter.NumericalFilterSiddhiProcessor;
 import org.apache.streampipes.processors.siddhi.listcollector.ListCollector;
 import org.apache.streampipes.processors.siddhi.listfilter.ListFilter;
+import org.apache.streampipes.processors.siddhi.migrations.TrendProcessorMigrationV1;
 import org.apache.streampipes.processors.siddhi.topk.TopK;
 import org.apache.streampipes.processors.siddhi.trend.TrendProcessor;
 
@@ -52,6 +53,8 @@ public class SiddhiFilterExtensionModuleExport implements IExtensionModuleExport
 
   @Override
   public List<IModelMigrator<?, ?>> migrators() {
-    return Collections.emptyList();
+    return List.of(
+        new TrendProcessorMigrationV1()
+    );
   }
 }
@@ -36,13 +36,19 @@ import org.apache.streampipes.wrapper.siddhi.query.SelectClause;
 
 public class SequenceSiddhiProcessor extends StreamPipesSiddhiProcessor {
 
+  public static final String ASYNC_INPUT = "async-input";
+
   private static final String Duration = "duration";
+  // sequences depend on the order of events, so a single worker evaluates them
+  private static final int ASYNC_BUFFER_SIZE = 4096;
+  private static final int ASYNC_WORKERS = 1;
+  private static final int INPUT_BATCH_SIZE = 256;
 
 
   @Override
   public DataProcessorDescription declareModel() {
     return ProcessingElementBuilder
-        .create("org.apache.streampipes.processors.siddhi.sequence", 0)
+        .create("org.apache.streampipes.processors.siddhi.sequence", 1)
         .category(DataProcessorType.FILTER)
         .withAssets(ExtensionAssetType.DOCUMENTATION)
         .withLocales(Locales.EN)
@@ -56,6 +62,7 @@ public class SequenceSiddhiProcessor extends StreamPipesSiddhiProcessor {
             .build())
         .outputStrategy(OutputStrategies.custom(true))
         .requiredIntegerParameter(Labels.withId(Duration))
+        .requiredSlideToggle(Labels.withId(ASYNC_INPUT), false)
         .build();
   }
 
@@ -66,8 +73,11 @@ public class SequenceSiddhiProcessor extends StreamPipesSiddhiProcessor {
     int duration = extractor.singleValueParameter(Duration, Integer.class);
 
     InsertIntoClause insertIntoClause = InsertIntoClause.create(finalInsertIntoStreamName);
-    return SiddhiAppConfigBuilder
-        .create()
+    var builder = SiddhiAppConfigBuilder.create();
+    if (extractor.slideToggleValue(ASYNC_INPUT)) {
+      builder.withAsyncInput(ASYNC_BUFFER_SIZE, ASYNC_WORKERS, INPUT_BATCH_SIZE);
+    }
+    return builder
         .addQuery(SiddhiQueryBuilder
             .create(fromStatement(siddhiParams, duration), insertIntoClause)
             .withSelectClause(selectStatement(siddhiParams))
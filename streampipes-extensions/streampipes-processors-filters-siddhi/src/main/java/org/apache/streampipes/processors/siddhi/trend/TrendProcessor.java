@@ -52,7 +52,14 @@ import static org.apache.streampipes.wrapper.siddhi.utils.SiddhiUtils.prepareNam
 
 public class TrendProcessor extends StreamPipesSiddhiProcessor {
 
+  public static final String ID = "org.apache.streampipes.processors.siddhi.increase";
+  public static final String ASYNC_INPUT = "async-input";
+
   private static final String Mapping = "mapping";
+  // trend patterns depend on the order of events, so a single worker evaluates them
+  private static final int ASYNC_BUFFER_SIZE = 4096;
+  private static final int ASYNC_WORKERS = 1;
+  private static final int INPUT_BATCH_SIZE = 256;
 
   public static final String INCREASE = "increase";
   public static final String OPERATION = "operation";
@@ -69,7 +76,7 @@ public class TrendProcessor extends StreamPipesSiddhiProcessor {
   @Override
   public DataProcessorDescription declareModel() {
     return ProcessingElementBuilder
-        .create("org.apache.streampipes.processors.siddhi.increase", 0)
+        .create(ID, 1)
         .withLocales(Locales.EN)
         .category(DataProcessorType.PATTERN_DETECT)
         .withAssets(ExtensionAssetType.DOCUMENTATION, ExtensionAssetType.ICON)
@@ -81,6 +88,7 @@ public class TrendProcessor extends StreamPipesSiddhiProcessor {
             .from(TrendOperator.INCREASE.getLabel(), TrendOperator.DECREASE.getLabel()))
         .requiredIntegerParameter(Labels.withId(INCREASE), 0, 500, 1)
         .requiredIntegerParameter(Labels.withId(DURATION))
+        .requiredSlideToggle(Labels.withId(ASYNC_INPUT), false)
         .outputStrategy(OutputStrategies.custom())
         .build();
   }
@@ -99,8 +107,11 @@ public class TrendProcessor extends StreamPipesSiddhiProcessor {
 
     InsertIntoClause insertIntoClause = InsertIntoClause.create(finalInsertIntoStreamName);
 
-    return SiddhiAppConfigBuilder
-        .create()
+    var builder = SiddhiAppConfigBuilder.create();
+    if (siddhiParams.getParams().extractor().slideToggleValue(ASYNC_INPUT)) {
+      builder.withAsyncInput(ASYNC_BUFFER_SIZE, ASYNC_WORKERS, INPUT_BATCH_SIZE);
+    }
+    return builder
         .addQuery(SiddhiQueryBuilder
             .create(fromStatement(siddhiParams), insertIntoClause)
             .withSelectClause(selectStatement(siddhiParams))
@@ -139,6 +139,8 @@ public class TestTrendProcessor {
     trend.onPipelineStarted(processorParams, null, null);
 
     sendEvents(trend, eventSettings);
+    // input is processed asynchronously, stopping the pipeline waits until all events were evaluated
+    trend.onPipelineStopped();
     LOG.info("Expected match count is {}", expectedMatchCount);
     LOG.info("Actual match count is {}", actualMatchCount[0]);
     Assertions.assertEquals(expectedMatchCount, actualMatchCount[0]);
@@ -22,7 +22,9 @@ import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataexplorer.TimeSeriesStore;
 import org.apache.streampipes.dataexplorer.management.DataExplorerDispatcher;
+import org.apache.streampipes.dataexplorer.rollup.RollupTiers;
 import org.apache.streampipes.extensions.api.extractor.IStaticPropertyExtractor;
+import org.apache.streampipes.extensions.api.monitoring.SpMonitoringManager;
 import org.apache.streampipes.extensions.api.pe.context.EventSinkRuntimeContext;
 import org.apache.streampipes.extensions.api.runtime.SupportsRuntimeConfig;
 import org.apache.streampipes.model.DataSinkType;
@@ -120,6 +122,10 @@ public class DataLakeSink extends StreamPipesDataSink implements SupportsRuntime
       measure.setSchemaUpdateStrategy(DataLakeMeasureSchemaUpdateStrategy.UPDATE_SCHEMA);
     }
 
+    measure.setRollupTiers(RollupTiers.parse(
+        Environments.getEnvironment().getTsStorageRollupTiers().getValueOrDefault()
+    ));
+
     measure = new DataExplorerDispatcher().getDataExplorerManager()
         .getMeasurementSanitizer(runtimeContext.getStreamPipesClient(), measure)
         .sanitizeAndRegister();
@@ -131,6 +137,14 @@ public class DataLakeSink extends StreamPipesDataSink implements SupportsRuntime
         true
     );
 
+    // Publish the metrics of the storage, e.g. late rollup events, together with the metrics of the sink
+    var elementId = parameters.getModel().getElementId();
+    var timeSeriesStore = this.timeSeriesStore;
+    timeSeriesStore.getMetrics().keySet().forEach(name -> SpMonitoringManager.INSTANCE.registerGauge(
+        elementId,
+        "datalake." + name,
+        () -> timeSeriesStore.getMetrics().getOrDefault(name, 0L)
+    ));
   }
 
   @Override
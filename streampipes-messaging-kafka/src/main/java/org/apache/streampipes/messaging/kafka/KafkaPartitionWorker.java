@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.kafka;
+
+import org.apache.streampipes.messaging.InternalEventProcessor;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processes the records of a single topic partition in offset order on its own thread.
+ * The polling thread reads the offset of the last processed record to commit it.
+ * <p>
+ * A record whose processing fails is retried with an increasing backoff. Its offset and the offsets of all later
+ * records of the partition are not committed before, so the record is consumed again after a rebalance or restart
+ * (at-least-once). A record which still fails after {@value #MAX_ATTEMPTS} attempts, e.g., since it cannot be
+ * deserialized, is passed to {@link InternalEventProcessor#onSkippedEvent} and skipped, so that it does not block its
+ * partition.
+ * <p>
+ * A record counts as processed once the event processor returns, so the event processor must not hand records over
+ * to other threads.
+ */
+public class KafkaPartitionWorker implements Runnable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KafkaPartitionWorker.class);
+
+  private static final long JOIN_TIMEOUT_MS = 10000;
+  private static final long INITIAL_RETRY_BACKOFF_MS = 100;
+  private static final long MAX_RETRY_BACKOFF_MS = 30000;
+  private static final int MAX_ATTEMPTS = 5;
+
+  private final TopicPartition partition;
+  private final InternalEventProcessor<byte[]> eventProcessor;
+  private final BlockingQueue<ConsumerRecord<byte[], byte[]>> records;
+  private final long initialRetryBackoffMs;
+  private final Thread thread;
+  private final CountDownLatch stopSignal = new CountDownLatch(1);
+
+  private volatile boolean running;
+  private volatile long processedOffset;
+  private volatile long committedOffset;
+
+  public KafkaPartitionWorker(TopicPartition partition,
+                              InternalEventProcessor<byte[]> eventProcessor) {
+    this(partition, eventProcessor, INITIAL_RETRY_BACKOFF_MS);
+  }
+
+  KafkaPartitionWorker(TopicPartition partition,
+                       InternalEventProcessor<byte[]> eventProcessor,
+                       long initialRetryBackoffMs) {
+    this.partition = partition;
+    this.eventProcessor = eventProcessor;
+    this.initialRetryBackoffMs = initialRetryBackoffMs;
+    this.records = new LinkedBlockingQueue<>();
+    this.thread = new Thread(this, "kafka-worker-" + partition);
+    this.processedOffset = -1;
+    this.committedOffset = -1;
+  }
+
+  public void start() {
+    this.running = true;
+    this.thread.start();
+  }
+
+  public void enqueue(List<ConsumerRecord<byte[], byte[]>> partitionRecords) {
+    records.addAll(partitionRecords);
+  }
+
+  public int getPendingRecords() {
+    return records.size();
+  }
+
+  /**
+   * Stops the worker after the record which is currently processed, pending records are discarded
+   * and will be consumed again from the last committed offset. Blocks until the worker thread has finished, so that
+   * no record of the partition is processed anymore once the partition is revoked.
+   */
+  public void stop() {
+    running = false;
+    records.clear();
+    stopSignal.countDown();
+    try {
+      thread.join(JOIN_TIMEOUT_MS);
+      while (thread.isAlive()) {
+        LOG.warn("Worker of partition {} is still processing a record, waiting for it to finish", partition);
+        thread.join(JOIN_TIMEOUT_MS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public TopicPartition getPartition() {
+    return partition;
+  }
+
+  /**
+   * Returns the offset to commit if records have been processed since the last commit, or -1 otherwise.
+   */
+  public long getOffsetToCommit() {
+    var offset = processedOffset;
+    return offset > committedOffset ? offset + 1 : -1;
+  }
+
+  /**
+   * Called once the given offset has been committed successfully.
+   */
+  public void markCommitted(long nextOffset) {
+    this.committedOffset = Math.max(committedOffset, nextOffset - 1);
+  }
+
+  @Override
+  public void run() {
+    while (running) {
+      try {
+        var record = records.poll(100, TimeUnit.MILLISECONDS);
+        if (record != null) {
+          process(record);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void process(ConsumerRecord<byte[], byte[]> record) throws InterruptedException {
+    long backoff = initialRetryBackoffMs;
+    for (int attempt = 1; running; attempt++) {
+      try {
+        eventProcessor.onEvent(record.value());
+        this.processedOffset = record.offset();
+        return;
+      } catch (RuntimeException e) {
+        if (attempt >= MAX_ATTEMPTS) {
+          skip(record, e);
+          return;
+        }
+        LOG.warn("Could not process record {} of partition {}, retrying in {} ms",
+            record.offset(), partition, backoff, e);
+        if (stopSignal.await(backoff, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+        backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+      }
+    }
+  }
+
+  private void skip(ConsumerRecord<byte[], byte[]> record,
+                    RuntimeException cause) {
+    LOG.error("Skipping record {} of partition {} after {} failed attempts",
+        record.offset(), partition, MAX_ATTEMPTS, cause);
+    try {
+      eventProcessor.onSkippedEvent(record.value(), cause);
+    } catch (RuntimeException e) {
+      LOG.error("Could not report skipped record {} of partition {}", record.offset(), partition, e);
+    }
+    this.processedOffset = record.offset();
+  }
+}
@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.kafka;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.EventConsumer;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.messaging.kafka.config.ConsumerConfigFactory;
+import org.apache.streampipes.messaging.kafka.config.KafkaConfigAppender;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.grounding.WildcardTopicDefinition;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Kafka consumer which processes each assigned partition on a dedicated worker thread.
+ * Offsets are committed manually once records have been processed (at-least-once), partitions whose
+ * workers fall behind are paused until their backlog is drained.
+ * <p>
+ * Records of different partitions are passed to the event processor concurrently, so the event processor must be
+ * thread-safe. Records of the same partition are passed one after another in offset order.
+ */
+public class SpKafkaPartitionedConsumer implements EventConsumer, Runnable, Serializable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SpKafkaPartitionedConsumer.class);
+
+  private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+  private static final long COMMIT_INTERVAL_MS = 1000;
+  private static final int MAX_PENDING_RECORDS = 10000;
+  private static final int RESUME_PENDING_RECORDS = MAX_PENDING_RECORDS / 2;
+
+  private final KafkaTransportProtocol protocol;
+  private final List<KafkaConfigAppender> appenders;
+  private final transient Function<Properties, Consumer<byte[], byte[]>> consumerFactory;
+
+  private final Map<TopicPartition, KafkaPartitionWorker> workers = new HashMap<>();
+  private final Set<TopicPartition> pausedPartitions = new HashSet<>();
+
+  private String topic;
+  private InternalEventProcessor<byte[]> eventProcessor;
+  private transient Consumer<byte[], byte[]> consumer;
+  private volatile boolean isRunning;
+  private boolean patternTopic = false;
+  private long lastCommit;
+
+  public SpKafkaPartitionedConsumer(KafkaTransportProtocol protocol) {
+    this(protocol, new ArrayList<>());
+  }
+
+  public SpKafkaPartitionedConsumer(KafkaTransportProtocol protocol,
+                                    List<KafkaConfigAppender> appenders) {
+    this(protocol, appenders, KafkaConsumer::new);
+  }
+
+  SpKafkaPartitionedConsumer(KafkaTransportProtocol protocol,
+                             List<KafkaConfigAppender> appenders,
+                             Function<Properties, Consumer<byte[], byte[]>> consumerFactory) {
+    this.protocol = protocol;
+    this.appenders = appenders;
+    this.consumerFactory = consumerFactory;
+  }
+
+  @Override
+  public void run() {
+    Properties props = new ConsumerConfigFactory(protocol).buildProperties(appenders);
+    props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+
+    LOG.info("Using kafka properties: {}", props);
+    consumer = consumerFactory.apply(props);
+    var rebalanceListener = new PartitionRebalanceListener();
+    if (!patternTopic) {
+      consumer.subscribe(Collections.singletonList(topic), rebalanceListener);
+    } else {
+      consumer.subscribe(Pattern.compile(replaceWildcardWithPatternFormat(topic)), rebalanceListener);
+    }
+
+    try {
+      while (isRunning) {
+        var records = consumer.poll(POLL_TIMEOUT);
+        for (TopicPartition partition : records.partitions()) {
+          var worker = workers.get(partition);
+          if (worker != null) {
+            worker.enqueue(records.records(partition));
+          }
+        }
+        applyBackpressure();
+        commitProcessedOffsets(false);
+      }
+    } catch (WakeupException e) {
+      // thrown by consumer.wakeup() to interrupt a blocking poll on disconnect
+    } finally {
+      stopWorkers(workers.keySet(), true);
+      consumer.close();
+    }
+  }
+
+  private void applyBackpressure() {
+    List<TopicPartition> toPause = new ArrayList<>();
+    List<TopicPartition> toResume = new ArrayList<>();
+    workers.forEach((partition, worker) -> {
+      int pending = worker.getPendingRecords();
+      if (pending > MAX_PENDING_RECORDS && !pausedPartitions.contains(partition)) {
+        toPause.add(partition);
+      } else if (pending < RESUME_PENDING_RECORDS && pausedPartitions.contains(partition)) {
+        toResume.add(partition);
+      }
+    });
+    if (!toPause.isEmpty()) {
+      consumer.pause(toPause);
+      pausedPartitions.addAll(toPause);
+    }
+    if (!toResume.isEmpty()) {
+      consumer.resume(toResume);
+      toResume.forEach(pausedPartitions::remove);
+    }
+  }
+
+  private void commitProcessedOffsets(boolean sync) {
+    long now = System.currentTimeMillis();
+    if (!sync && now - lastCommit < COMMIT_INTERVAL_MS) {
+      return;
+    }
+    lastCommit = now;
+    var offsets = collectOffsets(workers.values());
+    if (offsets.isEmpty()) {
+      return;
+    }
+    if (sync) {
+      commitSync(offsets, workers);
+    } else {
+      // offsets are only marked as committed once the commit succeeded, failed commits are retried with the next one
+      consumer.commitAsync(offsets, (committed, e) -> {
+        if (e != null) {
+          LOG.warn("Could not commit offsets {}", committed, e);
+        } else {
+          markCommitted(committed, workers);
+        }
+      });
+    }
+  }
+
+  private Map<TopicPartition, OffsetAndMetadata> collectOffsets(Collection<KafkaPartitionWorker> partitionWorkers) {
+    Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+    partitionWorkers.forEach(worker -> {
+      long offset = worker.getOffsetToCommit();
+      if (offset >= 0) {
+        offsets.put(worker.getPartition(), new OffsetAndMetadata(offset));
+      }
+    });
+    return offsets;
+  }
+
+  private void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets,
+                          Map<TopicPartition, KafkaPartitionWorker> partitionWorkers) {
+    try {
+      consumer.commitSync(offsets);
+      markCommitted(offsets, partitionWorkers);
+    } catch (RuntimeException e) {
+      LOG.warn("Could not commit offsets {}", offsets, e);
+    }
+  }
+
+  private void markCommitted(Map<TopicPartition, OffsetAndMetadata> offsets,
+                             Map<TopicPartition, KafkaPartitionWorker> partitionWorkers) {
+    offsets.forEach((partition, offset) -> {
+      var worker = partitionWorkers.get(partition);
+      if (worker != null) {
+        worker.markCommitted(offset.offset());
+      }
+    });
+  }
+
+  private void stopWorkers(Collection<TopicPartition> partitions,
+                           boolean commit) {
+    Map<TopicPartition, KafkaPartitionWorker> stopped = new HashMap<>();
+    new ArrayList<>(partitions).forEach(partition -> {
+      var worker = workers.remove(partition);
+      pausedPartitions.remove(partition);
+      if (worker != null) {
+        worker.stop();
+        stopped.put(partition, worker);
+      }
+    });
+    if (commit) {
+      var offsets = collectOffsets(stopped.values());
+      if (!offsets.isEmpty()) {
+        commitSync(offsets, stopped);
+      }
+    }
+  }
+
+  private String replaceWildcardWithPatternFormat(String topic) {
+    topic = topic.replaceAll("\\.", "\\\\.");
+    return topic.replaceAll("\\*", ".*");
+  }
+
+  @Override
+  public void connect(InternalEventProcessor<byte[]> eventProcessor) throws SpRuntimeException {
+    LOG.info("Kafka consumer: Connecting to " + protocol.getTopicDefinition().getActualTopicName());
+    if (protocol.getTopicDefinition() instanceof WildcardTopicDefinition) {
+      this.patternTopic = true;
+    }
+    this.eventProcessor = eventProcessor;
+    this.topic = protocol.getTopicDefinition().getActualTopicName();
+    this.isRunning = true;
+
+    Thread thread = new Thread(this, "kafka-consumer-" + topic);
+    thread.start();
+  }
+
+  @Override
+  public void disconnect() throws SpRuntimeException {
+    LOG.info("Kafka consumer: Disconnecting from " + topic);
+    this.isRunning = false;
+    if (consumer != null) {
+      consumer.wakeup();
+    }
+  }
+
+  @Override
+  public boolean isConnected() {
+    return isRunning;
+  }
+
+  private class PartitionRebalanceListener implements ConsumerRebalanceListener {
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+      stopWorkers(partitions, true);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+      partitions.forEach(partition -> {
+        var worker = new KafkaPartitionWorker(partition, eventProcessor);
+        workers.put(partition, worker);
+        worker.start();
+      });
+    }
+
+    @Override
+    public void onPartitionsLost(Collection<TopicPartition> partitions) {
+      stopWorkers(partitions, false);
+    }
+  }
+}
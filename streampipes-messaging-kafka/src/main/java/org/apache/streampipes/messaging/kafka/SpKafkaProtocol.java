@@ -18,6 +18,7 @@
 
 package org.apache.streampipes.messaging.kafka;
 
+import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.messaging.EventConsumer;
 import org.apache.streampipes.messaging.EventProducer;
 import org.apache.streampipes.messaging.SpProtocolDefinition;
@@ -27,6 +28,9 @@ public class SpKafkaProtocol implements SpProtocolDefinition<KafkaTransportProto
 
   @Override
   public EventConsumer getConsumer(KafkaTransportProtocol transportProtocol) {
+    if (Environments.getEnvironment().getKafkaConsumerPartitionWorkers().getValueOrDefault()) {
+      return new SpKafkaPartitionedConsumer(transportProtocol);
+    }
     return new SpKafkaConsumer(transportProtocol);
   }
 
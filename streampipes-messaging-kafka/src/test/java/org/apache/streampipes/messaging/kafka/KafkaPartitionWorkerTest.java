@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.kafka;
+
+import org.apache.streampipes.messaging.InternalEventProcessor;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KafkaPartitionWorkerTest {
+
+  private static final TopicPartition PARTITION = new TopicPartition("test-topic", 0);
+
+  @Test
+  public void processesRecordsInOffsetOrder() throws Exception {
+    var processor = new RecordingProcessor();
+    var worker = new KafkaPartitionWorker(PARTITION, processor, 1);
+
+    worker.start();
+    worker.enqueue(records("a", "b", "c"));
+    await(() -> worker.getOffsetToCommit() == 3);
+    worker.stop();
+
+    assertEquals(List.of("a", "b", "c"), processor.processed);
+    worker.markCommitted(3);
+    assertEquals(-1, worker.getOffsetToCommit());
+  }
+
+  @Test
+  public void skipsPoisonRecordAfterRetries() throws Exception {
+    var attempts = new AtomicInteger();
+    var processor = new RecordingProcessor() {
+      @Override
+      public void onEvent(byte[] event) {
+        if ("poison".equals(toString(event))) {
+          attempts.incrementAndGet();
+          throw new IllegalStateException("Cannot deserialize record");
+        }
+        super.onEvent(event);
+      }
+    };
+    var worker = new KafkaPartitionWorker(PARTITION, processor, 1);
+
+    worker.start();
+    worker.enqueue(records("a", "poison", "b"));
+    await(() -> worker.getOffsetToCommit() == 3);
+    worker.stop();
+
+    assertEquals(List.of("a", "b"), processor.processed);
+    assertEquals(List.of("poison"), processor.skipped);
+    assertEquals(5, attempts.get());
+  }
+
+  @Test
+  public void stopWaitsForCurrentRecordAndDiscardsPendingRecords() throws Exception {
+    var release = new CountDownLatch(1);
+    var processor = new RecordingProcessor() {
+      @Override
+      public void onEvent(byte[] event) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new IllegalStateException(e);
+        }
+        super.onEvent(event);
+      }
+    };
+    var worker = new KafkaPartitionWorker(PARTITION, processor, 1);
+    worker.start();
+    worker.enqueue(records("a", "b", "c"));
+    await(() -> worker.getPendingRecords() == 2);
+
+    var stopped = new CountDownLatch(1);
+    new Thread(() -> {
+      worker.stop();
+      stopped.countDown();
+    }).start();
+
+    assertFalse(stopped.await(200, TimeUnit.MILLISECONDS));
+    release.countDown();
+    assertTrue(stopped.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of("a"), processor.processed);
+    assertEquals(1, worker.getOffsetToCommit());
+  }
+
+  static List<ConsumerRecord<byte[], byte[]>> records(String... values) {
+    var records = new ArrayList<ConsumerRecord<byte[], byte[]>>();
+    for (int i = 0; i < values.length; i++) {
+      records.add(new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), i, null,
+          values[i].getBytes(StandardCharsets.UTF_8)));
+    }
+    return records;
+  }
+
+  static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new AssertionError("Condition not met within 10 s");
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  static class RecordingProcessor implements InternalEventProcessor<byte[]> {
+
+    final List<String> processed = new CopyOnWriteArrayList<>();
+    final List<String> skipped = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onEvent(byte[] event) {
+      processed.add(toString(event));
+    }
+
+    @Override
+    public void onSkippedEvent(byte[] event,
+                               RuntimeException cause) {
+      skipped.add(toString(event));
+    }
+
+    static String toString(byte[] event) {
+      return new String(event, StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.messaging.kafka;
+
+import org.apache.streampipes.messaging.kafka.KafkaPartitionWorkerTest.RecordingProcessor;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetCommitCallback;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.apache.streampipes.messaging.kafka.KafkaPartitionWorkerTest.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpKafkaPartitionedConsumerTest {
+
+  private static final String TOPIC = "test-topic";
+  private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+  private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+  private final Map<TopicPartition, Long> committedOffsets = new ConcurrentHashMap<>();
+  private final MockConsumer<byte[], byte[]> mockConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+    @Override
+    public synchronized void commitAsync(Map<TopicPartition, OffsetAndMetadata> offsets,
+                                         OffsetCommitCallback callback) {
+      // the mock consumer does not report committed offsets of partitions which are no longer assigned
+      offsets.forEach((partition, offset) -> committedOffsets.put(partition, offset.offset()));
+      super.commitAsync(offsets, callback);
+    }
+  };
+  private final SpKafkaPartitionedConsumer consumer = new SpKafkaPartitionedConsumer(
+      new KafkaTransportProtocol("localhost", 9092, TOPIC),
+      new ArrayList<>(),
+      props -> mockConsumer
+  );
+
+  @AfterEach
+  public void disconnect() throws Exception {
+    consumer.disconnect();
+    await(mockConsumer::closed);
+  }
+
+  @Test
+  public void commitsOnlyOffsetsBelowTheFirstUnprocessedRecord() throws Exception {
+    var release = new CountDownLatch(1);
+    var processor = new RecordingProcessor() {
+      @Override
+      public void onEvent(byte[] event) {
+        if ("p0-2".equals(toString(event))) {
+          awaitUninterruptibly(release);
+        }
+        super.onEvent(event);
+      }
+    };
+
+    consumer.connect(processor);
+    assignAndAdd(List.of(PARTITION_0, PARTITION_1), Map.of(PARTITION_0, 5, PARTITION_1, 2));
+
+    await(() -> committedOffset(PARTITION_0) == 2 && committedOffset(PARTITION_1) == 2);
+    assertFalse(processor.processed.contains("p0-3"));
+
+    release.countDown();
+    await(() -> committedOffset(PARTITION_0) == 5);
+    assertEquals(List.of("p0-0", "p0-1", "p0-2", "p0-3", "p0-4"), processor.processed
+        .stream()
+        .filter(value -> value.startsWith("p0"))
+        .toList());
+  }
+
+  @Test
+  public void revocationWaitsForCurrentRecordAndCommitsItsOffset() throws Exception {
+    var release = new CountDownLatch(1);
+    var processor = new RecordingProcessor() {
+      @Override
+      public void onEvent(byte[] event) {
+        if ("p0-1".equals(toString(event))) {
+          awaitUninterruptibly(release);
+        }
+        super.onEvent(event);
+      }
+    };
+    var revoked = new AtomicBoolean();
+
+    consumer.connect(processor);
+    assignAndAdd(List.of(PARTITION_0), Map.of(PARTITION_0, 3));
+    await(() -> processor.processed.contains("p0-0"));
+
+    mockConsumer.schedulePollTask(() -> {
+      mockConsumer.rebalance(List.of(PARTITION_1));
+      revoked.set(true);
+    });
+    Thread.sleep(200);
+    assertFalse(revoked.get());
+
+    release.countDown();
+    await(revoked::get);
+    assertEquals(2, committedOffset(PARTITION_0));
+    assertEquals(List.of("p0-0", "p0-1"), processor.processed);
+  }
+
+  @Test
+  public void skipsPoisonRecordAndCommitsPastIt() throws Exception {
+    var processor = new RecordingProcessor() {
+      @Override
+      public void onEvent(byte[] event) {
+        if ("p0-1".equals(toString(event))) {
+          throw new IllegalStateException("Cannot deserialize record");
+        }
+        super.onEvent(event);
+      }
+    };
+
+    consumer.connect(processor);
+    assignAndAdd(List.of(PARTITION_0), Map.of(PARTITION_0, 3));
+
+    await(() -> committedOffset(PARTITION_0) == 3);
+    assertEquals(List.of("p0-0", "p0-2"), processor.processed);
+    assertEquals(List.of("p0-1"), processor.skipped);
+    assertTrue(consumer.isConnected());
+  }
+
+  private void assignAndAdd(List<TopicPartition> partitions,
+                            Map<TopicPartition, Integer> recordCounts) {
+    mockConsumer.schedulePollTask(() -> {
+      mockConsumer.updateBeginningOffsets(Map.of(PARTITION_0, 0L, PARTITION_1, 0L));
+      mockConsumer.rebalance(partitions);
+      recordCounts.forEach((partition, count) -> {
+        for (int offset = 0; offset < count; offset++) {
+          var value = "p" + partition.partition() + "-" + offset;
+          mockConsumer.addRecord(new ConsumerRecord<>(TOPIC, partition.partition(), offset, null,
+              value.getBytes(StandardCharsets.UTF_8)));
+        }
+      });
+    });
+  }
+
+  private long committedOffset(TopicPartition partition) {
+    return committedOffsets.getOrDefault(partition, -1L);
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -20,12 +20,14 @@ package org.apache.streampipes.messaging.mqtt;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 
 import org.fusesource.mqtt.client.BlockingConnection;
+import org.fusesource.mqtt.client.FutureConnection;
 import org.fusesource.mqtt.client.MQTT;
 
 public class AbstractMqttConnector {
 
   protected MQTT mqtt;
   protected BlockingConnection connection;
+  protected FutureConnection futureConnection;
   protected boolean connected = false;
 
   protected final MqttTransportProtocol protocol;
@@ -37,7 +39,8 @@ public class AbstractMqttConnector {
   protected void createBrokerConnection(MqttTransportProtocol protocolSettings) throws Exception {
     this.mqtt = new MQTT();
     this.mqtt.setHost(makeBrokerUrl(protocolSettings));
-    this.connection = mqtt.blockingConnection();
+    this.futureConnection = mqtt.futureConnection();
+    this.connection = new BlockingConnection(futureConnection);
     this.connection.connect();
     this.connected = true;
   }
@@ -21,10 +21,14 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.EventProducer;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 
+import org.fusesource.mqtt.client.Future;
 import org.fusesource.mqtt.client.QoS;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class MqttPublisher extends AbstractMqttConnector implements EventProducer {
 
   private static final Logger LOG = LoggerFactory.getLogger(MqttPublisher.class);
@@ -57,6 +61,26 @@ public class MqttPublisher extends AbstractMqttConnector implements EventProduce
     }
   }
 
+  /**
+   * Sends all messages of the batch before waiting for their acknowledgements.
+   */
+  @Override
+  public void publish(List<byte[]> events) {
+    if (connected && currentTopic != null) {
+      try {
+        List<Future<Void>> acknowledgements = new ArrayList<>(events.size());
+        for (byte[] event : events) {
+          acknowledgements.add(this.futureConnection.publish(currentTopic, event, QoS.AT_LEAST_ONCE, false));
+        }
+        for (Future<Void> acknowledgement : acknowledgements) {
+          acknowledgement.await();
+        }
+      } catch (Exception e) {
+        LOG.error(e.getMessage());
+      }
+    }
+  }
+
   @Override
   public void disconnect() throws SpRuntimeException {
     try {
@@ -27,6 +27,9 @@ import org.apache.pulsar.client.api.PulsarClient;
 import org.apache.pulsar.client.api.PulsarClientException;
 
 import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class PulsarProducer implements EventProducer, Serializable {
 
@@ -61,6 +64,23 @@ public class PulsarProducer implements EventProducer, Serializable {
     }
   }
 
+  /**
+   * Sends the batch asynchronously, so that the client can group the messages, and waits for all acknowledgements.
+   */
+  @Override
+  public void publish(List<byte[]> events) throws SpRuntimeException {
+    var acknowledgements = events
+        .stream()
+        .map(producer::sendAsync)
+        .toArray(CompletableFuture[]::new);
+    try {
+      producer.flush();
+      CompletableFuture.allOf(acknowledgements).join();
+    } catch (PulsarClientException | CompletionException e) {
+      throw new SpRuntimeException(e);
+    }
+  }
+
   @Override
   public void disconnect() throws SpRuntimeException {
     try {
@@ -21,6 +21,7 @@ package org.apache.streampipes.messaging;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 
 import java.io.Serializable;
+import java.util.List;
 
 public interface EventProducer extends Serializable {
 
@@ -28,6 +29,14 @@ public interface EventProducer extends Serializable {
 
   void publish(byte[] event);
 
+  /**
+   * Publishes a batch of events in the given order.
+   * Protocols which support batching natively should override this method.
+   */
+  default void publish(List<byte[]> events) {
+    events.forEach(this::publish);
+  }
+
   void disconnect() throws SpRuntimeException;
 
   boolean isConnected();
@@ -21,4 +21,11 @@ package org.apache.streampipes.messaging;
 public interface InternalEventProcessor<T> {
 
   void onEvent(T event);
+
+  /**
+   * Called by consumers which skip an event since it repeatedly failed to be processed, e.g., to report the failure.
+   */
+  default void onSkippedEvent(T event,
+                              RuntimeException cause) {
+  }
 }
@@ -28,6 +28,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.google.gson.annotations.SerializedName;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, property = "@class")
 @TsModel
 public class DataLakeMeasure implements Storable {
@@ -53,6 +56,8 @@ public class DataLakeMeasure implements Storable {
 
   private DataLakeMeasureSchemaUpdateStrategy schemaUpdateStrategy = DataLakeMeasureSchemaUpdateStrategy.UPDATE_SCHEMA;
 
+  private List<DataLakeRollupTier> rollupTiers = new ArrayList<>();
+
   public DataLakeMeasure() {
     super();
   }
@@ -60,7 +65,9 @@ public class DataLakeMeasure implements Storable {
   public DataLakeMeasure(DataLakeMeasure other) {
     this.measureName = other.getMeasureName();
     this.eventSchema = new EventSchema(other.getEventSchema());
-
+    if (other.getRollupTiers() != null) {
+      this.rollupTiers = new ArrayList<>(other.getRollupTiers());
+    }
   }
 
   public DataLakeMeasure(String measureName, EventSchema eventSchema) {
@@ -139,6 +146,14 @@ public class DataLakeMeasure implements Storable {
     this.schemaUpdateStrategy = schemaUpdateStrategy;
   }
 
+  public List<DataLakeRollupTier> getRollupTiers() {
+    return rollupTiers;
+  }
+
+  public void setRollupTiers(List<DataLakeRollupTier> rollupTiers) {
+    this.rollupTiers = rollupTiers;
+  }
+
   /**
    * This can be used to get the name of the timestamp property without the stream prefix
    *
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.datalake;
+
+import org.apache.streampipes.model.shared.annotation.TsModel;
+
+/**
+ * A rollup tier of a data lake measure. For each tier, the data lake sink continuously writes the minimum,
+ * maximum, sum and count of all numeric fields per time bucket of the given interval to a separate measurement.
+ * Queries are only answered from the rollups of a tier for time ranges after the tier became active.
+ */
+@TsModel
+public class DataLakeRollupTier {
+
+  private String name;
+  private long intervalMs;
+  private long activeSince;
+
+  public DataLakeRollupTier() {
+  }
+
+  public DataLakeRollupTier(String name, long intervalMs) {
+    this.name = name;
+    this.intervalMs = intervalMs;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public long getIntervalMs() {
+    return intervalMs;
+  }
+
+  public void setIntervalMs(long intervalMs) {
+    this.intervalMs = intervalMs;
+  }
+
+  public long getActiveSince() {
+    return activeSince;
+  }
+
+  public void setActiveSince(long activeSince) {
+    this.activeSince = activeSince;
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.datalake;
+
+/**
+ * Algorithms which reduce the number of points of a queried time series while preserving its visual shape.
+ */
+public enum DownsamplingAlgorithm {
+
+  /**
+   * Keeps the first, last, minimum and maximum value of each time bucket.
+   */
+  M4,
+
+  /**
+   * Largest-Triangle-Three-Buckets, keeps the point of each time bucket which forms the largest triangle with the
+   * point selected in the previous bucket and the average of the next bucket.
+   */
+  LTTB
+}
@@ -44,6 +44,8 @@ public class SupportedRestQueryParams {
   public static final String QP_XLSX_TEMPLATE_ID = "templateId";
   public static final String QP_XLSX_START_ROW = "startRow";
   public static final String QP_HEADER_COLUMN_NAME = "headerColumnName";
+  public static final String QP_DOWNSAMPLING = "downsampling";
+  public static final String QP_DOWNSAMPLING_POINTS = "downsamplingPoints";
 
   public static final List<String> SUPPORTED_PARAMS = Arrays.asList(
       QP_COLUMNS,
@@ -66,7 +68,9 @@ public class SupportedRestQueryParams {
       QP_XLSX_START_ROW,
       QP_XLSX_TEMPLATE_ID,
       QP_XLSX_USE_TEMPLATE,
-      QP_HEADER_COLUMN_NAME
+      QP_HEADER_COLUMN_NAME,
+      QP_DOWNSAMPLING,
+      QP_DOWNSAMPLING_POINTS
   );
 
 }
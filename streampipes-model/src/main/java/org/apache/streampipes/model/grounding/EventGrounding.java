@@ -31,10 +31,12 @@ public class EventGrounding {
   private static final long serialVersionUID = 3149070517282698799L;
 
   private List<TransportProtocol> transportProtocols;
+  private List<TransportFormat> transportFormats;
 
   public EventGrounding() {
     super();
     this.transportProtocols = new ArrayList<>();
+    this.transportFormats = new ArrayList<>();
   }
 
   public EventGrounding(TransportProtocol transportProtocol) {
@@ -44,6 +46,7 @@ public class EventGrounding {
 
   public EventGrounding(EventGrounding other) {
     this.transportProtocols = new Cloner().protocols(other.getTransportProtocols());
+    this.transportFormats = new Cloner().transportFormats(other.getTransportFormats());
   }
 
   public List<TransportProtocol> getTransportProtocols() {
@@ -66,4 +69,25 @@ public class EventGrounding {
   public void setTransportProtocol(TransportProtocol transportProtocol) {
     this.transportProtocols = Collections.singletonList(transportProtocol);
   }
+
+  public List<TransportFormat> getTransportFormats() {
+    return transportFormats;
+  }
+
+  public void setTransportFormats(List<TransportFormat> transportFormats) {
+    this.transportFormats = transportFormats;
+  }
+
+  @JsonIgnore
+  public TransportFormat getTransportFormat() {
+    if (transportFormats == null || transportFormats.isEmpty()) {
+      return null;
+    } else {
+      return transportFormats.get(0);
+    }
+  }
+
+  public void setTransportFormat(TransportFormat transportFormat) {
+    this.transportFormats = Collections.singletonList(transportFormat);
+  }
 }
@@ -40,7 +40,7 @@ public class TransportFormat {
   }
 
   public TransportFormat(TransportFormat other) {
-    this.rdfType = other.getRdfType();
+    this.rdfType = new ArrayList<>(other.getRdfType());
   }
 
   public List<URI> getRdfType() {
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.model.monitoring;
+
+import org.apache.streampipes.model.shared.annotation.TsModel;
+
+/**
+ * Latency distribution of a pipeline element, all values are given in milliseconds.
+ */
+@TsModel
+public class LatencyInfo {
+
+  private long count;
+  private double mean;
+  private double p50;
+  private double p90;
+  private double p99;
+  private double max;
+
+  public LatencyInfo() {
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public void setCount(long count) {
+    this.count = count;
+  }
+
+  public double getMean() {
+    return mean;
+  }
+
+  public void setMean(double mean) {
+    this.mean = mean;
+  }
+
+  public double getP50() {
+    return p50;
+  }
+
+  public void setP50(double p50) {
+    this.p50 = p50;
+  }
+
+  public double getP90() {
+    return p90;
+  }
+
+  public void setP90(double p90) {
+    this.p90 = p90;
+  }
+
+  public double getP99() {
+    return p99;
+  }
+
+  public void setP99(double p99) {
+    this.p99 = p99;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  public void setMax(double max) {
+    this.max = max;
+  }
+}
@@ -29,10 +29,21 @@ public class SpMetricsEntry {
   private long lastTimestamp;
   private Map<String, MessageCounter> messagesIn;
   private MessageCounter messagesOut;
+  private LatencyInfo processingTime;
+  private LatencyInfo eventTimeLag;
+  private LatencyInfo publishLatency;
+  private LatencyInfo pollLatency;
+  private long missedPollTicks;
+  private Map<String, Long> gauges;
 
   public SpMetricsEntry() {
     this.messagesIn = new HashMap<>();
+    this.gauges = new HashMap<>();
     this.messagesOut = new MessageCounter();
+    this.processingTime = new LatencyInfo();
+    this.eventTimeLag = new LatencyInfo();
+    this.publishLatency = new LatencyInfo();
+    this.pollLatency = new LatencyInfo();
   }
 
   public long getLastTimestamp() {
@@ -59,6 +70,54 @@ public class SpMetricsEntry {
     this.messagesOut = messagesOut;
   }
 
+  public LatencyInfo getProcessingTime() {
+    return processingTime;
+  }
+
+  public void setProcessingTime(LatencyInfo processingTime) {
+    this.processingTime = processingTime;
+  }
+
+  public LatencyInfo getEventTimeLag() {
+    return eventTimeLag;
+  }
+
+  public void setEventTimeLag(LatencyInfo eventTimeLag) {
+    this.eventTimeLag = eventTimeLag;
+  }
+
+  public LatencyInfo getPublishLatency() {
+    return publishLatency;
+  }
+
+  public void setPublishLatency(LatencyInfo publishLatency) {
+    this.publishLatency = publishLatency;
+  }
+
+  public LatencyInfo getPollLatency() {
+    return pollLatency;
+  }
+
+  public void setPollLatency(LatencyInfo pollLatency) {
+    this.pollLatency = pollLatency;
+  }
+
+  public long getMissedPollTicks() {
+    return missedPollTicks;
+  }
+
+  public void setMissedPollTicks(long missedPollTicks) {
+    this.missedPollTicks = missedPollTicks;
+  }
+
+  public Map<String, Long> getGauges() {
+    return gauges;
+  }
+
+  public void setGauges(Map<String, Long> gauges) {
+    this.gauges = gauges;
+  }
+
   public void addOutMetrics(long lastTimestamp) {
     this.messagesOut.setLastTimestamp(lastTimestamp);
     this.messagesOut.setCounter(this.messagesOut.getCounter() + 1);
@@ -80,5 +139,11 @@ public class SpMetricsEntry {
     this.messagesIn.clear();
     this.messagesOut.setCounter(0);
     this.messagesOut.setLastTimestamp(0);
+    this.processingTime = new LatencyInfo();
+    this.eventTimeLag = new LatencyInfo();
+    this.publishLatency = new LatencyInfo();
+    this.pollLatency = new LatencyInfo();
+    this.missedPollTicks = 0;
+    this.gauges.clear();
   }
 }
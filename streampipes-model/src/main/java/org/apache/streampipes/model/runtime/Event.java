@@ -34,6 +34,9 @@ public class Event {
   private SourceInfo sourceInfo;
   private SchemaInfo schemaInfo;
 
+  // first-level runtime names mapped to their selectors, built lazily on the first lookup by runtime name
+  private Map<String, String> runtimeNameIndex;
+
   public Event(Map<String, AbstractField> fieldMap, SourceInfo
       sourceInfo, SchemaInfo schemaInfo) {
     this.fieldMap = fieldMap;
@@ -71,6 +74,25 @@ public class Event {
   }
 
   public Optional<AbstractField> getOptionalFieldByRuntimeName(String runtimeName) {
+    if (runtimeNameIndex == null) {
+      runtimeNameIndex = makeRuntimeNameIndex();
+    }
+    String selector = runtimeNameIndex.get(runtimeName);
+    if (selector != null) {
+      AbstractField field = fieldMap.get(selector);
+      if (field != null && runtimeName.equals(field.getFieldNameIn())) {
+        return Optional.of(field);
+      }
+    }
+    // the field map can be modified through getFields(), so a miss is verified by a full scan
+    Optional<AbstractField> field = findFieldByRuntimeName(runtimeName);
+    if (field.isPresent()) {
+      runtimeNameIndex = null;
+    }
+    return field;
+  }
+
+  private Optional<AbstractField> findFieldByRuntimeName(String runtimeName) {
     return fieldMap
         .entrySet()
         .stream()
@@ -79,6 +101,12 @@ public class Event {
         .findFirst();
   }
 
+  private Map<String, String> makeRuntimeNameIndex() {
+    Map<String, String> index = new HashMap<>();
+    fieldMap.forEach((selector, field) -> index.putIfAbsent(field.getFieldNameIn(), selector));
+    return index;
+  }
+
   public AbstractField getFieldByRuntimeName(String runtimeName) {
     // TODO this currently only works for first-level properties
     return getOptionalFieldByRuntimeName(runtimeName)
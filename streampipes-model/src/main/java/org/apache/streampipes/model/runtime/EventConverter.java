@@ -51,7 +51,14 @@ public class EventConverter {
     return toMap(false);
   }
 
-  private Object makeEntry(AbstractField value, Boolean renameProperties) {
+  /**
+   * Converts a single (possibly nested) field into its raw representation using the input field names.
+   */
+  public static Object toRawValue(AbstractField field) {
+    return makeEntry(field, false);
+  }
+
+  private static Object makeEntry(AbstractField value, Boolean renameProperties) {
     if (value instanceof PrimitiveField) {
       return value.getRawValue();
     } else if (value instanceof ListField) {
@@ -70,7 +77,7 @@ public class EventConverter {
     }
   }
 
-  private String getValue(AbstractField field, Boolean renameProperties) {
+  private static String getValue(AbstractField field, Boolean renameProperties) {
     return renameProperties ? field.getFieldNameOut() : field.getFieldNameIn();
   }
 }
@@ -77,6 +77,25 @@ public class EventFactory {
     return new Event(fields, sourceInfo, schemaInfo);
   }
 
+  public static Event fromMap(Map<String, Object> event,
+                              EventLayout layout) {
+    SlotFieldMap fields = new SlotFieldMap(layout);
+
+    event.forEach((key, value) -> {
+      int slot = layout.getSlotByRuntimeName(key);
+      if (slot != EventLayout.NO_SLOT) {
+        fields.putSlot(slot, makeField(key, layout.getOutputRuntimeName(slot), value, layout.getSelector(slot),
+            layout));
+      } else {
+        String currentSelector = layout.makeSelector(key);
+        fields.put(currentSelector, makeField(key, layout.getNewRuntimeName(currentSelector, key), value,
+            currentSelector, layout));
+      }
+    });
+
+    return new Event(fields, layout.getSourceInfo(), layout.getSchemaInfo());
+  }
+
   public static Event makeSubset(Event event, List<String> fieldSelectors) {
     Map<String, AbstractField> fieldMap = makeFieldMap(event.getFields(), fieldSelectors);
     return new Event(fieldMap, event.getSourceInfo(), event.getSchemaInfo());
@@ -147,6 +166,28 @@ public class EventFactory {
     }
   }
 
+  private static AbstractField makeField(String runtimeName, String newRuntimeName, Object o,
+                                         String currentSelector, EventLayout layout) {
+    if (o instanceof Map) {
+      Map<String, Object> items = (Map<String, Object>) o;
+      Map<String, AbstractField> fieldMap = new LinkedTreeMap<>();
+      items.forEach((key, value) -> {
+        String selector = makeSelector(key, currentSelector);
+        fieldMap.put(selector, makeField(key, layout.getNewRuntimeName(selector, key), value, selector, layout));
+      });
+      return new NestedField(runtimeName, newRuntimeName, fieldMap);
+    } else if (o instanceof List) {
+      List<AbstractField> items = new ArrayList<>();
+      for (int i = 0; i < ((List) o).size(); i++) {
+        String selector = currentSelector + PropertySelectorConstants.PROPERTY_DELIMITER + i;
+        items.add(makeField("", layout.getNewRuntimeName(selector, ""), ((List) o).get(i), selector, layout));
+      }
+      return new ListField(runtimeName, newRuntimeName, items);
+    } else {
+      return new PrimitiveField(runtimeName, newRuntimeName, o);
+    }
+  }
+
   private static String getNewRuntimeName(String currentSelector, String
       runtimeName, List<PropertyRenameRule>
                                               renameRules) {
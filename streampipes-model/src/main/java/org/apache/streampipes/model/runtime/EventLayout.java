@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.schema.EventProperty;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Slot layout of the top-level fields of an input stream, compiled once from the event schema
+ * when a pipeline element is invoked. Events created from a layout resolve selectors to array
+ * slots instead of hashing selector strings and scanning rename rules for every field.
+ */
+public class EventLayout implements Serializable {
+
+  public static final int NO_SLOT = -1;
+
+  private final SourceInfo sourceInfo;
+  private final SchemaInfo schemaInfo;
+
+  private final String[] runtimeNames;
+  private final String[] selectors;
+  private final String[] outputRuntimeNames;
+
+  private final Map<String, Integer> slotsByRuntimeName;
+  private final Map<String, Integer> slotsBySelector;
+  private final Map<String, String> renamedRuntimeNames;
+
+  private EventLayout(SourceInfo sourceInfo,
+                      SchemaInfo schemaInfo,
+                      List<EventProperty> properties) {
+    this.sourceInfo = sourceInfo;
+    this.schemaInfo = schemaInfo;
+    this.renamedRuntimeNames = makeRenameIndex(schemaInfo.getRenameRules());
+    this.runtimeNames = new String[properties.size()];
+    this.selectors = new String[properties.size()];
+    this.outputRuntimeNames = new String[properties.size()];
+    this.slotsByRuntimeName = new HashMap<>();
+    this.slotsBySelector = new HashMap<>();
+
+    for (int slot = 0; slot < properties.size(); slot++) {
+      String runtimeName = properties.get(slot).getRuntimeName();
+      String selector = makeSelector(runtimeName);
+      runtimeNames[slot] = runtimeName;
+      selectors[slot] = selector;
+      outputRuntimeNames[slot] = getNewRuntimeName(selector, runtimeName);
+      slotsByRuntimeName.put(runtimeName, slot);
+      slotsBySelector.put(selector, slot);
+    }
+  }
+
+  public static EventLayout compile(SourceInfo sourceInfo,
+                                    SchemaInfo schemaInfo) {
+    List<EventProperty> properties = schemaInfo.getEventSchema() != null
+        ? schemaInfo.getEventSchema().getEventProperties()
+        : Collections.emptyList();
+    return new EventLayout(sourceInfo, schemaInfo, properties);
+  }
+
+  public int size() {
+    return runtimeNames.length;
+  }
+
+  public int getSlotByRuntimeName(String runtimeName) {
+    return slotsByRuntimeName.getOrDefault(runtimeName, NO_SLOT);
+  }
+
+  public int getSlotBySelector(Object selector) {
+    return slotsBySelector.getOrDefault(selector, NO_SLOT);
+  }
+
+  public String getRuntimeName(int slot) {
+    return runtimeNames[slot];
+  }
+
+  public String getSelector(int slot) {
+    return selectors[slot];
+  }
+
+  public String getOutputRuntimeName(int slot) {
+    return outputRuntimeNames[slot];
+  }
+
+  public String getNewRuntimeName(String selector,
+                                  String runtimeName) {
+    return renamedRuntimeNames.getOrDefault(selector, runtimeName);
+  }
+
+  public String makeSelector(String runtimeName) {
+    return sourceInfo.getSelectorPrefix() + PropertySelectorConstants.PROPERTY_DELIMITER + runtimeName;
+  }
+
+  public SourceInfo getSourceInfo() {
+    return sourceInfo;
+  }
+
+  public SchemaInfo getSchemaInfo() {
+    return schemaInfo;
+  }
+
+  private Map<String, String> makeRenameIndex(List<PropertyRenameRule> renameRules) {
+    Map<String, String> renameIndex = new HashMap<>();
+    // keep the first matching rule, as the rename rule lookup in the event factory does
+    if (renameRules != null) {
+      renameRules.forEach(rule -> renameIndex.putIfAbsent(rule.getRuntimeId(), rule.getNewRuntimeName()));
+    }
+    return renameIndex;
+  }
+}
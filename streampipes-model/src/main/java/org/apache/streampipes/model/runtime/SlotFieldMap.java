@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.runtime.field.AbstractField;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Field map of an event created from an {@link EventLayout}. Fields declared in the schema are
+ * stored in a slot array, all other fields (e.g. fields added by a processor) in an overflow map.
+ * Schema fields keep their slot and position in the iteration order, even if their value is null.
+ */
+class SlotFieldMap extends AbstractMap<String, AbstractField> {
+
+  private final EventLayout layout;
+  private final AbstractField[] slots;
+  private final boolean[] present;
+  private Map<String, AbstractField> additionalFields;
+  private int slotCount;
+
+  SlotFieldMap(EventLayout layout) {
+    this.layout = layout;
+    this.slots = new AbstractField[layout.size()];
+    this.present = new boolean[layout.size()];
+  }
+
+  AbstractField putSlot(int slot, AbstractField field) {
+    AbstractField previous = slots[slot];
+    slots[slot] = field;
+    if (!present[slot]) {
+      present[slot] = true;
+      slotCount++;
+    }
+    return previous;
+  }
+
+  private AbstractField removeSlot(int slot) {
+    AbstractField previous = slots[slot];
+    slots[slot] = null;
+    if (present[slot]) {
+      present[slot] = false;
+      slotCount--;
+    }
+    return previous;
+  }
+
+  @Override
+  public AbstractField get(Object key) {
+    int slot = layout.getSlotBySelector(key);
+    if (slot != EventLayout.NO_SLOT) {
+      return slots[slot];
+    }
+    return additionalFields != null ? additionalFields.get(key) : null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    int slot = layout.getSlotBySelector(key);
+    if (slot != EventLayout.NO_SLOT) {
+      return present[slot];
+    }
+    return additionalFields != null && additionalFields.containsKey(key);
+  }
+
+  @Override
+  public AbstractField put(String key, AbstractField value) {
+    int slot = layout.getSlotBySelector(key);
+    if (slot != EventLayout.NO_SLOT) {
+      return putSlot(slot, value);
+    }
+    if (additionalFields == null) {
+      additionalFields = new LinkedHashMap<>();
+    }
+    return additionalFields.put(key, value);
+  }
+
+  @Override
+  public AbstractField remove(Object key) {
+    int slot = layout.getSlotBySelector(key);
+    if (slot != EventLayout.NO_SLOT) {
+      return removeSlot(slot);
+    }
+    return additionalFields != null ? additionalFields.remove(key) : null;
+  }
+
+  @Override
+  public int size() {
+    return slotCount + (additionalFields != null ? additionalFields.size() : 0);
+  }
+
+  @Override
+  public Set<Entry<String, AbstractField>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<String, AbstractField>> iterator() {
+        return new SlotIterator();
+      }
+
+      @Override
+      public int size() {
+        return SlotFieldMap.this.size();
+      }
+    };
+  }
+
+  private class SlotIterator implements Iterator<Entry<String, AbstractField>> {
+
+    private int nextSlot = -1;
+    private int currentSlot = EventLayout.NO_SLOT;
+    private Iterator<Entry<String, AbstractField>> additionalIterator;
+
+    SlotIterator() {
+      advance();
+    }
+
+    private void advance() {
+      do {
+        nextSlot++;
+      } while (nextSlot < slots.length && !present[nextSlot]);
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (nextSlot < slots.length) {
+        return true;
+      }
+      return additionalFields != null && getAdditionalIterator().hasNext();
+    }
+
+    @Override
+    public Entry<String, AbstractField> next() {
+      if (nextSlot < slots.length) {
+        currentSlot = nextSlot;
+        advance();
+        return new SlotEntry(currentSlot);
+      }
+      currentSlot = EventLayout.NO_SLOT;
+      if (additionalFields == null) {
+        throw new NoSuchElementException();
+      }
+      return getAdditionalIterator().next();
+    }
+
+    @Override
+    public void remove() {
+      if (currentSlot != EventLayout.NO_SLOT) {
+        removeSlot(currentSlot);
+        currentSlot = EventLayout.NO_SLOT;
+      } else if (additionalIterator != null) {
+        additionalIterator.remove();
+      } else {
+        throw new IllegalStateException();
+      }
+    }
+
+    private Iterator<Entry<String, AbstractField>> getAdditionalIterator() {
+      if (additionalIterator == null) {
+        additionalIterator = additionalFields.entrySet().iterator();
+      }
+      return additionalIterator;
+    }
+  }
+
+  private class SlotEntry implements Entry<String, AbstractField> {
+
+    private final int slot;
+
+    SlotEntry(int slot) {
+      this.slot = slot;
+    }
+
+    @Override
+    public String getKey() {
+      return layout.getSelector(slot);
+    }
+
+    @Override
+    public AbstractField getValue() {
+      return slots[slot];
+    }
+
+    @Override
+    public AbstractField setValue(AbstractField value) {
+      return putSlot(slot, value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Entry<?, ?> other)) {
+        return false;
+      }
+      return getKey().equals(other.getKey()) && Objects.equals(getValue(), other.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return getKey().hashCode() ^ Objects.hashCode(getValue());
+    }
+  }
+}
@@ -30,6 +30,7 @@ import org.apache.streampipes.model.grounding.NatsTransportProtocol;
 import org.apache.streampipes.model.grounding.PulsarTransportProtocol;
 import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
 import org.apache.streampipes.model.grounding.TopicDefinition;
+import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.grounding.WildcardTopicDefinition;
 import org.apache.streampipes.model.grounding.WildcardTopicMapping;
@@ -169,6 +170,14 @@ public class Cloner {
     }
   }
 
+  public List<TransportFormat> transportFormats(List<TransportFormat> transportFormats) {
+    if (transportFormats == null) {
+      return new ArrayList<>();
+    } else {
+      return transportFormats.stream().map(TransportFormat::new).collect(Collectors.toList());
+    }
+  }
+
   public List<WildcardTopicMapping> wildcardTopics(List<WildcardTopicMapping> topicMappings) {
     if (topicMappings == null) {
       return new ArrayList<>();
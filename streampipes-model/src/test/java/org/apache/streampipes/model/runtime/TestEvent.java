@@ -115,4 +115,21 @@ public class TestEvent {
                                                      .getAsPrimitive()
                                                      .getAsInt());
   }
+
+  @Test
+  public void testRuntimeNameLookupAfterModification() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.multiplePropertiesMap();
+    Event event = RuntimeTestUtils.makeSimpleEvent(runtimeMap, RuntimeTestUtils.getSourceInfo());
+
+    Assertions.assertEquals(Integer.valueOf(2), event.getFieldByRuntimeName("sensor1").getAsPrimitive().getAsInt());
+
+    event.renameFieldByRuntimeName("sensor1", "renamed");
+    event.addField("added", 4);
+    event.removeFieldBySelector("s0::sensor2");
+
+    Assertions.assertTrue(event.getOptionalFieldByRuntimeName("sensor1").isEmpty());
+    Assertions.assertTrue(event.getOptionalFieldByRuntimeName("sensor2").isEmpty());
+    Assertions.assertEquals(Integer.valueOf(2), event.getFieldByRuntimeName("renamed").getAsPrimitive().getAsInt());
+    Assertions.assertEquals(Integer.valueOf(4), event.getFieldByRuntimeName("added").getAsPrimitive().getAsInt());
+  }
 }
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class TestEventLayout {
+
+  @Test
+  public void testSchemaFieldsResolveToSlots() {
+    EventLayout layout = makeLayout(Collections.emptyList());
+
+    Assertions.assertEquals(3, layout.size());
+    Assertions.assertEquals("s0::sensor1", layout.getSelector(layout.getSlotByRuntimeName("sensor1")));
+    Assertions.assertEquals(layout.getSlotByRuntimeName("sensor2"), layout.getSlotBySelector("s0::sensor2"));
+    Assertions.assertEquals(EventLayout.NO_SLOT, layout.getSlotByRuntimeName("unknown"));
+  }
+
+  @Test
+  public void testEventFromLayout() {
+    Event event = EventFactory.fromMap(RuntimeTestUtils.multiplePropertiesMap(), makeLayout(Collections.emptyList()));
+
+    Assertions.assertEquals(3, event.getFields().size());
+    Assertions.assertEquals(2, event.getFieldBySelector("s0::sensor1").getAsPrimitive().getAsInt());
+    Assertions.assertEquals(3, event.getFieldByRuntimeName("sensor2").getAsPrimitive().getAsInt());
+  }
+
+  @Test
+  public void testFieldsOutsideOfSchema() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    Event event = EventFactory.fromMap(runtimeMap, makeLayout(Collections.emptyList()));
+
+    event.addField("added", 5);
+    event.removeFieldBySelector("s0::timestamp");
+
+    Assertions.assertEquals(2, event.getFields().size());
+    Assertions.assertFalse(event.getFields().containsKey("s0::timestamp"));
+    Assertions.assertEquals(2, event.getFieldBySelector("s0::nested::timestamp2").getAsPrimitive().getAsInt());
+    Assertions.assertEquals(5, event.getFieldByRuntimeName("added").getAsPrimitive().getAsInt());
+  }
+
+  @Test
+  public void testNullFieldsKeepTheirSlot() {
+    Event event = EventFactory.fromMap(RuntimeTestUtils.multiplePropertiesMap(), makeLayout(Collections.emptyList()));
+    Map<String, AbstractField> fields = event.getFields();
+    AbstractField sensor1 = fields.get("s0::sensor1");
+
+    fields.put("s0::added", new PrimitiveField("added", "added", 5));
+    fields.put("s0::sensor1", null);
+
+    List<String> expectedOrder = List.of("s0::timestamp", "s0::sensor1", "s0::sensor2", "s0::added");
+    Assertions.assertEquals(expectedOrder, new ArrayList<>(fields.keySet()));
+    Assertions.assertTrue(fields.containsKey("s0::sensor1"));
+    Assertions.assertNull(fields.get("s0::sensor1"));
+
+    fields.put("s0::sensor1", sensor1);
+
+    Assertions.assertEquals(expectedOrder, new ArrayList<>(fields.keySet()));
+    Assertions.assertEquals(2, fields.get("s0::sensor1").getAsPrimitive().getAsInt());
+
+    fields.remove("s0::sensor1");
+
+    Assertions.assertEquals(List.of("s0::timestamp", "s0::sensor2", "s0::added"), new ArrayList<>(fields.keySet()));
+    Assertions.assertFalse(fields.containsKey("s0::sensor1"));
+  }
+
+  @Test
+  public void testRenamingFromLayout() {
+    List<PropertyRenameRule> renameRules = List.of(new PropertyRenameRule("s0::timestamp", "ts"));
+    Event event = EventFactory.fromMap(RuntimeTestUtils.multiplePropertiesMap(), makeLayout(renameRules));
+
+    Map<String, Object> outMap = new EventConverter(event).toMap();
+
+    Assertions.assertEquals(3, outMap.size());
+    Assertions.assertEquals(1, outMap.get("ts"));
+    Assertions.assertEquals(2, outMap.get("sensor1"));
+  }
+
+  private EventLayout makeLayout(List<PropertyRenameRule> renameRules) {
+    List<EventProperty> properties = new ArrayList<>();
+    properties.add(new EventPropertyPrimitive("integer", "timestamp", "", ""));
+    properties.add(new EventPropertyPrimitive("integer", "sensor1", "", ""));
+    properties.add(new EventPropertyPrimitive("integer", "sensor2", "", ""));
+
+    return EventLayout.compile(RuntimeTestUtils.getSourceInfo(),
+        new SchemaInfo(new EventSchema(properties), renameRules));
+  }
+}
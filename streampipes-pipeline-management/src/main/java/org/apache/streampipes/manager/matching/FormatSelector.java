@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.manager.matching;
+
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.base.NamedStreamPipesEntity;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.vocabulary.MessageFormat;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+
+public class FormatSelector extends GroundingSelector {
+
+  // binary formats are preferred if all connected pipeline elements support them
+  private static final List<String> PRIORITIZED_FORMATS = List.of(
+      MessageFormat.SMILE,
+      MessageFormat.CBOR,
+      MessageFormat.JSON
+  );
+
+  public FormatSelector(NamedStreamPipesEntity source, Set<InvocableStreamPipesEntity> targets) {
+    super(source, targets);
+  }
+
+  public TransportFormat getPreferredFormat() {
+    if (source instanceof SpDataStream) {
+      EventGrounding grounding = ((SpDataStream) source).getEventGrounding();
+      return grounding.getTransportFormat() != null
+          ? grounding.getTransportFormat()
+          : new TransportFormat(MessageFormat.JSON);
+    } else {
+      return PRIORITIZED_FORMATS
+          .stream()
+          .filter(this::supportsFormat)
+          .findFirst()
+          .map(TransportFormat::new)
+          .orElse(new TransportFormat(MessageFormat.JSON));
+    }
+  }
+
+  public boolean supportsFormat(String format) {
+    List<InvocableStreamPipesEntity> elements = buildInvocables();
+    URI formatUri = URI.create(format);
+
+    return elements
+        .stream()
+        .allMatch(e -> supportsFormat(e.getSupportedGrounding(), formatUri));
+  }
+
+  private boolean supportsFormat(EventGrounding supportedGrounding,
+                                 URI formatUri) {
+    if (supportedGrounding == null
+        || supportedGrounding.getTransportFormats() == null
+        || supportedGrounding.getTransportFormats().isEmpty()) {
+      // elements of services which do not declare data formats only understand JSON
+      return formatUri.toString().equals(MessageFormat.JSON);
+    }
+    return supportedGrounding
+        .getTransportFormats()
+        .stream()
+        .anyMatch(f -> f.getRdfType().contains(formatUri));
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.streampipes.manager.matching;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.base.NamedStreamPipesEntity;
 import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 
 import java.util.Collections;
@@ -39,9 +40,14 @@ public class GroundingBuilder {
   public EventGrounding getEventGrounding() {
     EventGrounding grounding = new EventGrounding();
     grounding.setTransportProtocols(Collections.singletonList(getProtocol()));
+    grounding.setTransportFormats(Collections.singletonList(getFormat()));
     return grounding;
   }
 
+  private TransportFormat getFormat() {
+    return new FormatSelector(source, targets).getPreferredFormat();
+  }
+
   private TransportProtocol getProtocol() {
     return new ProtocolSelector(source, targets).getPreferredProtocol();
   }
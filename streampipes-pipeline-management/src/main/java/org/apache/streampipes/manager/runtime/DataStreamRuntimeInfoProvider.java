@@ -60,7 +60,8 @@ public class DataStreamRuntimeInfoProvider {
         }
       }
 
-      var converter = new SpDataFormatConverter(SpDataFormatManager.getFormatDefinition());
+      var converter = new SpDataFormatConverter(
+          SpDataFormatManager.INSTANCE.findDefinition(dataStream.getEventGrounding()));
       var protocolDefinitionOpt = SpProtocolManager
           .INSTANCE
           .findDefinition(dataStream.getEventGrounding().getTransportProtocol());
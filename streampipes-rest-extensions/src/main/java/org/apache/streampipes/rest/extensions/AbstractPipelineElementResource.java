@@ -130,6 +130,11 @@ public abstract class AbstractPipelineElementResource<
           ((ConsumableStreamPipesEntity) desc)
               .setSupportedGrounding(makeGrounding(supportedProtocols));
         }
+
+        EventGrounding supportedGrounding = ((ConsumableStreamPipesEntity) desc).getSupportedGrounding();
+        if (supportedGrounding != null) {
+          supportedGrounding.setTransportFormats(DeclarersSingleton.getInstance().getSupportedFormats());
+        }
       }
     }
 
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.rest.extensions.monitoring;
+
+import org.apache.streampipes.extensions.api.monitoring.LatencyHistogram;
+import org.apache.streampipes.extensions.api.monitoring.SpElementMetrics;
+import org.apache.streampipes.extensions.api.monitoring.SpElementMetricsListener;
+import org.apache.streampipes.extensions.api.monitoring.SpMonitoringManager;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the metrics collected by the {@link SpMonitoringManager} to the Micrometer registry
+ * of the extensions service, e.g., to be scraped by Prometheus.
+ * The meters of a pipeline element are removed from the registry once its metrics are removed.
+ */
+@Component
+public class SpMonitoringMeterBinder implements MeterBinder {
+
+  private static final String ELEMENT_ID_TAG = "elementId";
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    SpMonitoringManager.INSTANCE.addMetricsListener(new RegistryBinding(registry));
+  }
+
+  private static List<Meter> bindElementMetrics(MeterRegistry registry,
+                                                SpElementMetrics metrics) {
+    var elementId = metrics.getResourceId();
+    var meters = new ArrayList<Meter>();
+    meters.add(FunctionCounter.builder("streampipes.element.events.in", metrics, SpElementMetrics::getMessagesIn)
+        .description("Number of events received by a pipeline element")
+        .tag(ELEMENT_ID_TAG, elementId)
+        .register(registry));
+    meters.add(FunctionCounter.builder("streampipes.element.events.out", metrics, SpElementMetrics::getMessagesOut)
+        .description("Number of events published by a pipeline element")
+        .tag(ELEMENT_ID_TAG, elementId)
+        .register(registry));
+    bindHistogram(registry, meters, "streampipes.element.processing.time", "Processing time per event",
+        elementId, metrics.getProcessingTime());
+    bindHistogram(registry, meters, "streampipes.element.event.time.lag",
+        "Difference between event time and arrival time", elementId, metrics.getEventTimeLag());
+    bindHistogram(registry, meters, "streampipes.element.publish.latency", "Time to serialize and publish an event",
+        elementId, metrics.getPublishLatency());
+    bindHistogram(registry, meters, "streampipes.element.poll.latency", "Time to poll data in a pull adapter",
+        elementId, metrics.getPollLatency());
+    meters.add(FunctionCounter.builder("streampipes.element.poll.missed.ticks", metrics,
+            SpElementMetrics::getMissedPollTicks)
+        .description("Number of polling ticks skipped because a pull adapter was still polling")
+        .tag(ELEMENT_ID_TAG, elementId)
+        .register(registry));
+    metrics.getGauges().keySet().forEach(name -> meters.add(bindGauge(registry, metrics, name)));
+    return meters;
+  }
+
+  private static Meter bindGauge(MeterRegistry registry,
+                                 SpElementMetrics metrics,
+                                 String name) {
+    return Gauge.builder("streampipes.element." + name, metrics, m -> readGauge(m, name))
+        .description("Element-specific metric of a pipeline element")
+        .tag(ELEMENT_ID_TAG, metrics.getResourceId())
+        .register(registry);
+  }
+
+  private static double readGauge(SpElementMetrics metrics,
+                                  String name) {
+    var value = metrics.getGauges().get(name);
+    return value == null ? Double.NaN : value.getAsLong();
+  }
+
+  private static void bindHistogram(MeterRegistry registry,
+                                    List<Meter> meters,
+                                    String name,
+                                    String description,
+                                    String elementId,
+                                    LatencyHistogram histogram) {
+    meters.add(FunctionTimer.builder(name, histogram, LatencyHistogram::getCount, LatencyHistogram::getTotalNanos,
+            TimeUnit.NANOSECONDS)
+        .description(description)
+        .tag(ELEMENT_ID_TAG, elementId)
+        .register(registry));
+    meters.add(Gauge.builder(name + ".max", histogram, h -> h.getMaxNanos() / NANOS_PER_SECOND)
+        .description(description)
+        .tag(ELEMENT_ID_TAG, elementId)
+        .baseUnit("seconds")
+        .register(registry));
+    for (double quantile : QUANTILES) {
+      meters.add(Gauge.builder(name + ".quantile", histogram, h -> h.getValueAtQuantile(quantile) / NANOS_PER_SECOND)
+          .description(description)
+          .tags(ELEMENT_ID_TAG, elementId, "quantile", String.valueOf(quantile))
+          .baseUnit("seconds")
+          .register(registry));
+    }
+  }
+
+  private static class RegistryBinding implements SpElementMetricsListener {
+
+    private final MeterRegistry registry;
+    private final Map<SpElementMetrics, List<Meter>> boundMeters = new ConcurrentHashMap<>();
+
+    RegistryBinding(MeterRegistry registry) {
+      this.registry = registry;
+    }
+
+    @Override
+    public void onMetricsAdded(SpElementMetrics metrics) {
+      boundMeters.put(metrics, bindElementMetrics(registry, metrics));
+    }
+
+    @Override
+    public void onGaugeRegistered(SpElementMetrics metrics,
+                                  String name) {
+      boundMeters.computeIfPresent(metrics, (key, meters) -> {
+        meters.add(bindGauge(registry, metrics, name));
+        return meters;
+      });
+    }
+
+    @Override
+    public void onMetricsRemoved(SpElementMetrics metrics) {
+      var meters = boundMeters.remove(metrics);
+      if (meters != null) {
+        meters.forEach(registry::remove);
+      }
+    }
+  }
+}
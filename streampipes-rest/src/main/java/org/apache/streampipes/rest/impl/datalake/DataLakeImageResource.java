@@ -18,8 +18,9 @@
 
 package org.apache.streampipes.rest.impl.datalake;
 
+import org.apache.streampipes.commons.environment.Environments;
+import org.apache.streampipes.dataexplorer.image.ImageBlobStores;
 import org.apache.streampipes.rest.core.base.impl.AbstractAuthGuardedRestResource;
-import org.apache.streampipes.storage.management.StorageDispatcher;
 
 import org.apache.commons.io.IOUtils;
 import org.springframework.http.ResponseEntity;
@@ -36,7 +37,8 @@ public class DataLakeImageResource extends AbstractAuthGuardedRestResource {
 
   @GetMapping(path = "{imageId}", produces = "image/jpeg")
   public ResponseEntity<byte[]> getImage(@PathVariable("imageId") String imageId) throws IOException {
-    var image = StorageDispatcher.INSTANCE.getNoSqlStore().getImageStorage().getImageBytes(imageId);
-    return ok(IOUtils.toByteArray(image));
+    try (var image = ImageBlobStores.readImage(Environments.getEnvironment(), imageId)) {
+      return ok(IOUtils.toByteArray(image));
+    }
   }
 }
@@ -62,6 +62,8 @@ import static org.apache.streampipes.model.datalake.param.SupportedRestQueryPara
 import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_COLUMNS;
 import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_COUNT_ONLY;
 import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_CSV_DELIMITER;
+import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_DOWNSAMPLING;
+import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_DOWNSAMPLING_POINTS;
 import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_END_DATE;
 import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_FILTER;
 import static org.apache.streampipes.model.datalake.param.SupportedRestQueryParams.QP_FORMAT;
@@ -235,7 +237,14 @@ public class DataLakeResource extends AbstractRestResource {
           in = ParameterIn.QUERY,
           description = "the maximum amount of resulting events,"
               + "when too high the query status is set to TOO_MUCH_DATA")
-      @RequestParam(value = QP_MAXIMUM_AMOUNT_OF_EVENTS, required = false) Integer maximumAmountOfResults,
+      @RequestParam(value = QP_MAXIMUM_AMOUNT_OF_EVENTS, required = false) Integer maximumAmountOfResults
+      ,
+      @Parameter(
+          in = ParameterIn.QUERY,
+          description = "downsampling algorithm (M4 or LTTB) which reduces the number of points per column")
+      @RequestParam(value = QP_DOWNSAMPLING, required = false) String downsampling
+      , @Parameter(in = ParameterIn.QUERY, description = "maximum number of points per column when downsampling")
+      @RequestParam(value = QP_DOWNSAMPLING_POINTS, required = false) Integer downsamplingPoints,
       @RequestParam Map<String, String> queryParams) {
 
     if (!(checkProvidedQueryParams(queryParams))) {
@@ -19,6 +19,7 @@
 package org.apache.streampipes.sdk.builder.processor;
 
 import org.apache.streampipes.extensions.api.pe.IStreamPipesDataProcessor;
+import org.apache.streampipes.extensions.api.pe.config.ExecutionMode;
 import org.apache.streampipes.extensions.api.pe.config.IDataProcessorConfiguration;
 import org.apache.streampipes.model.graph.DataProcessorDescription;
 
@@ -28,16 +29,25 @@ public class DataProcessorConfiguration implements IDataProcessorConfiguration {
 
   private final Supplier<IStreamPipesDataProcessor> supplier;
   private final DataProcessorDescription dataProcessorDescription;
+  private final ExecutionMode executionMode;
 
   public static DataProcessorConfiguration create(Supplier<IStreamPipesDataProcessor> supplier,
                                                   DataProcessorDescription dataProcessorDescription) {
-    return new DataProcessorConfiguration(supplier, dataProcessorDescription);
+    return create(supplier, dataProcessorDescription, ExecutionMode.sequential());
+  }
+
+  public static DataProcessorConfiguration create(Supplier<IStreamPipesDataProcessor> supplier,
+                                                  DataProcessorDescription dataProcessorDescription,
+                                                  ExecutionMode executionMode) {
+    return new DataProcessorConfiguration(supplier, dataProcessorDescription, executionMode);
   }
 
   private DataProcessorConfiguration(Supplier<IStreamPipesDataProcessor> supplier,
-                                    DataProcessorDescription dataProcessorDescription) {
+                                    DataProcessorDescription dataProcessorDescription,
+                                    ExecutionMode executionMode) {
     this.supplier = supplier;
     this.dataProcessorDescription = dataProcessorDescription;
+    this.executionMode = executionMode;
   }
 
   @Override
@@ -49,4 +59,9 @@ public class DataProcessorConfiguration implements IDataProcessorConfiguration {
   public Supplier<IStreamPipesDataProcessor> getSupplier() {
     return supplier;
   }
+
+  @Override
+  public ExecutionMode getExecutionMode() {
+    return executionMode;
+  }
 }
@@ -64,6 +64,10 @@ public abstract class DistributedRuntime<
     return SpDataFormatManager.getFormatDefinition();
   }
 
+  protected SpDataFormatDefinition getDataFormatDefinition(SpDataStream stream) {
+    return SpDataFormatManager.INSTANCE.findDefinition(stream.getEventGrounding());
+  }
+
   protected String getTopic(SpDataStream stream) {
     return protocol(stream)
         .getTopicDefinition()
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink;
+
+import org.apache.streampipes.model.runtime.Event;
+
+import org.apache.flink.api.java.functions.KeySelector;
+
+/**
+ * Partitions events by the string value of a primitive field, so all events with the same value are processed by the
+ * same parallel instance and share its keyed state.
+ */
+public class EventPartitionKeySelector implements KeySelector<Event, String> {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String partitionFieldSelector;
+
+  public EventPartitionKeySelector(String partitionFieldSelector) {
+    this.partitionFieldSelector = partitionFieldSelector;
+  }
+
+  @Override
+  public String getKey(Event event) {
+    return event.getFieldBySelector(partitionFieldSelector).getAsPrimitive().getAsString();
+  }
+}
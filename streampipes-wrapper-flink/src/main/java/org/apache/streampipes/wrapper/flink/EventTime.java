@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.flink;
+
+import org.apache.streampipes.model.runtime.Event;
+
+import org.apache.flink.api.common.eventtime.SerializableTimestampAssigner;
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+/**
+ * Declares how the runtime assigns timestamps and watermarks to the events of an input stream, see
+ * {@link IFlinkProgram#getEventTime(int)}. Event-time windows and timers only fire if watermarks are generated.
+ * <p>
+ * Watermarks of a source which has not received events for {@link #IDLE_TIMEOUT} are ignored, so that idle Kafka
+ * partitions or an idle second input stream do not hold back the event time of the job.
+ */
+public class EventTime implements Serializable {
+
+  public static final Duration DEFAULT_MAX_OUT_OF_ORDERNESS = Duration.ofSeconds(5);
+
+  static final Duration IDLE_TIMEOUT = Duration.ofMinutes(1);
+
+  private static final EventTime NONE = new EventTime(Mode.NONE, Duration.ZERO);
+  private static final EventTime INGESTION = new EventTime(Mode.INGESTION, Duration.ZERO);
+
+  private final Mode mode;
+  private final Duration maxOutOfOrderness;
+
+  private EventTime(Mode mode,
+                    Duration maxOutOfOrderness) {
+    this.mode = mode;
+    this.maxOutOfOrderness = maxOutOfOrderness;
+  }
+
+  /**
+   * Events are read without timestamps and watermarks, only processing time can be used.
+   */
+  public static EventTime none() {
+    return NONE;
+  }
+
+  /**
+   * Events are timestamped with the current time when they are read by the source.
+   */
+  public static EventTime ingestion() {
+    return INGESTION;
+  }
+
+  /**
+   * Events are timestamped with the value of the timestamp property of the input stream, or with the timestamp of
+   * the Kafka record if the stream has no timestamp property. Events which are later than the given
+   * out-of-orderness are dropped by event-time windows.
+   */
+  public static EventTime boundedOutOfOrderness(Duration maxOutOfOrderness) {
+    return new EventTime(Mode.EVENT_TIME, maxOutOfOrderness);
+  }
+
+  public boolean isEnabled() {
+    return mode != Mode.NONE;
+  }
+
+  /**
+   * Returns the watermark strategy of an input stream.
+   *
+   * @param timestampField runtime name of the timestamp property of the input stream, or null if it has none
+   */
+  public WatermarkStrategy<Event> toWatermarkStrategy(String timestampField) {
+    return switch (mode) {
+      case NONE -> WatermarkStrategy.noWatermarks();
+      case INGESTION -> WatermarkStrategy.<Event>forMonotonousTimestamps()
+          .withTimestampAssigner(new EventTimestampAssigner(null, true))
+          .withIdleness(IDLE_TIMEOUT);
+      case EVENT_TIME -> WatermarkStrategy.<Event>forBoundedOutOfOrderness(maxOutOfOrderness)
+          .withTimestampAssigner(new EventTimestampAssigner(timestampField, false))
+          .withIdleness(IDLE_TIMEOUT);
+    };
+  }
+
+  private enum Mode {
+    NONE,
+    INGESTION,
+    EVENT_TIME
+  }
+
+  static class EventTimestampAssigner implements SerializableTimestampAssigner<Event> {
+
+    private final String timestampField;
+    private final boolean ingestionTime;
+
+    EventTimestampAssigner(String timestampField,
+                           boolean ingestionTime) {
+      this.timestampField = timestampField;
+      this.ingestionTime = ingestionTime;
+    }
+
+    @Override
+    public long extractTimestamp(Event event,
+                                 long recordTimestamp) {
+      if (!ingestionTime) {
+        if (timestampField != null) {
+          var field = event.getOptionalFieldByRuntimeName(timestampField);
+          if (field.isPresent() && field.get().getRawValue() instanceof Number timestamp) {
+            return timestamp.longValue();
+          }
+        }
+        if (recordTimestamp >= 0) {
+          return recordTimestamp;
+        }
+      }
+      return System.currentTimeMillis();
+    }
+  }
+}
@@ -80,7 +80,7 @@ public class FlinkDataProcessorRuntime extends FlinkRuntime<
 
     EventGrounding outputGrounding = getOutputStream().getEventGrounding();
     SpDataFormatDefinition outputDataFormatDefinition =
-        getDataFormatDefinition();
+        getDataFormatDefinition(getOutputStream());
 
     ByteArraySerializer serializer =
         new ByteArraySerializer(outputDataFormatDefinition);
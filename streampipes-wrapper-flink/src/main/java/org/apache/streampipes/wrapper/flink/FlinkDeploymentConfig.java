@@ -28,6 +28,9 @@ public class FlinkDeploymentConfig implements Serializable {
   private String host;
   private int port;
   private boolean miniClusterMode;
+  private int parallelism = 1;
+  private long checkpointIntervalMs;
+  private String stateBackend;
 
   public FlinkDeploymentConfig(String jarFile,
                                String host,
@@ -46,6 +49,25 @@ public class FlinkDeploymentConfig implements Serializable {
     this.miniClusterMode = miniClusterMode;
   }
 
+  /**
+   * @param parallelism          default parallelism of the operators of the job
+   * @param checkpointIntervalMs interval between checkpoints, checkpointing is disabled if not positive
+   * @param stateBackend         name of the state backend, e.g. hashmap or rocksdb, the default backend of the
+   *                             cluster is used if empty
+   */
+  public FlinkDeploymentConfig(String jarFile,
+                               String host,
+                               int port,
+                               boolean miniClusterMode,
+                               int parallelism,
+                               long checkpointIntervalMs,
+                               String stateBackend) {
+    this(jarFile, host, port, miniClusterMode);
+    this.parallelism = parallelism;
+    this.checkpointIntervalMs = checkpointIntervalMs;
+    this.stateBackend = stateBackend;
+  }
+
   public String getJarFile() {
     return jarFile;
   }
@@ -62,4 +84,20 @@ public class FlinkDeploymentConfig implements Serializable {
     return miniClusterMode;
   }
 
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public long getCheckpointIntervalMs() {
+    return checkpointIntervalMs;
+  }
+
+  public String getStateBackend() {
+    return stateBackend;
+  }
+
+  public boolean isCheckpointingEnabled() {
+    return checkpointIntervalMs > 0;
+  }
+
 }
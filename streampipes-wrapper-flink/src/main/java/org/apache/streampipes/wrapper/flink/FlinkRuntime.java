@@ -28,6 +28,7 @@ import org.apache.streampipes.extensions.api.pe.context.RuntimeContext;
 import org.apache.streampipes.extensions.api.pe.param.IParameterGenerator;
 import org.apache.streampipes.extensions.api.pe.param.IPipelineElementParameters;
 import org.apache.streampipes.extensions.api.pe.runtime.IStreamPipesRuntime;
+import org.apache.streampipes.extensions.management.util.EventSchemaUtils;
 import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.grounding.JmsTransportProtocol;
@@ -36,31 +37,38 @@ import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.schema.EventProperty;
 import org.apache.streampipes.wrapper.distributed.runtime.DistributedRuntime;
 import org.apache.streampipes.wrapper.flink.consumer.JmsFlinkConsumer;
 import org.apache.streampipes.wrapper.flink.consumer.MqttFlinkConsumer;
 import org.apache.streampipes.wrapper.flink.converter.MapToEventConverter;
-import org.apache.streampipes.wrapper.flink.logger.StatisticLogger;
-import org.apache.streampipes.wrapper.flink.serializer.ByteArrayDeserializer;
+import org.apache.streampipes.wrapper.flink.serializer.EventDeserializationSchema;
 import org.apache.streampipes.wrapper.params.InternalRuntimeParameters;
 
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
 import org.apache.flink.client.program.ClusterClient;
 import org.apache.flink.client.program.MiniClusterClient;
 import org.apache.flink.client.program.rest.RestClusterClient;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.JobManagerOptions;
 import org.apache.flink.configuration.RestOptions;
+import org.apache.flink.configuration.StateBackendOptions;
+import org.apache.flink.connector.kafka.source.KafkaSource;
+import org.apache.flink.connector.kafka.source.KafkaSourceBuilder;
+import org.apache.flink.connector.kafka.source.enumerator.initializer.OffsetsInitializer;
 import org.apache.flink.runtime.client.JobStatusMessage;
 import org.apache.flink.streaming.api.TimeCharacteristic;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.streaming.api.functions.source.SourceFunction;
-import org.apache.flink.streaming.connectors.kafka.FlinkKafkaConsumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
 
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 
@@ -113,38 +121,44 @@ public abstract class FlinkRuntime<
     this.streamTimeCharacteristic = streamTimeCharacteristic;
   }
 
-  private SourceFunction<Map<String, Object>> getStream1Source() {
-    return getStreamSource(0);
-  }
-
-  private SourceFunction<Map<String, Object>> getStream2Source() {
-    return getStreamSource(1);
-  }
-
   /**
-   * This method takes the i's input stream and creates a source for the flink graph
-   * Currently just kafka is supported as a protocol
-   * TODO Add also jms support
+   * This method takes the i's input stream and creates a source for the flink graph.
+   * Kafka streams are read with a parallel {@link KafkaSource}, which deserializes records directly into events.
+   * Timestamps and watermarks are assigned at the source as declared by {@link IFlinkProgram#getEventTime(int)}.
+   * If the program declares a partition field for the stream, the resulting stream is keyed by this field.
    *
-   * @param i
-   * @return
+   * @param i index of the input stream
+   * @return the events of the input stream or null if the stream does not exist or its protocol is not supported
    */
-  private SourceFunction<Map<String, Object>> getStreamSource(int i) {
+  private DataStream<Event> getInputStream(int i) {
     if (runtimeParameters.getModel().getInputStreams().size() - 1 >= i) {
 
       SpDataStream stream = runtimeParameters.getModel().getInputStreams().get(i);
       if (stream != null) {
         TransportProtocol protocol = stream.getEventGrounding().getTransportProtocol();
-        SpDataFormatDefinition dataFormatDefinition = getDataFormatDefinition();
+        SpDataFormatDefinition dataFormatDefinition = getDataFormatDefinition(stream);
+        String sourceId = runtimeParameters.getInputSourceInfo(i).getSourceId();
+        EventTime eventTime = flinkProgram.getEventTime(i);
+        WatermarkStrategy<Event> watermarks = eventTime.toWatermarkStrategy(getTimestampField(stream));
+        DataStream<Event> events;
         if (protocol instanceof KafkaTransportProtocol) {
-          return getKafkaConsumer((KafkaTransportProtocol) protocol, dataFormatDefinition);
-        } else if (protocol instanceof JmsTransportProtocol) {
-          return getJmsConsumer((JmsTransportProtocol) protocol, dataFormatDefinition);
-        } else if (protocol instanceof MqttTransportProtocol) {
-          return getMqttConsumer((MqttTransportProtocol) protocol, dataFormatDefinition);
+          events = env.fromSource(
+              getKafkaSource((KafkaTransportProtocol) protocol, dataFormatDefinition, sourceId),
+              watermarks,
+              "kafka-source-" + i);
         } else {
-          return null;
+          if (protocol instanceof JmsTransportProtocol) {
+            events = addSource(getJmsConsumer((JmsTransportProtocol) protocol, dataFormatDefinition), sourceId);
+          } else if (protocol instanceof MqttTransportProtocol) {
+            events = addSource(getMqttConsumer((MqttTransportProtocol) protocol, dataFormatDefinition), sourceId);
+          } else {
+            return null;
+          }
+          if (eventTime.isEnabled()) {
+            events = events.assignTimestampsAndWatermarks(watermarks);
+          }
         }
+        return partition(events, i);
       } else {
         return null;
       }
@@ -163,20 +177,42 @@ public abstract class FlinkRuntime<
     return new MqttFlinkConsumer(protocol, spDataFormatDefinition);
   }
 
-  private SourceFunction<Map<String, Object>> getKafkaConsumer(KafkaTransportProtocol protocol,
-                                                               SpDataFormatDefinition spDataFormatDefinition) {
+  private String getTimestampField(SpDataStream stream) {
+    return EventSchemaUtils
+        .getTimestampProperty(stream.getEventSchema())
+        .map(EventProperty::getRuntimeName)
+        .orElse(null);
+  }
+
+  private KafkaSource<Event> getKafkaSource(KafkaTransportProtocol protocol,
+                                            SpDataFormatDefinition spDataFormatDefinition,
+                                            String sourceId) {
+    KafkaSourceBuilder<Event> builder = KafkaSource.<Event>builder()
+        .setProperties(getKafkaSourceProperties(protocol))
+        .setStartingOffsets(OffsetsInitializer.committedOffsets(OffsetResetStrategy.LATEST))
+        .setValueOnlyDeserializer(
+            new EventDeserializationSchema<>(spDataFormatDefinition, sourceId, runtimeParameters));
+
     if (protocol.getTopicDefinition() instanceof SimpleTopicDefinition) {
-      return new FlinkKafkaConsumer<>(protocol
-          .getTopicDefinition()
-          .getActualTopicName(), new ByteArrayDeserializer(spDataFormatDefinition), getProperties(protocol));
+      builder.setTopics(protocol.getTopicDefinition().getActualTopicName());
     } else {
       String patternTopic = replaceWildcardWithPatternFormat(protocol.getTopicDefinition().getActualTopicName());
-      return new FlinkKafkaConsumer<>(Pattern.compile(patternTopic), new ByteArrayDeserializer(spDataFormatDefinition),
-          getProperties(protocol));
+      builder.setTopicPattern(Pattern.compile(patternTopic));
     }
+    return builder.build();
   }
 
-  private void prepareRuntime() throws SpRuntimeException {
+  /**
+   * Returns the consumer properties of the Kafka source. All parallel readers of the job share the consumer group of
+   * the pipeline element, unless a group is configured for the protocol.
+   */
+  Properties getKafkaSourceProperties(KafkaTransportProtocol protocol) {
+    Properties properties = getProperties(protocol);
+    properties.putIfAbsent(ConsumerConfig.GROUP_ID_CONFIG, runtimeParameters.getModel().getElementId());
+    return properties;
+  }
+
+  void prepareRuntime() throws SpRuntimeException {
     if (config.isMiniClusterMode()) {
       this.env = StreamExecutionEnvironment.createLocalEnvironment();
     } else {
@@ -186,31 +222,32 @@ public abstract class FlinkRuntime<
 
     appendEnvironmentConfig(this.env);
     // Add the first source to the topology
-    DataStream<Event> messageStream1;
-    SourceFunction<Map<String, Object>> source1 = getStream1Source();
-    if (source1 != null) {
-      messageStream1 = addSource(source1, 0);
-    } else {
+    DataStream<Event> messageStream1 = getInputStream(0);
+    if (messageStream1 == null) {
       throw new SpRuntimeException("At least one source must be defined for a flink sepa");
     }
 
-    SourceFunction<Map<String, Object>> source2 = getStream2Source();
-    if (source2 != null) {
-      DataStream<Event> messageStream2 = addSource(source2, 1);
+    DataStream<Event> messageStream2 = getInputStream(1);
+    if (messageStream2 != null) {
       appendExecutionConfig(flinkProgram, messageStream1, messageStream2);
     } else {
       appendExecutionConfig(flinkProgram, messageStream1);
     }
   }
 
-  // TODO
   private DataStream<Event> addSource(SourceFunction<Map<String, Object>> sourceFunction,
-                                      Integer sourceIndex) {
+                                      String sourceId) {
     return env
         .addSource(sourceFunction)
-        .flatMap(new MapToEventConverter<>(runtimeParameters.getInputSourceInfo(sourceIndex).getSourceId(),
-            runtimeParameters))
-        .flatMap(new StatisticLogger(null));
+        .flatMap(new MapToEventConverter<>(sourceId, runtimeParameters));
+  }
+
+  private DataStream<Event> partition(DataStream<Event> events,
+                                      int streamIndex) {
+    return flinkProgram
+        .getPartitionField(streamIndex)
+        .<DataStream<Event>>map(field -> events.keyBy(new EventPartitionKeySelector(field)))
+        .orElse(events);
   }
 
   public void bindRuntime() throws SpRuntimeException {
@@ -260,12 +297,22 @@ public abstract class FlinkRuntime<
    * @param env The Stream Execution environment
    */
   public void appendEnvironmentConfig(StreamExecutionEnvironment env) {
+    env.setParallelism(config.getParallelism());
+    if (config.isCheckpointingEnabled()) {
+      env.enableCheckpointing(config.getCheckpointIntervalMs());
+    }
+    if (config.getStateBackend() != null && !config.getStateBackend().isBlank()) {
+      Configuration stateBackendConfig = new Configuration();
+      stateBackendConfig.set(StateBackendOptions.STATE_BACKEND, config.getStateBackend());
+      env.configure(stateBackendConfig, getClass().getClassLoader());
+    }
     //This sets the stream time characteristics
     //The default value is TimeCharacteristic.ProcessingTime
     if (this.streamTimeCharacteristic != null) {
       env.setStreamTimeCharacteristic(this.streamTimeCharacteristic);
-      env.setParallelism(1);
     }
+    // programs may override the settings of the deployment config, e.g. to run with a parallelism of 1
+    flinkProgram.appendEnvironmentConfig(env);
   }
 
   private ClusterClient<? extends Comparable<? extends Comparable<?>>> getClusterClient() throws Exception {
@@ -19,6 +19,8 @@
 
 package org.apache.streampipes.wrapper.flink;
 
+import org.apache.streampipes.commons.environment.Environments;
+
 import org.apache.flink.client.program.MiniClusterClient;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.RestOptions;
@@ -29,16 +31,22 @@ public enum FlinkSpMiniCluster {
 
   INSTANCE;
 
+  private static final int NUM_TASK_MANAGERS = 2;
+
   private MiniCluster miniCluster;
   private boolean miniClusterRunning;
 
   FlinkSpMiniCluster() {
     Configuration configuration = new Configuration();
     configuration.setString(RestOptions.BIND_PORT, "0");
+    // provide enough slots to run jobs with the configured parallelism
+    int parallelism = Environments.getEnvironment().getFlinkParallelism().getValueOrDefault();
+    int slotsPerTaskManager = Math.max(1, (parallelism + NUM_TASK_MANAGERS - 1) / NUM_TASK_MANAGERS);
     MiniClusterConfiguration miniClusterConfiguration = new MiniClusterConfiguration
         .Builder()
         .setConfiguration(configuration)
-        .setNumTaskManagers(2)
+        .setNumTaskManagers(NUM_TASK_MANAGERS)
+        .setNumSlotsPerTaskManager(slotsPerTaskManager)
         .build();
     this.miniCluster = new MiniCluster(miniClusterConfiguration);
   }
@@ -22,6 +22,8 @@ import org.apache.streampipes.commons.environment.Environment;
 
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 
+import java.util.Optional;
+
 public interface IFlinkProgram {
 
   default FlinkDeploymentConfig getDeploymentConfig(Environment env) {
@@ -29,11 +31,38 @@ public interface IFlinkProgram {
         env.getFlinkJarFileLoc().getValueOrDefault(),
         env.getFlinkJobmanagerHost().getValueOrDefault(),
         env.getFlinkJobmanagerPort().getValueOrDefault(),
-        env.getSpDebug().getValueOrDefault()
+        env.getSpDebug().getValueOrDefault(),
+        env.getFlinkParallelism().getValueOrDefault(),
+        env.getFlinkCheckpointIntervalMs().getValueOrDefault(),
+        env.getFlinkStateBackend().getValueOrDefault()
     );
   }
 
+  /**
+   * Applied after the deployment config, e.g. to run a program with a parallelism of 1.
+   */
   default void appendEnvironmentConfig(StreamExecutionEnvironment env) {
 
   }
+
+  /**
+   * Selector of the field the events of the given input stream are partitioned by. If present, the input stream is
+   * keyed by this field before it is passed to the application logic, so keyed state and keyed operators are
+   * distributed across all parallel instances of the job.
+   *
+   * @param streamIndex index of the input stream
+   */
+  default Optional<String> getPartitionField(int streamIndex) {
+    return Optional.empty();
+  }
+
+  /**
+   * Declares how timestamps and watermarks are assigned to the events of the given input stream. By default, the
+   * events carry no watermarks, so programs which use event-time windows or timers must declare their event time.
+   *
+   * @param streamIndex index of the input stream
+   */
+  default EventTime getEventTime(int streamIndex) {
+    return EventTime.none();
+  }
 }
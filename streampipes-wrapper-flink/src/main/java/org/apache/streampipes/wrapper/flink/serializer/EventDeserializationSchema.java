@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.extensions.api.pe.param.IPipelineElementParameters;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.wrapper.params.InternalRuntimeParameters;
+
+import org.apache.flink.api.common.serialization.AbstractDeserializationSchema;
+
+import java.io.IOException;
+
+/**
+ * Deserializes the messages of an input stream directly into events of the given source, so the records do not pass
+ * through a separate map stage before they reach the application logic.
+ */
+public class EventDeserializationSchema<T extends IPipelineElementParameters<?, ?>>
+    extends AbstractDeserializationSchema<Event> {
+
+  private static final long serialVersionUID = 1L;
+
+  private final SpDataFormatDefinition spDataFormatDefinition;
+  private final String sourceId;
+  private final T runtimeParams;
+  private transient InternalRuntimeParameters internalRuntimeParameters;
+
+  public EventDeserializationSchema(SpDataFormatDefinition spDataFormatDefinition,
+                                    String sourceId,
+                                    T runtimeParams) {
+    super(Event.class);
+    this.spDataFormatDefinition = spDataFormatDefinition;
+    this.sourceId = sourceId;
+    this.runtimeParams = runtimeParams;
+  }
+
+  @Override
+  public void open(InitializationContext context) {
+    this.internalRuntimeParameters = new InternalRuntimeParameters();
+  }
+
+  @Override
+  public Event deserialize(byte[] bytes) throws IOException {
+    try {
+      return internalRuntimeParameters.makeEvent(runtimeParams, spDataFormatDefinition.toMap(bytes), sourceId);
+    } catch (SpRuntimeException e) {
+      throw new IOException(e);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.flink;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventTimeTest {
+
+  @Test
+  public void usesTheValueOfTheTimestampField() {
+    var assigner = new EventTime.EventTimestampAssigner("timestamp", false);
+
+    assertEquals(1700000000000L, assigner.extractTimestamp(makeEvent(1700000000000L), 42L));
+  }
+
+  @Test
+  public void fallsBackToTheRecordTimestamp() {
+    var assigner = new EventTime.EventTimestampAssigner("timestamp", false);
+
+    assertEquals(42L, assigner.extractTimestamp(makeEvent("not a number"), 42L));
+    assertEquals(42L, new EventTime.EventTimestampAssigner(null, false)
+        .extractTimestamp(makeEvent(1700000000000L), 42L));
+  }
+
+  @Test
+  public void fallsBackToTheCurrentTimeWithoutRecordTimestamp() {
+    var assigner = new EventTime.EventTimestampAssigner("missing", false);
+    long before = System.currentTimeMillis();
+
+    long timestamp = assigner.extractTimestamp(makeEvent(1700000000000L), -1L);
+
+    assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis());
+  }
+
+  @Test
+  public void ingestionTimeIgnoresTheTimestampsOfTheEvent() {
+    var assigner = new EventTime.EventTimestampAssigner("timestamp", true);
+    long before = System.currentTimeMillis();
+
+    long timestamp = assigner.extractTimestamp(makeEvent(1700000000000L), 42L);
+
+    assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis());
+  }
+
+  @Test
+  public void onlyNoneDisablesEventTime() {
+    assertFalse(EventTime.none().isEnabled());
+    assertTrue(EventTime.ingestion().isEnabled());
+    assertTrue(EventTime.boundedOutOfOrderness(EventTime.DEFAULT_MAX_OUT_OF_ORDERNESS).isEnabled());
+  }
+
+  private Event makeEvent(Object timestamp) {
+    return EventFactory.fromMap(
+        Map.of("timestamp", timestamp),
+        new SourceInfo("source", "s0"),
+        new SchemaInfo(null, new ArrayList<>()));
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.flink;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.extensions.api.pe.param.IDataProcessorParameters;
+import org.apache.streampipes.model.SpDataStream;
+import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.grounding.EventGrounding;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.sdk.helpers.EpProperties;
+import org.apache.streampipes.sdk.helpers.Labels;
+
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.datastream.KeyedStream;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.functions.sink.DiscardingSink;
+import org.apache.flink.streaming.api.transformations.SourceTransformation;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FlinkRuntimeTest {
+
+  private static final String ELEMENT_ID = "test-element";
+
+  @Test
+  public void appliesParallelismAndCheckpointingOfTheDeploymentConfig() {
+    var runtime = new TestRuntime(new TestProgram(), makeConfig(4, 5000));
+
+    runtime.prepareRuntime();
+
+    StreamExecutionEnvironment env = runtime.getExecutionEnvironment();
+    assertEquals(4, env.getParallelism());
+    assertTrue(env.getCheckpointConfig().isCheckpointingEnabled());
+    assertEquals(5000, env.getCheckpointConfig().getCheckpointInterval());
+  }
+
+  @Test
+  public void programOverridesTheDeploymentConfig() {
+    var program = new TestProgram() {
+      @Override
+      public void appendEnvironmentConfig(StreamExecutionEnvironment env) {
+        env.setParallelism(1);
+      }
+    };
+    var runtime = new TestRuntime(program, makeConfig(4, 0));
+
+    runtime.prepareRuntime();
+
+    StreamExecutionEnvironment env = runtime.getExecutionEnvironment();
+    assertEquals(1, env.getParallelism());
+    assertFalse(env.getCheckpointConfig().isCheckpointingEnabled());
+  }
+
+  @Test
+  public void readsKafkaStreamsWithoutWatermarksByDefault() {
+    var runtime = new TestRuntime(new TestProgram(), makeConfig(2, 0));
+
+    runtime.prepareRuntime();
+
+    var source = assertInstanceOf(SourceTransformation.class, runtime.getSourceStream().getTransformation());
+    assertEquals("kafka-source-0", source.getName());
+    assertEquals(-1L, extractTimestamp(source, makeEvent(1700000000000L), -1L));
+  }
+
+  @Test
+  public void assignsTimestampsOfTheEventSchemaAtTheKafkaSource() {
+    var program = new TestProgram() {
+      @Override
+      public EventTime getEventTime(int streamIndex) {
+        return EventTime.boundedOutOfOrderness(EventTime.DEFAULT_MAX_OUT_OF_ORDERNESS);
+      }
+    };
+    var runtime = new TestRuntime(program, makeConfig(2, 0));
+
+    runtime.prepareRuntime();
+
+    var source = assertInstanceOf(SourceTransformation.class, runtime.getSourceStream().getTransformation());
+    assertEquals(1700000000000L, extractTimestamp(source, makeEvent(1700000000000L), 42L));
+  }
+
+  @Test
+  public void keysKafkaStreamsByThePartitionFieldOfTheProgram() throws Exception {
+    var program = new TestProgram() {
+      @Override
+      public Optional<String> getPartitionField(int streamIndex) {
+        return Optional.of("s0::sensorId");
+      }
+    };
+    var runtime = new TestRuntime(program, makeConfig(2, 0));
+
+    runtime.prepareRuntime();
+
+    var keyedStream = assertInstanceOf(KeyedStream.class, runtime.getSourceStream());
+    @SuppressWarnings("unchecked")
+    var keySelector = assertInstanceOf(EventPartitionKeySelector.class, keyedStream.getKeySelector());
+    assertEquals("sensor-1", keySelector.getKey(makeEvent(1700000000000L)));
+  }
+
+  @Test
+  public void kafkaReadersShareTheConsumerGroupOfTheElement() {
+    var runtime = new TestRuntime(new TestProgram(), makeConfig(2, 0));
+
+    Properties properties = runtime.getKafkaSourceProperties(makeProtocol());
+
+    assertEquals(ELEMENT_ID, properties.get(ConsumerConfig.GROUP_ID_CONFIG));
+    assertEquals("localhost:9092", properties.get(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG));
+  }
+
+  @Test
+  public void kafkaReadersKeepAConfiguredConsumerGroup() {
+    var runtime = new TestRuntime(new TestProgram(), makeConfig(2, 0));
+    runtime.consumerGroup = "configured-group";
+
+    Properties properties = runtime.getKafkaSourceProperties(makeProtocol());
+
+    assertEquals("configured-group", properties.get(ConsumerConfig.GROUP_ID_CONFIG));
+  }
+
+  @SuppressWarnings("unchecked")
+  private long extractTimestamp(SourceTransformation<?, ?, ?> source,
+                                Event event,
+                                long recordTimestamp) {
+    var watermarkStrategy = ((SourceTransformation<Event, ?, ?>) source).getWatermarkStrategy();
+    return watermarkStrategy.createTimestampAssigner(null).extractTimestamp(event, recordTimestamp);
+  }
+
+  private FlinkDeploymentConfig makeConfig(int parallelism,
+                                           long checkpointIntervalMs) {
+    return new FlinkDeploymentConfig("", "localhost", 8081, true, parallelism, checkpointIntervalMs, "");
+  }
+
+  private static KafkaTransportProtocol makeProtocol() {
+    return new KafkaTransportProtocol("localhost", 9092, "test-topic");
+  }
+
+  private static Event makeEvent(long timestamp) {
+    return EventFactory.fromMap(
+        Map.of("timestamp", timestamp, "sensorId", "sensor-1"),
+        new SourceInfo("source", "s0"),
+        new SchemaInfo(null, new ArrayList<>()));
+  }
+
+  private static class TestProgram implements IDataProcessorProgram {
+
+    @Override
+    public DataStream<Event> getApplicationLogic(DataStream<Event>... messageStream) {
+      return messageStream[0];
+    }
+  }
+
+  private static class TestRuntime extends FlinkDataProcessorRuntime {
+
+    private DataStream<Event> inputStream;
+    private String consumerGroup;
+
+    TestRuntime(IDataProcessorProgram program,
+                FlinkDeploymentConfig config) {
+      this.flinkProgram = program;
+      this.config = config;
+      this.runtimeParameters = makeParameters();
+    }
+
+    @Override
+    protected Properties getProperties(KafkaTransportProtocol protocol) {
+      Properties properties = super.getProperties(protocol);
+      if (consumerGroup != null) {
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroup);
+      }
+      return properties;
+    }
+
+    @Override
+    protected SpDataFormatDefinition getDataFormatDefinition(SpDataStream stream) {
+      return null;
+    }
+
+    @Override
+    protected void appendExecutionConfig(IDataProcessorProgram program,
+                                         DataStream<Event>... convertedStream) {
+      this.inputStream = convertedStream[0];
+      program.getApplicationLogic(convertedStream).addSink(new DiscardingSink<>());
+    }
+
+    DataStream<Event> getSourceStream() {
+      return inputStream;
+    }
+
+    StreamExecutionEnvironment getExecutionEnvironment() {
+      return inputStream.getExecutionEnvironment();
+    }
+
+    private static IDataProcessorParameters makeParameters() {
+      var schema = new EventSchema();
+      schema.setEventProperties(List.of(
+          EpProperties.timestampProperty("timestamp"),
+          EpProperties.stringEp(Labels.empty(), "sensorId", "http://schema.org/identifier")));
+
+      var stream = new SpDataStream();
+      stream.setEventGrounding(new EventGrounding(makeProtocol()));
+      stream.setEventSchema(schema);
+
+      var invocation = new DataProcessorInvocation();
+      invocation.setElementId(ELEMENT_ID);
+      invocation.setInputStreams(List.of(stream));
+
+      IDataProcessorParameters parameters = mock(IDataProcessorParameters.class);
+      when(parameters.getModel()).thenReturn(invocation);
+      when(parameters.getInputSourceInfo(0)).thenReturn(new SourceInfo("test-topic", "s0"));
+      return parameters;
+    }
+  }
+}
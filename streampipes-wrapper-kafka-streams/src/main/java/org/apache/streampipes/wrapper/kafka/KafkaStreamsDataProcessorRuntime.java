@@ -24,6 +24,7 @@ import org.apache.streampipes.extensions.api.extractor.IDataProcessorParameterEx
 import org.apache.streampipes.extensions.api.pe.IStreamPipesDataProcessor;
 import org.apache.streampipes.extensions.api.pe.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.extensions.api.pe.param.IDataProcessorParameters;
+import org.apache.streampipes.extensions.api.pe.routing.SpOutputCollector;
 import org.apache.streampipes.extensions.api.pe.runtime.IDataProcessorRuntime;
 import org.apache.streampipes.messaging.SpProtocolDefinition;
 import org.apache.streampipes.messaging.SpProtocolManager;
@@ -32,16 +33,24 @@ import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
 import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.field.AbstractField;
 import org.apache.streampipes.wrapper.context.generator.DataProcessorContextGenerator;
-import org.apache.streampipes.wrapper.kafka.converter.JsonToMapFormat;
+import org.apache.streampipes.wrapper.kafka.converter.EventSerde;
+import org.apache.streampipes.wrapper.kafka.state.IKeyedStateProcessor;
+import org.apache.streampipes.wrapper.kafka.state.KeyedEventProcessor;
 import org.apache.streampipes.wrapper.params.generator.DataProcessorParameterGenerator;
 
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
 import org.apache.kafka.streams.kstream.KStream;
-import org.apache.kafka.streams.kstream.ValueMapper;
+import org.apache.kafka.streams.kstream.Repartitioned;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.Map;
 import java.util.regex.Pattern;
 
 public class KafkaStreamsDataProcessorRuntime extends KafkaStreamsRuntime<
@@ -51,6 +60,8 @@ public class KafkaStreamsDataProcessorRuntime extends KafkaStreamsRuntime<
     IDataProcessorParameterExtractor,
     IDataProcessorParameters> implements IDataProcessorRuntime {
 
+  private static final Logger LOG = LoggerFactory.getLogger(KafkaStreamsDataProcessorRuntime.class);
+
   private KafkaStreamsOutputCollector outputCollector;
 
   public KafkaStreamsDataProcessorRuntime() {
@@ -64,12 +75,17 @@ public class KafkaStreamsDataProcessorRuntime extends KafkaStreamsRuntime<
       StreamsBuilder builder = new StreamsBuilder();
       SpDataStream inputStream = pipelineElementInvocation.getInputStreams().get(0);
       TransportProtocol protocol = protocol(inputStream);
-      KStream<String, String> stream;
+      EventSerde eventSerde = new EventSerde(
+          getDataFormatDefinition(inputStream),
+          runtimeParameters,
+          runtimeParameters.getInputSourceInfo(0).getSourceId());
+      Consumed<byte[], Event> consumed = Consumed.with(Serdes.ByteArray(), eventSerde);
+      KStream<byte[], Event> stream;
 
       if (protocol.getTopicDefinition() instanceof SimpleTopicDefinition) {
-        stream = builder.stream(getTopic(inputStream));
+        stream = builder.stream(getTopic(inputStream), consumed);
       } else {
-        stream = builder.stream(Pattern.compile(replaceWildcardWithPatternFormat(getTopic(inputStream))));
+        stream = builder.stream(Pattern.compile(replaceWildcardWithPatternFormat(getTopic(inputStream))), consumed);
       }
 
       var outputProtocol = pipelineElementInvocation.getOutputStream().getEventGrounding().getTransportProtocol();
@@ -80,13 +96,17 @@ public class KafkaStreamsDataProcessorRuntime extends KafkaStreamsRuntime<
         this.outputCollector.connect();
       }
 
-      stream
-          .flatMapValues((ValueMapper<String, Iterable<Map<String, Object>>>) s ->
-              new JsonToMapFormat(pipelineElementInvocation).apply(s))
-          .foreach((key, rawEvent) -> {
-            var event = internalRuntimeParameters.makeEvent(runtimeParameters, rawEvent, getTopic(inputStream));
+      stream = stream.filter((key, event) -> event != null);
+      if (pipelineElement instanceof IKeyedStateProcessor keyedProcessor) {
+        bindKeyedProcessor(builder, stream, eventSerde, keyedProcessor, outputCollector);
+      } else {
+        // the processor instance is shared by all stream threads
+        stream.foreach((key, event) -> {
+          synchronized (pipelineElement) {
             pipelineElement.onEvent(event, outputCollector);
-          });
+          }
+        });
+      }
 
       streams = new KafkaStreams(builder.build(), config);
 
@@ -96,6 +116,49 @@ public class KafkaStreamsDataProcessorRuntime extends KafkaStreamsRuntime<
     }
   }
 
+  /**
+   * Keys the events by the partition field of the processor and repartitions them, so each stream task processes
+   * all events of its keys with its own instance of the state stores. The stream tasks run concurrently and share
+   * the output collector, which serializes the publishing of their events. Events without a primitive value of the
+   * partition field cannot be keyed and are dropped.
+   */
+  static void bindKeyedProcessor(StreamsBuilder builder,
+                                 KStream<byte[], Event> stream,
+                                 Serde<Event> eventSerde,
+                                 IKeyedStateProcessor keyedProcessor,
+                                 SpOutputCollector outputCollector) {
+    String partitionField = keyedProcessor.getPartitionFieldSelector();
+    String[] stateStoreNames = keyedProcessor.getStateStoreNames().toArray(String[]::new);
+    for (String stateStoreName : stateStoreNames) {
+      builder.addStateStore(KeyedEventProcessor.makeStoreBuilder(stateStoreName));
+    }
+
+    stream
+        .selectKey((key, event) -> getPartitionKey(event, partitionField))
+        .filter((key, event) -> key != null)
+        .repartition(Repartitioned.with(Serdes.String(), eventSerde))
+        .process(() -> new KeyedEventProcessor(keyedProcessor, outputCollector), stateStoreNames);
+  }
+
+  /**
+   * Returns the value of the partition field as key, or null if the event has no primitive value for this field.
+   */
+  static String getPartitionKey(Event event,
+                                String partitionField) {
+    AbstractField<?> field;
+    try {
+      field = event.getFieldBySelector(partitionField);
+    } catch (IllegalArgumentException | ClassCastException e) {
+      // the selector does not resolve to a field of the event
+      field = null;
+    }
+    if (field == null || !field.isPrimitive() || field.getRawValue() == null) {
+      LOG.warn("Dropped event without a primitive value of the partition field {}", partitionField);
+      return null;
+    }
+    return field.getAsPrimitive().getAsString();
+  }
+
   @Override
   protected void afterStop() {
     this.pipelineElement.onPipelineStopped();
@@ -103,7 +166,7 @@ public class KafkaStreamsDataProcessorRuntime extends KafkaStreamsRuntime<
   }
 
   private SpDataFormatDefinition getDataFormatConverter() {
-    return SpDataFormatManager.getFormatDefinition();
+    return SpDataFormatManager.INSTANCE.findDefinition(pipelineElementInvocation.getOutputStream().getEventGrounding());
   }
 
   private SpProtocolDefinition<KafkaTransportProtocol> getOutputProtocol() {
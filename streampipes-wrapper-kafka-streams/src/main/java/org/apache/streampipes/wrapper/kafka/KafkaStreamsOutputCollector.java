@@ -41,8 +41,11 @@ public class KafkaStreamsOutputCollector implements SpOutputCollector {
     this.outputProducer = outputProducer;
   }
 
+  /**
+   * Called concurrently by the stream threads, so the events are handed to the producer one at a time.
+   */
   @Override
-  public void collect(Event event) {
+  public synchronized void collect(Event event) {
     this.outputProducer.publish(outputFormatConverter.fromMap(event.getRaw()));
   }
 
@@ -17,6 +17,8 @@
  */
 package org.apache.streampipes.wrapper.kafka;
 
+import org.apache.streampipes.commons.environment.Environment;
+import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.extensions.api.extractor.IParameterExtractor;
 import org.apache.streampipes.extensions.api.pe.IStreamPipesPipelineElement;
@@ -32,6 +34,7 @@ import org.apache.streampipes.wrapper.params.InternalRuntimeParameters;
 import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.LogAndContinueExceptionHandler;
 
 import java.util.Properties;
 
@@ -88,8 +91,19 @@ public abstract class KafkaStreamsRuntime<
     config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, getKafkaUrl(runtimeParameters
         .getModel()
         .getInputStreams().get(0)));
-    config.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.String().getClass());
-    config.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.String().getClass());
+    config.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.ByteArray().getClass());
+    config.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.ByteArray().getClass());
+    // records which cannot be converted into events are logged and skipped
+    config.put(StreamsConfig.DEFAULT_DESERIALIZATION_EXCEPTION_HANDLER_CLASS_CONFIG,
+        LogAndContinueExceptionHandler.class);
+
+    Environment env = Environments.getEnvironment();
+    config.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, env.getKafkaStreamsNumThreads().getValueOrDefault());
+    config.put(StreamsConfig.NUM_STANDBY_REPLICAS_CONFIG, env.getKafkaStreamsStandbyReplicas().getValueOrDefault());
+    String stateDir = env.getKafkaStreamsStateDir().getValueOrDefault();
+    if (stateDir != null && !stateDir.isBlank()) {
+      config.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+    }
   }
 
   private String gneerateApplicationId(String elementId) {
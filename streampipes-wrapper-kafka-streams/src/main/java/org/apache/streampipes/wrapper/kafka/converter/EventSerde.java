@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.kafka.converter;
+
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.extensions.api.pe.param.IPipelineElementParameters;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.wrapper.params.InternalRuntimeParameters;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Reads and writes the records of an input stream in its data format and creates events of the given source
+ * directly from the record bytes.
+ */
+public class EventSerde implements Serde<Event> {
+
+  private final SpDataFormatDefinition dataFormatDefinition;
+  private final IPipelineElementParameters<?, ?> runtimeParameters;
+  private final String sourceId;
+  private final InternalRuntimeParameters internalRuntimeParameters;
+
+  public EventSerde(SpDataFormatDefinition dataFormatDefinition,
+                    IPipelineElementParameters<?, ?> runtimeParameters,
+                    String sourceId) {
+    this.dataFormatDefinition = dataFormatDefinition;
+    this.runtimeParameters = runtimeParameters;
+    this.sourceId = sourceId;
+    this.internalRuntimeParameters = new InternalRuntimeParameters();
+  }
+
+  @Override
+  public Serializer<Event> serializer() {
+    return (topic, event) -> event == null ? null : dataFormatDefinition.fromMap(event.getRaw());
+  }
+
+  @Override
+  public Deserializer<Event> deserializer() {
+    return (topic, bytes) -> bytes == null
+        ? null
+        : internalRuntimeParameters.makeEvent(runtimeParameters, dataFormatDefinition.toMap(bytes), sourceId);
+  }
+}
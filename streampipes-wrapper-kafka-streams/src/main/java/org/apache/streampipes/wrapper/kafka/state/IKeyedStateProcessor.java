@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.kafka.state;
+
+import org.apache.streampipes.extensions.api.pe.routing.SpOutputCollector;
+import org.apache.streampipes.model.runtime.Event;
+
+import java.util.List;
+
+/**
+ * Data processors implementing this interface are run as a keyed topology by the Kafka Streams wrapper.
+ * <p>
+ * Events are partitioned by the value of the partition field, so all events with the same key are processed by the
+ * same stream task. Each task owns a RocksDB-backed instance of the declared state stores, which is backed up to a
+ * changelog topic and restored (or taken over from a standby replica) if the task moves to another instance.
+ * Since tasks run concurrently on all stream threads, per-key state must be kept in the state stores instead of
+ * fields of the processor.
+ */
+public interface IKeyedStateProcessor {
+
+  /**
+   * Selector of the field the events are keyed by, called after the pipeline was started.
+   */
+  String getPartitionFieldSelector();
+
+  /**
+   * Names of the key-value stores which are created for this processor.
+   */
+  List<String> getStateStoreNames();
+
+  void onEvent(Event event,
+               String key,
+               KeyedStateStores stateStores,
+               SpOutputCollector collector);
+}
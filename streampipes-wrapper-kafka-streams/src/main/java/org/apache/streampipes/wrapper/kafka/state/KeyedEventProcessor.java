@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.kafka.state;
+
+import org.apache.streampipes.extensions.api.pe.routing.SpOutputCollector;
+import org.apache.streampipes.model.runtime.Event;
+
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.StoreBuilder;
+import org.apache.kafka.streams.state.Stores;
+
+/**
+ * Passes the events of a stream task to a keyed processor together with the state stores of the task.
+ */
+public class KeyedEventProcessor implements Processor<String, Event, Void, Void> {
+
+  private final IKeyedStateProcessor processor;
+  private final SpOutputCollector collector;
+
+  private KeyedStateStores stateStores;
+
+  public KeyedEventProcessor(IKeyedStateProcessor processor,
+                             SpOutputCollector collector) {
+    this.processor = processor;
+    this.collector = collector;
+  }
+
+  public static StoreBuilder<KeyValueStore<String, byte[]>> makeStoreBuilder(String name) {
+    return Stores.keyValueStoreBuilder(
+        Stores.persistentKeyValueStore(name),
+        Serdes.String(),
+        Serdes.ByteArray()
+    );
+  }
+
+  @Override
+  public void init(ProcessorContext<Void, Void> context) {
+    this.stateStores = new KeyedStateStores(context);
+  }
+
+  @Override
+  public void process(Record<String, Event> record) {
+    processor.onEvent(record.value(), record.key(), stateStores, collector);
+  }
+}
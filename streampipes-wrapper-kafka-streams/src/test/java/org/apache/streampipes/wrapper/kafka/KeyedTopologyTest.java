@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.kafka;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.JsonDataFormatDefinition;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.extensions.api.pe.routing.SpOutputCollector;
+import org.apache.streampipes.messaging.EventProducer;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.wrapper.kafka.state.IKeyedStateProcessor;
+import org.apache.streampipes.wrapper.kafka.state.KeyedStateStores;
+
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.KStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KeyedTopologyTest {
+
+  private static final String INPUT_TOPIC = "input";
+  private static final String STORE_NAME = "counts";
+
+  private final SpDataFormatDefinition format = new JsonDataFormatDefinition();
+
+  @TempDir
+  Path stateDir;
+
+  @Test
+  public void keyedProcessorKeepsStatePerKey() {
+    var producer = new RecordingProducer();
+    var collector = new KafkaStreamsOutputCollector(format, producer);
+    var serde = new TestEventSerde();
+
+    StreamsBuilder builder = new StreamsBuilder();
+    KStream<byte[], Event> stream = builder.stream(INPUT_TOPIC, Consumed.with(Serdes.ByteArray(), serde));
+    KafkaStreamsDataProcessorRuntime.bindKeyedProcessor(builder, stream, serde, new CountingProcessor(), collector);
+
+    try (var driver = new TopologyTestDriver(builder.build(), config())) {
+      TestInputTopic<byte[], Event> input = driver.createInputTopic(
+          INPUT_TOPIC,
+          new ByteArraySerializer(),
+          serde.serializer());
+
+      input.pipeInput(makeEvent("a"));
+      input.pipeInput(makeEvent("b"));
+      input.pipeInput(makeEvent("a"));
+
+      assertEquals(3, producer.published.size());
+      assertPublished(producer.published.get(0), "a", 1);
+      assertPublished(producer.published.get(1), "b", 1);
+      assertPublished(producer.published.get(2), "a", 2);
+
+      var store = driver.<String, byte[]>getKeyValueStore(STORE_NAME);
+      assertEquals("2", new String(store.get("a"), StandardCharsets.UTF_8));
+      assertEquals("1", new String(store.get("b"), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void keyedProcessorDropsEventsWithoutPrimitivePartitionValue() {
+    var producer = new RecordingProducer();
+    var collector = new KafkaStreamsOutputCollector(format, producer);
+    var serde = new TestEventSerde();
+
+    StreamsBuilder builder = new StreamsBuilder();
+    KStream<byte[], Event> stream = builder.stream(INPUT_TOPIC, Consumed.with(Serdes.ByteArray(), serde));
+    KafkaStreamsDataProcessorRuntime.bindKeyedProcessor(builder, stream, serde, new CountingProcessor(), collector);
+
+    try (var driver = new TopologyTestDriver(builder.build(), config())) {
+      TestInputTopic<byte[], Event> input = driver.createInputTopic(
+          INPUT_TOPIC,
+          new ByteArraySerializer(),
+          serde.serializer());
+
+      input.pipeInput(makeEvent(Map.of("temperature", 21.5)));
+      input.pipeInput(makeEvent(Map.of("sensorId", List.of("a", "b"))));
+      input.pipeInput(makeEvent(Map.of("sensorId", Map.of("id", "a"))));
+      input.pipeInput(makeEvent("a"));
+
+      assertEquals(1, producer.published.size());
+      assertPublished(producer.published.get(0), "a", 1);
+    }
+  }
+
+  @Test
+  public void partitionKeyIsNullWithoutPrimitiveValue() {
+    var missing = new HashMap<String, Object>();
+    missing.put("sensorId", null);
+
+    assertEquals("a", KafkaStreamsDataProcessorRuntime.getPartitionKey(makeEvent("a"), "s0::sensorId"));
+    assertEquals("1", KafkaStreamsDataProcessorRuntime.getPartitionKey(makeEvent(Map.of("sensorId", 1)),
+        "s0::sensorId"));
+    assertNull(KafkaStreamsDataProcessorRuntime.getPartitionKey(makeEvent(missing), "s0::sensorId"));
+    assertNull(KafkaStreamsDataProcessorRuntime.getPartitionKey(makeEvent(Map.of("sensor", "a")), "s0::sensorId"));
+    assertNull(KafkaStreamsDataProcessorRuntime.getPartitionKey(makeEvent(Map.of("temperature", 21.5)),
+        "s0::sensorId"));
+  }
+
+  @Test
+  public void outputCollectorPublishesOneEventAtATime() throws InterruptedException {
+    var producer = new RecordingProducer();
+    var collector = new KafkaStreamsOutputCollector(format, producer);
+    int threads = 4;
+    int eventsPerThread = 500;
+    var start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+    for (int i = 0; i < threads; i++) {
+      executor.submit(() -> {
+        start.await();
+        for (int j = 0; j < eventsPerThread; j++) {
+          collector.collect(makeEvent("a"));
+        }
+        return null;
+      });
+    }
+    start.countDown();
+    executor.shutdown();
+
+    assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    assertFalse(producer.overlapped.get());
+    assertEquals(threads * eventsPerThread, producer.published.size());
+  }
+
+  private Properties config() {
+    var props = new Properties();
+    props.put(StreamsConfig.APPLICATION_ID_CONFIG, "keyed-topology-test");
+    props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+    props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+    return props;
+  }
+
+  private void assertPublished(byte[] published,
+                               String sensorId,
+                               int count) {
+    Map<String, Object> event = format.toMap(published);
+    assertEquals(sensorId, event.get("sensorId"));
+    assertEquals(count, ((Number) event.get("count")).intValue());
+  }
+
+  private static Event makeEvent(String sensorId) {
+    return makeEvent(Map.of("sensorId", sensorId));
+  }
+
+  private static Event makeEvent(Map<String, Object> raw) {
+    return EventFactory.fromMap(
+        raw,
+        new SourceInfo(INPUT_TOPIC, "s0"),
+        new SchemaInfo(null, new ArrayList<>()));
+  }
+
+  /**
+   * Counts the events of each sensor in a state store and forwards the events with the current count.
+   */
+  private static class CountingProcessor implements IKeyedStateProcessor {
+
+    @Override
+    public String getPartitionFieldSelector() {
+      return "s0::sensorId";
+    }
+
+    @Override
+    public List<String> getStateStoreNames() {
+      return Collections.singletonList(STORE_NAME);
+    }
+
+    @Override
+    public void onEvent(Event event,
+                        String key,
+                        KeyedStateStores stateStores,
+                        SpOutputCollector collector) {
+      var store = stateStores.getStore(STORE_NAME);
+      byte[] previous = store.get(key);
+      int count = previous == null ? 1 : Integer.parseInt(new String(previous, StandardCharsets.UTF_8)) + 1;
+      store.put(key, String.valueOf(count).getBytes(StandardCharsets.UTF_8));
+      event.addField("count", count);
+      collector.collect(event);
+    }
+  }
+
+  private class TestEventSerde implements Serde<Event> {
+
+    @Override
+    public Serializer<Event> serializer() {
+      return (topic, event) -> event == null ? null : format.fromMap(event.getRaw());
+    }
+
+    @Override
+    public Deserializer<Event> deserializer() {
+      return (topic, bytes) -> bytes == null
+          ? null
+          : EventFactory.fromMap(
+              format.toMap(bytes),
+              new SourceInfo(topic, "s0"),
+              new SchemaInfo(null, new ArrayList<>()));
+    }
+  }
+
+  /**
+   * Records the published events and whether two threads have been publishing at the same time.
+   */
+  private static class RecordingProducer implements EventProducer {
+
+    private final List<byte[]> published = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean overlapped = new AtomicBoolean();
+
+    @Override
+    public void connect() throws SpRuntimeException {
+    }
+
+    @Override
+    public void publish(byte[] event) {
+      if (inFlight.incrementAndGet() > 1) {
+        overlapped.set(true);
+      }
+      Thread.yield();
+      published.add(event);
+      inFlight.decrementAndGet();
+    }
+
+    @Override
+    public void disconnect() throws SpRuntimeException {
+    }
+
+    @Override
+    public boolean isConnected() {
+      return true;
+    }
+  }
+}
@@ -29,6 +29,7 @@ public class SiddhiAppConfig {
   private final List<String> queries;
   private final List<String> definitions;
   private SiddhiOutputConfig outputConfig;
+  private SiddhiAsyncInputConfig asyncInputConfig;
 
   public SiddhiAppConfig() {
     this.queries = new ArrayList<>();
@@ -67,4 +68,16 @@ public class SiddhiAppConfig {
     this.outputConfig = outputConfig;
   }
 
+  public SiddhiAsyncInputConfig getAsyncInputConfig() {
+    return asyncInputConfig;
+  }
+
+  public void setAsyncInputConfig(SiddhiAsyncInputConfig asyncInputConfig) {
+    this.asyncInputConfig = asyncInputConfig;
+  }
+
+  public boolean isAsyncInput() {
+    return asyncInputConfig != null;
+  }
+
 }
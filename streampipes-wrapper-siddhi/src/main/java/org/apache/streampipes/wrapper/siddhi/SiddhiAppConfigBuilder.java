@@ -54,6 +54,20 @@ public class SiddhiAppConfigBuilder {
     return this;
   }
 
+  /**
+   * Defines the input streams with an {@code @Async} annotation and sends events to Siddhi in micro-batches.
+   *
+   * @param bufferSize size of the ring buffer of each input stream, must be a power of two
+   * @param workers    number of worker threads evaluating the queries of an input stream
+   * @param batchSize  maximum number of events sent to Siddhi at once
+   */
+  public SiddhiAppConfigBuilder withAsyncInput(int bufferSize,
+                                               int workers,
+                                               int batchSize) {
+    this.siddhiAppConfig.setAsyncInputConfig(new SiddhiAsyncInputConfig(bufferSize, workers, batchSize));
+    return this;
+  }
+
   public SiddhiAppConfig build() {
     return this.siddhiAppConfig;
   }
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.siddhi;
+
+/**
+ * Decouples the Siddhi runtime from the thread delivering events to a processor.
+ * <p>
+ * Input streams are defined with an {@code @Async} annotation, so window and pattern evaluation runs on Siddhi's own
+ * worker threads. Incoming events are put into a bounded queue and sent to Siddhi in micro-batches of at most
+ * {@code batchSize} events. Patterns and sequences depend on the order of events, so they should use a single worker.
+ */
+public class SiddhiAsyncInputConfig {
+
+  private final int bufferSize;
+  private final int workers;
+  private final int batchSize;
+
+  public SiddhiAsyncInputConfig(int bufferSize,
+                                int workers,
+                                int batchSize) {
+    if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+      throw new IllegalArgumentException("Buffer size of async input must be a power of two, was " + bufferSize);
+    }
+    if (workers <= 0) {
+      throw new IllegalArgumentException("Number of async workers must be positive, was " + workers);
+    }
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size of async input must be positive, was " + batchSize);
+    }
+    this.bufferSize = bufferSize;
+    this.workers = workers;
+    this.batchSize = batchSize;
+  }
+
+  public String toAnnotation() {
+    return "@Async(buffer.size='" + bufferSize
+        + "', workers='" + workers
+        + "', batch.size.max='" + batchSize + "')";
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  public int getWorkers() {
+    return workers;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.siddhi.engine;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends events to the input handlers of a Siddhi runtime in micro-batches.
+ * <p>
+ * Events are put into a bounded queue, which blocks the calling thread while the queue is full. A feeder thread drains
+ * up to {@code batchSize} events at once and sends consecutive events of the same source with a single
+ * {@code InputHandler#send(Event[])} call, so the order of events is kept across sources.
+ * <p>
+ * A batch which could not be sent is dropped. The error is thrown by the next call of {@link #send(String, Object[])}
+ * and by {@link #close()}, so that it is reported by the pipeline element.
+ */
+class SiddhiBatchedInput {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SiddhiBatchedInput.class);
+
+  private static final long POLL_TIMEOUT_MS = 100;
+  private static final long CLOSE_TIMEOUT_MS = 30000;
+
+  private final Map<String, InputHandler> inputHandlers;
+  private final BlockingQueue<PendingEvent> queue;
+  private final int batchSize;
+  private final Thread feederThread;
+  private final AtomicLong droppedEvents = new AtomicLong();
+  private final AtomicReference<SpRuntimeException> error = new AtomicReference<>();
+
+  private volatile boolean closing;
+  private volatile boolean aborted;
+
+  SiddhiBatchedInput(Map<String, InputHandler> inputHandlers,
+                     int capacity,
+                     int batchSize,
+                     String name) {
+    this.inputHandlers = inputHandlers;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.batchSize = batchSize;
+    this.feederThread = new Thread(this::feedLoop, "siddhi-input-" + name);
+    this.feederThread.setDaemon(true);
+    this.feederThread.start();
+  }
+
+  public void send(String sourceId,
+                   Object[] data) throws InterruptedException {
+    if (closing) {
+      throw new SpRuntimeException("Siddhi input is already closed");
+    }
+    queue.put(new PendingEvent(sourceId, new Event(System.currentTimeMillis(), data)));
+    throwError();
+  }
+
+  public long getDroppedEvents() {
+    return droppedEvents.get();
+  }
+
+  /**
+   * Stops accepting events and waits until all queued events were sent to Siddhi.
+   *
+   * @throws SpRuntimeException if events have been dropped since the last event, or if the queued events could not be
+   *                            sent within the close timeout
+   */
+  public void close() {
+    closing = true;
+    try {
+      feederThread.join(CLOSE_TIMEOUT_MS);
+      if (feederThread.isAlive()) {
+        aborted = true;
+        feederThread.interrupt();
+        feederThread.join();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (!queue.isEmpty()) {
+      int discarded = queue.size();
+      queue.clear();
+      droppedEvents.addAndGet(discarded);
+      throw new SpRuntimeException("Discarded %d events which were not sent to Siddhi within %d ms".formatted(
+          discarded, CLOSE_TIMEOUT_MS));
+    }
+    throwError();
+  }
+
+  private void throwError() {
+    var pendingError = error.getAndSet(null);
+    if (pendingError != null) {
+      throw pendingError;
+    }
+  }
+
+  private void feedLoop() {
+    List<PendingEvent> batch = new ArrayList<>(batchSize);
+    while (!aborted) {
+      try {
+        var first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          if (closing) {
+            break;
+          }
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        sendBatch(batch);
+      } catch (InterruptedException e) {
+        aborted = true;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void sendBatch(List<PendingEvent> batch) throws InterruptedException {
+    int start = 0;
+    while (start < batch.size()) {
+      String sourceId = batch.get(start).sourceId();
+      int end = start + 1;
+      while (end < batch.size() && sourceId.equals(batch.get(end).sourceId())) {
+        end++;
+      }
+      Event[] events = new Event[end - start];
+      for (int i = start; i < end; i++) {
+        events[i - start] = batch.get(i).event();
+      }
+      try {
+        inputHandlers.get(sourceId).send(events);
+      } catch (RuntimeException e) {
+        drop(batch.size() - start, e);
+        return;
+      }
+      start = end;
+    }
+  }
+
+  private void drop(int count,
+                    RuntimeException cause) {
+    long dropped = droppedEvents.get() + count;
+    LOG.error("Could not send {} events to Siddhi", count, cause);
+    // the error is published before the counter, so that callers observing the counter also observe the error
+    error.set(new SpRuntimeException(
+        "Could not send %d events to Siddhi, %d events have been dropped so far".formatted(count, dropped), cause));
+    droppedEvents.addAndGet(count);
+  }
+
+  private record PendingEvent(String sourceId, Event event) {
+  }
+}
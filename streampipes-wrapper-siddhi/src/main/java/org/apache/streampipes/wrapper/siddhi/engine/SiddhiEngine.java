@@ -17,6 +17,7 @@
  */
 package org.apache.streampipes.wrapper.siddhi.engine;
 
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.extensions.api.pe.param.IDataProcessorParameters;
 import org.apache.streampipes.extensions.api.pe.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.siddhi.engine.callback.SiddhiDebugCallback;
@@ -39,7 +40,7 @@ import org.slf4j.LoggerFactory;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SiddhiEngine {
 
@@ -47,13 +48,16 @@ public class SiddhiEngine {
 
   private SiddhiAppRuntime siddhiAppRuntime;
   private final Map<String, InputHandler> siddhiInputHandlers;
+  private final Map<String, SiddhiInputPlan> inputPlans;
   private Map<String, List<EventPropertyDef>> typeInfo;
+  private SiddhiBatchedInput batchedInput;
 
   private Boolean debugMode;
   private SiddhiDebugCallback debugCallback;
 
   public SiddhiEngine() {
     this.siddhiInputHandlers = new HashMap<>();
+    this.inputPlans = new ConcurrentHashMap<>();
     this.debugMode = false;
   }
 
@@ -78,6 +82,13 @@ public class SiddhiEngine {
           String preparedKey = SiddhiUtils.prepareName(key);
           siddhiInputHandlers.put(key, siddhiAppRuntime.getInputHandler(preparedKey));
         });
+    runtimeParameters.getInputStreamParams().forEach(inputStreamParams -> {
+      var sourceInfo = inputStreamParams.getSourceInfo();
+      if (typeInfo.containsKey(sourceInfo.getSourceId())) {
+        inputPlans.put(sourceInfo.getSourceId(),
+            new SiddhiInputPlan(sourceInfo.getSelectorPrefix(), typeInfo.get(sourceInfo.getSourceId())));
+      }
+    });
 
     StreamCallback callback;
     Map<String, StreamDefinition> streamDef = siddhiAppRuntime.getStreamDefinitionMap();
@@ -94,26 +105,46 @@ public class SiddhiEngine {
     LOG.info(SiddhiUtils.getPreparedOutputTopicName(params));
     siddhiAppRuntime.addCallback(SiddhiUtils.getPreparedOutputTopicName(params), callback);
     siddhiAppRuntime.start();
+
+    var appConfig = settings.getSiddhiAppConfig();
+    if (appConfig.isAsyncInput()) {
+      batchedInput = new SiddhiBatchedInput(siddhiInputHandlers,
+          appConfig.getAsyncInputConfig().getBufferSize(),
+          appConfig.getAsyncInputConfig().getBatchSize(),
+          outputKey);
+    }
   }
 
   public void processEvent(org.apache.streampipes.model.runtime.Event event) {
     try {
       String sourceId = event.getSourceInfo().getSourceId();
-      InputHandler inputHandler = siddhiInputHandlers.get(sourceId);
-      List<String> eventKeys = this.typeInfo
-          .get(sourceId)
-          .stream()
-          .map(EventPropertyDef::getFieldName)
-          .collect(Collectors.toList());
+      SiddhiInputPlan inputPlan = inputPlans.computeIfAbsent(sourceId, id ->
+          new SiddhiInputPlan(event.getSourceInfo().getSelectorPrefix(), typeInfo.get(id)));
+
+      if (batchedInput != null) {
+        batchedInput.send(sourceId, inputPlan.newObjArr(event));
+        return;
+      }
 
-      inputHandler.send(SiddhiUtils.toObjArr(eventKeys, event.getRaw()));
+      InputHandler inputHandler = siddhiInputHandlers.get(sourceId);
+      // the attribute array of the plan is reused, so events of the same source must be sent one after another
+      synchronized (inputPlan) {
+        inputHandler.send(inputPlan.toObjArr(event));
+      }
     } catch (InterruptedException e) {
-      e.printStackTrace();
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while sending an event to Siddhi", e);
     }
   }
 
   public void shutdownEngine() {
-    this.siddhiAppRuntime.shutdown();
+    try {
+      if (this.batchedInput != null) {
+        this.batchedInput.close();
+      }
+    } finally {
+      this.siddhiAppRuntime.shutdown();
+    }
   }
 
 }
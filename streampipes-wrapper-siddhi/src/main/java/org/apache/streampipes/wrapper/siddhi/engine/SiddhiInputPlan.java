@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.siddhi.engine;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.wrapper.siddhi.model.EventPropertyDef;
+
+import java.util.List;
+
+/**
+ * Converts the events of one input stream into the attribute array of its Siddhi stream definition.
+ * <p>
+ * The selectors of the attributes are resolved once, so events are read field by field instead of being converted
+ * into a map first. The attribute array is reused for every event, which is safe since Siddhi copies the attributes
+ * into its own events before {@code InputHandler#send} returns.
+ */
+public class SiddhiInputPlan {
+
+  private final String[] runtimeNames;
+  private final String[] selectors;
+  private final Object[] attributes;
+
+  public SiddhiInputPlan(String selectorPrefix,
+                         List<EventPropertyDef> attributeDefs) {
+    this.runtimeNames = new String[attributeDefs.size()];
+    this.selectors = new String[attributeDefs.size()];
+    this.attributes = new Object[attributeDefs.size()];
+    for (int i = 0; i < attributeDefs.size(); i++) {
+      runtimeNames[i] = EventPropertyDef.toOriginalFieldName(attributeDefs.get(i).getFieldName());
+      selectors[i] = selectorPrefix + PropertySelectorConstants.PROPERTY_DELIMITER + runtimeNames[i];
+    }
+  }
+
+  /**
+   * Fills the attribute array with the values of the event. The array is only valid until the next call.
+   */
+  public Object[] toObjArr(Event event) {
+    return fill(event, attributes);
+  }
+
+  /**
+   * Returns a new attribute array with the values of the event, e.g. for events which are queued before being sent.
+   */
+  public Object[] newObjArr(Event event) {
+    return fill(event, new Object[attributes.length]);
+  }
+
+  private Object[] fill(Event event,
+                        Object[] target) {
+    var fields = event.getFields();
+    for (int i = 0; i < target.length; i++) {
+      AbstractField field = fields.get(selectors[i]);
+      if (field == null) {
+        field = event.getOptionalFieldByRuntimeName(runtimeNames[i]).orElse(null);
+      }
+      target[i] = field != null ? EventConverter.toRawValue(field) : null;
+    }
+    return target;
+  }
+}
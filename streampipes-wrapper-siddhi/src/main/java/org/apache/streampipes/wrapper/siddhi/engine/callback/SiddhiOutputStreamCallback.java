@@ -19,6 +19,7 @@ package org.apache.streampipes.wrapper.siddhi.engine.callback;
 
 import org.apache.streampipes.extensions.api.pe.param.IDataProcessorParameters;
 import org.apache.streampipes.extensions.api.pe.routing.SpOutputCollector;
+import org.apache.streampipes.model.runtime.EventLayout;
 import org.apache.streampipes.wrapper.siddhi.output.SiddhiListOutputConfig;
 import org.apache.streampipes.wrapper.siddhi.output.SiddhiOutputConfig;
 import org.apache.streampipes.wrapper.siddhi.output.SiddhiOutputType;
@@ -34,34 +35,34 @@ import java.util.List;
 public class SiddhiOutputStreamCallback extends StreamCallback {
 
   private final SpOutputCollector collector;
-  private final IDataProcessorParameters runtimeParameters;
   private final SiddhiOutputConfig outputConfig;
 
-  private final List<Attribute> streamAttributes;
+  // resolved once, since the output stream and schema do not change while the processor is running
+  private final EventLayout outputLayout;
+  private final String[] outputFieldNames;
 
   public SiddhiOutputStreamCallback(SpOutputCollector collector,
                                     IDataProcessorParameters runtimeParameters,
                                     List<Attribute> streamAttributes,
                                     SiddhiOutputConfig outputConfig) {
     this.collector = collector;
-    this.runtimeParameters = runtimeParameters;
-    this.streamAttributes = streamAttributes;
     this.outputConfig = outputConfig;
+    this.outputLayout = EventLayout.compile(runtimeParameters.getOutputSourceInfo(),
+        runtimeParameters.getOutputSchemaInfo());
+    this.outputFieldNames = SiddhiUtils.toOutputFieldNames(streamAttributes);
   }
 
   private void sendEvents(List<Event> events) {
     collector.collect(SiddhiUtils.toSpEvent(events,
         ((SiddhiListOutputConfig) outputConfig).getListFieldName(),
-        runtimeParameters.getOutputSchemaInfo(),
-        runtimeParameters.getOutputSourceInfo(),
-        streamAttributes));
+        outputLayout,
+        outputFieldNames));
   }
 
   private void sendEvent(Event event) {
     collector.collect(SiddhiUtils.toSpEvent(event,
-        runtimeParameters.getOutputSchemaInfo(),
-        runtimeParameters.getOutputSourceInfo(),
-        streamAttributes));
+        outputLayout,
+        outputFieldNames));
   }
 
   @Override
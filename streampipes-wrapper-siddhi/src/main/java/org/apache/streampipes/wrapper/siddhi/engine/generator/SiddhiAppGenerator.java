@@ -61,6 +61,12 @@ public class SiddhiAppGenerator {
         .forEach(typeInfo ->
             joiner.add(typeInfo.getSelectorPrefix() + typeInfo.getFieldName() + " " + typeInfo.getFieldType()));
 
+    if (siddhiAppConfig.isAsyncInput()) {
+      this.siddhiAppString
+          .append(siddhiAppConfig.getAsyncInputConfig().toAnnotation())
+          .append("\n");
+    }
+
     this.siddhiAppString
         .append(defineStreamPrefix)
         .append("(")
@@ -21,6 +21,7 @@ package org.apache.streampipes.wrapper.siddhi.utils;
 import org.apache.streampipes.extensions.api.pe.param.IDataProcessorParameters;
 import org.apache.streampipes.model.constants.PropertySelectorConstants;
 import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
 import org.apache.streampipes.model.runtime.SchemaInfo;
 import org.apache.streampipes.model.runtime.SourceInfo;
 import org.apache.streampipes.wrapper.siddhi.constants.SiddhiConstants;
@@ -41,27 +42,64 @@ public class SiddhiUtils {
                                                                      SchemaInfo schemaInfo,
                                                                      SourceInfo sourceInfo,
                                                                      List<Attribute> streamAttributes) {
-    List<Map<String, Object>> allEvents = new ArrayList<>();
+    return toSpEvent(events, listFieldName, EventLayout.compile(sourceInfo, schemaInfo),
+        toOutputFieldNames(streamAttributes));
+  }
 
-    events.forEach(event -> allEvents.add(toMap(event, streamAttributes)));
+  public static org.apache.streampipes.model.runtime.Event toSpEvent(List<Event> events,
+                                                                     String listFieldName,
+                                                                     EventLayout outputLayout,
+                                                                     String[] outputFieldNames) {
+    List<Map<String, Object>> allEvents = new ArrayList<>(events.size());
+
+    events.forEach(event -> allEvents.add(toMap(event, outputFieldNames)));
 
     Map<String, Object> outMap = new HashMap<>();
     outMap.put(listFieldName, allEvents);
 
-    return EventFactory.fromMap(outMap, sourceInfo, schemaInfo);
+    return EventFactory.fromMap(outMap, outputLayout);
   }
 
   public static org.apache.streampipes.model.runtime.Event toSpEvent(Event event,
                                                                      SchemaInfo schemaInfo,
                                                                      SourceInfo sourceInfo,
                                                                      List<Attribute> streamAttributes) {
-    Map<String, Object> outMap = toMap(event, streamAttributes);
-    return EventFactory.fromMap(outMap, sourceInfo, schemaInfo);
+    return toSpEvent(event, EventLayout.compile(sourceInfo, schemaInfo), toOutputFieldNames(streamAttributes));
+  }
+
+  public static org.apache.streampipes.model.runtime.Event toSpEvent(Event event,
+                                                                     EventLayout outputLayout,
+                                                                     String[] outputFieldNames) {
+    return EventFactory.fromMap(toMap(event, outputFieldNames), outputLayout);
   }
 
   public static Map<String, Object> toMap(Event event,
                                           List<Attribute> streamAttributes) {
-    Map<String, Object> outMap = new HashMap<>();
+    return toMap(event, toOutputFieldNames(streamAttributes));
+  }
+
+  /**
+   * Maps the attributes of a Siddhi event to the output field names as returned by
+   * {@link #toOutputFieldNames(List)}.
+   */
+  public static Map<String, Object> toMap(Event event,
+                                          String[] outputFieldNames) {
+    Map<String, Object> outMap = new HashMap<>((int) (outputFieldNames.length / 0.75f) + 1);
+    Object[] data = event.getData();
+
+    for (int i = 0; i < outputFieldNames.length; i++) {
+      outMap.put(outputFieldNames[i], data[i]);
+    }
+
+    return outMap;
+  }
+
+  /**
+   * Resolves the field names of the output event for the attributes of the Siddhi output stream, by removing the
+   * stream prefixes and restoring whitespaces.
+   */
+  public static String[] toOutputFieldNames(List<Attribute> streamAttributes) {
+    String[] outputFieldNames = new String[streamAttributes.size()];
 
     for (int i = 0; i < streamAttributes.size(); i++) {
       String outputKey = streamAttributes.get(i).getName();
@@ -69,11 +107,10 @@ public class SiddhiUtils {
           || outputKey.startsWith(SiddhiConstants.SECOND_STREAM_PREFIX)) {
         outputKey = outputKey.substring(2);
       }
-      Object data = event.getData(i);
-      outMap.put(EventPropertyDef.toOriginalFieldName(outputKey), data);
+      outputFieldNames[i] = EventPropertyDef.toOriginalFieldName(outputKey);
     }
 
-    return outMap;
+    return outputFieldNames;
   }
 
   public static Object[] toObjArr(List<String> eventKeys, Map<String, Object> event) {
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.siddhi.engine;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.output.StreamCallback;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+public class SiddhiBatchedInputTest {
+
+  private SiddhiManager siddhiManager;
+  private SiddhiAppRuntime runtime;
+  private List<Object> received;
+
+  @BeforeEach
+  public void setUp() {
+    siddhiManager = new SiddhiManager();
+    runtime = siddhiManager.createSiddhiAppRuntime("define stream s0 (v int);");
+    received = new CopyOnWriteArrayList<>();
+    runtime.addCallback("s0", new StreamCallback() {
+      @Override
+      public void receive(Event[] events) {
+        for (Event event : events) {
+          received.add(event.getData(0));
+        }
+      }
+    });
+    runtime.start();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    runtime.shutdown();
+    siddhiManager.shutdown();
+  }
+
+  @Test
+  public void sendsEventsInOrder() throws InterruptedException {
+    var input = new SiddhiBatchedInput(Map.of("s0", runtime.getInputHandler("s0")), 16, 4, "test");
+
+    for (int i = 0; i < 100; i++) {
+      input.send("s0", new Object[]{i});
+    }
+    input.close();
+
+    Assertions.assertEquals(IntStream.range(0, 100).boxed().toList(), received);
+    Assertions.assertEquals(0, input.getDroppedEvents());
+  }
+
+  @Test
+  public void reportsDroppedBatchWithNextEvent() throws InterruptedException {
+    var input = new SiddhiBatchedInput(Map.of("s0", runtime.getInputHandler("s0")), 16, 4, "test");
+
+    input.send("unknown", new Object[]{1});
+    awaitDroppedEvents(input);
+
+    var error = Assertions.assertThrows(SpRuntimeException.class, () -> input.send("s0", new Object[]{2}));
+    Assertions.assertTrue(error.getMessage().contains("1 events have been dropped"));
+    input.close();
+    Assertions.assertEquals(List.of(2), received);
+  }
+
+  @Test
+  public void reportsDroppedBatchOnClose() throws InterruptedException {
+    var input = new SiddhiBatchedInput(Map.of("s0", runtime.getInputHandler("s0")), 16, 4, "test");
+
+    input.send("unknown", new Object[]{1});
+    awaitDroppedEvents(input);
+
+    Assertions.assertThrows(SpRuntimeException.class, input::close);
+  }
+
+  private static void awaitDroppedEvents(SiddhiBatchedInput input) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (input.getDroppedEvents() == 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assertions.assertEquals(1, input.getDroppedEvents());
+  }
+}
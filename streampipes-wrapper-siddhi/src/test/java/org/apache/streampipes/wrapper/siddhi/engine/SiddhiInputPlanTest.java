@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.siddhi.engine;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.wrapper.siddhi.model.EventPropertyDef;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SiddhiInputPlanTest {
+
+  @Test
+  public void attributesFollowTheOrderOfTheStreamDefinition() {
+    var plan = new SiddhiInputPlan("s0", List.of(
+        new EventPropertyDef("s0", "temperature", "DOUBLE"),
+        new EventPropertyDef("s0", "timestamp", "LONG"),
+        new EventPropertyDef("s0", "sensorId", "STRING")
+    ));
+
+    var attributes = plan.toObjArr(makeEvent());
+
+    assertArrayEquals(new Object[]{21.5, 1700000000000L, "sensor-1"}, attributes);
+  }
+
+  @Test
+  public void attributesKeepTheTypeOfTheEventValues() {
+    var plan = new SiddhiInputPlan("s0", List.of(
+        new EventPropertyDef("s0", "count", "INT"),
+        new EventPropertyDef("s0", "timestamp", "LONG"),
+        new EventPropertyDef("s0", "temperature", "DOUBLE"),
+        new EventPropertyDef("s0", "active", "BOOL"),
+        new EventPropertyDef("s0", "sensorId", "STRING"),
+        new EventPropertyDef("s0", "tags", "OBJECT")
+    ));
+
+    var attributes = plan.toObjArr(makeEvent());
+
+    assertEquals(Integer.class, attributes[0].getClass());
+    assertEquals(Long.class, attributes[1].getClass());
+    assertEquals(Double.class, attributes[2].getClass());
+    assertEquals(Boolean.class, attributes[3].getClass());
+    assertEquals(String.class, attributes[4].getClass());
+    assertEquals(List.of("a", "b"), attributes[5]);
+  }
+
+  @Test
+  public void resolvesNamesWithWhitespaceAndMissingFields() {
+    var plan = new SiddhiInputPlan("s0", List.of(
+        new EventPropertyDef("s0", "outside temperature", "DOUBLE"),
+        new EventPropertyDef("s0", "missing", "STRING")
+    ));
+
+    var attributes = plan.toObjArr(makeEvent());
+
+    assertEquals(12.0, attributes[0]);
+    assertNull(attributes[1]);
+  }
+
+  @Test
+  public void reusesTheAttributeArrayOnlyForDirectSends() {
+    var plan = new SiddhiInputPlan("s0", List.of(new EventPropertyDef("s0", "sensorId", "STRING")));
+    var event = makeEvent();
+
+    assertSame(plan.toObjArr(event), plan.toObjArr(event));
+    assertNotSame(plan.newObjArr(event), plan.newObjArr(event));
+  }
+
+  private Event makeEvent() {
+    var raw = new HashMap<String, Object>();
+    raw.put("sensorId", "sensor-1");
+    raw.put("timestamp", 1700000000000L);
+    raw.put("temperature", 21.5);
+    raw.put("outside temperature", 12.0);
+    raw.put("count", 3);
+    raw.put("active", true);
+    raw.put("tags", List.of("a", "b"));
+    return EventFactory.fromMap(raw, new SourceInfo("source", "s0"), new SchemaInfo(null, new ArrayList<>()));
+  }
+}
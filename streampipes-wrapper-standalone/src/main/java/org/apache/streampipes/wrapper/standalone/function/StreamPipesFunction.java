@@ -35,6 +35,7 @@ import org.apache.streampipes.model.monitoring.SpLogEntry;
 import org.apache.streampipes.model.monitoring.SpLogMessage;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
 import org.apache.streampipes.model.runtime.SchemaInfo;
 import org.apache.streampipes.model.runtime.SourceInfo;
 import org.apache.streampipes.model.schema.EventSchema;
@@ -49,18 +50,25 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Base class of functions which are executed in the extensions service.
+ * <p>
+ * Events of all input streams are passed to {@link #onEvent(Event, String)} one at a time, even if the consumers of
+ * the streams deliver events from several threads, e.g. one per Kafka partition. Implementations therefore do not
+ * need to be thread-safe.
+ */
 public abstract class StreamPipesFunction implements IStreamPipesFunctionDeclarer, RawDataProcessor {
 
   private static final Logger LOG = LoggerFactory.getLogger(StreamPipesFunction.class);
   private final Map<String, SourceInfo> sourceInfoMapper;
-  private final Map<String, SchemaInfo> schemaInfoMapper;
+  private final Map<String, EventLayout> eventLayoutMapper;
   private Map<String, SpInputCollector> inputCollectors;
 
   private Map<String, SpOutputCollector> outputCollectors;
 
   public StreamPipesFunction() {
     this.sourceInfoMapper = new HashMap<>();
-    this.schemaInfoMapper = new HashMap<>();
+    this.eventLayoutMapper = new HashMap<>();
     this.outputCollectors = new HashMap<>();
   }
 
@@ -84,8 +92,9 @@ public abstract class StreamPipesFunction implements IStreamPipesFunctionDeclare
         .getStreams()
         .forEach(stream -> {
           var topic = getTopic(stream);
-          sourceInfoMapper.put(topic, createSourceInfo(stream, index.get()));
-          schemaInfoMapper.put(topic, createSchemaInfo(stream.getEventSchema()));
+          var sourceInfo = createSourceInfo(stream, index.get());
+          sourceInfoMapper.put(topic, sourceInfo);
+          eventLayoutMapper.put(topic, EventLayout.compile(sourceInfo, createSchemaInfo(stream.getEventSchema())));
           index.getAndIncrement();
         });
 
@@ -103,18 +112,20 @@ public abstract class StreamPipesFunction implements IStreamPipesFunctionDeclare
     onServiceStopped();
     unregisterConsumers();
     this.outputCollectors.forEach((key, value) -> value.disconnect());
+    SpMonitoringManager.INSTANCE.removeMetrics(functionId.getId());
   }
 
   @Override
-  public void process(Map<String, Object> rawEvent, String topicName) {
+  public synchronized void process(Map<String, Object> rawEvent, String topicName) {
     try {
+      var start = System.nanoTime();
       var sourceInfo = sourceInfoMapper.get(topicName);
 
       var event = EventFactory
-          .fromMap(rawEvent, sourceInfo, schemaInfoMapper.get(topicName));
+          .fromMap(rawEvent, eventLayoutMapper.get(topicName));
 
       this.onEvent(event, sourceInfo.getSourceId());
-      increaseCounter(sourceInfo.getSourceId());
+      increaseCounter(sourceInfo.getSourceId(), System.nanoTime() - start);
     } catch (RuntimeException e) {
       addError(e);
     }
@@ -124,13 +135,15 @@ public abstract class StreamPipesFunction implements IStreamPipesFunctionDeclare
     return stream.getEventGrounding().getTransportProtocol().getTopicDefinition().getActualTopicName();
   }
 
-  private void increaseCounter(String sourceInfo) {
+  private void increaseCounter(String sourceInfo,
+                               long processingTime) {
     var functionId = this.getFunctionConfig().getFunctionId();
     SpMonitoringManager.INSTANCE.increaseInCounter(
         functionId.getId(),
         sourceInfo,
         System.currentTimeMillis()
     );
+    SpMonitoringManager.INSTANCE.recordProcessingTime(functionId.getId(), processingTime);
   }
 
   private void addError(RuntimeException e) {
@@ -151,7 +164,7 @@ public abstract class StreamPipesFunction implements IStreamPipesFunctionDeclare
       this.outputCollectors.put(
           uniqueStreamId,
           ProtocolManager.makeOutputCollector(
-              value.getEventGrounding().getTransportProtocol(),
+              value.getEventGrounding(),
               uniqueStreamId));
     });
 
@@ -167,8 +180,7 @@ public abstract class StreamPipesFunction implements IStreamPipesFunctionDeclare
       if (env.getSpDebug().getValueOrDefault()) {
         GroundingDebugUtils.modifyGrounding(is.getEventGrounding());
       }
-      inputCollectors.put(uniqueStreamId, ProtocolManager.findInputCollector(is.getEventGrounding()
-          .getTransportProtocol(), false));
+      inputCollectors.put(uniqueStreamId, ProtocolManager.findInputCollector(is.getEventGrounding(), false));
     }
     return inputCollectors;
   }
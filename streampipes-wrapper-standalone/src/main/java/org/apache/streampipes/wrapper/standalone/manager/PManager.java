@@ -23,6 +23,7 @@ import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.dataformat.SpDataFormatManager;
 import org.apache.streampipes.messaging.SpProtocolDefinition;
 import org.apache.streampipes.messaging.SpProtocolManager;
+import org.apache.streampipes.model.grounding.EventGrounding;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 
 import java.util.Optional;
@@ -36,4 +37,8 @@ public class PManager {
   public static SpDataFormatDefinition getDataFormat() throws SpRuntimeException {
     return SpDataFormatManager.getFormatDefinition();
   }
+
+  public static SpDataFormatDefinition getDataFormat(EventGrounding eventGrounding) throws SpRuntimeException {
+    return SpDataFormatManager.INSTANCE.findDefinition(eventGrounding);
+  }
 }
@@ -19,6 +19,8 @@
 package org.apache.streampipes.wrapper.standalone.manager;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.grounding.EventGrounding;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpInputCollector;
 import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpOutputCollector;
@@ -42,11 +44,27 @@ public class ProtocolManager {
   public static <T extends TransportProtocol> StandaloneSpInputCollector findInputCollector(T protocol,
                                                                                             Boolean singletonEngine)
       throws SpRuntimeException {
+    return findInputCollector(protocol, PManager.getDataFormat(), singletonEngine);
+  }
+
+  public static StandaloneSpInputCollector findInputCollector(EventGrounding eventGrounding,
+                                                              Boolean singletonEngine)
+      throws SpRuntimeException {
+    return findInputCollector(
+        eventGrounding.getTransportProtocol(),
+        PManager.getDataFormat(eventGrounding),
+        singletonEngine);
+  }
+
+  public static <T extends TransportProtocol> StandaloneSpInputCollector findInputCollector(
+      T protocol,
+      SpDataFormatDefinition dataFormatDefinition,
+      Boolean singletonEngine) throws SpRuntimeException {
 
     if (consumers.containsKey(topicName(protocol))) {
       return consumers.get(topicName(protocol));
     } else {
-      consumers.put(topicName(protocol), makeInputCollector(protocol, singletonEngine));
+      consumers.put(topicName(protocol), makeInputCollector(protocol, dataFormatDefinition, singletonEngine));
       LOG.info("Adding new consumer to consumer map (size=" + consumers.size() + "): " + topicName(protocol));
       return consumers.get(topicName(protocol));
     }
@@ -56,11 +74,27 @@ public class ProtocolManager {
   public static <T extends TransportProtocol> StandaloneSpOutputCollector findOutputCollector(T protocol,
                                                                                               String resourceId)
       throws SpRuntimeException {
+    return findOutputCollector(protocol, PManager.getDataFormat(), resourceId);
+  }
+
+  public static StandaloneSpOutputCollector findOutputCollector(EventGrounding eventGrounding,
+                                                                String resourceId)
+      throws SpRuntimeException {
+    return findOutputCollector(
+        eventGrounding.getTransportProtocol(),
+        PManager.getDataFormat(eventGrounding),
+        resourceId);
+  }
+
+  public static <T extends TransportProtocol> StandaloneSpOutputCollector findOutputCollector(
+      T protocol,
+      SpDataFormatDefinition dataFormatDefinition,
+      String resourceId) throws SpRuntimeException {
 
     if (producers.containsKey(topicName(protocol))) {
       return producers.get(topicName(protocol));
     } else {
-      producers.put(topicName(protocol), makeOutputCollector(protocol, resourceId));
+      producers.put(topicName(protocol), makeOutputCollector(protocol, dataFormatDefinition, resourceId));
       LOG.info("Adding new producer to producer map (size=" + producers.size() + "): " + topicName
           (protocol));
       return producers.get(topicName(protocol));
@@ -68,10 +102,11 @@ public class ProtocolManager {
 
   }
 
-  private static <T extends TransportProtocol> StandaloneSpInputCollector<T> makeInputCollector(T protocol,
-                                                                                                Boolean singletonEngine)
-      throws SpRuntimeException {
-    return new StandaloneSpInputCollector<>(protocol, singletonEngine);
+  private static <T extends TransportProtocol> StandaloneSpInputCollector<T> makeInputCollector(
+      T protocol,
+      SpDataFormatDefinition dataFormatDefinition,
+      Boolean singletonEngine) throws SpRuntimeException {
+    return new StandaloneSpInputCollector<>(protocol, dataFormatDefinition, singletonEngine);
   }
 
   public static <T extends TransportProtocol> StandaloneSpOutputCollector<T> makeOutputCollector(T protocol,
@@ -80,6 +115,20 @@ public class ProtocolManager {
     return new StandaloneSpOutputCollector<>(protocol, resourceId);
   }
 
+  public static StandaloneSpOutputCollector<?> makeOutputCollector(EventGrounding eventGrounding,
+                                                                   String resourceId)
+      throws SpRuntimeException {
+    return makeOutputCollector(eventGrounding.getTransportProtocol(), PManager.getDataFormat(eventGrounding),
+        resourceId);
+  }
+
+  private static <T extends TransportProtocol> StandaloneSpOutputCollector<T> makeOutputCollector(
+      T protocol,
+      SpDataFormatDefinition dataFormatDefinition,
+      String resourceId) throws SpRuntimeException {
+    return new StandaloneSpOutputCollector<>(protocol, dataFormatDefinition, resourceId);
+  }
+
   private static String topicName(TransportProtocol protocol) {
     return protocol.getTopicDefinition().getActualTopicName();
   }
@@ -41,10 +41,15 @@ public abstract class StandaloneSpCollector<T extends TransportProtocol, W> impl
 
 
   public StandaloneSpCollector(T protocol) throws SpRuntimeException {
+    this(protocol, PManager.getDataFormat());
+  }
+
+  public StandaloneSpCollector(T protocol,
+                               SpDataFormatDefinition dataFormatDefinition) throws SpRuntimeException {
     this.transportProtocol = protocol;
     this.protocolDefinition = PManager.getProtocolDefinition(protocol).orElseThrow(() -> new
         SpRuntimeException("Could not find protocol"));
-    this.dataFormatDefinition = PManager.getDataFormat();
+    this.dataFormatDefinition = dataFormatDefinition;
     this.consumers = new ConcurrentHashMap<>();
     this.topic = transportProtocol.getTopicDefinition().getActualTopicName();
   }
@@ -19,13 +19,24 @@
 package org.apache.streampipes.wrapper.standalone.routing;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.extensions.api.monitoring.SpMonitoringManager;
 import org.apache.streampipes.extensions.api.pe.routing.RawDataProcessor;
 import org.apache.streampipes.extensions.api.pe.routing.SpInputCollector;
 import org.apache.streampipes.messaging.EventConsumer;
 import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.monitoring.SpLogEntry;
+import org.apache.streampipes.model.monitoring.SpLogMessage;
+import org.apache.streampipes.wrapper.standalone.manager.PManager;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 public class StandaloneSpInputCollector<T extends TransportProtocol> extends
     StandaloneSpCollector<T, RawDataProcessor>
     implements
@@ -33,25 +44,78 @@ public class StandaloneSpInputCollector<T extends TransportProtocol> extends
 
   private final Boolean singletonEngine;
   private final EventConsumer consumer;
+  private volatile Optional<Set<String>> requiredFields;
+
+  public StandaloneSpInputCollector(T protocol,
+                                    Boolean singletonEngine) throws SpRuntimeException {
+    this(protocol, PManager.getDataFormat(), singletonEngine);
+  }
 
   public StandaloneSpInputCollector(T protocol,
+                                    SpDataFormatDefinition dataFormatDefinition,
                                     Boolean singletonEngine) throws SpRuntimeException {
-    super(protocol);
+    super(protocol, dataFormatDefinition);
     this.consumer = protocolDefinition.getConsumer(protocol);
     this.singletonEngine = singletonEngine;
+    this.requiredFields = Optional.empty();
+  }
+
+  @Override
+  public void registerConsumer(String routeId, RawDataProcessor consumer) {
+    super.registerConsumer(routeId, consumer);
+    updateRequiredFields();
+  }
+
+  @Override
+  public void unregisterConsumer(String routeId) {
+    super.unregisterConsumer(routeId);
+    updateRequiredFields();
   }
 
   @Override
   public void onEvent(byte[] event) {
     if (singletonEngine) {
-      send(consumers.get(consumers.keySet().toArray()[0]), event);
-    } else {
-      consumers.forEach((key, value) -> send(value, event));
+      send(consumers.get(consumers.keySet().toArray()[0]), toMap(event));
+    } else if (!consumers.isEmpty()) {
+      // the message is decoded once and all consumers of this topic share a read-only view of it
+      var rawEvent = Collections.unmodifiableMap(toMap(event));
+      consumers.forEach((key, value) -> send(value, rawEvent));
+    }
+  }
+
+  @Override
+  public void onSkippedEvent(byte[] event,
+                             RuntimeException cause) {
+    var logEntry = SpLogEntry.from(System.currentTimeMillis(), SpLogMessage.from(cause));
+    consumers.keySet().forEach(routeId -> SpMonitoringManager.INSTANCE.addErrorMessage(routeId, logEntry));
+  }
+
+  private Map<String, Object> toMap(byte[] event) {
+    var fields = requiredFields;
+    return fields.isPresent()
+        ? dataFormatDefinition.toMap(event, fields.get())
+        : dataFormatDefinition.toMap(event);
+  }
+
+  /**
+   * Only fields read by at least one consumer need to be deserialized,
+   * unless a consumer does not declare the fields it reads.
+   */
+  private synchronized void updateRequiredFields() {
+    Set<String> fields = new HashSet<>();
+    for (RawDataProcessor processor : consumers.values()) {
+      var processorFields = processor.getRequiredFields(topic);
+      if (processorFields.isEmpty()) {
+        this.requiredFields = Optional.empty();
+        return;
+      }
+      fields.addAll(processorFields.get());
     }
+    this.requiredFields = Optional.of(fields);
   }
 
-  private void send(RawDataProcessor rawDataProcessor, byte[] event) {
-    rawDataProcessor.process(dataFormatDefinition.toMap(event), topic);
+  private void send(RawDataProcessor rawDataProcessor, Map<String, Object> rawEvent) {
+    rawDataProcessor.process(rawEvent, topic);
   }
 
   @Override
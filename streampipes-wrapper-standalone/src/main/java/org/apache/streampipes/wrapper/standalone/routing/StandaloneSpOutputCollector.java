@@ -18,7 +18,9 @@
 
 package org.apache.streampipes.wrapper.standalone.routing;
 
+import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.extensions.api.monitoring.SpMonitoringManager;
 import org.apache.streampipes.extensions.api.pe.routing.SpOutputCollector;
 import org.apache.streampipes.extensions.management.monitoring.ExtensionsLogger;
@@ -27,12 +29,19 @@ import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.wrapper.standalone.manager.PManager;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public class StandaloneSpOutputCollector<T extends TransportProtocol> extends
     StandaloneSpCollector<T, InternalEventProcessor<Map<String,
@@ -40,42 +49,156 @@ public class StandaloneSpOutputCollector<T extends TransportProtocol> extends
 
   private static final Logger LOG = LoggerFactory.getLogger(StandaloneSpOutputCollector.class);
 
+  // shared by all batching collectors, shut down when the last of them disconnects
+  private static ScheduledExecutorService lingerScheduler;
+  private static int lingerSchedulerUsers;
+
   private final EventProducer producer;
   private final String resourceId;
   private final ExtensionsLogger extensionsLogger;
 
+  private final int batchSize;
+  private final long lingerMs;
+  private final List<byte[]> batch;
+  private long batchGeneration;
+  private ScheduledExecutorService scheduler;
+  private ScheduledFuture<?> lingerTask;
+
   public StandaloneSpOutputCollector(T protocol,
                                      String resourceId) throws SpRuntimeException {
-    super(protocol);
+    this(protocol, PManager.getDataFormat(), resourceId);
+  }
+
+  public StandaloneSpOutputCollector(T protocol,
+                                     SpDataFormatDefinition dataFormatDefinition,
+                                     String resourceId) throws SpRuntimeException {
+    super(protocol, dataFormatDefinition);
     this.producer = protocolDefinition.getProducer(protocol);
     this.resourceId = resourceId;
     this.extensionsLogger = new ExtensionsLogger(resourceId);
+    var env = Environments.getEnvironment();
+    this.batchSize = Math.max(1, env.getOutputBatchSize().getValueOrDefault());
+    this.lingerMs = Math.max(1, env.getOutputBatchLingerMs().getValueOrDefault());
+    this.batch = new ArrayList<>(batchSize);
   }
 
   public void collect(Event event) {
     Map<String, Object> outEvent = new EventConverter(event).toMap();
     try {
-      producer.publish(dataFormatDefinition.fromMap(outEvent));
-      SpMonitoringManager.INSTANCE.increaseOutCounter(resourceId, System.currentTimeMillis());
+      if (batchSize == 1) {
+        var start = System.nanoTime();
+        var message = dataFormatDefinition.fromMap(outEvent);
+        // processors may be executed by several workers, not all producers are thread-safe
+        synchronized (producer) {
+          producer.publish(message);
+        }
+        SpMonitoringManager.INSTANCE.recordPublishLatency(resourceId, System.nanoTime() - start);
+        SpMonitoringManager.INSTANCE.increaseOutCounter(resourceId, System.currentTimeMillis());
+      } else {
+        var message = dataFormatDefinition.fromMap(outEvent);
+        synchronized (batch) {
+          batch.add(message);
+          if (batch.size() >= batchSize) {
+            publishBatch();
+          } else if (batch.size() == 1 && scheduler != null) {
+            var generation = batchGeneration;
+            lingerTask = scheduler.schedule(() -> flushExpired(generation), lingerMs, TimeUnit.MILLISECONDS);
+          }
+        }
+      }
     } catch (SpRuntimeException e) {
       extensionsLogger.error(e);
       LOG.error("Could not publish event", e);
     }
   }
 
+  /**
+   * Publishes all buffered events. Besides when the batch is full, this happens once the linger time has passed
+   * since the first event of the batch was buffered, and on disconnect.
+   */
+  public void flush() {
+    synchronized (batch) {
+      try {
+        publishBatch();
+      } catch (SpRuntimeException e) {
+        extensionsLogger.error(e);
+        LOG.error("Could not publish batch", e);
+      }
+    }
+  }
+
+  private void flushExpired(long generation) {
+    synchronized (batch) {
+      // the batch this task was scheduled for may have been published already
+      if (generation == batchGeneration) {
+        flush();
+      }
+    }
+  }
+
+  private void publishBatch() {
+    batchGeneration++;
+    if (lingerTask != null) {
+      lingerTask.cancel(false);
+      lingerTask = null;
+    }
+    if (!batch.isEmpty()) {
+      var events = new ArrayList<>(batch);
+      batch.clear();
+      var start = System.nanoTime();
+      producer.publish(events);
+      SpMonitoringManager.INSTANCE.recordPublishLatency(resourceId, System.nanoTime() - start);
+      SpMonitoringManager.INSTANCE.increaseOutCounter(resourceId, events.size(), System.currentTimeMillis());
+    }
+  }
+
   @Override
   public void connect() throws SpRuntimeException {
     if (!producer.isConnected()) {
       producer.connect();
     }
+    if (batchSize > 1) {
+      synchronized (batch) {
+        if (scheduler == null) {
+          scheduler = acquireLingerScheduler();
+        }
+      }
+    }
   }
 
   @Override
   public void disconnect() throws SpRuntimeException {
+    ScheduledExecutorService releasedScheduler;
+    synchronized (batch) {
+      releasedScheduler = scheduler;
+      scheduler = null;
+    }
+    if (releasedScheduler != null) {
+      flush();
+      releaseLingerScheduler();
+    }
     if (producer.isConnected()) {
       producer.disconnect();
       ProtocolManager.removeOutputCollector(transportProtocol);
     }
   }
 
+  private static synchronized ScheduledExecutorService acquireLingerScheduler() {
+    if (lingerSchedulerUsers++ == 0) {
+      lingerScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        var thread = new Thread(r, "sp-output-batch-linger");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return lingerScheduler;
+  }
+
+  private static synchronized void releaseLingerScheduler() {
+    if (--lingerSchedulerUsers == 0) {
+      lingerScheduler.shutdownNow();
+      lingerScheduler = null;
+    }
+  }
+
 }
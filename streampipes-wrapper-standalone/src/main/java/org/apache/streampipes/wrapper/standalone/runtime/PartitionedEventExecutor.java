@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes tasks on a fixed number of partitions, each served by a single worker thread.
+ * Tasks submitted to the same partition are executed in submission order. Submitting blocks
+ * while the queue of the partition is full, so that slow processing slows down the consumer.
+ * Tasks which cannot be queued because the submitting thread is interrupted or the executor is
+ * shut down, and tasks still queued when a worker is interrupted, are counted as dropped.
+ */
+public class PartitionedEventExecutor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PartitionedEventExecutor.class);
+
+  private static final int QUEUE_CAPACITY = 1000;
+  private static final long SHUTDOWN_TIMEOUT_MS = 10000;
+
+  private final String name;
+  private final List<BlockingQueue<Runnable>> queues;
+  private final List<Thread> workers;
+  private final AtomicLong droppedTasks = new AtomicLong();
+  private volatile boolean running;
+
+  public PartitionedEventExecutor(String name,
+                                  int partitions) {
+    this.name = name;
+    this.queues = new ArrayList<>(partitions);
+    this.workers = new ArrayList<>(partitions);
+    this.running = true;
+    for (int i = 0; i < partitions; i++) {
+      var queue = new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY);
+      var worker = new Thread(() -> work(queue), name + "-" + i);
+      worker.setDaemon(true);
+      queues.add(queue);
+      workers.add(worker);
+      worker.start();
+    }
+  }
+
+  public int getPartitions() {
+    return queues.size();
+  }
+
+  public long getDroppedTasks() {
+    return droppedTasks.get();
+  }
+
+  /**
+   * Queues a task for the given partition.
+   *
+   * @return false if the task was dropped, in which case the interrupt status of the calling thread is kept
+   */
+  public boolean execute(int partition,
+                         Runnable task) {
+    if (!running) {
+      drop(1, "executor is shut down");
+      return false;
+    }
+    try {
+      queues.get(partition).put(task);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      drop(1, "submitting thread was interrupted");
+      return false;
+    }
+  }
+
+  /**
+   * Stops accepting work after all queued tasks have been executed.
+   */
+  public void shutdown() {
+    running = false;
+    for (Thread worker : workers) {
+      try {
+        worker.join(SHUTDOWN_TIMEOUT_MS);
+        if (worker.isAlive()) {
+          LOG.warn("Worker {} did not finish within {} ms", worker.getName(), SHUTDOWN_TIMEOUT_MS);
+          worker.interrupt();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        workers.forEach(Thread::interrupt);
+        return;
+      }
+    }
+  }
+
+  private void drop(int count,
+                    String reason) {
+    droppedTasks.addAndGet(count);
+    LOG.warn("Dropped {} task(s) of {}: {}", count, name, reason);
+  }
+
+  private void runTask(Runnable task) {
+    try {
+      task.run();
+    } catch (RuntimeException e) {
+      LOG.error("Unexpected exception in worker {}", Thread.currentThread().getName(), e);
+    }
+  }
+
+  private void work(BlockingQueue<Runnable> queue) {
+    try {
+      while (running || !queue.isEmpty()) {
+        var task = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (task != null) {
+          runTask(task);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      int remaining = queue.size();
+      queue.clear();
+      if (remaining > 0) {
+        drop(remaining, "worker was interrupted");
+      }
+    }
+  }
+}
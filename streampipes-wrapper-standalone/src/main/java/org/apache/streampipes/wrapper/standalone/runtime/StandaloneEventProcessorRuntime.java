@@ -18,15 +18,18 @@
 
 package org.apache.streampipes.wrapper.standalone.runtime;
 
+import org.apache.streampipes.commons.environment.Environments;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.extensions.api.extractor.IDataProcessorParameterExtractor;
 import org.apache.streampipes.extensions.api.pe.IStreamPipesDataProcessor;
+import org.apache.streampipes.extensions.api.pe.config.ExecutionMode;
 import org.apache.streampipes.extensions.api.pe.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.extensions.api.pe.param.IDataProcessorParameters;
 import org.apache.streampipes.extensions.api.pe.routing.RawDataProcessor;
 import org.apache.streampipes.extensions.api.pe.routing.SpOutputCollector;
 import org.apache.streampipes.extensions.api.pe.runtime.IDataProcessorRuntime;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.wrapper.context.generator.DataProcessorContextGenerator;
 import org.apache.streampipes.wrapper.params.generator.DataProcessorParameterGenerator;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
@@ -34,7 +37,11 @@ import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 public class StandaloneEventProcessorRuntime extends StandalonePipelineElementRuntime<
     IStreamPipesDataProcessor,
@@ -47,6 +54,10 @@ public class StandaloneEventProcessorRuntime extends StandalonePipelineElementRu
 
   protected SpOutputCollector outputCollector;
 
+  private PartitionedEventExecutor executor;
+  private List<String> keyPath;
+  private final AtomicInteger nextWorker = new AtomicInteger();
+
   public StandaloneEventProcessorRuntime() {
     super(new DataProcessorContextGenerator(), new DataProcessorParameterGenerator());
   }
@@ -56,18 +67,33 @@ public class StandaloneEventProcessorRuntime extends StandalonePipelineElementRu
         runtimeParameters
             .getModel()
             .getOutputStream()
-            .getEventGrounding()
-            .getTransportProtocol(),
+            .getEventGrounding(),
         this.instanceId);
   }
 
   @Override
   public void process(Map<String, Object> rawEvent, String sourceInfo) {
+    if (executor == null) {
+      // consumers may deliver events from several threads, sequential elements see one event at a time
+      synchronized (this) {
+        processEvent(rawEvent, sourceInfo);
+      }
+    } else {
+      if (!executor.execute(selectPartition(rawEvent), () -> processEvent(rawEvent, sourceInfo))) {
+        addLogEntry(new SpRuntimeException(
+            "Event was dropped, " + executor.getDroppedTasks() + " events have been dropped so far"));
+      }
+    }
+  }
+
+  private void processEvent(Map<String, Object> rawEvent, String sourceInfo) {
     try {
-      monitoringManager.increaseInCounter(instanceId, sourceInfo, System.currentTimeMillis());
+      var start = System.nanoTime();
+      increaseInCounter(rawEvent, sourceInfo);
       var event = this.internalRuntimeParameters.makeEvent(runtimeParameters, rawEvent, sourceInfo);
       pipelineElement
           .onEvent(event, outputCollector);
+      monitoringManager.recordProcessingTime(instanceId, System.nanoTime() - start);
     } catch (IllegalArgumentException e) {
       LOG.warn("A key could not be found - this can be due to an operation on a missing field.");
       addLogEntry(e);
@@ -83,18 +109,87 @@ public class StandaloneEventProcessorRuntime extends StandalonePipelineElementRu
     connectInputCollectors();
   }
 
+  private int selectPartition(Map<String, Object> rawEvent) {
+    if (keyPath == null) {
+      return Math.floorMod(nextWorker.getAndIncrement(), executor.getPartitions());
+    }
+    Object key = rawEvent;
+    for (String runtimeName : keyPath) {
+      if (!(key instanceof Map<?, ?> map)) {
+        return 0;
+      }
+      key = map.get(runtimeName);
+    }
+    return key == null ? 0 : Math.floorMod(key.hashCode(), executor.getPartitions());
+  }
+
+  private void prepareExecutor() {
+    ExecutionMode executionMode = pipelineElement.declareConfig().getExecutionMode();
+    if (isParallel(
+        executionMode,
+        toggle -> runtimeParameters.extractor().slideToggleValue(toggle),
+        usesKafkaPartitionWorkers())) {
+      this.keyPath = executionMode
+          .getKeyMappingProperty()
+          .map(property -> runtimeParameters.extractor().mappingPropertyValue(property))
+          .map(this::toKeyPath)
+          .orElse(null);
+      this.executor = new PartitionedEventExecutor(instanceId, executionMode.getParallelism());
+      LOG.info("Processing events of {} with {} {} workers",
+          instanceId, executionMode.getParallelism(), executionMode.getType());
+    }
+  }
+
+  static boolean isParallel(ExecutionMode executionMode,
+                            Predicate<String> slideToggleValue,
+                            boolean kafkaPartitionWorkers) {
+    if (executionMode.getType() == ExecutionMode.Type.SEQUENTIAL) {
+      return false;
+    }
+    boolean enabled = executionMode
+        .getEnablingSlideToggle()
+        .map(slideToggleValue::test)
+        .orElse(true);
+    if (enabled && kafkaPartitionWorkers) {
+      // partition workers commit offsets once processing returns, which must not happen before the executor is done
+      LOG.warn("Processing events sequentially, as Kafka partition workers already parallelize the input");
+      return false;
+    }
+    return enabled;
+  }
+
+  private boolean usesKafkaPartitionWorkers() {
+    return Environments.getEnvironment().getKafkaConsumerPartitionWorkers().getValueOrDefault()
+        && runtimeParameters.getModel().getInputStreams()
+        .stream()
+        .anyMatch(stream -> stream.getEventGrounding().getTransportProtocol() instanceof KafkaTransportProtocol);
+  }
+
+  private List<String> toKeyPath(String selector) {
+    var parts = Arrays.asList(selector.split("::"));
+    return parts.subList(1, parts.size());
+  }
+
   @Override
   protected void beforeStart() {
     this.outputCollector = getOutputCollector();
     pipelineElement.onPipelineStarted(runtimeParameters, outputCollector, runtimeContext);
+    prepareExecutor();
     prepareRuntime();
   }
 
   @Override
   protected void afterStop() {
     disconnectInputCollectors();
-    pipelineElement.onPipelineStopped();
-    outputCollector.disconnect();
+    if (executor != null) {
+      executor.shutdown();
+      executor = null;
+    }
+    try {
+      pipelineElement.onPipelineStopped();
+    } finally {
+      outputCollector.disconnect();
+    }
   }
 
 }
@@ -49,10 +49,12 @@ public class StandaloneEventSinkRuntime extends StandalonePipelineElementRuntime
   }
 
   @Override
-  public void process(Map<String, Object> rawEvent, String sourceInfo) {
+  public synchronized void process(Map<String, Object> rawEvent, String sourceInfo) {
     try {
-      monitoringManager.increaseInCounter(instanceId, sourceInfo, System.currentTimeMillis());
+      var start = System.nanoTime();
+      increaseInCounter(rawEvent, sourceInfo);
       pipelineElement.onEvent(internalRuntimeParameters.makeEvent(runtimeParameters, rawEvent, sourceInfo));
+      monitoringManager.recordProcessingTime(instanceId, System.nanoTime() - start);
     } catch (RuntimeException e) {
       LOG.error("RuntimeException while processing event in {}", pipelineElement.getClass().getCanonicalName(), e);
       addLogEntry(e);
@@ -21,6 +21,7 @@ package org.apache.streampipes.wrapper.standalone.runtime;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.extensions.api.extractor.IParameterExtractor;
 import org.apache.streampipes.extensions.api.monitoring.SpMonitoringManager;
+import org.apache.streampipes.extensions.api.pe.IMappedFieldAccess;
 import org.apache.streampipes.extensions.api.pe.IStreamPipesPipelineElement;
 import org.apache.streampipes.extensions.api.pe.context.IContextGenerator;
 import org.apache.streampipes.extensions.api.pe.context.RuntimeContext;
@@ -30,14 +31,20 @@ import org.apache.streampipes.extensions.api.pe.param.IPipelineElementParameters
 import org.apache.streampipes.extensions.api.pe.routing.PipelineElementCollector;
 import org.apache.streampipes.extensions.api.pe.routing.RawDataProcessor;
 import org.apache.streampipes.extensions.api.pe.routing.SpInputCollector;
+import org.apache.streampipes.extensions.management.util.EventSchemaUtils;
 import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.wrapper.params.InternalRuntimeParameters;
+import org.apache.streampipes.wrapper.params.MappedFieldsCollector;
 import org.apache.streampipes.wrapper.runtime.PipelineElementRuntime;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 public abstract class StandalonePipelineElementRuntime<
     PeT extends IStreamPipesPipelineElement<?>,
@@ -57,6 +64,7 @@ public abstract class StandalonePipelineElementRuntime<
   protected IInternalRuntimeParameters internalRuntimeParameters;
 
   protected final SpMonitoringManager monitoringManager;
+  private Map<String, String> timestampFields;
 
   public StandalonePipelineElementRuntime(IContextGenerator<RcT, IvT> contextGenerator,
                                           IParameterGenerator<IvT, ExT, PepT> parameterGenerator) {
@@ -75,26 +83,56 @@ public abstract class StandalonePipelineElementRuntime<
     this.runtimeContext = runtimeContext;
     this.instanceId = pipelineElementInvocation.getElementId();
     this.inputCollectors = getInputCollectors(pipelineElementInvocation.getInputStreams());
+    this.timestampFields = makeTimestampFields(pipelineElementInvocation.getInputStreams());
     this.beforeStart();
   }
 
   @Override
   public void stopRuntime() {
     this.inputCollectors.forEach(is -> is.unregisterConsumer(instanceId));
-    resetCounter(instanceId);
     afterStop();
+    monitoringManager.removeMetrics(instanceId);
   }
 
-  protected void resetCounter(String resourceId) throws SpRuntimeException {
-    monitoringManager.resetCounter(resourceId);
+  @Override
+  public Optional<Set<String>> getRequiredFields(String sourceInfo) {
+    if (pipelineElement instanceof IMappedFieldAccess) {
+      var selectorPrefix = runtimeParameters
+          .getInputSourceInfo(runtimeParameters.getSourceIndex(sourceInfo))
+          .getSelectorPrefix();
+      var fields = MappedFieldsCollector.collect(runtimeParameters.getModel(), selectorPrefix);
+      if (timestampFields.containsKey(sourceInfo)) {
+        fields.add(timestampFields.get(sourceInfo));
+      }
+      return Optional.of(fields);
+    }
+    return Optional.empty();
+  }
+
+  protected void increaseInCounter(Map<String, Object> rawEvent,
+                                   String sourceInfo) {
+    var now = System.currentTimeMillis();
+    monitoringManager.increaseInCounter(instanceId, sourceInfo, now);
+    var timestampField = timestampFields.get(sourceInfo);
+    if (timestampField != null && rawEvent.get(timestampField) instanceof Number timestamp) {
+      monitoringManager.recordEventTimeLag(instanceId, now - timestamp.longValue());
+    }
+  }
+
+  private Map<String, String> makeTimestampFields(List<SpDataStream> inputStreams) {
+    var timestampFields = new HashMap<String, String>();
+    inputStreams.forEach(is -> EventSchemaUtils
+        .getTimestampProperty(is.getEventSchema())
+        .ifPresent(ep -> timestampFields.put(
+            is.getEventGrounding().getTransportProtocol().getTopicDefinition().getActualTopicName(),
+            ep.getRuntimeName())));
+    return timestampFields;
   }
 
   protected List<SpInputCollector> getInputCollectors(List<SpDataStream> inputStreams) throws SpRuntimeException {
     List<SpInputCollector> inputCollectors = new ArrayList<>();
     for (SpDataStream is : inputStreams) {
-      inputCollectors.add(ProtocolManager.findInputCollector(is.getEventGrounding()
-              .getTransportProtocol(),
-          false));
+      inputCollectors.add(ProtocolManager.findInputCollector(is.getEventGrounding(), false));
     }
     return inputCollectors;
   }
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class PartitionedEventExecutorTest {
+
+  @Test
+  public void testTasksWithSameKeyKeepSubmissionOrder() {
+    var executor = new PartitionedEventExecutor("test", 4);
+    var keys = 10;
+    var tasksPerKey = 200;
+    List<List<Integer>> executed = new ArrayList<>();
+    for (int key = 0; key < keys; key++) {
+      executed.add(Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    for (int sequence = 0; sequence < tasksPerKey; sequence++) {
+      for (int key = 0; key < keys; key++) {
+        var result = executed.get(key);
+        var value = sequence;
+        Assertions.assertTrue(executor.execute(key % executor.getPartitions(), () -> result.add(value)));
+      }
+    }
+    executor.shutdown();
+
+    var expected = IntStream.range(0, tasksPerKey).boxed().collect(Collectors.toList());
+    executed.forEach(result -> Assertions.assertEquals(expected, result));
+  }
+
+  @Test
+  public void testShutdownExecutesQueuedTasks() throws InterruptedException {
+    var executor = new PartitionedEventExecutor("test", 2);
+    var release = new CountDownLatch(1);
+    var executed = new AtomicInteger();
+    executor.execute(0, () -> {
+      awaitQuietly(release);
+      executed.incrementAndGet();
+    });
+    for (int i = 0; i < 100; i++) {
+      executor.execute(i % 2, executed::incrementAndGet);
+    }
+
+    var shutdown = new Thread(executor::shutdown);
+    shutdown.start();
+    release.countDown();
+    shutdown.join(TimeUnit.SECONDS.toMillis(10));
+
+    Assertions.assertFalse(shutdown.isAlive());
+    Assertions.assertEquals(101, executed.get());
+    Assertions.assertEquals(0, executor.getDroppedTasks());
+  }
+
+  @Test
+  public void testTasksAfterShutdownAreDropped() {
+    var executor = new PartitionedEventExecutor("test", 1);
+    executor.shutdown();
+
+    Assertions.assertFalse(executor.execute(0, () -> Assertions.fail("must not be executed")));
+    Assertions.assertEquals(1, executor.getDroppedTasks());
+  }
+
+  @Test
+  public void testInterruptedSubmissionIsDroppedAndKeepsInterruptStatus() {
+    var executor = new PartitionedEventExecutor("test", 1);
+    var executed = new AtomicInteger();
+
+    Thread.currentThread().interrupt();
+    var accepted = executor.execute(0, executed::incrementAndGet);
+
+    Assertions.assertTrue(Thread.interrupted());
+    Assertions.assertFalse(accepted);
+    Assertions.assertEquals(1, executor.getDroppedTasks());
+    executor.shutdown();
+    Assertions.assertEquals(0, executed.get());
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
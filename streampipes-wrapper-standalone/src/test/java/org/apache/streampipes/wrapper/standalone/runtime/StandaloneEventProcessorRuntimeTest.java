@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import org.apache.streampipes.extensions.api.pe.config.ExecutionMode;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StandaloneEventProcessorRuntimeTest {
+
+  private static final String TOGGLE = "parallel-execution";
+
+  @Test
+  public void testSequentialModeIsNeverParallel() {
+    Assertions.assertFalse(StandaloneEventProcessorRuntime.isParallel(ExecutionMode.sequential(), t -> true, false));
+  }
+
+  @Test
+  public void testParallelModeWithoutToggle() {
+    Assertions.assertTrue(StandaloneEventProcessorRuntime.isParallel(ExecutionMode.parallel(2), t -> false, false));
+  }
+
+  @Test
+  public void testParallelModeFollowsToggle() {
+    var mode = ExecutionMode.parallel(2).enabledBy(TOGGLE);
+
+    Assertions.assertTrue(StandaloneEventProcessorRuntime.isParallel(mode, TOGGLE::equals, false));
+    Assertions.assertFalse(StandaloneEventProcessorRuntime.isParallel(mode, t -> false, false));
+  }
+
+  @Test
+  public void testKafkaPartitionWorkersFallBackToSequential() {
+    var mode = ExecutionMode.keyPartitioned("key", 4);
+
+    Assertions.assertFalse(StandaloneEventProcessorRuntime.isParallel(mode, t -> true, true));
+    Assertions.assertFalse(StandaloneEventProcessorRuntime.isParallel(mode.enabledBy(TOGGLE), t -> true, true));
+  }
+}
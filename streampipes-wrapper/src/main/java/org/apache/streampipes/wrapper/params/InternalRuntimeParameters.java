@@ -33,7 +33,6 @@ public class InternalRuntimeParameters implements IInternalRuntimeParameters {
     var index = parameters.getSourceIndex(sourceId);
     return EventFactory.fromMap(
         mapEvent,
-        parameters.getInputSourceInfo(index),
-        parameters.getInputSchemaInfo(index));
+        parameters.getInputStreamParams().get(index).getEventLayout());
   }
 }
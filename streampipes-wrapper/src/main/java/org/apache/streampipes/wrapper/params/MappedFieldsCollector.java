@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.params;
+
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.staticproperty.AnyStaticProperty;
+import org.apache.streampipes.model.staticproperty.CodeInputStaticProperty;
+import org.apache.streampipes.model.staticproperty.ColorPickerStaticProperty;
+import org.apache.streampipes.model.staticproperty.DefaultStaticPropertyVisitor;
+import org.apache.streampipes.model.staticproperty.FileStaticProperty;
+import org.apache.streampipes.model.staticproperty.FreeTextStaticProperty;
+import org.apache.streampipes.model.staticproperty.MappingPropertyNary;
+import org.apache.streampipes.model.staticproperty.MappingPropertyUnary;
+import org.apache.streampipes.model.staticproperty.MatchingStaticProperty;
+import org.apache.streampipes.model.staticproperty.OneOfStaticProperty;
+import org.apache.streampipes.model.staticproperty.RuntimeResolvableGroupStaticProperty;
+import org.apache.streampipes.model.staticproperty.RuntimeResolvableTreeInputStaticProperty;
+import org.apache.streampipes.model.staticproperty.SecretStaticProperty;
+import org.apache.streampipes.model.staticproperty.SlideToggleStaticProperty;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Collects the top-level runtime names of all fields of an input stream which are selected by mapping properties.
+ */
+public class MappedFieldsCollector extends DefaultStaticPropertyVisitor {
+
+  private static final String DELIMITER = "::";
+
+  private final String selectorPrefix;
+  private final Set<String> fields;
+
+  public MappedFieldsCollector(String selectorPrefix) {
+    this.selectorPrefix = selectorPrefix + DELIMITER;
+    this.fields = new HashSet<>();
+  }
+
+  public static Set<String> collect(InvocableStreamPipesEntity invocation,
+                                    String selectorPrefix) {
+    var collector = new MappedFieldsCollector(selectorPrefix);
+    invocation.getStaticProperties().forEach(sp -> sp.accept(collector));
+    return collector.fields;
+  }
+
+  @Override
+  public void visit(MappingPropertyNary mappingPropertyNary) {
+    if (mappingPropertyNary.getSelectedProperties() != null) {
+      mappingPropertyNary.getSelectedProperties().forEach(this::addSelector);
+    }
+  }
+
+  @Override
+  public void visit(MappingPropertyUnary mappingPropertyUnary) {
+    addSelector(mappingPropertyUnary.getSelectedProperty());
+  }
+
+  private void addSelector(String selector) {
+    if (selector != null && selector.startsWith(selectorPrefix)) {
+      var runtimeName = selector.substring(selectorPrefix.length());
+      var end = runtimeName.indexOf(DELIMITER);
+      fields.add(end == -1 ? runtimeName : runtimeName.substring(0, end));
+    }
+  }
+
+  @Override
+  public void visit(AnyStaticProperty property) {
+  }
+
+  @Override
+  public void visit(CodeInputStaticProperty codeInputStaticProperty) {
+  }
+
+  @Override
+  public void visit(ColorPickerStaticProperty colorPickerStaticProperty) {
+  }
+
+  @Override
+  public void visit(FileStaticProperty fileStaticProperty) {
+  }
+
+  @Override
+  public void visit(FreeTextStaticProperty freeTextStaticProperty) {
+  }
+
+  @Override
+  public void visit(MatchingStaticProperty matchingStaticProperty) {
+  }
+
+  @Override
+  public void visit(OneOfStaticProperty oneOfStaticProperty) {
+  }
+
+  @Override
+  public void visit(SecretStaticProperty secretStaticProperty) {
+  }
+
+  @Override
+  public void visit(SlideToggleStaticProperty slideToggleStaticProperty) {
+  }
+
+  @Override
+  public void visit(RuntimeResolvableTreeInputStaticProperty treeInputStaticProperty) {
+  }
+
+  @Override
+  public void visit(RuntimeResolvableGroupStaticProperty groupStaticProperty) {
+    groupStaticProperty.getStaticProperties().forEach(sp -> sp.accept(this));
+  }
+}
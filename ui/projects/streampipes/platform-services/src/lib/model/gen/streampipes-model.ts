@@ -1291,6 +1291,7 @@ export class DataLakeMeasure implements Storable {
     'pipelineIsRunning': boolean;
     'pipelineName': string;
     'rev': string;
+    'rollupTiers': DataLakeRollupTier[];
     'schemaUpdateStrategy': DataLakeMeasureSchemaUpdateStrategy;
     'schemaVersion': string;
     'timestampField': string;
@@ -1311,6 +1312,9 @@ export class DataLakeMeasure implements Storable {
         instance.pipelineIsRunning = data.pipelineIsRunning;
         instance.pipelineName = data.pipelineName;
         instance.rev = data.rev;
+        instance.rollupTiers = __getCopyArrayFn(DataLakeRollupTier.fromData)(
+            data.rollupTiers,
+        );
         instance.schemaUpdateStrategy = data.schemaUpdateStrategy;
         instance.schemaVersion = data.schemaVersion;
         instance.timestampField = data.timestampField;
@@ -1318,6 +1322,26 @@ export class DataLakeMeasure implements Storable {
     }
 }
 
+export class DataLakeRollupTier {
+    activeSince: number;
+    intervalMs: number;
+    name: string;
+
+    static fromData(
+        data: DataLakeRollupTier,
+        target?: DataLakeRollupTier,
+    ): DataLakeRollupTier {
+        if (!data) {
+            return data;
+        }
+        const instance = target || new DataLakeRollupTier();
+        instance.activeSince = data.activeSince;
+        instance.intervalMs = data.intervalMs;
+        instance.name = data.name;
+        return instance;
+    }
+}
+
 export class InvocableStreamPipesEntity
     extends VersionedNamedStreamPipesEntity
     implements EndpointSelectable
@@ -1621,6 +1645,7 @@ export class ErrorMessage extends Message {
 }
 
 export class EventGrounding {
+    transportFormats: TransportFormat[];
     transportProtocols: TransportProtocolUnion[];
 
     static fromData(
@@ -1631,6 +1656,9 @@ export class EventGrounding {
             return data;
         }
         const instance = target || new EventGrounding();
+        instance.transportFormats = __getCopyArrayFn(TransportFormat.fromData)(
+            data.transportFormats,
+        );
         instance.transportProtocols = __getCopyArrayFn(
             TransportProtocol.fromDataUnion,
         )(data.transportProtocols);
@@ -2131,6 +2159,24 @@ export class GuessSchema {
     }
 }
 
+export class TransportFormat {
+    rdfType: string[];
+
+    static fromData(
+        data: TransportFormat,
+        target?: TransportFormat,
+    ): TransportFormat {
+        if (!data) {
+            return data;
+        }
+        const instance = target || new TransportFormat();
+        instance.rdfType = __getCopyArrayFn(__identity<string>())(
+            data.rdfType,
+        );
+        return instance;
+    }
+}
+
 export class TransportProtocol {
     '@class':
         | 'org.apache.streampipes.model.grounding.JmsTransportProtocol'
@@ -2254,6 +2300,29 @@ export class KeepOutputStrategy extends OutputStrategy {
     }
 }
 
+export class LatencyInfo {
+    count: number;
+    max: number;
+    mean: number;
+    p50: number;
+    p90: number;
+    p99: number;
+
+    static fromData(data: LatencyInfo, target?: LatencyInfo): LatencyInfo {
+        if (!data) {
+            return data;
+        }
+        const instance = target || new LatencyInfo();
+        instance.count = data.count;
+        instance.max = data.max;
+        instance.mean = data.mean;
+        instance.p50 = data.p50;
+        instance.p90 = data.p90;
+        instance.p99 = data.p99;
+        return instance;
+    }
+}
+
 export class LinkSettings {
     documentationUrl: string;
     showApiDocumentationLinkOnStartScreen: boolean;
@@ -3680,9 +3749,15 @@ export class SpLogMessage {
 }
 
 export class SpMetricsEntry {
+    eventTimeLag: LatencyInfo;
+    gauges: { [index: string]: number };
     lastTimestamp: number;
     messagesIn: { [index: string]: MessageCounter };
     messagesOut: MessageCounter;
+    missedPollTicks: number;
+    pollLatency: LatencyInfo;
+    processingTime: LatencyInfo;
+    publishLatency: LatencyInfo;
 
     static fromData(
         data: SpMetricsEntry,
@@ -3692,11 +3767,19 @@ export class SpMetricsEntry {
             return data;
         }
         const instance = target || new SpMetricsEntry();
+        instance.eventTimeLag = LatencyInfo.fromData(data.eventTimeLag);
+        instance.gauges = __getCopyObjectFn(__identity<number>())(
+            data.gauges,
+        );
         instance.lastTimestamp = data.lastTimestamp;
         instance.messagesIn = __getCopyObjectFn(MessageCounter.fromData)(
             data.messagesIn,
         );
         instance.messagesOut = MessageCounter.fromData(data.messagesOut);
+        instance.missedPollTicks = data.missedPollTicks;
+        instance.pollLatency = LatencyInfo.fromData(data.pollLatency);
+        instance.processingTime = LatencyInfo.fromData(data.processingTime);
+        instance.publishLatency = LatencyInfo.fromData(data.publishLatency);
         return instance;
     }
 }